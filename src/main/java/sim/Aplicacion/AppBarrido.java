@@ -0,0 +1,46 @@
+package sim.Aplicacion;
+
+import sim.datos.CargarPerfiles;
+import sim.modelo.Perfil;
+import sim.negocio.BarridoParametros;
+
+import java.util.List;
+
+/**
+ * Punto de entrada por línea de comandos para barridos de parámetros sin JavaFX.
+ * Expande los rangos del archivo de barrido en una grilla de perfiles, simula cada uno
+ * en paralelo y escribe una tabla resumen.
+ *
+ * Uso: AppBarrido barrido.txt ciclos resumen.csv [ciclos|eventos] [hilos]
+ */
+public class AppBarrido {
+
+    /**
+     * Ejecuta el barrido descrito en el archivo indicado.
+     *
+     * @param args archivo de barrido, ciclos por configuración, CSV resumen, modo e hilos opcionales
+     * @throws Exception si falla la lectura, alguna simulación o la escritura del resumen
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 5) {
+            System.err.println("Uso: AppBarrido barrido.txt ciclos resumen.csv [ciclos|eventos] [hilos]");
+            System.exit(2);
+        }
+
+        List<Perfil> perfiles = CargarPerfiles.cargarBarrido(args[0]);
+        int ciclos = Integer.parseInt(args[1]);
+        boolean porEventos = args.length >= 4 && args[3].equalsIgnoreCase("eventos");
+        // Con 1 hilo las configuraciones corren de a una, útil cuando cada una usa varias particiones
+        int hilos = (args.length == 5) ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Barrido: " + perfiles.size() + " configuraciones x " + ciclos + " ciclos en " + hilos + " hilos");
+
+        BarridoParametros barrido = new BarridoParametros(perfiles, ciclos, porEventos);
+        long inicio = System.nanoTime();
+        barrido.ejecutar(hilos);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        barrido.escribirResumen(args[2]);
+
+        System.out.printf("Barrido completo en %.2f s. Resumen: %s%n", segundos, args[2]);
+    }
+}
@@ -0,0 +1,71 @@
+package sim.Aplicacion;
+
+import sim.datos.CargarPerfiles;
+import sim.modelo.EspecificacionModelo;
+import sim.modelo.Perfil;
+import sim.modelo.ResultadoSimulacion;
+import sim.negocio.SimulacionHeadless;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Punto de entrada por línea de comandos para simular sin JavaFX.
+ * Pensado para estudios de capacidad en servidores sin pantalla.
+ *
+ * Uso: AppHeadless "NombrePerfil" ciclos salida.csv [ciclos|eventos]
+ * El modo "eventos" usa el motor de eventos discretos en lugar de avanzar ciclo a ciclo.
+ */
+public class AppHeadless {
+
+    /**
+     * Ejecuta la simulación del perfil indicado y muestra el rendimiento obtenido.
+     *
+     * @param args nombre del perfil, cantidad de ciclos, ruta del CSV de salida y modo opcional
+     */
+    public static void main(String[] args) {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Uso: AppHeadless \"NombrePerfil\" ciclos salida.csv [ciclos|eventos]");
+            System.exit(2);
+        }
+
+        LinkedHashMap<String, Perfil> perfiles = CargarPerfiles.cargar();
+        Perfil perfil = perfiles.get(args[0]);
+        if (perfil == null) {
+            System.err.println("❌ Perfil no encontrado: " + args[0] + ". Disponibles: " + perfiles.keySet());
+            System.exit(2);
+        }
+
+        int ciclos;
+        try {
+            ciclos = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("❌ Cantidad de ciclos inválida: " + args[1]);
+            System.exit(2);
+            return;
+        }
+
+        boolean porEventos = args.length == 4 && args[3].equalsIgnoreCase("eventos");
+        SimulacionHeadless simulacion = new SimulacionHeadless(perfil);
+        ResultadoSimulacion resultado = porEventos
+                ? simulacion.ejecutarPorEventos(ciclos, args[2])
+                : simulacion.ejecutar(ciclos, args[2]);
+
+        System.out.println(resultado);
+        System.out.printf("Ciclos/s: %.0f%n", resultado.getCiclosPorSegundo());
+        System.out.printf("Tokens/s: %.0f%n", resultado.getTokensPorSegundo());
+        System.out.printf("Solicitudes completadas: %d (%.2f/s simulado, %.1f tokens/s simulado)%n",
+                resultado.getProcesosCompletados(), resultado.getSolicitudesPorSegundoSimulado(),
+                resultado.getTokensPorSegundoSimulado());
+        System.out.printf("Latencia p50/p99: %.2f s / %.2f s, primer token p99: %.2f s%n",
+                resultado.aSegundos(resultado.getLatenciaP50()), resultado.aSegundos(resultado.getLatenciaP99()),
+                resultado.aSegundos(resultado.getPrimerTokenP99()));
+        if (resultado.getBytesPorMarco() > 0) {
+            double gb = EspecificacionModelo.BYTES_POR_GB;
+            System.out.printf("Caché KV (%s): %.2f MB por marco, pico %.2f GB de %.2f GB con %d sesiones concurrentes%n",
+                    perfil.getModelo(), resultado.getBytesPorMarco() / (1024.0 * 1024.0),
+                    resultado.getPicoBytesOcupados() / gb,
+                    (double) perfil.getTotalMarcosRam() * resultado.getBytesPorMarco() / gb,
+                    resultado.getPicoProcesosActivos());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package sim.Aplicacion;
+
+import sim.datos.CargarPerfiles;
+import sim.modelo.Perfil;
+import sim.negocio.nodo.NodoMultiDispositivo;
+
+/**
+ * Punto de entrada por línea de comandos para el nodo multidispositivo.
+ * Simula el perfil con 1, 2, 4... dispositivos bajo la misma carga para medir cómo escala
+ * el throughput agregado, y escribe la ocupación por dispositivo del nodo más grande.
+ *
+ * Uso: AppNodo "NombrePerfil" ciclos ocupacion.csv [maxDispositivos]
+ */
+public class AppNodo {
+
+    /**
+     * Ejecuta la serie de nodos del perfil indicado y muestra el throughput de cada uno.
+     *
+     * @param args nombre del perfil, ciclos por nodo, CSV de ocupación y cantidad máxima de dispositivos opcional
+     * @throws Exception si falla algún dispositivo o la escritura del CSV
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Uso: AppNodo \"NombrePerfil\" ciclos ocupacion.csv [maxDispositivos]");
+            System.exit(2);
+        }
+
+        Perfil perfil = CargarPerfiles.cargar().get(args[0]);
+        if (perfil == null) {
+            System.err.println("❌ Perfil no encontrado: " + args[0]);
+            System.exit(2);
+        }
+
+        int ciclos = Integer.parseInt(args[1]);
+        int maxDispositivos = (args.length == 4) ? Integer.parseInt(args[3]) : perfil.getDispositivos();
+
+        System.out.printf("Perfil %s, ubicación %s, %d ciclos%n", perfil.getNombre(), perfil.getUbicacion(), ciclos);
+        System.out.println("Dispositivos  Completados  Solicitudes/s  Tokens/s  Desbalance  Desbalance_Pico  Segundos");
+        for (int n = 1; n <= maxDispositivos; n = (n * 2 > maxDispositivos && n < maxDispositivos) ? maxDispositivos : n * 2) {
+            Perfil variante = new Perfil(perfil);
+            variante.setDispositivos(n);
+
+            try (NodoMultiDispositivo nodo = new NodoMultiDispositivo(variante)) {
+                if (n == maxDispositivos) {
+                    nodo.registrarEn(args[2]);
+                }
+                long inicio = System.nanoTime();
+                nodo.ejecutar(ciclos);
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+
+                System.out.printf("%12d  %11d  %13.3f  %8.1f  %10.3f  %15.3f  %8.2f%n",
+                        n, nodo.getProcesosCompletados(), nodo.getSolicitudesPorSegundoSimulado(),
+                        nodo.getTokensPorSegundoSimulado(), nodo.getDesbalance().getMedia(),
+                        nodo.getPicoDesbalance(), segundos);
+            }
+        }
+        System.out.println("Ocupación por dispositivo: " + args[2]);
+    }
+}
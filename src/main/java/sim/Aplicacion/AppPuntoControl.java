@@ -0,0 +1,59 @@
+package sim.Aplicacion;
+
+import sim.datos.CargarPerfiles;
+import sim.modelo.Perfil;
+import sim.modelo.ResultadoSimulacion;
+import sim.negocio.SimulacionHeadless;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+/**
+ * Punto de entrada por línea de comandos para precalentar una simulación y guardar su estado.
+ * El archivo generado se usa con la clave puntoControl de otros perfiles (o de un barrido)
+ * para que todas las variantes arranquen del mismo estado sin repetir el calentamiento.
+ *
+ * Uso: AppPuntoControl "NombrePerfil" ciclos estado.bin
+ */
+public class AppPuntoControl {
+
+    /**
+     * Simula los ciclos de calentamiento del perfil y guarda el estado alcanzado.
+     *
+     * @param args nombre del perfil, cantidad de ciclos y ruta del archivo de estado
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Uso: AppPuntoControl \"NombrePerfil\" ciclos estado.bin");
+            System.exit(2);
+        }
+
+        LinkedHashMap<String, Perfil> perfiles = CargarPerfiles.cargar();
+        Perfil perfil = perfiles.get(args[0]);
+        if (perfil == null) {
+            System.err.println("❌ Perfil no encontrado: " + args[0] + ". Disponibles: " + perfiles.keySet());
+            System.exit(2);
+        }
+
+        int ciclos;
+        try {
+            ciclos = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.err.println("❌ Cantidad de ciclos inválida: " + args[1]);
+            System.exit(2);
+            return;
+        }
+
+        ResultadoSimulacion resultado;
+        try {
+            resultado = new SimulacionHeadless(perfil).guardarTras(ciclos, args[2]);
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("❌ No se pudo guardar el punto de control: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        System.out.println(resultado);
+        System.out.printf("Estado tras %d ciclos guardado en %s%n", ciclos, args[2]);
+    }
+}
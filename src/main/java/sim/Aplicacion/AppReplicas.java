@@ -0,0 +1,51 @@
+package sim.Aplicacion;
+
+import sim.datos.CargarPerfiles;
+import sim.modelo.Perfil;
+import sim.negocio.EstadisticaWelford;
+import sim.negocio.ReplicasMonteCarlo;
+
+/**
+ * Punto de entrada por línea de comandos para el modo de réplicas Monte Carlo.
+ * Simula N semillas de un perfil en paralelo y escribe las bandas de confianza por ciclo.
+ *
+ * Uso: AppReplicas "NombrePerfil" replicas ciclos bandas.csv
+ */
+public class AppReplicas {
+
+    /**
+     * Ejecuta las réplicas del perfil indicado y muestra el resumen del ciclo de saturación.
+     *
+     * @param args nombre del perfil, cantidad de réplicas, ciclos por réplica y CSV de salida
+     * @throws Exception si falla alguna réplica o la escritura del CSV
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Uso: AppReplicas \"NombrePerfil\" replicas ciclos bandas.csv");
+            System.exit(2);
+        }
+
+        Perfil perfil = CargarPerfiles.cargar().get(args[0]);
+        if (perfil == null) {
+            System.err.println("❌ Perfil no encontrado: " + args[0]);
+            System.exit(2);
+        }
+
+        int replicas = Integer.parseInt(args[1]);
+        int ciclos = Integer.parseInt(args[2]);
+        int hilos = Runtime.getRuntime().availableProcessors();
+
+        ReplicasMonteCarlo experimento = new ReplicasMonteCarlo(perfil, replicas, ciclos);
+        long inicio = System.nanoTime();
+        experimento.ejecutar(hilos);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        experimento.escribirBandas(args[3]);
+
+        EstadisticaWelford saturacion = experimento.getCicloSaturacion();
+        System.out.printf("%d réplicas x %d ciclos en %.2f s (%d hilos). Bandas: %s%n",
+                replicas, ciclos, segundos, hilos, args[3]);
+        System.out.printf("Ciclo de saturación: %.1f ± %.1f (IC 95%%, %d de %d réplicas saturadas)%n",
+                saturacion.getMedia(), saturacion.getSemiAnchoIC95(),
+                experimento.getReplicasSaturadas(), replicas);
+    }
+}
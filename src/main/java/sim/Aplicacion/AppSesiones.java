@@ -0,0 +1,64 @@
+package sim.Aplicacion;
+
+import sim.datos.CargarPerfiles;
+import sim.modelo.Perfil;
+import sim.negocio.MMUServiceConcurrente;
+import sim.negocio.sesiones.SimulacionSesiones;
+
+/**
+ * Punto de entrada por línea de comandos para el modo de un hilo por conversación.
+ * Corre la carga del perfil en tiempo real contra una MMU concurrente y muestra
+ * el rendimiento y las métricas de contención de la memoria.
+ *
+ * Uso: AppSesiones "NombrePerfil" ciclos [microsPorCiclo] [pensamientoMedio]
+ */
+public class AppSesiones {
+
+    /**
+     * Ejecuta el modo por sesiones del perfil indicado.
+     *
+     * @param args nombre del perfil, ciclos, duración opcional de un ciclo en microsegundos y tiempo medio de lectura en ciclos
+     * @throws Exception si se interrumpe la ejecución
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Uso: AppSesiones \"NombrePerfil\" ciclos [microsPorCiclo] [pensamientoMedio]");
+            System.exit(2);
+        }
+
+        Perfil perfil = CargarPerfiles.cargar().get(args[0]);
+        if (perfil == null) {
+            System.err.println("❌ Perfil no encontrado: " + args[0]);
+            System.exit(2);
+        }
+
+        int ciclos = Integer.parseInt(args[1]);
+        SimulacionSesiones simulacion = new SimulacionSesiones(perfil);
+        if (args.length >= 3) {
+            simulacion.setNanosPorCiclo(Long.parseLong(args[2]) * 1000L);
+        }
+        if (args.length == 4) {
+            simulacion.setPensamientoMedio(Double.parseDouble(args[3]));
+        }
+
+        long inicio = System.nanoTime();
+        simulacion.ejecutar(ciclos);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        MMUServiceConcurrente mmu = simulacion.getMmu();
+        int accesos = mmu.getTlbHits() + mmu.getTlbMisses();
+        // Sin hilos virtuales el pool limita cuántas conversaciones generan a la vez
+        System.out.printf("%d ciclos en %.2f s con %s%n", ciclos, segundos,
+                simulacion.isHilosVirtuales() ? "hilos virtuales"
+                        : "pool de " + simulacion.getHilosPlataforma() + " hilos de plataforma (máximo de conversaciones generando a la vez)");
+        System.out.printf("Sesiones: %d iniciadas, %d completadas, %d abandonadas, pico de %d concurrentes%n",
+                simulacion.getSesionesIniciadas(), simulacion.getSesionesCompletadas(),
+                simulacion.getSesionesAbandonadas(), simulacion.getPicoSesiones());
+        System.out.printf("Tokens: %d (%.1f tokens/s), latencia p99 %d ciclos, primer token p99 %d ciclos%n",
+                simulacion.getTokensGenerados(), simulacion.getTokensGenerados() / segundos,
+                simulacion.getLatencias().percentil(99), simulacion.getTiemposPrimerToken().percentil(99));
+        System.out.printf("Contención: %d esperas del cerrojo de TLB (%.1f ms en total), %d reintentos CAS, hit rate TLB %.4f%n",
+                mmu.getEsperasCerrojo(), mmu.getNanosEsperaCerrojo() / 1e6, mmu.getReintentosCas(),
+                (accesos > 0) ? (double) mmu.getTlbHits() / accesos : 0.0);
+    }
+}
@@ -6,7 +6,9 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.paint.Color;
 import sim.UI.MemoryGrid;
-import sim.modelo.LLMProcess;
+import sim.modelo.MemoryAccessLog;
+import sim.negocio.InstantaneaSimulacion.FilaProceso;
+import sim.negocio.RegistroAccesos;
 import sim.recorder.RScriptRunner;
 import java.util.List;
 import java.util.Map;
@@ -29,12 +31,15 @@ public class ControladorUI {
     @FXML private Label lblHits;
     @FXML private Label lblMisses;
     @FXML private Label lblRate;
+    @FXML private Label lblFragmentacion;
+    @FXML private Label lblTokensUsados;
+    @FXML private Label lblUltimaPagina;
 
-    @FXML private TableView<LLMProcess> tablaProcesos;
-    @FXML private TableColumn<LLMProcess, Integer> colPid;
-    @FXML private TableColumn<LLMProcess, String> colNombre;
-    @FXML private TableColumn<LLMProcess, Integer> colTokens;
-    @FXML private TableColumn<LLMProcess, Integer> colMarcos;
+    @FXML private TableView<FilaProceso> tablaProcesos;
+    @FXML private TableColumn<FilaProceso, Integer> colPid;
+    @FXML private TableColumn<FilaProceso, String> colNombre;
+    @FXML private TableColumn<FilaProceso, Integer> colTokens;
+    @FXML private TableColumn<FilaProceso, Integer> colMarcos;
 
     @FXML private TableView<Map.Entry<Integer, Integer>> tablaPaginas;
     @FXML private TableColumn<Map.Entry<Integer, Integer>, Integer> colPaginaVirtual;
@@ -45,14 +50,16 @@ public class ControladorUI {
     @FXML private TableColumn<Map.Entry<String, Integer>, Integer> colTLBPagina;
     @FXML private TableColumn<Map.Entry<String, Integer>, Integer> colTLBMarcoFisico;
 
-    @FXML private TableView<sim.modelo.MemoryAccessLog> tablaLogAccesos;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, Integer> colLogPID;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, String> colLogProceso;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, Integer> colLogDirVirtual;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, Integer> colLogDirFisica;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, Integer> colLogPagina;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, Integer> colLogMarco;
-    @FXML private TableColumn<sim.modelo.MemoryAccessLog, String> colLogTLB;
+    @FXML private TableView<MemoryAccessLog> tablaLogAccesos;
+    @FXML private TableColumn<MemoryAccessLog, Integer> colLogPID;
+    @FXML private TableColumn<MemoryAccessLog, String> colLogProceso;
+    @FXML private TableColumn<MemoryAccessLog, Integer> colLogDirVirtual;
+    @FXML private TableColumn<MemoryAccessLog, Integer> colLogDirFisica;
+    @FXML private TableColumn<MemoryAccessLog, Integer> colLogPagina;
+    @FXML private TableColumn<MemoryAccessLog, Integer> colLogMarco;
+    @FXML private TableColumn<MemoryAccessLog, String> colLogTLB;
+
+    private final MemoryAccessLog[] filasLog = crearFilasLog(100);
 
 
 
@@ -84,9 +91,9 @@ public class ControladorUI {
         colNombre.setCellValueFactory(cell ->
                 new SimpleStringProperty(cell.getValue().getNombre()));
         colTokens.setCellValueFactory(cell ->
-                new SimpleIntegerProperty(cell.getValue().getContadorTokens()).asObject());
+                new SimpleIntegerProperty(cell.getValue().getTokens()).asObject());
         colMarcos.setCellValueFactory(cell ->
-                new SimpleIntegerProperty(cell.getValue().getPageTable().getMapa().size()).asObject());
+                new SimpleIntegerProperty(cell.getValue().getPaginas()).asObject());
     }
 
     /**
@@ -220,6 +227,20 @@ public class ControladorUI {
         }
     }
 
+    /**
+     * Actualiza las métricas de fragmentación interna.
+     *
+     * @param tokensAsignados huecos de token de los marcos ocupados
+     * @param tokensUsados huecos que guardan un token
+     * @param cuartos procesos según el llenado de su última página, en cuartos de página
+     */
+    public void actualizarFragmentacion(long tokensAsignados, long tokensUsados, long[] cuartos) {
+        double desperdicio = (tokensAsignados > 0) ? (double) (tokensAsignados - tokensUsados) / tokensAsignados * 100 : 0.0;
+        lblFragmentacion.setText(String.format("Desperdicio: %.1f%%", desperdicio));
+        lblTokensUsados.setText("Tokens: " + tokensUsados + " / " + tokensAsignados);
+        lblUltimaPagina.setText("Última página: " + cuartos[0] + " | " + cuartos[1] + " | " + cuartos[2] + " | " + cuartos[3]);
+    }
+
     /**
      * Pinta un bloque de memoria.
      *
@@ -235,9 +256,9 @@ public class ControladorUI {
     /**
      * Actualiza la lista de procesos en la tabla.
      *
-     * @param procesos lista de procesos activos
+     * @param procesos copias de los procesos activos tomadas con la instantánea
      */
-    public void actualizarListaProcesos(List<LLMProcess> procesos) {
+    public void actualizarListaProcesos(List<FilaProceso> procesos) {
         tablaProcesos.getItems().setAll(procesos);
     }
 
@@ -263,27 +284,42 @@ public class ControladorUI {
     }
 
     /**
-     * Agrega una entrada al log de accesos a memoria.
+     * Muestra en el log los últimos accesos a memoria, del más reciente al más antiguo.
+     * Se llama una vez por refresco: las filas de la tabla se reutilizan y se cargan
+     * desde el cursor, sin crear objetos por acceso.
      *
-     * @param log registro de acceso a memoria
+     * @param cursor cursor de la interfaz sobre el registro de accesos de la simulación
      */
-    public void agregarLogAcceso(sim.modelo.MemoryAccessLog log) {
-        if (tablaLogAccesos != null && log != null) {
-            tablaLogAccesos.getItems().add(0, log);
+    public void mostrarLogAccesos(RegistroAccesos.Cursor cursor) {
+        if (tablaLogAccesos == null) return;
+
+        cursor.posicionarEnUltimos(filasLog.length);
+        int cantidad = 0;
+        while (cantidad < filasLog.length && cursor.siguiente()) {
+            filasLog[cantidad++].cargar(cursor.getDireccionVirtual(), cursor.getDireccionFisica(),
+                    cursor.getPagina(), cursor.getMarco(), cursor.isTlbHit(),
+                    cursor.getPid(), cursor.getNombreProceso());
+        }
 
-            if (tablaLogAccesos.getItems().size() > 100) {
-                tablaLogAccesos.getItems().remove(100, tablaLogAccesos.getItems().size());
-            }
+        List<MemoryAccessLog> items = tablaLogAccesos.getItems();
+        items.clear();
+        for (int i = cantidad - 1; i >= 0; i--) {
+            items.add(filasLog[i]);
         }
     }
 
     /**
-     * Limpia el log de accesos a memoria.
+     * Reserva las filas reutilizables del log de accesos.
+     *
+     * @param cantidad filas visibles del log
+     * @return filas vacías
      */
-    public void limpiarLogAccesos() {
-        if (tablaLogAccesos != null) {
-            tablaLogAccesos.getItems().clear();
+    private static MemoryAccessLog[] crearFilasLog(int cantidad) {
+        MemoryAccessLog[] filas = new MemoryAccessLog[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            filas[i] = new MemoryAccessLog();
         }
+        return filas;
     }
 
     /**
@@ -291,7 +327,7 @@ public class ControladorUI {
      *
      * @return tabla de procesos
      */
-    public TableView<LLMProcess> getTablaProcesos() {
+    public TableView<FilaProceso> getTablaProcesos() {
         return tablaProcesos;
     }
 
@@ -1,5 +1,6 @@
 package sim.controlador;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -8,11 +9,12 @@ import javafx.scene.paint.Color;
 import javafx. stage.Stage;
 import sim.UI.MemoryGrid;
 import sim.datos.CargarPerfiles;
-import sim. modelo.Frame;
-import sim.modelo.LLMProcess;
 import sim.modelo.Perfil;
 import sim. modelo.PhysicalMemory;
+import sim.negocio.InstantaneaSimulacion;
+import sim.negocio.InstantaneaSimulacion.FilaProceso;
 import sim.negocio.MMUService;
+import sim.negocio.RegistroAccesos;
 import sim.negocio.SimulationManager;
 import sim.recorder. Auditador;
 import sim.recorder.RScriptRunner;
@@ -35,6 +37,14 @@ public class CordinadorApp {
     private MMUService mmu;
 
     private Auditador auditador;
+    private RegistroAccesos.Cursor cursorAccesos;
+    private final long[] cuartosUltimaPagina = new long[4];
+
+    // La simulación publica su estado en cada ciclo y la interfaz lo retira a lo sumo una vez por pulso;
+    // el pulso solo corre mientras la simulación avanza
+    private PublicadorEstado<InstantaneaSimulacion> publicador;
+    private InstantaneaSimulacion instantaneaMostrada;
+    private AnimationTimer refrescoUI;
 
     private LinkedHashMap<String, Perfil> perfiles;
     private Perfil perfil;
@@ -110,7 +120,7 @@ public class CordinadorApp {
     /**
      * Conecta los eventos de la UI con la lógica de simulación:
      * - Inyecta el grid visual de memoria
-     * - Configura callbacks de botones (iniciar/detener/reiniciar)
+     * - Configura callbacks de botones (iniciar/detener/reiniciar); iniciar arranca el pulso de refresco
      * - Configura sistema de reportes con R
      * - Establece listeners para actualización automática
      * - Configura resaltado visual al seleccionar procesos
@@ -119,7 +129,10 @@ public class CordinadorApp {
         MemoryGrid gridVisual = new MemoryGrid(ram.getSize(), perfil);
         uiController.inyectarMemoryGrid(gridVisual);
 
-        uiController.setOnIniciar(() -> simulador.iniciar());
+        uiController.setOnIniciar(() -> {
+            simulador.iniciar();
+            refrescoUI.start();
+        });
         uiController.setOnDetener(() -> simulador.pausar());
         uiController.setOnReiniciar(this::reiniciarAplicacion);
         uiController.setOnAplicarConfig(this::reiniciarConPerfil);
@@ -128,8 +141,17 @@ public class CordinadorApp {
         RScriptRunner rRunner = new RScriptRunner(nombreCSV);
         uiController.setRScriptRunner(rRunner);
 
-        simulador.setOnUpdate(() -> Platform.runLater(this::sincronizarSimulacion));
-        simulador.setOnMemoryAccess(log -> Platform.runLater(() -> uiController.agregarLogAcceso(log)));
+        refrescoUI = new AnimationTimer() {
+            @Override
+            public void handle(long ahora) {
+                InstantaneaSimulacion instantanea = publicador.retirar();
+                if (instantanea != null) {
+                    sincronizarSimulacion(instantanea);
+                }
+            }
+        };
+        conectarSimulador();
+        detenerRefresco();
 
         uiController.getTablaProcesos().getSelectionModel().selectedItemProperty()
                 .addListener((obs, oldVal, newVal) -> {
@@ -137,22 +159,62 @@ public class CordinadorApp {
                 });
     }
 
+    /**
+     * Conecta el simulador actual con la interfaz. Un ciclo arma una instantánea solo si el pulso
+     * de JavaFX retiró la anterior, así que se construye a lo sumo una por pulso; al pausarse se
+     * publica siempre la del último ciclo y se detiene el pulso después de dibujarla. Se publica
+     * también la inicial, que dibuja quien conecta.
+     * Los callbacks capturan su propio publicador, así que un hilo de simulación anterior que
+     * termine su último ciclo después de un reinicio no pisa el estado del nuevo ni detiene su pulso.
+     */
+    private void conectarSimulador() {
+        PublicadorEstado<InstantaneaSimulacion> publicadorSimulador = new PublicadorEstado<>();
+        SimulationManager simuladorConectado = simulador;
+        simuladorConectado.setOnUpdate(() -> publicadorSimulador.publicarSiPedido(simuladorConectado::tomarInstantanea));
+        simuladorConectado.setOnPausa(() -> {
+            publicadorSimulador.publicar(simuladorConectado.tomarInstantanea());
+            Platform.runLater(() -> {
+                if (publicador == publicadorSimulador) {
+                    detenerRefresco();
+                }
+            });
+        });
+        publicadorSimulador.publicar(simuladorConectado.tomarInstantanea());
+        publicador = publicadorSimulador;
+        cursorAccesos = simuladorConectado.getRegistroAccesos().nuevoCursor();
+    }
+
+    /**
+     * Detiene el pulso de refresco y dibuja la última instantánea publicada, si queda alguna.
+     * Se usa cuando la simulación se pausa o se reemplaza: sin ciclos nuevos no hay nada que retirar.
+     */
+    private void detenerRefresco() {
+        refrescoUI.stop();
+        InstantaneaSimulacion instantanea = publicador.retirar();
+        if (instantanea != null) {
+            sincronizarSimulacion(instantanea);
+        }
+    }
+
     /**
      * Sincroniza el estado de la simulación con la interfaz gráfica.
-     * Se ejecuta en el hilo de JavaFX cada vez que la simulación avanza un ciclo.
+     * Se ejecuta en el hilo de JavaFX a lo sumo una vez por pulso, con la última instantánea
+     * publicada; los ciclos intermedios se descartan sin encolar trabajo en la interfaz.
      * - Actualiza lista de procesos activos
      * - Restaura la selección del proceso previamente seleccionado
      * - Actualiza estadísticas de TLB
+     * - Muestra los últimos accesos a memoria leídos del registro circular
      * - Refresca la visualización de memoria
      */
-    private void sincronizarSimulacion() {
-        LLMProcess seleccionadoPrevio = uiController.getTablaProcesos().getSelectionModel().getSelectedItem();
+    private void sincronizarSimulacion(InstantaneaSimulacion instantanea) {
+        instantaneaMostrada = instantanea;
+        FilaProceso seleccionadoPrevio = uiController.getTablaProcesos().getSelectionModel().getSelectedItem();
         int pidPrevio = (seleccionadoPrevio != null) ? seleccionadoPrevio.getPid() : -1;
 
-        uiController.actualizarListaProcesos(simulador.getProcesosActivos());
+        uiController.actualizarListaProcesos(instantanea.getProcesos());
 
         if (pidPrevio != -1) {
-            for (LLMProcess p : uiController.getTablaProcesos().getItems()) {
+            for (FilaProceso p : uiController.getTablaProcesos().getItems()) {
                 if (p.getPid() == pidPrevio) {
                     uiController.getTablaProcesos().getSelectionModel().select(p);
                     break;
@@ -160,30 +222,36 @@ public class CordinadorApp {
             }
         }
 
-        uiController.actualizarEstadisticas(mmu.getTlb().getHits(), mmu.getTlb().getMisses());
-        uiController.actualizarTablaTLB(mmu.getTlb().getCache());
+        uiController.actualizarEstadisticas(instantanea.getTlbHits(), instantanea.getTlbMisses());
+        uiController.actualizarFragmentacion(instantanea.getTokensAsignados(), instantanea.getTokensUsados(),
+                instantanea.getCuartosUltimaPagina(cuartosUltimaPagina));
+        uiController.actualizarTablaTLB(instantanea.getContenidoTlb());
+        uiController.mostrarLogAccesos(cursorAccesos);
         refrescarVistaVisual();
     }
 
     /**
-     * Actualiza la visualización de la memoria física aplicando colores según el estado:
+     * Actualiza la visualización de la memoria física según la última instantánea mostrada,
+     * aplicando colores según el estado:
      * - blanco:  marcos libres
      * - gris: marcos ocupados por otros procesos
      * - Naranja: marcos del proceso seleccionado (resaltado)
      * También actualiza la tabla de páginas del proceso seleccionado.
      */
     private void refrescarVistaVisual() {
-        LLMProcess procesoSeleccionado = uiController.getTablaProcesos().getSelectionModel().getSelectedItem();
+        FilaProceso procesoSeleccionado = uiController.getTablaProcesos().getSelectionModel().getSelectedItem();
         int pidSeleccionado = (procesoSeleccionado != null) ? procesoSeleccionado.getPid() : -1;
 
-        for (int i = 0; i < ram.getSize(); i++) {
-            Frame frame = ram.getFrame(i);
+        InstantaneaSimulacion instantanea = instantaneaMostrada;
+        int marcos = (instantanea != null) ? instantanea.getCantidadMarcos() : 0;
+        for (int i = 0; i < marcos; i++) {
+            int dueno = instantanea.getDuenoMarco(i);
             Color colorPintar;
 
-            if (! frame.isOcupado()) {
+            if (dueno == InstantaneaSimulacion.MARCO_LIBRE) {
                 colorPintar = Color.web(Constantes.COLOR_LIBRE);
             } else {
-                if (frame.getProcessId() == pidSeleccionado) {
+                if (dueno == pidSeleccionado) {
                     colorPintar = Color.web(Constantes.COLOR_DESTACADO);
                 } else {
                     colorPintar = Color.web(Constantes.COLOR_OCUPADO);
@@ -193,7 +261,7 @@ public class CordinadorApp {
         }
 
         if (procesoSeleccionado != null) {
-            uiController.mostrarTablaPaginas(procesoSeleccionado.getPageTable().getMapa());
+            uiController.mostrarTablaPaginas(procesoSeleccionado.getTablaPaginas());
         } else {
             uiController. mostrarTablaPaginas(Collections.emptyMap());
         }
@@ -240,25 +308,15 @@ public class CordinadorApp {
         // 4. Crear nuevo simulador
         this.simulador = new SimulationManager(ram, mmu, auditador, perfil);
 
-        // 5. Reconectar UI (mantener callbacks)
-        simulador.setOnUpdate(() -> Platform.runLater(this::sincronizarSimulacion));
-        simulador.setOnMemoryAccess(log -> Platform.runLater(() -> uiController.agregarLogAcceso(log)));
+        // 5. Reconectar UI (mantener callbacks); el nuevo simulador arranca detenido
+        conectarSimulador();
+        detenerRefresco();
 
         // 6. Actualizar RScriptRunner con nuevo CSV
         String nombreCSV = auditador.getNombreArchivo();
         RScriptRunner rRunner = new RScriptRunner(nombreCSV);
         uiController.setRScriptRunner(rRunner);
 
-        // 7. Refrescar visualización completa
-        Platform.runLater(() -> {
-            uiController.actualizarListaProcesos(simulador.getProcesosActivos());
-            uiController.actualizarEstadisticas(0, 0);
-            uiController.actualizarTablaTLB(Collections.emptyMap());
-            uiController.mostrarTablaPaginas(Collections.emptyMap());
-            uiController.limpiarLogAccesos();
-            refrescarVistaVisual();
-        });
-
         System.out.println("=== REINICIO COMPLETO FINALIZADO ===");
     }
 
@@ -293,25 +351,15 @@ public class CordinadorApp {
         MemoryGrid nuevaGrilla = new MemoryGrid(ram.getSize(), perfil);
         uiController.inyectarMemoryGrid(nuevaGrilla);
 
-        // 7. Reconectar callbacks
-        simulador.setOnUpdate(() -> Platform.runLater(this::sincronizarSimulacion));
-        simulador.setOnMemoryAccess(log -> Platform.runLater(() -> uiController.agregarLogAcceso(log)));
+        // 7. Reconectar callbacks; el nuevo simulador arranca detenido
+        conectarSimulador();
+        detenerRefresco();
 
         // 8. Actualizar RScriptRunner con nuevo CSV
         String nombreCSV = auditador.getNombreArchivo();
         RScriptRunner rRunner = new RScriptRunner(nombreCSV);
         uiController.setRScriptRunner(rRunner);
 
-        // 9. Refrescar visualización completa
-        Platform.runLater(() -> {
-            uiController.actualizarListaProcesos(simulador.getProcesosActivos());
-            uiController.actualizarEstadisticas(0, 0);
-            uiController.actualizarTablaTLB(Collections.emptyMap());
-            uiController.mostrarTablaPaginas(Collections.emptyMap());
-            uiController.limpiarLogAccesos();
-            refrescarVistaVisual();
-        });
-
         System.out.println("=== REINICIO CON NUEVO PERFIL FINALIZADO ===");
     }
 
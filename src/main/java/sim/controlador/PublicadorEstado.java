@@ -0,0 +1,74 @@
+package sim.controlador;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Buzón de un solo lugar entre el hilo de simulación y el de la interfaz: el productor publica
+ * el estado más reciente y el consumidor lo retira cuando puede dibujar. Si el productor publica
+ * de nuevo antes de que se retire el anterior, el anterior se descarta, así que la interfaz nunca
+ * acumula trabajo atrasado sin importar a qué ritmo avance la simulación.
+ *
+ * Con {@link #publicarSiPedido(Supplier)} el productor arma el estado solo si el consumidor pasó
+ * a retirar desde la última publicación, así que no construye estados que nadie va a mirar.
+ *
+ * @param <T> tipo del estado publicado; debe ser inmutable
+ */
+public class PublicadorEstado<T> {
+    private final AtomicReference<T> pendiente = new AtomicReference<>();
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicBoolean pedido = new AtomicBoolean(true);
+
+    /**
+     * Publica un estado, reemplazando al pendiente si todavía no se retiró.
+     *
+     * @param estado estado a mostrar
+     */
+    public void publicar(T estado) {
+        publicados.incrementAndGet();
+        if (pendiente.getAndSet(estado) != null) {
+            descartados.incrementAndGet();
+        }
+    }
+
+    /**
+     * Publica un estado armado en el momento, solo si el consumidor lo pidió con un retiro posterior
+     * a la última publicación. Pensado para un único productor.
+     *
+     * @param proveedor arma el estado a mostrar; no se invoca si no hace falta
+     * @return true si se publicó
+     */
+    public boolean publicarSiPedido(Supplier<T> proveedor) {
+        if (!pedido.compareAndSet(true, false)) return false;
+        publicar(proveedor.get());
+        return true;
+    }
+
+    /**
+     * Retira el último estado publicado y pide uno nuevo para el próximo retiro.
+     *
+     * @return estado pendiente, o null si no se publicó nada desde el último retiro
+     */
+    public T retirar() {
+        T estado = pendiente.getAndSet(null);
+        pedido.set(true);
+        return estado;
+    }
+
+    /**
+     * @return estados publicados desde la creación
+     */
+    public long getPublicados() {
+        return publicados.get();
+    }
+
+    /**
+     * @return estados reemplazados por uno más nuevo antes de que la interfaz los retirara
+     */
+    public long getDescartados() {
+        return descartados.get();
+    }
+}
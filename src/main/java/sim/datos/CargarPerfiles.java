@@ -1,13 +1,29 @@
 package sim.datos;
 
+import sim.modelo.EspecificacionModelo;
 import sim.modelo.Perfil;
+import sim.negocio.Bifurcador;
+import sim.negocio.Especulador;
+import sim.negocio.atencion.PatronAtencion;
+import sim.negocio.carga.DistribucionLongitud;
+import sim.negocio.carga.ProcesoLlegadas;
+import sim.negocio.nodo.PoliticaUbicacion;
+import sim.negocio.planificacion.PoliticaPlanificacion;
+import sim.recorder.PoliticaAuditoria;
+import sim.recorder.SegmentacionAuditoria;
+import sim.recorder.TrazaAccesos;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Clase encargada de cargar perfiles de configuración desde un archivo de texto.
@@ -17,6 +33,14 @@ public class CargarPerfiles {
 
     private static final String ARCHIVO_PERFILES = "perfiles.txt";
 
+    // Claves de un solo valor que un barrido puede variar; las que ya son listas (pidsTraza) se toman tal cual
+    private static final Set<String> CLAVES_BARRIDO = Set.of(
+            "columnas", "filas", "marcos", "tamPagina", "tamTlb", "velocidad", "semilla", "llegadas", "prompt",
+            "salida", "segundosPorCiclo", "traza", "escalaTraza", "maxLoteSecuencias", "maxLoteTokens",
+            "chunkPrefill", "politica", "nivelesPrioridad", "dispositivos", "ubicacion", "particiones",
+            "puntoControl", "atencion", "especulacion", "bifurcacion", "modelo", "memoriaGB", "auditoria",
+            "segmentosAuditoria", "trazaAccesos", "segmentoTrazaMB", "muestreoTraza");
+
     /**
      * Carga los perfiles desde el archivo perfiles.txt ubicado en resources.
      * Devuelve un LinkedHashMap que mantiene el orden de inserción (el primero leído es el primero al iterar).
@@ -28,6 +52,33 @@ public class CargarPerfiles {
      * tamPagina=64
      * tamTlb=32
      * velocidad=100
+     * semilla=42        (opcional; si falta se usa una semilla aleatoria)
+     * llegadas=poisson:0.3         (opcional; bernoulli:p, poisson:tasa, rafagas:..., diurna:...)
+     * prompt=lognormal:5.0:0.8     (opcional; fija:n, lognormal:mu:sigma[:max], empirica:v:p;v:p...)
+     * salida=fija:200              (opcional; igual que prompt, o infinita)
+     * segundosPorCiclo=0.05        (opcional; tiempo simulado que representa un ciclo)
+     * traza=datos/solicitudes.csv   (opcional; reproduce un registro real en lugar de la carga sintética)
+     * escalaTraza=2                 (opcional; acelera la traza para multiplicar la carga)
+     * maxLoteSecuencias=64          (opcional; procesos admitidos a la vez, 0 = sin límite)
+     * maxLoteTokens=2048            (opcional; tokens por paso entre prefill y decode, 0 = sin límite)
+     * chunkPrefill=512              (opcional; tokens de prompt por proceso y paso, 0 = prompt completo)
+     * politica=srf                  (opcional; fcfs, srf, prioridad o justa; por defecto fcfs)
+     * nivelesPrioridad=3            (opcional; niveles de prioridad sorteados entre las conversaciones)
+     * dispositivos=4                (opcional; aceleradores del nodo, cada uno con la memoria del perfil)
+     * ubicacion=afinidad            (opcional; menosCargado, roundRobin o afinidad; por defecto menosCargado)
+     * particiones=8                 (opcional; hilos que avanzan los procesos de cada ciclo, 1 = en serie)
+     * puntoControl=estado.bin       (opcional; las ejecuciones sin interfaz arrancan desde ese estado guardado)
+     * atencion=ventana:16           (opcional; ultimo, completa, ventana:n o muestreo:k; por defecto ultimo)
+     * especulacion=4:0.7            (opcional; tokens de borrador por paso y tasa de aceptación; por defecto no)
+     * bifurcacion=4:0.05            (opcional; secuencias por conversación y tasa de poda por paso; por defecto no)
+     * modelo=llama3-70b:fp8         (opcional; capas:cabezasKv:dimCabeza:tipo o nombre:tipo; informa bytes)
+     * memoriaGB=80                  (opcional, requiere modelo; da la cantidad de marcos, sin filas ni marcos; columnas es solo el ancho de la grilla)
+     * auditoria=tiempo:250:bloquear (opcional; volcado del CSV tiempo:ms, registros:n o cierre y desborde bloquear o descartar)
+     * segmentosAuditoria=gzip:64:0 (opcional; CSV de AppHeadless en segmentos comprimidos de 64 MB o n ciclos, con índice)
+     * trazaAccesos=trazas/accesos   (opcional; traza binaria de cada traducción en segmentos trazas/accesos-00000.trz ...; sin particiones)
+     * segmentoTrazaMB=64            (opcional; tamaño de cada segmento de la traza, hasta 2047)
+     * muestreoTraza=10              (opcional; guarda 1 de cada n accesos; por defecto 1)
+     * pidsTraza=3,7,12              (opcional; solo traza esos procesos; por defecto todos)
      *
      * [OtroPerfil]
      * ...
@@ -44,51 +95,180 @@ public class CargarPerfiles {
             }
 
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-                String linea;
-                String nombrePerfil = null;
-                Map<String, String> propiedades = new LinkedHashMap<>();
+                for (Map.Entry<String, Map<String, String>> seccion : leerSecciones(reader).entrySet()) {
+                    Perfil perfil = crearPerfil(seccion.getKey(), seccion.getValue());
+                    if (perfil != null) {
+                        perfiles.put(seccion.getKey(), perfil);
+                    }
+                }
+            }
 
-                while ((linea = reader.readLine()) != null) {
-                    linea = linea.trim();
+        } catch (IOException e) {
+            System.err.println("❌ Error al leer el archivo de perfiles: " + e.getMessage());
+            e.printStackTrace();
+        }
 
-                    if (linea.isEmpty() || linea.startsWith("#")) {
-                        continue;
-                    }
+        return perfiles;
+    }
 
-                    if (linea.startsWith("[") && linea.endsWith("]")) {
-                        if (nombrePerfil != null && !propiedades.isEmpty()) {
-                            Perfil perfil = crearPerfil(nombrePerfil, propiedades);
-                            if (perfil != null) {
-                                perfiles.put(nombrePerfil, perfil);
-                            }
-                        }
+    /**
+     * Carga un archivo de barrido y expande cada sección en la grilla de perfiles que describe.
+     * Usa el mismo formato que perfiles.txt (por lo que también acepta ese archivo), pero cada
+     * valor puede ser una lista o un rango:
+     * tamPagina=16,32,64     (lista)
+     * tamTlb=8..128*2        (rango geométrico: 8, 16, 32, 64, 128)
+     * marcos=256..1024+256   (rango aritmético: 256, 512, 768, 1024)
+     *
+     * La clave opcional "marcos" fija la cantidad total de marcos sin depender de la grilla visual.
+     * Solo se expanden las claves de un único valor; las que admiten una lista, como
+     * {@code pidsTraza=3,7,12}, se pasan enteras a cada perfil generado.
+     * El nombre de cada perfil generado incluye los parámetros que varían.
+     *
+     * @param rutaArchivo ruta del archivo de barrido en el sistema de archivos
+     * @return lista de perfiles, en el orden del producto cartesiano de cada sección
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static List<Perfil> cargarBarrido(String rutaArchivo) throws IOException {
+        List<Perfil> perfiles = new ArrayList<>();
 
-                        nombrePerfil = linea.substring(1, linea.length() - 1).trim();
-                        propiedades = new LinkedHashMap<>();
-                    } else if (linea.contains("=")) {
-                        String[] partes = linea.split("=", 2);
-                        if (partes.length == 2) {
-                            propiedades.put(partes[0].trim(), partes[1].trim());
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(rutaArchivo))) {
+            for (Map.Entry<String, Map<String, String>> seccion : leerSecciones(reader).entrySet()) {
+                Map<String, List<String>> valores = new LinkedHashMap<>();
+                for (Map.Entry<String, String> prop : seccion.getValue().entrySet()) {
+                    valores.put(prop.getKey(), CLAVES_BARRIDO.contains(prop.getKey())
+                            ? expandirValores(prop.getValue()) : List.of(prop.getValue()));
+                }
+
+                for (Map<String, String> combinacion : productoCartesiano(valores)) {
+                    StringBuilder nombre = new StringBuilder(seccion.getKey());
+                    String separador = " [";
+                    for (Map.Entry<String, List<String>> v : valores.entrySet()) {
+                        if (v.getValue().size() > 1) {
+                            nombre.append(separador).append(v.getKey()).append("=").append(combinacion.get(v.getKey()));
+                            separador = ", ";
                         }
                     }
-                }
+                    if (!separador.equals(" [")) {
+                        nombre.append("]");
+                    }
 
-                if (nombrePerfil != null && !propiedades.isEmpty()) {
-                    Perfil perfil = crearPerfil(nombrePerfil, propiedades);
+                    Perfil perfil = crearPerfil(nombre.toString(), combinacion);
                     if (perfil != null) {
-                        perfiles.put(nombrePerfil, perfil);
+                        perfiles.add(perfil);
                     }
                 }
             }
-
-        } catch (IOException e) {
-            System.err.println("❌ Error al leer el archivo de perfiles: " + e.getMessage());
-            e.printStackTrace();
         }
 
         return perfiles;
     }
 
+    /**
+     * Lee las secciones [Nombre] y sus pares clave=valor, ignorando líneas vacías y comentarios.
+     *
+     * @param reader lector del archivo
+     * @return mapa ordenado de nombre de sección a sus propiedades
+     * @throws IOException si falla la lectura
+     */
+    private static LinkedHashMap<String, Map<String, String>> leerSecciones(BufferedReader reader) throws IOException {
+        LinkedHashMap<String, Map<String, String>> secciones = new LinkedHashMap<>();
+        String linea;
+        String nombrePerfil = null;
+        Map<String, String> propiedades = new LinkedHashMap<>();
+
+        while ((linea = reader.readLine()) != null) {
+            linea = linea.trim();
+
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+
+            if (linea.startsWith("[") && linea.endsWith("]")) {
+                if (nombrePerfil != null && !propiedades.isEmpty()) {
+                    secciones.put(nombrePerfil, propiedades);
+                }
+
+                nombrePerfil = linea.substring(1, linea.length() - 1).trim();
+                propiedades = new LinkedHashMap<>();
+            } else if (linea.contains("=")) {
+                String[] partes = linea.split("=", 2);
+                if (partes.length == 2) {
+                    propiedades.put(partes[0].trim(), partes[1].trim());
+                }
+            }
+        }
+
+        if (nombrePerfil != null && !propiedades.isEmpty()) {
+            secciones.put(nombrePerfil, propiedades);
+        }
+        return secciones;
+    }
+
+    /**
+     * Expande un valor de barrido en la lista de valores que representa.
+     *
+     * @param valor valor simple, lista separada por comas o rango "inicio..fin*factor" / "inicio..fin+paso"
+     * @return lista de valores expandidos
+     */
+    private static List<String> expandirValores(String valor) {
+        List<String> valores = new ArrayList<>();
+
+        if (valor.contains(",")) {
+            for (String parte : valor.split(",")) {
+                valores.add(parte.trim());
+            }
+            return valores;
+        }
+
+        int puntos = valor.indexOf("..");
+        int operador = Math.max(valor.lastIndexOf('*'), valor.lastIndexOf('+'));
+        if (puntos > 0 && operador > puntos) {
+            long inicio = Long.parseLong(valor.substring(0, puntos).trim());
+            long fin = Long.parseLong(valor.substring(puntos + 2, operador).trim());
+            long paso = Long.parseLong(valor.substring(operador + 1).trim());
+            boolean geometrico = valor.charAt(operador) == '*';
+
+            if (paso <= (geometrico ? 1 : 0)) {
+                throw new IllegalArgumentException("Paso de rango inválido: " + valor);
+            }
+            // Un rango geométrico que empieza en 0 o menos nunca llega al final
+            if (geometrico && inicio <= 0) {
+                throw new IllegalArgumentException("Un rango geométrico debe empezar en un valor positivo: " + valor);
+            }
+            for (long v = inicio; v <= fin; v = geometrico ? v * paso : v + paso) {
+                valores.add(Long.toString(v));
+            }
+            return valores;
+        }
+
+        valores.add(valor);
+        return valores;
+    }
+
+    /**
+     * Calcula todas las combinaciones posibles de los valores de cada clave.
+     *
+     * @param valores mapa de clave a lista de valores posibles
+     * @return lista de combinaciones (una propiedad por clave)
+     */
+    private static List<Map<String, String>> productoCartesiano(Map<String, List<String>> valores) {
+        List<Map<String, String>> combinaciones = new ArrayList<>();
+        combinaciones.add(new LinkedHashMap<>());
+
+        for (Map.Entry<String, List<String>> entrada : valores.entrySet()) {
+            List<Map<String, String>> siguientes = new ArrayList<>();
+            for (Map<String, String> parcial : combinaciones) {
+                for (String v : entrada.getValue()) {
+                    Map<String, String> combinacion = new LinkedHashMap<>(parcial);
+                    combinacion.put(entrada.getKey(), v);
+                    siguientes.add(combinacion);
+                }
+            }
+            combinaciones = siguientes;
+        }
+        return combinaciones;
+    }
+
     /**
      * Crea un objeto Perfil a partir de las propiedades leídas del archivo.
      *
@@ -98,9 +278,25 @@ public class CargarPerfiles {
      */
     private static Perfil crearPerfil(String nombre, Map<String, String> props) {
         try {
-            int columnas = Integer.parseInt(props.getOrDefault("columnas", "0"));
-            int filas = Integer.parseInt(props.getOrDefault("filas", "0"));
+            // "marcos" permite definir la memoria sin grilla (una sola fila con todos los marcos)
+            String marcos = props.get("marcos");
             int tamPagina = Integer.parseInt(props.getOrDefault("tamPagina", "0"));
+            EspecificacionModelo modelo = props.containsKey("modelo") ? EspecificacionModelo.desdeTexto(props.get("modelo")) : null;
+            // "memoriaGB" describe la memoria real: los marcos salen de los bytes que ocupa cada uno según el modelo
+            if (props.containsKey("memoriaGB")) {
+                if (modelo == null || tamPagina <= 0) {
+                    System.err.println("⚠️ Perfil inválido: " + nombre + " (memoriaGB requiere modelo y tamPagina)");
+                    return null;
+                }
+                // Los marcos salen solo de la memoria; "columnas" queda como ancho de la grilla
+                if (props.containsKey("marcos") || props.containsKey("filas")) {
+                    System.err.println("⚠️ Perfil inválido: " + nombre + " (memoriaGB no se combina con marcos ni filas)");
+                    return null;
+                }
+                marcos = String.valueOf(modelo.marcosEnMemoria(Double.parseDouble(props.get("memoriaGB")), tamPagina));
+            }
+            int columnas = Integer.parseInt(props.getOrDefault("columnas", marcos != null ? marcos : "0"));
+            int filas = Integer.parseInt(props.getOrDefault("filas", marcos != null ? "1" : "0"));
             int tamTlb = Integer.parseInt(props.getOrDefault("tamTlb", "0"));
             int velocidad = Integer.parseInt(props.getOrDefault("velocidad", "100"));
 
@@ -109,10 +305,125 @@ public class CargarPerfiles {
                 return null;
             }
 
-            return new Perfil(nombre, columnas, filas, tamPagina, velocidad, tamTlb);
+            Perfil perfil = new Perfil(nombre, columnas, filas, tamPagina, velocidad, tamTlb);
+            if (props.containsKey("semilla")) {
+                perfil.setSemilla(Long.parseLong(props.get("semilla")));
+            }
+            if (marcos != null) {
+                perfil.setTotalMarcosRam(Integer.parseInt(marcos));
+            }
+            // El modelo de carga se valida al cargar para no descubrir un error de formato recién al simular
+            if (props.containsKey("llegadas")) {
+                ProcesoLlegadas.desdeTexto(props.get("llegadas"));
+                perfil.setLlegadas(props.get("llegadas"));
+            }
+            if (props.containsKey("prompt")) {
+                DistribucionLongitud.desdeTexto(props.get("prompt"));
+                perfil.setLongitudPrompt(props.get("prompt"));
+            }
+            if (props.containsKey("salida")) {
+                DistribucionLongitud.desdeTexto(props.get("salida"));
+                perfil.setLongitudSalida(props.get("salida"));
+            }
+            if (props.containsKey("segundosPorCiclo")) {
+                perfil.setSegundosPorCiclo(Double.parseDouble(props.get("segundosPorCiclo")));
+            }
+            if (props.containsKey("traza")) {
+                perfil.setTraza(props.get("traza"));
+            }
+            if (props.containsKey("escalaTraza")) {
+                perfil.setEscalaTraza(Double.parseDouble(props.get("escalaTraza")));
+            }
+            perfil.setMaxLoteSecuencias(Integer.parseInt(props.getOrDefault("maxLoteSecuencias", "0")));
+            perfil.setMaxLoteTokens(Integer.parseInt(props.getOrDefault("maxLoteTokens", "0")));
+            perfil.setChunkPrefill(Integer.parseInt(props.getOrDefault("chunkPrefill", "0")));
+            if (props.containsKey("politica")) {
+                PoliticaPlanificacion.desdeTexto(props.get("politica"));
+                perfil.setPolitica(props.get("politica"));
+            }
+            perfil.setNivelesPrioridad(Integer.parseInt(props.getOrDefault("nivelesPrioridad", "1")));
+            if (perfil.getNivelesPrioridad() < 1) {
+                System.err.println("⚠️ Perfil inválido: " + nombre + " (nivelesPrioridad debe ser al menos 1)");
+                return null;
+            }
+            perfil.setDispositivos(Integer.parseInt(props.getOrDefault("dispositivos", "1")));
+            if (perfil.getDispositivos() < 1) {
+                System.err.println("⚠️ Perfil inválido: " + nombre + " (dispositivos debe ser al menos 1)");
+                return null;
+            }
+            perfil.setParticiones(Integer.parseInt(props.getOrDefault("particiones", "1")));
+            if (perfil.getParticiones() < 1) {
+                System.err.println("⚠️ Perfil inválido: " + nombre + " (particiones debe ser al menos 1)");
+                return null;
+            }
+            if (props.containsKey("atencion")) {
+                PatronAtencion.desdeTexto(props.get("atencion"));
+                perfil.setAtencion(props.get("atencion"));
+            }
+            if (props.containsKey("especulacion")) {
+                Especulador.desdeTexto(props.get("especulacion"), null);
+                perfil.setEspeculacion(props.get("especulacion"));
+            }
+            perfil.setModelo(modelo);
+            if (props.containsKey("memoriaGB")) {
+                perfil.setMemoriaGB(Double.parseDouble(props.get("memoriaGB")));
+            }
+            if (props.containsKey("auditoria")) {
+                PoliticaAuditoria.desdeTexto(props.get("auditoria"));
+                perfil.setAuditoria(props.get("auditoria"));
+            }
+            if (props.containsKey("segmentosAuditoria")) {
+                SegmentacionAuditoria.desdeTexto(props.get("segmentosAuditoria"));
+                perfil.setSegmentosAuditoria(props.get("segmentosAuditoria"));
+            }
+            if (props.containsKey("trazaAccesos")) {
+                // Las particiones traducen en varios hilos y la traza tiene un único escritor
+                if (perfil.getParticiones() > 1) {
+                    System.err.println("⚠️ Perfil inválido: " + nombre + " (trazaAccesos no se combina con particiones)");
+                    return null;
+                }
+                perfil.setTrazaAccesos(props.get("trazaAccesos"));
+            }
+            if (props.containsKey("segmentoTrazaMB")) {
+                int segmentoMB = Integer.parseInt(props.get("segmentoTrazaMB"));
+                if (segmentoMB < 1 || segmentoMB > 2047) {
+                    throw new IllegalArgumentException("segmentoTrazaMB debe estar entre 1 y 2047: " + segmentoMB);
+                }
+                perfil.setSegmentoTrazaMB(segmentoMB);
+            }
+            if (props.containsKey("muestreoTraza")) {
+                int muestreo = Integer.parseInt(props.get("muestreoTraza"));
+                if (muestreo < 1) {
+                    throw new IllegalArgumentException("muestreoTraza debe ser al menos 1: " + muestreo);
+                }
+                perfil.setMuestreoTraza(muestreo);
+            }
+            if (props.containsKey("pidsTraza")) {
+                TrazaAccesos.pidsDesdeTexto(props.get("pidsTraza"));
+                perfil.setPidsTraza(props.get("pidsTraza"));
+            }
+            if (props.containsKey("bifurcacion")) {
+                Bifurcador.desdeTexto(props.get("bifurcacion"), null);
+                perfil.setBifurcacion(props.get("bifurcacion"));
+            }
+            if (props.containsKey("puntoControl")) {
+                perfil.setPuntoControl(props.get("puntoControl"));
+            }
+            if (props.containsKey("ubicacion")) {
+                PoliticaUbicacion.desdeTexto(props.get("ubicacion"));
+                perfil.setUbicacion(props.get("ubicacion"));
+            }
+            if (perfil.getMaxLoteSecuencias() < 0 || perfil.getMaxLoteTokens() < 0 || perfil.getChunkPrefill() < 0) {
+                System.err.println("⚠️ Perfil inválido: " + nombre + " (límites de lote negativos)");
+                return null;
+            }
+            return perfil;
         } catch (NumberFormatException e) {
             System.err.println("⚠️ Error al parsear perfil: " + nombre + " - " + e.getMessage());
             return null;
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Modelo de carga o política inválidos en perfil: " + nombre + " - " + e.getMessage());
+            return null;
         }
     }
 }
@@ -0,0 +1,178 @@
+package sim.modelo;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Describe la arquitectura del modelo servido en lo que importa para la caché KV: capas, cabezas
+ * de clave/valor (menos que las de consulta con GQA o MQA), dimensión de cada cabeza y tipo de dato
+ * con que se guardan. A partir de eso calcula cuántos bytes ocupa un token y un marco, lo que permite
+ * traducir memoria real (por ejemplo 80 GB de un acelerador) a marcos de la simulación.
+ *
+ * Los modos cuantizados guardan menos bits por elemento: FP8 ocupa la mitad que FP16 e INT4 la cuarta
+ * parte, así que la misma memoria rinde dos o cuatro veces más marcos. No se cuentan las escalas de
+ * cuantización, que son una fracción mínima del total.
+ */
+public class EspecificacionModelo {
+    /** Bytes de un GB tal como se anuncian las memorias de los aceleradores (2^30). */
+    public static final long BYTES_POR_GB = 1L << 30;
+
+    /**
+     * Tipo de dato con que se guardan las claves y los valores.
+     */
+    public enum TipoDato {
+        FP16(16), FP8(8), INT4(4);
+
+        private final int bits;
+
+        TipoDato(int bits) {
+            this.bits = bits;
+        }
+
+        public int getBits() {
+            return bits;
+        }
+    }
+
+    // Arquitecturas conocidas: capas, cabezas KV y dimensión de cabeza
+    private static final Map<String, int[]> PREDEFINIDOS = Map.of(
+            "llama3-8b", new int[]{32, 8, 128},
+            "llama3-70b", new int[]{80, 8, 128},
+            "mistral-7b", new int[]{32, 8, 128},
+            "llama2-7b", new int[]{32, 32, 128});
+
+    private final int capas;
+    private final int cabezasKv;
+    private final int dimCabeza;
+    private final TipoDato tipo;
+
+    /**
+     * @param capas capas del transformer
+     * @param cabezasKv cabezas de clave/valor por capa
+     * @param dimCabeza dimensión de cada cabeza
+     * @param tipo tipo de dato de la caché KV
+     */
+    public EspecificacionModelo(int capas, int cabezasKv, int dimCabeza, TipoDato tipo) {
+        if (capas <= 0 || cabezasKv <= 0 || dimCabeza <= 0) {
+            throw new IllegalArgumentException("Capas, cabezas KV y dimensión de cabeza deben ser positivas");
+        }
+        this.capas = capas;
+        this.cabezasKv = cabezasKv;
+        this.dimCabeza = dimCabeza;
+        this.tipo = tipo;
+    }
+
+    /**
+     * Crea una especificación a partir de su descripción textual.
+     * Formatos aceptados: {@code capas:cabezasKv:dimCabeza:tipo}, por ejemplo {@code 80:8:128:fp8},
+     * o el nombre de un modelo conocido seguido del tipo, por ejemplo {@code llama3-70b:fp8}.
+     * El tipo es {@code fp16}, {@code fp8} o {@code int4}.
+     *
+     * @param texto descripción del modelo
+     * @return especificación configurada
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static EspecificacionModelo desdeTexto(String texto) {
+        String[] partes = texto.trim().toLowerCase(Locale.ROOT).split(":");
+        TipoDato tipo = tipoDesdeTexto(partes[partes.length - 1], texto);
+
+        if (partes.length == 2) {
+            int[] arquitectura = PREDEFINIDOS.get(partes[0].trim());
+            if (arquitectura == null) {
+                throw new IllegalArgumentException("Modelo desconocido: '" + partes[0] + "'. Conocidos: "
+                        + PREDEFINIDOS.keySet() + " o use capas:cabezasKv:dimCabeza:tipo");
+            }
+            return new EspecificacionModelo(arquitectura[0], arquitectura[1], arquitectura[2], tipo);
+        }
+        if (partes.length != 4) {
+            throw new IllegalArgumentException("Modelo inválido: '" + texto
+                    + "'. Use capas:cabezasKv:dimCabeza:tipo o nombre:tipo");
+        }
+        try {
+            return new EspecificacionModelo(Integer.parseInt(partes[0].trim()), Integer.parseInt(partes[1].trim()),
+                    Integer.parseInt(partes[2].trim()), tipo);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parámetro numérico inválido en '" + texto + "'", e);
+        }
+    }
+
+    private static TipoDato tipoDesdeTexto(String tipo, String texto) {
+        try {
+            return TipoDato.valueOf(tipo.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de dato inválido en '" + texto + "'. Use fp16, fp8 o int4", e);
+        }
+    }
+
+    /**
+     * Calcula los bytes de caché KV de un token: una clave y un valor por cabeza KV en cada capa.
+     *
+     * @return bytes por token
+     */
+    public long getBytesPorToken() {
+        return 2L * capas * cabezasKv * dimCabeza * tipo.getBits() / 8;
+    }
+
+    /**
+     * Calcula los bytes de un marco, que guarda {@code tamPagina} tokens.
+     *
+     * @param tamPagina tokens por marco
+     * @return bytes por marco
+     */
+    public long getBytesPorMarco(int tamPagina) {
+        return getBytesPorToken() * tamPagina;
+    }
+
+    /**
+     * Calcula cuántos marcos completos caben en una memoria dada.
+     *
+     * @param gb memoria disponible para la caché KV, en GB
+     * @param tamPagina tokens por marco
+     * @return marcos que entran en esa memoria
+     * @throws IllegalArgumentException si no entra ningún marco o son más de los que admite la simulación
+     */
+    public int marcosEnMemoria(double gb, int tamPagina) {
+        long marcos = (long) (gb * BYTES_POR_GB) / getBytesPorMarco(tamPagina);
+        if (marcos < 1 || marcos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(gb + " GB dan " + marcos + " marcos de " + getBytesPorMarco(tamPagina)
+                    + " bytes; ajuste la memoria o el tamaño de página");
+        }
+        return (int) marcos;
+    }
+
+    public int getCapas() {
+        return capas;
+    }
+
+    public int getCabezasKv() {
+        return cabezasKv;
+    }
+
+    public int getDimCabeza() {
+        return dimCabeza;
+    }
+
+    public TipoDato getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EspecificacionModelo)) return false;
+        EspecificacionModelo otro = (EspecificacionModelo) o;
+        return capas == otro.capas && cabezasKv == otro.cabezasKv && dimCabeza == otro.dimCabeza && tipo == otro.tipo;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(capas, cabezasKv, dimCabeza, tipo);
+    }
+
+    @Override
+    public String toString() {
+        return capas + " capas x " + cabezasKv + " cabezas KV x " + dimCabeza + " (" + tipo + ", "
+                + getBytesPorToken() + " bytes/token)";
+    }
+}
@@ -4,12 +4,14 @@ package sim.modelo;
  * Representa un marco físico en la memoria RAM.
  * Cada marco puede estar libre u ocupado por un proceso específico.
  * Mantiene información sobre su estado, el proceso que lo ocupa y su color visual.
+ * Los campos son volátiles porque en el modo de sesiones un hilo asigna el marco y otros
+ * (o la interfaz) lo leen sin tomar ningún lock.
  */
 public class Frame {
     private final int id;
-    private boolean ocupado;
-    private int processId;
-    private String colorHex;
+    private volatile boolean ocupado;
+    private volatile int processId;
+    private volatile String colorHex;
 
     /**
      * Crea un nuevo marco físico en estado libre.
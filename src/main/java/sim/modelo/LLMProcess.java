@@ -5,11 +5,25 @@ package sim.modelo;
  * Agrupa la tabla de páginas propia y metadatos como ID, nombre, color para la UI y cantidad de tokens generados.
  */
 public class LLMProcess {
+    public static final int SIN_LIMITE = -1;
+    public static final int SIN_PREFIJO = -1;
+    public static final int SIN_BORRADOR = -1;
+    public static final int SIN_PADRE = -1;
+
     private final int pid;
     private final String nombre;
     private final String colorHex;
     private final PageTable pageTable;
     private int contadorTokens;
+    private int tokensPrompt = 0;
+    private int tokensSalidaMax = SIN_LIMITE;
+    private int tokensSalida = 0;
+    private double periodoDecode = 1.0;
+    private double instanteLlegada = 0.0;
+    private int idPrefijo = SIN_PREFIJO;
+    private int prioridad = 0;
+    private int inicioBorrador = SIN_BORRADOR;
+    private int pidPadre = SIN_PADRE;
 
     /**
      * Crea un nuevo proceso LLM con los metadatos especificados.
@@ -26,6 +40,27 @@ public class LLMProcess {
         this.contadorTokens = 0;
     }
 
+    /**
+     * Crea un proceso hijo con los mismos metadatos de la conversación (prompt, límite de respuesta,
+     * ritmo de decode, llegada, prefijo, prioridad y color) y la tabla de páginas vacía.
+     * El contexto lo reparte después {@code MMUService#bifurcar}.
+     *
+     * @param pid identificador del hijo
+     * @param nombre nombre del hijo
+     * @return proceso hijo que recuerda el pid de este como padre
+     */
+    public LLMProcess crearHijo(int pid, String nombre) {
+        LLMProcess hijo = new LLMProcess(pid, nombre, colorHex);
+        hijo.tokensPrompt = tokensPrompt;
+        hijo.tokensSalidaMax = tokensSalidaMax;
+        hijo.periodoDecode = periodoDecode;
+        hijo.instanteLlegada = instanteLlegada;
+        hijo.idPrefijo = idPrefijo;
+        hijo.prioridad = prioridad;
+        hijo.pidPadre = this.pid;
+        return hijo;
+    }
+
     /**
      * Incrementa el contador de tokens generados por el proceso.
      */
@@ -33,6 +68,78 @@ public class LLMProcess {
         this.contadorTokens++;
     }
 
+    /**
+     * Registra un token de respuesta generado (fase de decodificación).
+     */
+    public void registrarTokenSalida() {
+        this.tokensSalida++;
+    }
+
+    /**
+     * Descarta el contexto alojado en memoria (por ejemplo al ser desalojado).
+     * Conserva los tokens de salida ya generados para poder reconstruir el contexto.
+     */
+    public void reiniciarContexto() {
+        this.contadorTokens = 0;
+        this.inicioBorrador = SIN_BORRADOR;
+    }
+
+    /**
+     * Marca el comienzo de un borrador especulativo: los tokens que se agreguen desde ahora
+     * son tentativos hasta que se confirme cuántos acepta el modelo verificador.
+     */
+    public void iniciarBorrador() {
+        this.inicioBorrador = contadorTokens;
+    }
+
+    /**
+     * Cierra el borrador en curso dejando en el contexto solo los tokens confirmados.
+     *
+     * @param contadorConfirmado longitud del contexto tras descartar los tokens rechazados
+     */
+    public void cerrarBorrador(int contadorConfirmado) {
+        this.contadorTokens = contadorConfirmado;
+        this.inicioBorrador = SIN_BORRADOR;
+    }
+
+    /**
+     * Obtiene la longitud que tenía el contexto al iniciar el borrador en curso.
+     *
+     * @return tokens confirmados antes del borrador, o {@link #SIN_BORRADOR} si no hay uno abierto
+     */
+    public int getInicioBorrador() {
+        return inicioBorrador;
+    }
+
+    /**
+     * Obtiene los tokens tentativos del borrador en curso.
+     *
+     * @return tokens agregados desde {@link #iniciarBorrador()}, 0 si no hay borrador abierto
+     */
+    public int getTokensBorrador() {
+        return (inicioBorrador == SIN_BORRADOR) ? 0 : contadorTokens - inicioBorrador;
+    }
+
+    /**
+     * Repone el avance del proceso al restaurar un punto de control.
+     *
+     * @param contadorTokens tokens de contexto alojados en memoria
+     * @param tokensSalida tokens de respuesta ya generados
+     */
+    public void restaurarAvance(int contadorTokens, int tokensSalida) {
+        this.contadorTokens = contadorTokens;
+        this.tokensSalida = tokensSalida;
+    }
+
+    /**
+     * Indica si el proceso ya generó todos los tokens de respuesta previstos.
+     *
+     * @return true si tiene un límite de salida y lo alcanzó
+     */
+    public boolean isCompleto() {
+        return tokensSalidaMax != SIN_LIMITE && tokensSalida >= tokensSalidaMax;
+    }
+
     /**
      * Obtiene el identificador único del proceso.
      *
@@ -78,6 +185,87 @@ public class LLMProcess {
         return contadorTokens;
     }
 
+    public int getTokensPrompt() {
+        return tokensPrompt;
+    }
+
+    public void setTokensPrompt(int tokensPrompt) {
+        this.tokensPrompt = tokensPrompt;
+    }
+
+    public int getTokensSalidaMax() {
+        return tokensSalidaMax;
+    }
+
+    public void setTokensSalidaMax(int tokensSalidaMax) {
+        this.tokensSalidaMax = tokensSalidaMax;
+    }
+
+    public int getTokensSalida() {
+        return tokensSalida;
+    }
+
+    public double getPeriodoDecode() {
+        return periodoDecode;
+    }
+
+    public void setPeriodoDecode(double periodoDecode) {
+        this.periodoDecode = periodoDecode;
+    }
+
+    public double getInstanteLlegada() {
+        return instanteLlegada;
+    }
+
+    public void setInstanteLlegada(double instanteLlegada) {
+        this.instanteLlegada = instanteLlegada;
+    }
+
+    /**
+     * Obtiene el proceso del que se bifurcó esta conversación.
+     *
+     * @return pid del padre, o {@link #SIN_PADRE} si no es una bifurcación
+     */
+    public int getPidPadre() {
+        return pidPadre;
+    }
+
+    /**
+     * Fija el proceso del que se bifurcó esta conversación; lo usa la restauración de un punto de control.
+     *
+     * @param pidPadre pid del padre, o {@link #SIN_PADRE}
+     */
+    public void setPidPadre(int pidPadre) {
+        this.pidPadre = pidPadre;
+    }
+
+    /**
+     * Obtiene el identificador del prefijo compartido (por ejemplo un prompt de sistema común)
+     * con el que empieza la conversación.
+     *
+     * @return id del prefijo, o {@link #SIN_PREFIJO} si no comparte ninguno
+     */
+    public int getIdPrefijo() {
+        return idPrefijo;
+    }
+
+    public void setIdPrefijo(int idPrefijo) {
+        this.idPrefijo = idPrefijo;
+    }
+
+    /**
+     * Obtiene el nivel de prioridad estática de la conversación.
+     *
+     * @return prioridad (0 es la más importante)
+     */
+    public int getPrioridad() {
+        return prioridad;
+    }
+
+    public void setPrioridad(int prioridad) {
+        this.prioridad = prioridad;
+    }
+
     /**
      * Devuelve una representación en texto del proceso, mostrando el nombre y la cantidad de tokens.
      *
@@ -1,20 +1,22 @@
 package sim.modelo;
 
 /**
- * Representa una entrada en el log de accesos a memoria.
- * Contiene información detallada sobre cada traducción de dirección virtual a física.
+ * Representa una fila del log de accesos a memoria que muestra la interfaz.
+ * Contiene información detallada sobre una traducción de dirección virtual a física.
+ * Las filas se reutilizan: en cada refresco se vuelven a cargar con los últimos accesos
+ * del registro circular de la simulación en lugar de crear una por acceso.
  */
 public class MemoryAccessLog {
-    private final int direccionVirtual;
-    private final int direccionFisica;
-    private final int numeroPagina;
-    private final int numeroMarco;
-    private final boolean tlbHit;
-    private final int pid;
-    private final String nombreProceso;
+    private int direccionVirtual;
+    private int direccionFisica;
+    private int numeroPagina;
+    private int numeroMarco;
+    private boolean tlbHit;
+    private int pid;
+    private String nombreProceso;
 
     /**
-     * Crea un nuevo registro de acceso a memoria.
+     * Carga en la fila los datos de un acceso a memoria.
      *
      * @param direccionVirtual dirección virtual solicitada
      * @param direccionFisica dirección física calculada
@@ -24,8 +26,8 @@ public class MemoryAccessLog {
      * @param pid identificador del proceso
      * @param nombreProceso nombre del proceso
      */
-    public MemoryAccessLog(int direccionVirtual, int direccionFisica, int numeroPagina,
-                          int numeroMarco, boolean tlbHit, int pid, String nombreProceso) {
+    public void cargar(int direccionVirtual, int direccionFisica, int numeroPagina,
+                       int numeroMarco, boolean tlbHit, int pid, String nombreProceso) {
         this.direccionVirtual = direccionVirtual;
         this.direccionFisica = direccionFisica;
         this.numeroPagina = numeroPagina;
@@ -67,4 +69,3 @@ public class MemoryAccessLog {
         return nombreProceso;
     }
 }
-
@@ -1,20 +1,27 @@
 package sim.modelo;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Representa una tabla de páginas que traduce un Número de Página Virtual (VPN)
  * a un Número de Marco Físico (PFN) para un proceso.
+ * Las páginas de un proceso se numeran desde 0 y crecen de a una, así que la tabla es un
+ * arreglo indexado por VPN: consultar no crea objetos ni recorre estructuras.
  */
 public class PageTable {
-    private final Map<Integer, Integer> mapping;
+    public static final int SIN_MARCO = -1;
+
+    private int[] marcos = new int[8];
+    private int limite = 0;
+    private int cantidad = 0;
 
     /**
      * Crea una nueva tabla de páginas vacía.
      */
     public PageTable() {
-        this.mapping = new HashMap<>();
+        Arrays.fill(marcos, SIN_MARCO);
     }
 
     /**
@@ -24,7 +31,33 @@ public class PageTable {
      * @param marcoFisico número de marco físico (PFN)
      */
     public void agregarEntrada(int paginaVirtual, int marcoFisico) {
-        mapping.put(paginaVirtual, marcoFisico);
+        if (paginaVirtual >= marcos.length) {
+            int anterior = marcos.length;
+            marcos = Arrays.copyOf(marcos, Math.max(paginaVirtual + 1, anterior * 2));
+            Arrays.fill(marcos, anterior, marcos.length, SIN_MARCO);
+        }
+        if (marcos[paginaVirtual] == SIN_MARCO) {
+            cantidad++;
+        }
+        marcos[paginaVirtual] = marcoFisico;
+        limite = Math.max(limite, paginaVirtual + 1);
+    }
+
+    /**
+     * Quita la traducción de una página virtual, por ejemplo al revertir tokens especulativos.
+     *
+     * @param paginaVirtual número de página virtual (VPN)
+     * @return marco que tenía asignado, o {@link #SIN_MARCO} si no estaba mapeada
+     */
+    public int quitarEntrada(int paginaVirtual) {
+        int marco = getMarco(paginaVirtual);
+        if (marco == SIN_MARCO) return SIN_MARCO;
+        marcos[paginaVirtual] = SIN_MARCO;
+        cantidad--;
+        while (limite > 0 && marcos[limite - 1] == SIN_MARCO) {
+            limite--;
+        }
+        return marco;
     }
 
     /**
@@ -34,7 +67,36 @@ public class PageTable {
      * @return número de marco físico (PFN), o null si no existe la entrada
      */
     public Integer getMarcoFisico(int paginaVirtual) {
-        return mapping.get(paginaVirtual);
+        int marco = getMarco(paginaVirtual);
+        return (marco != SIN_MARCO) ? marco : null;
+    }
+
+    /**
+     * Obtiene el marco físico de una página virtual sin crear objetos.
+     *
+     * @param paginaVirtual número de página virtual (VPN)
+     * @return número de marco físico, o {@link #SIN_MARCO} si no existe la entrada
+     */
+    public int getMarco(int paginaVirtual) {
+        return (paginaVirtual >= 0 && paginaVirtual < limite) ? marcos[paginaVirtual] : SIN_MARCO;
+    }
+
+    /**
+     * Obtiene la cantidad de páginas virtuales mapeadas, sin copiar el mapa.
+     *
+     * @return número de entradas de la tabla de páginas
+     */
+    public int getCantidadPaginas() {
+        return cantidad;
+    }
+
+    /**
+     * Obtiene una más que la mayor página virtual mapeada, para recorrer la tabla con {@link #getMarco(int)}.
+     *
+     * @return límite de las páginas virtuales
+     */
+    public int getLimitePaginas() {
+        return limite;
     }
 
     /**
@@ -43,13 +105,21 @@ public class PageTable {
      * @return mapa de página virtual a marco físico
      */
     public Map<Integer, Integer> getMapa() {
-        return new HashMap<>(mapping);
+        Map<Integer, Integer> mapa = new HashMap<>();
+        for (int vpn = 0; vpn < limite; vpn++) {
+            if (marcos[vpn] != SIN_MARCO) {
+                mapa.put(vpn, marcos[vpn]);
+            }
+        }
+        return mapa;
     }
 
     /**
      * Elimina todas las entradas de la tabla de páginas.
      */
     public void limpiar() {
-        mapping.clear();
+        Arrays.fill(marcos, 0, limite, SIN_MARCO);
+        limite = 0;
+        cantidad = 0;
     }
 }
@@ -1,10 +1,12 @@
 package sim.modelo;
 
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Representa un perfil de configuración de simulación.
- * Define parámetros como el tamaño de la memoria, página, TLB y velocidad de simulación.
+ * Define parámetros como el tamaño de la memoria, página, TLB, velocidad de simulación
+ * la semilla de los generadores aleatorios y el modelo de carga (llegadas y longitudes de las conversaciones).
  */
 public class Perfil {
     private String nombre;
@@ -14,9 +16,37 @@ public class Perfil {
     private int pageSize;
     private int TLBSize;
     private int simSpeed;
+    private long semilla;
+    private String llegadas = "bernoulli:0.3";
+    private String longitudPrompt = "fija:0";
+    private String longitudSalida = "infinita";
+    private double segundosPorCiclo = 0.05;
+    private String traza = null;
+    private double escalaTraza = 1.0;
+    private int maxLoteSecuencias = 0;
+    private int maxLoteTokens = 0;
+    private int chunkPrefill = 0;
+    private String politica = "fcfs";
+    private int nivelesPrioridad = 1;
+    private int dispositivos = 1;
+    private String ubicacion = "menosCargado";
+    private int particiones = 1;
+    private String puntoControl = null;
+    private String atencion = "ultimo";
+    private String especulacion = "no";
+    private String bifurcacion = "no";
+    private EspecificacionModelo modelo = null;
+    private double memoriaGB = 0.0;
+    private String auditoria = null;
+    private String segmentosAuditoria = null;
+    private String trazaAccesos = null;
+    private int segmentoTrazaMB = 64;
+    private int muestreoTraza = 1;
+    private String pidsTraza = null;
 
     /**
      * Crea un nuevo perfil de configuración.
+     * La semilla se inicializa con un valor aleatorio; usar {@link #setSemilla(long)} para fijarla.
      *
      * @param nombre nombre descriptivo del perfil
      * @param colGrilla número de columnas en la grilla visual
@@ -33,6 +63,45 @@ public class Perfil {
         this.simSpeed = simSpeed;
         this.TLBSize = TLBSize;
         this.totalMarcosRam = colGrilla * filasGrilla;
+        this.semilla = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Crea una copia independiente de otro perfil, incluida su semilla.
+     * Útil para variar un parámetro (por ejemplo la semilla de cada réplica) sin alterar el original.
+     *
+     * @param otro perfil a copiar
+     */
+    public Perfil(Perfil otro) {
+        this(otro.nombre, otro.colGrilla, otro.filasGrilla, otro.pageSize, otro.simSpeed, otro.TLBSize);
+        this.totalMarcosRam = otro.totalMarcosRam;
+        this.semilla = otro.semilla;
+        this.llegadas = otro.llegadas;
+        this.longitudPrompt = otro.longitudPrompt;
+        this.longitudSalida = otro.longitudSalida;
+        this.segundosPorCiclo = otro.segundosPorCiclo;
+        this.traza = otro.traza;
+        this.escalaTraza = otro.escalaTraza;
+        this.maxLoteSecuencias = otro.maxLoteSecuencias;
+        this.maxLoteTokens = otro.maxLoteTokens;
+        this.chunkPrefill = otro.chunkPrefill;
+        this.politica = otro.politica;
+        this.nivelesPrioridad = otro.nivelesPrioridad;
+        this.dispositivos = otro.dispositivos;
+        this.ubicacion = otro.ubicacion;
+        this.particiones = otro.particiones;
+        this.puntoControl = otro.puntoControl;
+        this.atencion = otro.atencion;
+        this.especulacion = otro.especulacion;
+        this.bifurcacion = otro.bifurcacion;
+        this.modelo = otro.modelo;
+        this.memoriaGB = otro.memoriaGB;
+        this.auditoria = otro.auditoria;
+        this.segmentosAuditoria = otro.segmentosAuditoria;
+        this.trazaAccesos = otro.trazaAccesos;
+        this.segmentoTrazaMB = otro.segmentoTrazaMB;
+        this.muestreoTraza = otro.muestreoTraza;
+        this.pidsTraza = otro.pidsTraza;
     }
 
     public String getNombre() {
@@ -91,16 +160,389 @@ public class Perfil {
         this.totalMarcosRam = totalMarcosRam;
     }
 
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Obtiene la descripción del proceso de llegadas (por ejemplo "poisson:0.3").
+     * Por defecto es "bernoulli:0.3", el modelo original de una llegada por ciclo con probabilidad 0.3.
+     *
+     * @return descripción interpretada por {@code ProcesoLlegadas.desdeTexto}
+     */
+    public String getLlegadas() {
+        return llegadas;
+    }
+
+    public void setLlegadas(String llegadas) {
+        this.llegadas = llegadas;
+    }
+
+    /**
+     * Obtiene la descripción de la distribución de longitud del prompt (por defecto "fija:0").
+     *
+     * @return descripción interpretada por {@code DistribucionLongitud.desdeTexto}
+     */
+    public String getLongitudPrompt() {
+        return longitudPrompt;
+    }
+
+    public void setLongitudPrompt(String longitudPrompt) {
+        this.longitudPrompt = longitudPrompt;
+    }
+
+    /**
+     * Obtiene la descripción de la distribución de longitud de la respuesta.
+     * Por defecto es "infinita": las conversaciones solo terminan al quedarse sin memoria.
+     *
+     * @return descripción interpretada por {@code DistribucionLongitud.desdeTexto}
+     */
+    public String getLongitudSalida() {
+        return longitudSalida;
+    }
+
+    public void setLongitudSalida(String longitudSalida) {
+        this.longitudSalida = longitudSalida;
+    }
+
+    /**
+     * Obtiene la duración que representa un ciclo en tiempo simulado.
+     * Es independiente de {@link #getSimSpeed()}, que solo regula la animación de la interfaz,
+     * y se usa para expresar el rendimiento en solicitudes y tokens por segundo.
+     *
+     * @return segundos simulados por ciclo (por defecto 0.05, un paso de decodificación de 50 ms)
+     */
+    public double getSegundosPorCiclo() {
+        return segundosPorCiclo;
+    }
+
+    public void setSegundosPorCiclo(double segundosPorCiclo) {
+        this.segundosPorCiclo = segundosPorCiclo;
+    }
+
+    /**
+     * Obtiene la ruta de la traza de solicitudes a reproducir.
+     * Si está definida reemplaza al modelo de llegadas y longitudes.
+     *
+     * @return ruta del archivo de traza, o null para usar la carga sintética
+     */
+    public String getTraza() {
+        return traza;
+    }
+
+    public void setTraza(String traza) {
+        this.traza = traza;
+    }
+
+    /**
+     * Obtiene el factor de aceleración con el que se reproduce la traza.
+     *
+     * @return escala de tiempo (2 duplica la carga, 10 la multiplica por diez)
+     */
+    public double getEscalaTraza() {
+        return escalaTraza;
+    }
+
+    public void setEscalaTraza(double escalaTraza) {
+        this.escalaTraza = escalaTraza;
+    }
+
+    /**
+     * Obtiene la cantidad máxima de procesos admitidos a la vez por el planificador de lotes.
+     *
+     * @return máximo de secuencias por lote, o 0 si no hay límite
+     */
+    public int getMaxLoteSecuencias() {
+        return maxLoteSecuencias;
+    }
+
+    public void setMaxLoteSecuencias(int maxLoteSecuencias) {
+        this.maxLoteSecuencias = maxLoteSecuencias;
+    }
+
+    /**
+     * Obtiene la cantidad máxima de tokens (prefill más decode) procesados en un paso.
+     *
+     * @return presupuesto de tokens por paso, o 0 si no hay límite
+     */
+    public int getMaxLoteTokens() {
+        return maxLoteTokens;
+    }
+
+    public void setMaxLoteTokens(int maxLoteTokens) {
+        this.maxLoteTokens = maxLoteTokens;
+    }
+
+    /**
+     * Obtiene el tamaño máximo del fragmento de prompt que un proceso procesa por paso.
+     *
+     * @return tokens de prefill por proceso y paso, o 0 para procesar el prompt completo
+     */
+    public int getChunkPrefill() {
+        return chunkPrefill;
+    }
+
+    public void setChunkPrefill(int chunkPrefill) {
+        this.chunkPrefill = chunkPrefill;
+    }
+
+    /**
+     * Obtiene el nombre de la política de planificación (fcfs, srf, prioridad o justa).
+     *
+     * @return nombre interpretado por {@code PoliticaPlanificacion.desdeTexto}
+     */
+    public String getPolitica() {
+        return politica;
+    }
+
+    public void setPolitica(String politica) {
+        this.politica = politica;
+    }
+
+    /**
+     * Obtiene la cantidad de niveles de prioridad que se sortean entre las conversaciones generadas.
+     *
+     * @return niveles de prioridad (1 = todas con la misma prioridad)
+     */
+    public int getNivelesPrioridad() {
+        return nivelesPrioridad;
+    }
+
+    public void setNivelesPrioridad(int nivelesPrioridad) {
+        this.nivelesPrioridad = nivelesPrioridad;
+    }
+
+    /**
+     * Obtiene la cantidad de dispositivos del nodo; cada uno tiene la memoria y la TLB del perfil.
+     *
+     * @return dispositivos del nodo (1 = un único acelerador)
+     */
+    public int getDispositivos() {
+        return dispositivos;
+    }
+
+    public void setDispositivos(int dispositivos) {
+        this.dispositivos = dispositivos;
+    }
+
+    /**
+     * Obtiene el nombre de la política de ubicación de conversaciones entre dispositivos.
+     *
+     * @return nombre interpretado por {@code PoliticaUbicacion.desdeTexto}
+     */
+    public String getUbicacion() {
+        return ubicacion;
+    }
+
+    public void setUbicacion(String ubicacion) {
+        this.ubicacion = ubicacion;
+    }
+
+    /**
+     * Obtiene la cantidad de particiones (e hilos) en que se reparten los procesos en cada ciclo.
+     *
+     * @return particiones del paso paralelo (1 = los procesos avanzan en serie)
+     */
+    public int getParticiones() {
+        return particiones;
+    }
+
+    public void setParticiones(int particiones) {
+        this.particiones = particiones;
+    }
+
+    /**
+     * Obtiene el punto de control desde el que arrancan las ejecuciones sin interfaz.
+     *
+     * @return ruta del archivo binario, o null para arrancar con la memoria vacía
+     */
+    public String getPuntoControl() {
+        return puntoControl;
+    }
+
+    public void setPuntoControl(String puntoControl) {
+        this.puntoControl = puntoControl;
+    }
+
+    /**
+     * Obtiene la descripción del patrón de lectura de la caché KV en cada paso de decodificación.
+     *
+     * @return descripción interpretada por {@code PatronAtencion.desdeTexto}
+     */
+    public String getAtencion() {
+        return atencion;
+    }
+
+    public void setAtencion(String atencion) {
+        this.atencion = atencion;
+    }
+
+    /**
+     * Obtiene la descripción de la decodificación especulativa: tokens de borrador por paso
+     * y tasa de aceptación del verificador.
+     *
+     * @return descripción interpretada por {@code Especulador.desdeTexto}
+     */
+    public String getEspeculacion() {
+        return especulacion;
+    }
+
+    public void setEspeculacion(String especulacion) {
+        this.especulacion = especulacion;
+    }
+
+    /**
+     * Obtiene la descripción de la bifurcación de conversaciones: secuencias por conversación
+     * que comparten el prompt y probabilidad de podar cada hijo en un paso de decode.
+     *
+     * @return descripción interpretada por {@code Bifurcador.desdeTexto}
+     */
+    public String getBifurcacion() {
+        return bifurcacion;
+    }
+
+    public void setBifurcacion(String bifurcacion) {
+        this.bifurcacion = bifurcacion;
+    }
+
+    /**
+     * Obtiene el modelo servido (capas, cabezas KV, dimensión y tipo de dato), con el que se
+     * traducen los marcos a bytes. Se interpreta una sola vez, al cargar el perfil.
+     *
+     * @return especificación del modelo, o null si no se indicó
+     */
+    public EspecificacionModelo getModelo() {
+        return modelo;
+    }
+
+    public void setModelo(EspecificacionModelo modelo) {
+        this.modelo = modelo;
+    }
+
+    /**
+     * Obtiene la memoria del acelerador para la caché KV con la que se calculó la cantidad de marcos.
+     *
+     * @return memoria en GB, o 0 si los marcos se definieron directamente
+     */
+    public double getMemoriaGB() {
+        return memoriaGB;
+    }
+
+    public void setMemoriaGB(double memoriaGB) {
+        this.memoriaGB = memoriaGB;
+    }
+
+    /**
+     * Obtiene la política con que el auditor vuelca al CSV los registros por ciclo
+     * y qué hace si el escritor en segundo plano se atrasa.
+     *
+     * @return descripción de la política (por ejemplo "tiempo:250:bloquear"), o null para la del tipo de auditor
+     */
+    public String getAuditoria() {
+        return auditoria;
+    }
+
+    public void setAuditoria(String auditoria) {
+        this.auditoria = auditoria;
+    }
+
+    /**
+     * Obtiene cómo se divide y comprime el CSV persistente de auditoría de las ejecuciones sin interfaz.
+     *
+     * @return descripción de la segmentación (por ejemplo "gzip:64:100000"), o null para un único CSV
+     */
+    public String getSegmentosAuditoria() {
+        return segmentosAuditoria;
+    }
+
+    public void setSegmentosAuditoria(String segmentosAuditoria) {
+        this.segmentosAuditoria = segmentosAuditoria;
+    }
+
+    /**
+     * Obtiene la ruta base de la traza binaria de accesos; los segmentos agregan número y extensión.
+     *
+     * @return ruta base, o null para no trazar los accesos
+     */
+    public String getTrazaAccesos() {
+        return trazaAccesos;
+    }
+
+    public void setTrazaAccesos(String trazaAccesos) {
+        this.trazaAccesos = trazaAccesos;
+    }
+
+    /**
+     * Obtiene el tamaño de cada segmento de la traza de accesos; al llenarse uno se abre el siguiente.
+     *
+     * @return tamaño en MB
+     */
+    public int getSegmentoTrazaMB() {
+        return segmentoTrazaMB;
+    }
+
+    public void setSegmentoTrazaMB(int segmentoTrazaMB) {
+        this.segmentoTrazaMB = segmentoTrazaMB;
+    }
+
+    /**
+     * Obtiene cada cuántos accesos se guarda uno en la traza.
+     *
+     * @return 1 para guardar todos
+     */
+    public int getMuestreoTraza() {
+        return muestreoTraza;
+    }
+
+    public void setMuestreoTraza(int muestreoTraza) {
+        this.muestreoTraza = muestreoTraza;
+    }
+
+    /**
+     * Obtiene los procesos cuyos accesos se trazan.
+     *
+     * @return pids separados por comas, o null para todos
+     */
+    public String getPidsTraza() {
+        return pidsTraza;
+    }
+
+    public void setPidsTraza(String pidsTraza) {
+        this.pidsTraza = pidsTraza;
+    }
+
+    /**
+     * Calcula los bytes de caché KV de un token según el modelo del perfil.
+     *
+     * @return bytes por token, o 0 si el perfil no indica modelo
+     */
+    public long getBytesPorToken() {
+        return (modelo != null) ? modelo.getBytesPorToken() : 0;
+    }
+
+    /**
+     * Calcula los bytes de caché KV que representa un marco según el modelo del perfil.
+     *
+     * @return bytes por marco, o 0 si el perfil no indica modelo
+     */
+    public long getBytesPorMarco() {
+        return (modelo != null) ? modelo.getBytesPorMarco(pageSize) : 0;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Perfil perfil = (Perfil) o;
-        return colGrilla == perfil.colGrilla && filasGrilla == perfil.filasGrilla && totalMarcosRam == perfil.totalMarcosRam && pageSize == perfil.pageSize && TLBSize == perfil.TLBSize && simSpeed == perfil.simSpeed;
+        return colGrilla == perfil.colGrilla && filasGrilla == perfil.filasGrilla && totalMarcosRam == perfil.totalMarcosRam && pageSize == perfil.pageSize && TLBSize == perfil.TLBSize && simSpeed == perfil.simSpeed && semilla == perfil.semilla && Double.compare(segundosPorCiclo, perfil.segundosPorCiclo) == 0 && Objects.equals(llegadas, perfil.llegadas) && Objects.equals(longitudPrompt, perfil.longitudPrompt) && Objects.equals(longitudSalida, perfil.longitudSalida) && Objects.equals(traza, perfil.traza) && Double.compare(escalaTraza, perfil.escalaTraza) == 0 && maxLoteSecuencias == perfil.maxLoteSecuencias && maxLoteTokens == perfil.maxLoteTokens && chunkPrefill == perfil.chunkPrefill && nivelesPrioridad == perfil.nivelesPrioridad && Objects.equals(politica, perfil.politica) && dispositivos == perfil.dispositivos && Objects.equals(ubicacion, perfil.ubicacion) && particiones == perfil.particiones && Objects.equals(puntoControl, perfil.puntoControl) && Objects.equals(atencion, perfil.atencion) && Objects.equals(especulacion, perfil.especulacion) && Objects.equals(bifurcacion, perfil.bifurcacion) && Objects.equals(modelo, perfil.modelo) && Double.compare(memoriaGB, perfil.memoriaGB) == 0 && Objects.equals(auditoria, perfil.auditoria) && Objects.equals(segmentosAuditoria, perfil.segmentosAuditoria) && Objects.equals(trazaAccesos, perfil.trazaAccesos) && segmentoTrazaMB == perfil.segmentoTrazaMB && muestreoTraza == perfil.muestreoTraza && Objects.equals(pidsTraza, perfil.pidsTraza);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(colGrilla, filasGrilla, totalMarcosRam, pageSize, TLBSize, simSpeed);
+        return Objects.hash(colGrilla, filasGrilla, totalMarcosRam, pageSize, TLBSize, simSpeed, semilla, llegadas, longitudPrompt, longitudSalida, segundosPorCiclo, traza, escalaTraza, maxLoteSecuencias, maxLoteTokens, chunkPrefill, politica, nivelesPrioridad, dispositivos, ubicacion, particiones, puntoControl, atencion, especulacion, bifurcacion, modelo, memoriaGB, auditoria, segmentosAuditoria, trazaAccesos, segmentoTrazaMB, muestreoTraza, pidsTraza);
     }
 
     @Override
@@ -112,6 +554,33 @@ public class Perfil {
                 ", pageSize=" + pageSize +
                 ", TLBSize=" + TLBSize +
                 ", simSpeed=" + simSpeed +
+                ", semilla=" + semilla +
+                ", llegadas=" + llegadas +
+                ", prompt=" + longitudPrompt +
+                ", salida=" + longitudSalida +
+                ", segundosPorCiclo=" + segundosPorCiclo +
+                ", traza=" + traza +
+                ", escalaTraza=" + escalaTraza +
+                ", maxLoteSecuencias=" + maxLoteSecuencias +
+                ", maxLoteTokens=" + maxLoteTokens +
+                ", chunkPrefill=" + chunkPrefill +
+                ", politica=" + politica +
+                ", nivelesPrioridad=" + nivelesPrioridad +
+                ", dispositivos=" + dispositivos +
+                ", ubicacion=" + ubicacion +
+                ", particiones=" + particiones +
+                ", puntoControl=" + puntoControl +
+                ", atencion=" + atencion +
+                ", especulacion=" + especulacion +
+                ", bifurcacion=" + bifurcacion +
+                ", modelo=" + modelo +
+                ", memoriaGB=" + memoriaGB +
+                ", auditoria=" + auditoria +
+                ", segmentosAuditoria=" + segmentosAuditoria +
+                ", trazaAccesos=" + trazaAccesos +
+                ", segmentoTrazaMB=" + segmentoTrazaMB +
+                ", muestreoTraza=" + muestreoTraza +
+                ", pidsTraza=" + pidsTraza +
                 '}';
     }
 }
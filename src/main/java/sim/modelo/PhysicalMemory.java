@@ -1,12 +1,31 @@
 package sim.modelo;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Representa la Memoria Principal (RAM) como un arreglo de marcos físicos.
  * Su tamaño total se define por la cantidad de marcos especificada al crear la instancia.
+ *
+ * El mapa de ocupación y su contador son atómicos para que varios hilos puedan asignar y liberar
+ * marcos distintos a la vez (paso particionado); la búsqueda de un marco libre no reserva el marco,
+ * por lo que solo es segura desde un único hilo. Para que varios hilos compitan por los mismos
+ * marcos está {@link #reservarMarcoLibre(int, String)}, que busca y reserva con una sola operación CAS.
+ *
+ * Un marco puede estar mapeado por varios procesos (secuencias bifurcadas que comparten el prompt).
+ * Cada proceso extra suma una referencia con {@link #compartirMarco(int)} y {@link #liberarMarco(int)}
+ * solo deja el marco libre al soltar la última.
  */
 public class PhysicalMemory {
     private Frame[] frames;
     private final int totalSize;
+    private final AtomicLongArray ocupados;
+    private final AtomicInteger marcosOcupados = new AtomicInteger();
+    private final LongAdder reintentosCas = new LongAdder();
+    private final AtomicIntegerArray referenciasExtra;
+    private final AtomicInteger marcosCompartidos = new AtomicInteger();
 
     /**
      * Crea una memoria física con la cantidad de marcos especificada.
@@ -17,6 +36,8 @@ public class PhysicalMemory {
     public PhysicalMemory(int cantidadMarcos) {
         this.totalSize = cantidadMarcos;
         this.frames = new Frame[cantidadMarcos];
+        this.ocupados = new AtomicLongArray((cantidadMarcos + 63) >>> 6);
+        this.referenciasExtra = new AtomicIntegerArray(cantidadMarcos);
         for (int i = 0; i < cantidadMarcos; i++) {
             frames[i] = new Frame(i);
         }
@@ -36,6 +57,162 @@ public class PhysicalMemory {
         return frames[numeroDeMarco];
     }
 
+    /**
+     * Asigna un marco a un proceso manteniendo actualizados los contadores de ocupación.
+     *
+     * @param numeroDeMarco índice del marco físico
+     * @param pid identificador del proceso que ocupará el marco
+     * @param colorHex color del proceso para visualización
+     */
+    public void asignarMarco(int numeroDeMarco, int pid, String colorHex) {
+        Frame frame = getFrame(numeroDeMarco);
+        frame.asignar(pid, colorHex);
+        if (cambiarBit(numeroDeMarco, true)) {
+            marcosOcupados.incrementAndGet();
+        }
+    }
+
+    /**
+     * Suma una referencia a un marco ocupado para que otro proceso lo mapee sin copiarlo.
+     *
+     * @param numeroDeMarco índice del marco físico
+     * @throws IllegalStateException si el marco está libre
+     */
+    public void compartirMarco(int numeroDeMarco) {
+        if (!isOcupado(numeroDeMarco)) {
+            throw new IllegalStateException("No se puede compartir el marco libre " + numeroDeMarco);
+        }
+        referenciasExtra.incrementAndGet(numeroDeMarco);
+        marcosCompartidos.incrementAndGet();
+    }
+
+    /**
+     * Suelta una referencia a un marco. Si otro proceso todavía lo mapea solo se descuenta
+     * la referencia; si era la última, el marco queda libre y se actualizan los contadores.
+     *
+     * @param numeroDeMarco índice del marco físico
+     * @return true si el marco quedó libre
+     */
+    public boolean liberarMarco(int numeroDeMarco) {
+        Frame frame = getFrame(numeroDeMarco);
+        while (true) {
+            int extra = referenciasExtra.get(numeroDeMarco);
+            if (extra == 0) break;
+            if (referenciasExtra.compareAndSet(numeroDeMarco, extra, extra - 1)) {
+                marcosCompartidos.decrementAndGet();
+                return false;
+            }
+        }
+        // El marco se limpia antes de soltar el bit: después otro hilo puede reservarlo y asignarlo
+        frame.liberar();
+        if (cambiarBit(numeroDeMarco, false)) {
+            marcosOcupados.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene cuántos procesos mapean un marco.
+     *
+     * @param numeroDeMarco índice del marco físico
+     * @return referencias al marco, 0 si está libre
+     */
+    public int getReferencias(int numeroDeMarco) {
+        return isOcupado(numeroDeMarco) ? 1 + referenciasExtra.get(numeroDeMarco) : 0;
+    }
+
+    /**
+     * Obtiene la suma de las referencias extra de todos los marcos: los marcos que haría falta
+     * agregar si cada proceso tuviera su propia copia de las páginas compartidas.
+     *
+     * @return marcos ahorrados frente a la duplicación
+     */
+    public int getMarcosCompartidos() {
+        return marcosCompartidos.get();
+    }
+
+    /**
+     * Marca o desmarca un marco en el mapa de ocupación con una operación atómica.
+     *
+     * @param numeroDeMarco índice del marco físico
+     * @param ocupado estado a dejar en el mapa
+     * @return true si el estado cambió
+     */
+    private boolean cambiarBit(int numeroDeMarco, boolean ocupado) {
+        int palabra = numeroDeMarco >>> 6;
+        long mascara = 1L << numeroDeMarco;
+        while (true) {
+            long actual = ocupados.get(palabra);
+            long nuevo = ocupado ? (actual | mascara) : (actual & ~mascara);
+            if (actual == nuevo) return false;
+            if (ocupados.compareAndSet(palabra, actual, nuevo)) return true;
+            reintentosCas.increment();
+        }
+    }
+
+    /**
+     * Busca el marco libre de menor índice y lo asigna al proceso de forma atómica:
+     * si otro hilo lo toma primero, se reintenta con el siguiente libre.
+     *
+     * @param pid identificador del proceso que ocupará el marco
+     * @param colorHex color del proceso para visualización
+     * @return índice del marco reservado, o -1 si la memoria está llena
+     */
+    public int reservarMarcoLibre(int pid, String colorHex) {
+        for (int palabra = 0; palabra < ocupados.length(); palabra++) {
+            while (true) {
+                long actual = ocupados.get(palabra);
+                if (actual == -1L) break;
+                int bit = Long.numberOfTrailingZeros(~actual);
+                int marco = (palabra << 6) + bit;
+                if (marco >= totalSize) return -1;
+                if (ocupados.compareAndSet(palabra, actual, actual | (1L << bit))) {
+                    marcosOcupados.incrementAndGet();
+                    frames[marco].asignar(pid, colorHex);
+                    return marco;
+                }
+                reintentosCas.increment();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene la cantidad de operaciones CAS sobre el mapa de ocupación que fallaron
+     * porque otro hilo modificó la misma palabra, una medida de la contención entre hilos.
+     *
+     * @return reintentos acumulados
+     */
+    public long getReintentosCas() {
+        return reintentosCas.sum();
+    }
+
+    /**
+     * Indica si un marco figura como ocupado en el mapa de ocupación.
+     *
+     * @param numeroDeMarco índice del marco físico
+     * @return true si el marco está asignado a algún proceso
+     */
+    public boolean isOcupado(int numeroDeMarco) {
+        return (ocupados.get(numeroDeMarco >>> 6) & (1L << numeroDeMarco)) != 0;
+    }
+
+    /**
+     * Busca el marco libre de menor índice.
+     *
+     * @return índice del marco libre o -1 si la memoria está llena
+     */
+    public int buscarMarcoLibre() {
+        for (int palabra = 0; palabra < ocupados.length(); palabra++) {
+            long libres = ~ocupados.get(palabra);
+            if (libres != 0) {
+                int libre = (palabra << 6) + Long.numberOfTrailingZeros(libres);
+                return (libre < totalSize) ? libre : -1;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Obtiene el tamaño total de la memoria física (cantidad de marcos).
      *
@@ -46,16 +223,12 @@ public class PhysicalMemory {
     }
 
     /**
-     * Calcula la cantidad de marcos libres en la memoria física.
+     * Obtiene la cantidad de marcos libres a partir del contador de ocupación.
      *
      * @return número de marcos libres
      */
     public int getMarcosLibres() {
-        int libres = 0;
-        for (Frame f : frames) {
-            if (!f.isOcupado()) libres++;
-        }
-        return libres;
+        return totalSize - marcosOcupados.get();
     }
 
     /**
@@ -81,19 +254,23 @@ public class PhysicalMemory {
         for (Frame frame : frames) {
             frame.liberar();
         }
+        for (int palabra = 0; palabra < ocupados.length(); palabra++) {
+            ocupados.set(palabra, 0L);
+        }
+        marcosOcupados.set(0);
+        for (int i = 0; i < totalSize; i++) {
+            referenciasExtra.set(i, 0);
+        }
+        marcosCompartidos.set(0);
         System.out.println("Memoria física limpiada completamente.");
     }
 
     /**
-     * Calcula la cantidad de marcos ocupados en la memoria física.
+     * Obtiene la cantidad de marcos ocupados, mantenida en cada asignación y liberación.
      *
      * @return número de marcos ocupados
      */
     public int getMarcosOcupados() {
-        int marcosOcupados = 0;
-        for (Frame frame : frames) {
-            if (frame.isOcupado()) marcosOcupados++;
-        }
-        return marcosOcupados;
+        return marcosOcupados.get();
     }
 }
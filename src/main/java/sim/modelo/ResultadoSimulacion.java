@@ -0,0 +1,216 @@
+package sim.modelo;
+
+/**
+ * Resumen de una ejecución completa de la simulación sin interfaz.
+ * Agrupa los contadores finales y el tiempo real consumido para calcular el rendimiento del simulador.
+ */
+public class ResultadoSimulacion {
+    private final String nombrePerfil;
+    private final long semilla;
+    private final int ciclos;
+    private final long tokensGenerados;
+    private final long nanosTranscurridos;
+    private final int tlbHits;
+    private final int tlbMisses;
+    private final int picoMarcosOcupados;
+    private final int procesosEliminados;
+    private final int procesosCompletados;
+    private final double segundosPorCiclo;
+    private final int latenciaP50;
+    private final int latenciaP99;
+    private final int primerTokenP99;
+    private final int picoProcesosActivos;
+    private final long bytesPorMarco;
+
+    /**
+     * Crea un nuevo resultado de simulación.
+     *
+     * @param nombrePerfil nombre del perfil simulado
+     * @param semilla semilla con la que se puede repetir la ejecución
+     * @param ciclos cantidad de ciclos ejecutados
+     * @param tokensGenerados tokens generados durante la ejecución
+     * @param nanosTranscurridos tiempo real de la ejecución en nanosegundos
+     * @param tlbHits aciertos acumulados en la TLB
+     * @param tlbMisses fallos acumulados en la TLB
+     * @param picoMarcosOcupados máxima cantidad de marcos ocupados observada
+     * @param procesosEliminados procesos eliminados (o desalojados) por falta de memoria
+     * @param procesosCompletados procesos que terminaron su respuesta
+     * @param segundosPorCiclo tiempo simulado que representa un ciclo
+     * @param latenciaP50 mediana de la latencia de punta a punta, en ciclos
+     * @param latenciaP99 percentil 99 de la latencia de punta a punta, en ciclos
+     * @param primerTokenP99 percentil 99 del tiempo hasta el primer token, en ciclos
+     * @param picoProcesosActivos máxima cantidad de sesiones activas a la vez
+     * @param bytesPorMarco bytes de caché KV por marco según el modelo del perfil, 0 si no indica modelo
+     */
+    public ResultadoSimulacion(String nombrePerfil, long semilla, int ciclos, long tokensGenerados, long nanosTranscurridos,
+                               int tlbHits, int tlbMisses, int picoMarcosOcupados, int procesosEliminados,
+                               int procesosCompletados, double segundosPorCiclo,
+                               int latenciaP50, int latenciaP99, int primerTokenP99,
+                               int picoProcesosActivos, long bytesPorMarco) {
+        this.nombrePerfil = nombrePerfil;
+        this.semilla = semilla;
+        this.ciclos = ciclos;
+        this.tokensGenerados = tokensGenerados;
+        this.nanosTranscurridos = nanosTranscurridos;
+        this.tlbHits = tlbHits;
+        this.tlbMisses = tlbMisses;
+        this.picoMarcosOcupados = picoMarcosOcupados;
+        this.procesosEliminados = procesosEliminados;
+        this.procesosCompletados = procesosCompletados;
+        this.segundosPorCiclo = segundosPorCiclo;
+        this.latenciaP50 = latenciaP50;
+        this.latenciaP99 = latenciaP99;
+        this.primerTokenP99 = primerTokenP99;
+        this.picoProcesosActivos = picoProcesosActivos;
+        this.bytesPorMarco = bytesPorMarco;
+    }
+
+    public String getNombrePerfil() {
+        return nombrePerfil;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getCiclos() {
+        return ciclos;
+    }
+
+    public long getTokensGenerados() {
+        return tokensGenerados;
+    }
+
+    public long getNanosTranscurridos() {
+        return nanosTranscurridos;
+    }
+
+    public int getTlbHits() {
+        return tlbHits;
+    }
+
+    public int getTlbMisses() {
+        return tlbMisses;
+    }
+
+    public int getPicoMarcosOcupados() {
+        return picoMarcosOcupados;
+    }
+
+    public int getProcesosEliminados() {
+        return procesosEliminados;
+    }
+
+    public int getProcesosCompletados() {
+        return procesosCompletados;
+    }
+
+    public double getSegundosPorCiclo() {
+        return segundosPorCiclo;
+    }
+
+    public int getLatenciaP50() {
+        return latenciaP50;
+    }
+
+    public int getLatenciaP99() {
+        return latenciaP99;
+    }
+
+    public int getPrimerTokenP99() {
+        return primerTokenP99;
+    }
+
+    public int getPicoProcesosActivos() {
+        return picoProcesosActivos;
+    }
+
+    public long getBytesPorMarco() {
+        return bytesPorMarco;
+    }
+
+    /**
+     * Calcula el pico de ocupación en bytes de caché KV.
+     *
+     * @return bytes en el pico, 0 si el perfil no indica modelo
+     */
+    public long getPicoBytesOcupados() {
+        return picoMarcosOcupados * bytesPorMarco;
+    }
+
+    /**
+     * Convierte una cantidad de ciclos a segundos simulados.
+     *
+     * @param ciclos duración en ciclos
+     * @return duración en segundos de tiempo simulado
+     */
+    public double aSegundos(int ciclos) {
+        return ciclos * segundosPorCiclo;
+    }
+
+    /**
+     * Calcula el rendimiento del sistema modelado en solicitudes completadas por segundo simulado.
+     *
+     * @return solicitudes completadas por segundo de tiempo simulado
+     */
+    public double getSolicitudesPorSegundoSimulado() {
+        return porSegundoSimulado(procesosCompletados);
+    }
+
+    /**
+     * Calcula el rendimiento del sistema modelado en tokens de respuesta por segundo simulado.
+     *
+     * @return tokens generados por segundo de tiempo simulado
+     */
+    public double getTokensPorSegundoSimulado() {
+        return porSegundoSimulado(tokensGenerados);
+    }
+
+    private double porSegundoSimulado(double cantidad) {
+        double segundos = ciclos * segundosPorCiclo;
+        return (segundos > 0) ? cantidad / segundos : 0.0;
+    }
+
+    /**
+     * Calcula la tasa de aciertos de la TLB.
+     *
+     * @return proporción de hits entre 0 y 1, o 0 si no hubo accesos
+     */
+    public double getTasaAciertosTLB() {
+        int total = tlbHits + tlbMisses;
+        return (total > 0) ? (double) tlbHits / total : 0.0;
+    }
+
+    /**
+     * Calcula la velocidad de simulación en ciclos por segundo de tiempo real.
+     *
+     * @return ciclos simulados por segundo
+     */
+    public double getCiclosPorSegundo() {
+        return porSegundo(ciclos);
+    }
+
+    /**
+     * Calcula la velocidad de simulación en tokens generados por segundo de tiempo real.
+     *
+     * @return tokens simulados por segundo
+     */
+    public double getTokensPorSegundo() {
+        return porSegundo(tokensGenerados);
+    }
+
+    private double porSegundo(double cantidad) {
+        return (nanosTranscurridos > 0) ? cantidad * 1_000_000_000.0 / nanosTranscurridos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (semilla %d): %d ciclos, %d tokens, %d solicitudes completadas en %.3f s "
+                        + "(%.0f ciclos/s, %.0f tokens/s, hit rate TLB %.2f%%; modelado: %.2f solicitudes/s, %.1f tokens/s, "
+                        + "latencia p50 %.2f s, p99 %.2f s)",
+                nombrePerfil, semilla, ciclos, tokensGenerados, procesosCompletados, nanosTranscurridos / 1e9,
+                getCiclosPorSegundo(), getTokensPorSegundo(), getTasaAciertosTLB() * 100,
+                getSolicitudesPorSegundoSimulado(), getTokensPorSegundoSimulado(),
+                aSegundos(latenciaP50), aSegundos(latenciaP99));
+    }
+}
@@ -0,0 +1,22 @@
+package sim.negocio;
+
+/**
+ * Origen de los marcos libres que usa una MMU. Sin asignador, la MMU toma el marco libre
+ * de menor índice de toda la memoria; con uno, solo usa los marcos que este le entrega.
+ */
+public interface AsignadorMarcos {
+
+    /**
+     * Entrega un marco libre y lo retira del asignador.
+     *
+     * @return índice del marco, o -1 si no le quedan marcos
+     */
+    int tomarMarco();
+
+    /**
+     * Recibe un marco que la MMU acaba de liberar.
+     *
+     * @param marco índice del marco liberado
+     */
+    void devolverMarco(int marco);
+}
@@ -0,0 +1,98 @@
+package sim.negocio;
+
+import sim.modelo.Perfil;
+import sim.modelo.ResultadoSimulacion;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Ejecuta un barrido de parámetros: una simulación sin interfaz por cada perfil de la grilla,
+ * repartidas en un ForkJoinPool que usa todos los núcleos disponibles.
+ * Cada configuración arma sus propios componentes, por lo que las ejecuciones no comparten estado.
+ */
+public class BarridoParametros {
+    private final List<Perfil> perfiles;
+    private final int ciclos;
+    private final boolean porEventos;
+    private final List<ResultadoSimulacion> resultados = new ArrayList<>();
+
+    /**
+     * Crea un nuevo barrido.
+     *
+     * @param perfiles configuraciones a simular (por ejemplo, expandidas con CargarPerfiles.cargarBarrido)
+     * @param ciclos ciclos a simular en cada configuración
+     * @param porEventos true para usar el motor de eventos discretos en lugar del de ciclos
+     */
+    public BarridoParametros(List<Perfil> perfiles, int ciclos, boolean porEventos) {
+        this.perfiles = perfiles;
+        this.ciclos = ciclos;
+        this.porEventos = porEventos;
+    }
+
+    /**
+     * Ejecuta todas las configuraciones en paralelo y espera a que terminen.
+     *
+     * @param hilos cantidad de hilos del pool (por ejemplo, Runtime.availableProcessors())
+     * @return resultados en el mismo orden que los perfiles
+     * @throws InterruptedException si se interrumpe la espera
+     * @throws ExecutionException si alguna simulación falla
+     */
+    public List<ResultadoSimulacion> ejecutar(int hilos) throws InterruptedException, ExecutionException {
+        List<Callable<ResultadoSimulacion>> tareas = new ArrayList<>();
+        for (Perfil perfil : perfiles) {
+            tareas.add(() -> {
+                SimulacionHeadless simulacion = new SimulacionHeadless(perfil);
+                return porEventos ? simulacion.ejecutarPorEventos(ciclos, null) : simulacion.ejecutar(ciclos, null);
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            resultados.clear();
+            for (Future<ResultadoSimulacion> futuro : pool.invokeAll(tareas)) {
+                resultados.add(futuro.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return resultados;
+    }
+
+    /**
+     * Escribe la tabla resumen del barrido en formato CSV, una fila por configuración.
+     *
+     * @param rutaArchivo ruta del CSV de salida
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void escribirResumen(String rutaArchivo) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(rutaArchivo)))) {
+            writer.println("Perfil,Tam_Pagina,Tam_TLB,Marcos,Semilla,Ciclos,TLB_Hit_Rate,Pico_Ocupacion,Procesos_Eliminados,Tokens_Por_Segundo,Completados,Solicitudes_Por_Segundo_Sim,Tokens_Por_Segundo_Sim,Politica,Latencia_P50_s,Latencia_P99_s,Primer_Token_P99_s,Bytes_Por_Marco,Pico_Bytes,Pico_Sesiones");
+            for (int i = 0; i < resultados.size(); i++) {
+                Perfil perfil = perfiles.get(i);
+                ResultadoSimulacion r = resultados.get(i);
+                writer.println(String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%d,%d,%.6f,%.6f,%d,%.1f,%d,%.4f,%.2f,%s,%.3f,%.3f,%.3f,%d,%d,%d",
+                        perfil.getNombre().replace("\"", "\"\""), perfil.getPageSize(), perfil.getTLBSize(),
+                        perfil.getTotalMarcosRam(), r.getSemilla(), r.getCiclos(), r.getTasaAciertosTLB(),
+                        (double) r.getPicoMarcosOcupados() / perfil.getTotalMarcosRam(),
+                        r.getProcesosEliminados(), r.getTokensPorSegundo(), r.getProcesosCompletados(),
+                        r.getSolicitudesPorSegundoSimulado(), r.getTokensPorSegundoSimulado(), perfil.getPolitica(),
+                        r.aSegundos(r.getLatenciaP50()), r.aSegundos(r.getLatenciaP99()), r.aSegundos(r.getPrimerTokenP99()),
+                        r.getBytesPorMarco(), r.getPicoBytesOcupados(), r.getPicoProcesosActivos()));
+            }
+        }
+    }
+
+    public List<ResultadoSimulacion> getResultados() {
+        return resultados;
+    }
+}
@@ -0,0 +1,107 @@
+package sim.negocio;
+
+import sim.modelo.LLMProcess;
+
+/**
+ * Describe cómo se bifurcan las conversaciones en varias secuencias (muestreo paralelo o beam search):
+ * al terminar el prefill, cada conversación genera {@code muestras - 1} hijos que comparten las páginas
+ * completas del prompt. En cada paso de decode un hijo se poda con probabilidad {@code tasaPoda},
+ * como un haz que quedó fuera del beam, y libera sus páginas propias.
+ *
+ * Las decisiones salen de {@link FlujosAleatorios#paraProceso(int, long)}, así que no dependen
+ * del orden en que se avanzan los procesos.
+ */
+public class Bifurcador {
+    // Separa el flujo de poda de los que usan la atención y la especulación para el mismo contexto
+    private static final long SAL_PODA = 2L << 40;
+
+    private final int muestras;
+    private final double tasaPoda;
+    private final FlujosAleatorios aleatorios;
+
+    /**
+     * @param muestras secuencias por conversación, contando la original (1 desactiva la bifurcación)
+     * @param tasaPoda probabilidad de podar un hijo en cada paso de decode
+     * @param aleatorios generadores de la simulación
+     */
+    public Bifurcador(int muestras, double tasaPoda, FlujosAleatorios aleatorios) {
+        this.muestras = muestras;
+        this.tasaPoda = tasaPoda;
+        this.aleatorios = aleatorios;
+    }
+
+    /**
+     * Crea un bifurcador a partir de su descripción textual.
+     * Formatos aceptados: {@code no}, {@code n} (n secuencias sin poda) o {@code n:tasa},
+     * por ejemplo {@code 4:0.05}.
+     *
+     * @param texto descripción de la bifurcación
+     * @param aleatorios generadores de la simulación
+     * @return bifurcador configurado
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static Bifurcador desdeTexto(String texto, FlujosAleatorios aleatorios) {
+        String limpio = texto.trim().toLowerCase();
+        if (limpio.equals("no")) {
+            return new Bifurcador(1, 0.0, aleatorios);
+        }
+
+        String[] partes = limpio.split(":");
+        if (partes.length > 2) {
+            throw new IllegalArgumentException("Bifurcación inválida: '" + texto + "'. Use no, n o n:tasa");
+        }
+        try {
+            int n = Integer.parseInt(partes[0].trim());
+            double tasa = (partes.length == 2) ? Double.parseDouble(partes[1].trim()) : 0.0;
+            if (n < 1 || tasa < 0.0 || tasa > 1.0) {
+                throw new IllegalArgumentException("Bifurcación fuera de rango: '" + texto
+                        + "'. n debe ser >= 1 y la tasa estar entre 0 y 1");
+            }
+            return new Bifurcador(n, tasa, aleatorios);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parámetro numérico inválido en '" + texto + "'", e);
+        }
+    }
+
+    /**
+     * Indica si un proceso acaba de completar el prefill de su prompt y debe bifurcarse.
+     * Los hijos no vuelven a bifurcarse.
+     *
+     * @param proceso proceso que completó un paso de prefill
+     * @return true si corresponde crear sus hijos
+     */
+    public boolean debeBifurcar(LLMProcess proceso) {
+        return muestras > 1
+                && proceso.getPidPadre() == LLMProcess.SIN_PADRE
+                && proceso.getTokensSalida() == 0
+                && proceso.getContadorTokens() == proceso.getTokensPrompt();
+    }
+
+    /**
+     * Sortea si un hijo se poda después de su paso de decode.
+     *
+     * @param proceso proceso que completó un paso de decode
+     * @return true si es un hijo y quedó fuera del beam
+     */
+    public boolean debePodar(LLMProcess proceso) {
+        if (tasaPoda <= 0.0 || proceso.getPidPadre() == LLMProcess.SIN_PADRE) return false;
+        return aleatorios.paraProceso(proceso.getPid(), proceso.getContadorTokens() + SAL_PODA).nextDouble() < tasaPoda;
+    }
+
+    /**
+     * Indica si el perfil pidió más de una secuencia por conversación.
+     *
+     * @return true si hay bifurcación
+     */
+    public boolean isActivo() {
+        return muestras > 1;
+    }
+
+    public int getMuestras() {
+        return muestras;
+    }
+
+    public double getTasaPoda() {
+        return tasaPoda;
+    }
+}
@@ -0,0 +1,210 @@
+package sim.negocio;
+
+import sim.modelo.LLMProcess;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Modela la decodificación especulativa: después de cada paso de decode un modelo borrador
+ * propone hasta {@code k} tokens más, que se reservan de forma tentativa en la memoria. El modelo
+ * verificador los lee (se traduce el rango del borrador) y acepta cada uno con probabilidad
+ * {@code tasaAceptacion} hasta el primer rechazo; el resto se revierte con
+ * {@link MMUService#confirmarBorrador(LLMProcess, int)}.
+ *
+ * Lleva la cuenta del costo de especular: tokens propuestos y rechazados, marcos reservados
+ * que hubo que liberar y entradas de TLB invalidadas por esas reversiones. Reutiliza su arreglo
+ * de marcos, por lo que cada hilo que avanza procesos usa su propio especulador.
+ */
+public class Especulador {
+    // Separa el flujo de aceptación del que usa la atención para la misma longitud de contexto
+    private static final long SAL_ACEPTACION = 1L << 40;
+
+    private final int tokensBorrador;
+    private final double tasaAceptacion;
+    private final FlujosAleatorios aleatorios;
+    private int[] marcos = new int[16];
+
+    private long tokensPropuestos = 0;
+    private long tokensAceptados = 0;
+    private long tokensRechazados = 0;
+    private long marcosRevertidos = 0;
+    private long entradasTlbInvalidadas = 0;
+
+    /**
+     * @param tokensBorrador tokens que propone el borrador en cada paso (0 desactiva la especulación)
+     * @param tasaAceptacion probabilidad de que el verificador acepte cada token propuesto
+     * @param aleatorios generadores de la simulación
+     */
+    public Especulador(int tokensBorrador, double tasaAceptacion, FlujosAleatorios aleatorios) {
+        this.tokensBorrador = tokensBorrador;
+        this.tasaAceptacion = tasaAceptacion;
+        this.aleatorios = aleatorios;
+    }
+
+    /**
+     * Crea un especulador a partir de su descripción textual.
+     * Formatos aceptados: {@code no} (sin especulación) o {@code k:tasa}, por ejemplo {@code 4:0.7}.
+     *
+     * @param texto descripción de la especulación
+     * @param aleatorios generadores de la simulación
+     * @return especulador configurado
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static Especulador desdeTexto(String texto, FlujosAleatorios aleatorios) {
+        String limpio = texto.trim().toLowerCase();
+        if (limpio.equals("no")) {
+            return new Especulador(0, 0.0, aleatorios);
+        }
+
+        String[] partes = limpio.split(":");
+        if (partes.length != 2) {
+            throw new IllegalArgumentException("Especulación inválida: '" + texto + "'. Use no o k:tasa");
+        }
+        try {
+            int k = Integer.parseInt(partes[0].trim());
+            double tasa = Double.parseDouble(partes[1].trim());
+            if (k < 0 || tasa < 0.0 || tasa > 1.0) {
+                throw new IllegalArgumentException("Especulación fuera de rango: '" + texto
+                        + "'. k debe ser >= 0 y la tasa estar entre 0 y 1");
+            }
+            return new Especulador(k, tasa, aleatorios);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parámetro numérico inválido en '" + texto + "'", e);
+        }
+    }
+
+    /**
+     * Especula a continuación del token que un proceso acaba de generar: reserva el borrador,
+     * traduce su rango como lo leería el verificador, sortea cuántos tokens se aceptan y revierte el resto.
+     * El llamador registra los tokens aceptados como tokens de respuesta.
+     *
+     * @param mmu MMU del proceso
+     * @param proceso proceso que acaba de completar un paso de decode
+     * @return tokens de borrador aceptados
+     */
+    public int especular(MMUService mmu, LLMProcess proceso) {
+        int propuestos = tokensBorrador;
+        if (proceso.getTokensSalidaMax() != LLMProcess.SIN_LIMITE) {
+            propuestos = Math.min(propuestos, proceso.getTokensSalidaMax() - proceso.getTokensSalida());
+        }
+        if (propuestos <= 0) return 0;
+
+        int inicio = proceso.getContadorTokens();
+        SplittableRandom rnd = aleatorios.paraProceso(proceso.getPid(), inicio + SAL_ACEPTACION);
+        int reservados = mmu.reservarBorrador(proceso, propuestos);
+        if (reservados > 0) {
+            if (marcos.length < reservados) {
+                marcos = new int[Math.max(reservados, marcos.length * 2)];
+            }
+            mmu.traducirRango(proceso, inicio, inicio + reservados, marcos);
+        }
+
+        int aceptados = 0;
+        while (aceptados < reservados && rnd.nextDouble() < tasaAceptacion) {
+            aceptados++;
+        }
+        long invalidacionesPrevias = mmu.getInvalidacionesTlb();
+        marcosRevertidos += mmu.confirmarBorrador(proceso, aceptados);
+        entradasTlbInvalidadas += mmu.getInvalidacionesTlb() - invalidacionesPrevias;
+
+        tokensPropuestos += reservados;
+        tokensAceptados += aceptados;
+        tokensRechazados += reservados - aceptados;
+        return aceptados;
+    }
+
+    /**
+     * Indica si el perfil pidió especular.
+     *
+     * @return true si el borrador propone al menos un token por paso
+     */
+    public boolean isActivo() {
+        return tokensBorrador > 0;
+    }
+
+    public int getTokensBorrador() {
+        return tokensBorrador;
+    }
+
+    public double getTasaAceptacion() {
+        return tasaAceptacion;
+    }
+
+    /**
+     * Obtiene los tokens de borrador que llegaron a reservarse en memoria.
+     *
+     * @return tokens propuestos y reservados
+     */
+    public long getTokensPropuestos() {
+        return tokensPropuestos;
+    }
+
+    public long getTokensAceptados() {
+        return tokensAceptados;
+    }
+
+    public long getTokensRechazados() {
+        return tokensRechazados;
+    }
+
+    /**
+     * Obtiene los marcos que se reservaron para tokens rechazados y se liberaron al revertir.
+     *
+     * @return marcos revertidos
+     */
+    public long getMarcosRevertidos() {
+        return marcosRevertidos;
+    }
+
+    /**
+     * Obtiene las entradas de la TLB que se invalidaron al liberar las páginas revertidas.
+     * Cada una es un fallo seguro si la misma página vuelve a mapearse.
+     *
+     * @return entradas invalidadas por reversiones
+     */
+    public long getEntradasTlbInvalidadas() {
+        return entradasTlbInvalidadas;
+    }
+
+    /**
+     * Pone en cero los contadores de la especulación.
+     */
+    public void reiniciarContadores() {
+        tokensPropuestos = 0;
+        tokensAceptados = 0;
+        tokensRechazados = 0;
+        marcosRevertidos = 0;
+        entradasTlbInvalidadas = 0;
+    }
+
+    /**
+     * Escribe los contadores acumulados para un punto de control.
+     *
+     * @param salida destino binario
+     * @throws IOException si falla la escritura
+     */
+    public void guardarContadores(DataOutput salida) throws IOException {
+        salida.writeLong(tokensPropuestos);
+        salida.writeLong(tokensAceptados);
+        salida.writeLong(tokensRechazados);
+        salida.writeLong(marcosRevertidos);
+        salida.writeLong(entradasTlbInvalidadas);
+    }
+
+    /**
+     * Recupera los contadores escritos por {@link #guardarContadores(DataOutput)}.
+     *
+     * @param entrada origen binario
+     * @throws IOException si falla la lectura
+     */
+    public void restaurarContadores(DataInput entrada) throws IOException {
+        tokensPropuestos = entrada.readLong();
+        tokensAceptados = entrada.readLong();
+        tokensRechazados = entrada.readLong();
+        marcosRevertidos = entrada.readLong();
+        entradasTlbInvalidadas = entrada.readLong();
+    }
+}
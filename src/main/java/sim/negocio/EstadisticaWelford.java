@@ -0,0 +1,109 @@
+package sim.negocio;
+
+/**
+ * Acumula media y varianza de una serie de valores en una sola pasada (algoritmo de Welford),
+ * sin guardar los valores. Dos acumuladores parciales se pueden combinar (Chan et al.),
+ * lo que permite calcular en paralelo y unir al final.
+ */
+public class EstadisticaWelford {
+    // Cuantil 0.975 de la t de Student para 1 a 30 grados de libertad
+    private static final double[] T975 = {
+            12.706204736, 4.302652730, 3.182446305, 2.776445105, 2.570581836,
+            2.446911851, 2.364624252, 2.306004135, 2.262157163, 2.228138852,
+            2.200985160, 2.178812830, 2.160368656, 2.144786688, 2.131449546,
+            2.119905299, 2.109815578, 2.100922040, 2.093024054, 2.085963447,
+            2.079613845, 2.073873068, 2.068657610, 2.063898562, 2.059538553,
+            2.055529439, 2.051830516, 2.048407142, 2.045229642, 2.042272456};
+
+    private long n;
+    private double media;
+    private double m2;
+
+    /**
+     * Agrega una observación.
+     *
+     * @param x valor observado
+     */
+    public void agregar(double x) {
+        n++;
+        double delta = x - media;
+        media += delta / n;
+        m2 += delta * (x - media);
+    }
+
+    /**
+     * Incorpora las observaciones de otro acumulador.
+     *
+     * @param otra estadística parcial a combinar
+     */
+    public void combinar(EstadisticaWelford otra) {
+        if (otra.n == 0) return;
+        if (n == 0) {
+            n = otra.n;
+            media = otra.media;
+            m2 = otra.m2;
+            return;
+        }
+        long total = n + otra.n;
+        double delta = otra.media - media;
+        media += delta * otra.n / total;
+        m2 += otra.m2 + delta * delta * ((double) n * otra.n / total);
+        n = total;
+    }
+
+    public long getN() {
+        return n;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    /**
+     * Calcula la varianza muestral.
+     *
+     * @return varianza con n - 1 grados de libertad, o 0 si hay menos de dos observaciones
+     */
+    public double getVarianza() {
+        return (n > 1) ? m2 / (n - 1) : 0.0;
+    }
+
+    /**
+     * Calcula la semiamplitud del intervalo de confianza del 95% para la media.
+     *
+     * @return semiamplitud t(0.975, n-1) * s / sqrt(n), o 0 si hay menos de dos observaciones
+     */
+    public double getSemiAnchoIC95() {
+        return semiAnchoIC95(n, getVarianza());
+    }
+
+    /**
+     * Calcula la semiamplitud del intervalo de confianza del 95% a partir de n y la varianza.
+     *
+     * @param n cantidad de observaciones
+     * @param varianza varianza muestral
+     * @return semiamplitud del intervalo
+     */
+    public static double semiAnchoIC95(long n, double varianza) {
+        if (n < 2) return 0.0;
+        return cuantilT975(n - 1) * Math.sqrt(varianza / n);
+    }
+
+    /**
+     * Obtiene el cuantil 0.975 de la t de Student. Hasta 30 grados de libertad se toma de la tabla;
+     * por encima se aproxima con la expansión de Cornish-Fisher, cuyo error ahí es menor al 0.01%.
+     *
+     * @param gradosLibertad grados de libertad, al menos 1
+     * @return cuantil
+     */
+    public static double cuantilT975(long gradosLibertad) {
+        if (gradosLibertad <= T975.length) {
+            return T975[(int) gradosLibertad - 1];
+        }
+        double z = 1.959963984540054;
+        double v = gradosLibertad;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4 * v) + (5 * z5 + 16 * z3 + 3 * z) / (96 * v * v);
+    }
+}
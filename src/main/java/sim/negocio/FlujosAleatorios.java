@@ -0,0 +1,136 @@
+package sim.negocio;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Agrupa los generadores aleatorios de una simulación, derivados de una única semilla.
+ * Cada aspecto (llegadas, longitudes, colores) tiene su propio flujo independiente,
+ * de modo que cambiar cómo se consume uno no altera los demás y dos ejecuciones con la
+ * misma semilla producen resultados idénticos.
+ *
+ * Para el trabajo por proceso se ofrece un flujo sin estado compartido, derivado de
+ * (semilla, pid, ciclo), que da el mismo resultado sin importar en qué hilo u orden se pida.
+ *
+ * Los flujos con estado son generadores SplitMix64 propios cuyo estado es un único long que se
+ * puede leer: un punto de control lo copia sin tocar el flujo, así que una ejecución que guarda
+ * puntos de control produce los mismos números que la que no lo hace, y la que se restaura
+ * desde el archivo continúa exactamente donde quedó.
+ */
+public class FlujosAleatorios {
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Generador SplitMix64 con el estado a la vista, para poder guardarlo en un punto de control.
+     */
+    private static final class Flujo implements RandomGenerator {
+        private long estado;
+
+        Flujo(long estado) {
+            this.estado = estado;
+        }
+
+        @Override
+        public long nextLong() {
+            estado += PHI;
+            return mezclar(estado);
+        }
+    }
+
+    private final long semilla;
+    private final Flujo llegadas;
+    private final Flujo longitudes;
+    private final Flujo colores;
+    private final long semillaProcesos;
+
+    /**
+     * Crea los flujos aleatorios a partir de una semilla.
+     *
+     * @param semilla semilla raíz de la simulación
+     */
+    public FlujosAleatorios(long semilla) {
+        this.semilla = semilla;
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        this.llegadas = new Flujo(raiz.nextLong());
+        this.longitudes = new Flujo(raiz.nextLong());
+        this.colores = new Flujo(raiz.nextLong());
+        this.semillaProcesos = raiz.nextLong();
+    }
+
+    /**
+     * Obtiene un generador propio de un proceso en un ciclo dado.
+     * No depende de ningún estado mutable, por lo que es seguro usarlo desde varios hilos.
+     *
+     * @param pid identificador del proceso
+     * @param ciclo ciclo de simulación
+     * @return generador determinístico para ese proceso y ciclo
+     */
+    public SplittableRandom paraProceso(int pid, long ciclo) {
+        return new SplittableRandom(mezclar(semillaProcesos + pid * PHI) ^ mezclar(ciclo + PHI));
+    }
+
+    /**
+     * Genera un color aleatorio para identificar un proceso en la UI.
+     *
+     * @return color en formato hexadecimal (ej: "#1a2b3c")
+     */
+    public String siguienteColor() {
+        return String.format("#%06x", colores.nextInt(0xffffff + 1));
+    }
+
+    /**
+     * Escribe el estado de los flujos con estado sin consumir ningún número de ellos.
+     *
+     * @param salida destino binario del punto de control
+     * @throws IOException si falla la escritura
+     */
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeLong(llegadas.estado);
+        salida.writeLong(longitudes.estado);
+        salida.writeLong(colores.estado);
+    }
+
+    /**
+     * Restaura los flujos con el estado escrito por {@link #guardarEstado(DataOutput)}.
+     * La semilla raíz y el flujo por proceso no cambian: dependen solo de la semilla del perfil.
+     *
+     * @param entrada origen binario del punto de control
+     * @throws IOException si falla la lectura
+     */
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        llegadas.estado = entrada.readLong();
+        longitudes.estado = entrada.readLong();
+        colores.estado = entrada.readLong();
+    }
+
+    /**
+     * Función de mezcla de 64 bits (finalizador de SplitMix64).
+     *
+     * @param z valor a mezclar
+     * @return valor mezclado
+     */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public RandomGenerator getLlegadas() {
+        return llegadas;
+    }
+
+    public RandomGenerator getLongitudes() {
+        return longitudes;
+    }
+
+    public RandomGenerator getColores() {
+        return colores;
+    }
+}
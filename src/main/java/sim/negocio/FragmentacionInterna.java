@@ -0,0 +1,94 @@
+package sim.negocio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mide la fragmentación interna de la paginación: cada proceso desperdicia los huecos de su última
+ * página, hasta {@code tamPagina - 1} tokens. Las páginas anteriores a la última siempre están llenas,
+ * así que basta con conocer cuántos tokens tiene la última página de cada proceso.
+ *
+ * Se mantiene de forma incremental, sin recorrer procesos ni marcos: la MMU informa cada cambio
+ * de longitud de contexto y aquí se mueve el proceso de un casillero del histograma a otro y se
+ * ajustan los huecos. Los contadores son atómicos porque la MMU concurrente lo actualiza desde
+ * varios hilos; cada partición del paso particionado tiene el suyo.
+ */
+public class FragmentacionInterna {
+    private final int tamPagina;
+    // Casillero f (1..tamPagina): procesos cuya última página tiene f tokens
+    private final AtomicLongArray ultimasPaginas;
+    private final AtomicLong huecos = new AtomicLong();
+
+    /**
+     * @param tamPagina tokens por marco
+     */
+    public FragmentacionInterna(int tamPagina) {
+        this.tamPagina = tamPagina;
+        this.ultimasPaginas = new AtomicLongArray(tamPagina + 1);
+    }
+
+    /**
+     * Registra que el contexto de un proceso pasó de una longitud a otra.
+     * Una longitud 0 significa que el proceso no tiene páginas (aún no alojó nada o se liberó).
+     *
+     * @param antes tokens de contexto antes del cambio
+     * @param despues tokens de contexto después del cambio
+     */
+    public void cambiar(int antes, int despues) {
+        int llenadoAntes = llenado(antes);
+        int llenadoDespues = llenado(despues);
+        if (llenadoAntes == llenadoDespues) return;
+        if (llenadoAntes > 0) ultimasPaginas.decrementAndGet(llenadoAntes);
+        if (llenadoDespues > 0) ultimasPaginas.incrementAndGet(llenadoDespues);
+        huecos.addAndGet(vacios(llenadoDespues) - vacios(llenadoAntes));
+    }
+
+    /**
+     * Calcula cuántos tokens tiene la última página de un contexto.
+     *
+     * @param tokens longitud del contexto
+     * @return tokens de la última página (1..tamPagina), o 0 si no hay páginas
+     */
+    private int llenado(int tokens) {
+        return (tokens == 0) ? 0 : (tokens - 1) % tamPagina + 1;
+    }
+
+    private int vacios(int llenado) {
+        return (llenado == 0) ? 0 : tamPagina - llenado;
+    }
+
+    /**
+     * Obtiene los huecos de token asignados y sin usar en las últimas páginas.
+     *
+     * @return tokens desperdiciados por fragmentación interna
+     */
+    public long getHuecos() {
+        return huecos.get();
+    }
+
+    /**
+     * Obtiene cuántos procesos tienen la última página con una cantidad dada de tokens.
+     *
+     * @param llenado tokens en la última página, entre 1 y tamPagina
+     * @return procesos en ese casillero
+     */
+    public long getProcesosConLlenado(int llenado) {
+        return ultimasPaginas.get(llenado);
+    }
+
+    /**
+     * Suma el histograma de llenado de la última página en cuartos de página: el casillero 0 cuenta
+     * las páginas con hasta un cuarto ocupado y el 3 las que tienen más de tres cuartos.
+     *
+     * @param cuartos arreglo de 4 posiciones donde se acumulan los procesos
+     */
+    public void sumarCuartos(long[] cuartos) {
+        for (int llenado = 1; llenado <= tamPagina; llenado++) {
+            cuartos[(4 * llenado - 1) / tamPagina] += ultimasPaginas.get(llenado);
+        }
+    }
+
+    public int getTamPagina() {
+        return tamPagina;
+    }
+}
@@ -0,0 +1,99 @@
+package sim.negocio;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Histograma exacto de latencias medidas en ciclos enteros.
+ * Guarda un contador por valor (el arreglo crece a demanda), por lo que registrar es O(1),
+ * no guarda las observaciones y los percentiles son exactos.
+ */
+public class HistogramaLatencias {
+    private long[] conteos = new long[256];
+    private long total;
+    private long suma;
+    private int maximo;
+
+    /**
+     * Registra una latencia.
+     *
+     * @param ciclos latencia en ciclos (los valores negativos se cuentan como 0)
+     */
+    public void registrar(int ciclos) {
+        int valor = Math.max(0, ciclos);
+        if (valor >= conteos.length) {
+            conteos = Arrays.copyOf(conteos, Math.max(valor + 1, conteos.length * 2));
+        }
+        conteos[valor]++;
+        total++;
+        suma += valor;
+        maximo = Math.max(maximo, valor);
+    }
+
+    /**
+     * Calcula un percentil (método del rango más cercano).
+     *
+     * @param p percentil entre 0 y 100
+     * @return latencia en ciclos, o 0 si no hay observaciones
+     */
+    public int percentil(double p) {
+        if (total == 0) return 0;
+        long rango = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long acumulado = 0;
+        for (int v = 0; v <= maximo; v++) {
+            acumulado += conteos[v];
+            if (acumulado >= rango) return v;
+        }
+        return maximo;
+    }
+
+    /**
+     * Obtiene la latencia media.
+     *
+     * @return media en ciclos, o 0 si no hay observaciones
+     */
+    public double getMedia() {
+        return (total > 0) ? (double) suma / total : 0.0;
+    }
+
+    /**
+     * Escribe los contadores del histograma para un punto de control.
+     *
+     * @param salida destino binario
+     * @throws IOException si falla la escritura
+     */
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeLong(total);
+        salida.writeLong(suma);
+        salida.writeInt(maximo);
+        for (int v = 0; v <= maximo; v++) {
+            salida.writeLong(conteos[v]);
+        }
+    }
+
+    /**
+     * Reemplaza los contadores del histograma por los leídos de un punto de control.
+     *
+     * @param entrada origen binario
+     * @throws IOException si falla la lectura
+     */
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        total = entrada.readLong();
+        suma = entrada.readLong();
+        maximo = entrada.readInt();
+        conteos = new long[Math.max(256, maximo + 1)];
+        for (int v = 0; v <= maximo; v++) {
+            conteos[v] = entrada.readLong();
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+}
@@ -0,0 +1,141 @@
+package sim.negocio;
+
+import sim.modelo.LLMProcess;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado de la simulación al cierre de un ciclo, tal como lo muestra la interfaz.
+ * Se arma en el hilo de simulación y no cambia después, así que el hilo de JavaFX puede leerlo
+ * sin sincronización mientras la simulación sigue avanzando. De cada proceso se copian los datos
+ * que muestra la interfaz, así que la tabla no ve contadores que avanzaron después del ciclo.
+ */
+public final class InstantaneaSimulacion {
+    /** Dueño de un marco libre en {@link #getDuenoMarco(int)}. */
+    public static final int MARCO_LIBRE = -1;
+
+    private final int ciclo;
+    private final List<FilaProceso> procesos;
+    private final int tlbHits;
+    private final int tlbMisses;
+    private final long tokensAsignados;
+    private final long tokensUsados;
+    private final long[] cuartosUltimaPagina;
+    private final Map<String, Integer> contenidoTlb;
+    private final int[] duenosMarcos;
+
+    InstantaneaSimulacion(int ciclo, List<FilaProceso> procesos, int tlbHits, int tlbMisses,
+                          long tokensAsignados, long tokensUsados, long[] cuartosUltimaPagina,
+                          Map<String, Integer> contenidoTlb, int[] duenosMarcos) {
+        this.ciclo = ciclo;
+        this.procesos = procesos;
+        this.tlbHits = tlbHits;
+        this.tlbMisses = tlbMisses;
+        this.tokensAsignados = tokensAsignados;
+        this.tokensUsados = tokensUsados;
+        this.cuartosUltimaPagina = cuartosUltimaPagina;
+        this.contenidoTlb = contenidoTlb;
+        this.duenosMarcos = duenosMarcos;
+    }
+
+    public int getCiclo() {
+        return ciclo;
+    }
+
+    /**
+     * @return procesos activos al cierre del ciclo, en una lista inmutable
+     */
+    public List<FilaProceso> getProcesos() {
+        return procesos;
+    }
+
+    public int getTlbHits() {
+        return tlbHits;
+    }
+
+    public int getTlbMisses() {
+        return tlbMisses;
+    }
+
+    public long getTokensAsignados() {
+        return tokensAsignados;
+    }
+
+    public long getTokensUsados() {
+        return tokensUsados;
+    }
+
+    /**
+     * Copia la distribución del llenado de la última página en cuartos de página.
+     *
+     * @param cuartos arreglo de 4 posiciones a completar
+     * @return el mismo arreglo
+     */
+    public long[] getCuartosUltimaPagina(long[] cuartos) {
+        System.arraycopy(cuartosUltimaPagina, 0, cuartos, 0, cuartosUltimaPagina.length);
+        return cuartos;
+    }
+
+    /**
+     * @return entradas de la TLB (clave "PID:Pagina", valor marco), en un mapa inmutable
+     */
+    public Map<String, Integer> getContenidoTlb() {
+        return contenidoTlb;
+    }
+
+    public int getCantidadMarcos() {
+        return duenosMarcos.length;
+    }
+
+    /**
+     * Obtiene el proceso que ocupaba un marco al cierre del ciclo.
+     *
+     * @param marco número de marco físico
+     * @return PID del dueño, o {@link #MARCO_LIBRE}
+     */
+    public int getDuenoMarco(int marco) {
+        return duenosMarcos[marco];
+    }
+
+    /**
+     * Copia de un proceso activo al cierre del ciclo: identificación, tokens y tabla de páginas.
+     */
+    public static final class FilaProceso {
+        private final int pid;
+        private final String nombre;
+        private final int tokens;
+        private final Map<Integer, Integer> tablaPaginas;
+
+        FilaProceso(LLMProcess proceso) {
+            this.pid = proceso.getPid();
+            this.nombre = proceso.getNombre();
+            this.tokens = proceso.getContadorTokens();
+            this.tablaPaginas = Collections.unmodifiableMap(proceso.getPageTable().getMapa());
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public int getTokens() {
+            return tokens;
+        }
+
+        public int getPaginas() {
+            return tablaPaginas.size();
+        }
+
+        /**
+         * @return páginas virtuales y sus marcos, en un mapa inmutable
+         */
+        public Map<Integer, Integer> getTablaPaginas() {
+            return tablaPaginas;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package sim.negocio;
 
-import sim.modelo.Frame;
 import sim.modelo.LLMProcess;
-import sim.modelo.MemoryAccessLog;
+import sim.modelo.PageTable;
 import sim.modelo.PhysicalMemory;
+import sim.recorder.TrazaAccesos;
 
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * La MMU (Memory Management Unit)
@@ -15,6 +15,12 @@ public class MMUService {
     private final PhysicalMemory ram;
     private final TLB tlb;
     private final int pageSize;
+    private final AsignadorMarcos asignador;
+    private boolean silencioso = false;
+    private long invalidacionesTlb = 0;
+    private final FragmentacionInterna fragmentacion;
+    private TrazaAccesos traza;
+    private long cicloTraza = 0;
 
     /**
      * Crea una nueva instancia de MMUService.
@@ -24,9 +30,24 @@ public class MMUService {
      * @param PageSize cantidad de tokens por marco
      */
     public MMUService(PhysicalMemory ram, int tlbSize, int PageSize) {
+        this(ram, tlbSize, PageSize, null);
+    }
+
+    /**
+     * Crea una MMU que toma los marcos de un asignador propio en lugar de buscarlos en toda la memoria.
+     * Varias MMU con asignadores disjuntos pueden operar a la vez sobre la misma memoria física.
+     *
+     * @param ram memoria física a gestionar
+     * @param tlbSize tamaño de la TLB
+     * @param PageSize cantidad de tokens por marco
+     * @param asignador origen de los marcos libres, o null para usar el de menor índice de la memoria
+     */
+    public MMUService(PhysicalMemory ram, int tlbSize, int PageSize, AsignadorMarcos asignador) {
         this.ram = ram;
         this.tlb = new TLB(tlbSize);
         this.pageSize = PageSize;
+        this.asignador = asignador;
+        this.fragmentacion = new FragmentacionInterna(PageSize);
     }
 
     /**
@@ -41,24 +62,159 @@ public class MMUService {
         boolean necesitaNuevoMarco = (totalTokens % pageSize) == 0;
 
         if (necesitaNuevoMarco) {
-            int idMarcoLibre = buscarMarcoLibre();
+            int idMarcoLibre = reservarMarco(proceso);
 
             if (idMarcoLibre == -1) {
                 throw new Exception("MEMORIA LLENA: No se pueden asignar más tokens.");
             }
 
-            Frame frame = ram.getFrame(idMarcoLibre);
-            frame.asignar(proceso.getPid(), proceso.getColorHex());
             int nuevaPaginaVirtual = totalTokens / pageSize;
             proceso.getPageTable().agregarEntrada(nuevaPaginaVirtual, idMarcoLibre);
             proceso.agregarToken();
+            fragmentacion.cambiar(totalTokens, totalTokens + 1);
 
-            System.out.println("ASIGNACIÓN: Proceso " + proceso.getPid() +
-                    " -> Página Virtual " + nuevaPaginaVirtual +
-                    " mapeada a Marco Físico " + idMarcoLibre);
+            if (!silencioso) {
+                System.out.println("ASIGNACIÓN: Proceso " + proceso.getPid() +
+                        " -> Página Virtual " + nuevaPaginaVirtual +
+                        " mapeada a Marco Físico " + idMarcoLibre);
+            }
         } else {
             proceso.agregarToken();
+            fragmentacion.cambiar(totalTokens, totalTokens + 1);
+        }
+    }
+
+    /**
+     * Toma un marco libre (del asignador propio o el de menor índice de la memoria) y lo asigna al proceso.
+     *
+     * @param proceso proceso que ocupará el marco
+     * @return índice del marco, o -1 si no hay marcos libres
+     */
+    protected int reservarMarco(LLMProcess proceso) {
+        int marco = (asignador != null) ? asignador.tomarMarco() : ram.buscarMarcoLibre();
+        if (marco != -1) {
+            ram.asignarMarco(marco, proceso.getPid(), proceso.getColorHex());
+        }
+        return marco;
+    }
+
+    /**
+     * Bifurca el contexto de un proceso en un hijo sin duplicar el prompt: el hijo mapea los mismos
+     * marcos que el padre para las páginas completas, que ya no se escriben, y recibe una copia propia
+     * solo de la última página si está a medio llenar, porque ambos seguirán agregando tokens en ella.
+     * El hijo hereda la longitud del contexto y los tokens de respuesta ya generados.
+     *
+     * @param padre proceso a bifurcar
+     * @param hijo proceso nuevo, con la tabla de páginas vacía
+     * @return páginas compartidas, es decir marcos que no hubo que copiar
+     * @throws Exception si no hay un marco libre para copiar la última página
+     */
+    public int bifurcar(LLMProcess padre, LLMProcess hijo) throws Exception {
+        int tokens = padre.getContadorTokens();
+        int completas = tokens / pageSize;
+        PageTable origen = padre.getPageTable();
+        PageTable destino = hijo.getPageTable();
+
+        if (tokens % pageSize != 0) {
+            int copia = reservarMarco(hijo);
+            if (copia == -1) {
+                throw new Exception("MEMORIA LLENA: No se puede copiar la última página de " + padre.getNombre());
+            }
+            destino.agregarEntrada(completas, copia);
+        }
+        int compartidas = 0;
+        for (int vpn = 0; vpn < completas; vpn++) {
+            int marco = origen.getMarco(vpn);
+            if (marco == PageTable.SIN_MARCO) continue;
+            ram.compartirMarco(marco);
+            destino.agregarEntrada(vpn, marco);
+            compartidas++;
+        }
+        hijo.restaurarAvance(tokens, padre.getTokensSalida());
+        fragmentacion.cambiar(0, tokens);
+        return compartidas;
+    }
+
+    /**
+     * Reserva de forma tentativa los tokens de un borrador especulativo. Si la memoria se agota
+     * el borrador queda más corto: la especulación es oportunista y nunca desaloja a otro proceso.
+     * Hasta {@link #confirmarBorrador(LLMProcess, int)} los tokens ocupan memoria como cualquier otro.
+     *
+     * @param proceso proceso que especula
+     * @param cantidad tokens de borrador propuestos
+     * @return tokens reservados, entre 0 y cantidad
+     */
+    public int reservarBorrador(LLMProcess proceso, int cantidad) {
+        proceso.iniciarBorrador();
+        int reservados = 0;
+        try {
+            for (; reservados < cantidad; reservados++) {
+                asignarMemoriaParaToken(proceso);
+            }
+        } catch (Exception e) {
+            // Sin marcos para más tokens tentativos: se verifica lo que se pudo reservar
+        }
+        return reservados;
+    }
+
+    /**
+     * Cierra el borrador en curso conservando los primeros tokens aceptados y revirtiendo el resto:
+     * el contador del proceso retrocede y las páginas que solo contenían tokens rechazados se liberan
+     * y se invalidan en la TLB. Una página que comparte tokens aceptados y rechazados se conserva.
+     *
+     * @param proceso proceso con un borrador abierto
+     * @param aceptados tokens del borrador aceptados por el verificador
+     * @return marcos liberados por la reversión
+     */
+    public int confirmarBorrador(LLMProcess proceso, int aceptados) {
+        int inicio = proceso.getInicioBorrador();
+        if (inicio == LLMProcess.SIN_BORRADOR) {
+            throw new IllegalStateException("El proceso " + proceso.getPid() + " no tiene un borrador abierto");
+        }
+        int contadorActual = proceso.getContadorTokens();
+        int confirmado = inicio + Math.max(0, Math.min(aceptados, contadorActual - inicio));
+
+        // Páginas a partir de la primera que no contiene ningún token confirmado
+        int primeraRechazada = (confirmado + pageSize - 1) / pageSize;
+        int ultimaPagina = (contadorActual - 1) / pageSize;
+        int liberados = 0;
+        for (int vpn = ultimaPagina; vpn >= primeraRechazada; vpn--) {
+            if (liberarPagina(proceso, vpn)) {
+                liberados++;
+            }
+        }
+        proceso.cerrarBorrador(confirmado);
+        fragmentacion.cambiar(contadorActual, confirmado);
+        return liberados;
+    }
+
+    /**
+     * Revierte por completo el borrador en curso.
+     *
+     * @param proceso proceso con un borrador abierto
+     * @return marcos liberados por la reversión
+     */
+    public int descartarBorrador(LLMProcess proceso) {
+        return confirmarBorrador(proceso, 0);
+    }
+
+    /**
+     * Libera el marco de una página de un proceso y quita su traducción de la tabla y de la TLB.
+     *
+     * @param proceso dueño de la página
+     * @param paginaVirtual página a liberar
+     * @return true si la página estaba mapeada
+     */
+    protected boolean liberarPagina(LLMProcess proceso, int paginaVirtual) {
+        int marco = proceso.getPageTable().quitarEntrada(paginaVirtual);
+        if (marco == PageTable.SIN_MARCO) return false;
+        if (ram.liberarMarco(marco) && asignador != null) {
+            asignador.devolverMarco(marco);
         }
+        if (tlb.invalidar(proceso.getPid(), paginaVirtual)) {
+            invalidacionesTlb++;
+        }
+        return true;
     }
 
     /**
@@ -70,82 +226,221 @@ public class MMUService {
      */
     public int traducirDireccion(LLMProcess proceso, int tokenIndex) {
         int paginaVirtual = tokenIndex / pageSize;
-        Integer marcoFisico = tlb.buscar(proceso.getPid(), paginaVirtual);
+        int marcoFisico = tlb.consultar(proceso.getPid(), paginaVirtual);
+        boolean tlbHit = (marcoFisico != TLB.SIN_MARCO);
 
-        if (marcoFisico == null) {
-            marcoFisico = proceso.getPageTable().getMarcoFisico(paginaVirtual);
+        if (!tlbHit) {
+            marcoFisico = proceso.getPageTable().getMarco(paginaVirtual);
 
-            if (marcoFisico != null) {
+            if (marcoFisico != PageTable.SIN_MARCO) {
                 tlb.agregarEntrada(proceso.getPid(), paginaVirtual, marcoFisico);
             }
         }
 
-        return (marcoFisico != null) ? marcoFisico : -1;
+        if (traza != null && marcoFisico != PageTable.SIN_MARCO) {
+            traza.registrar(cicloTraza, proceso.getPid(), paginaVirtual, marcoFisico, tokenIndex, tlbHit);
+        }
+        return marcoFisico;
     }
 
     /**
-     * Traduce una dirección virtual a física y retorna un log detallado del acceso.
+     * Traduce los tokens [desdeToken, hastaToken) de un proceso y escribe el marco de cada uno
+     * en {@code marcos[token - desdeToken]}, o {@link PageTable#SIN_MARCO} si su página no está mapeada.
+     * Recorre las páginas del rango una sola vez: cada página consulta la TLB una vez, no una por token,
+     * y no se crean objetos.
+     *
+     * @param proceso proceso de LLM
+     * @param desdeToken primer token del rango
+     * @param hastaToken token siguiente al último del rango
+     * @param marcos destino, con al menos hastaToken - desdeToken posiciones
+     * @return aciertos de TLB, contados por página
+     */
+    public int traducirRango(LLMProcess proceso, int desdeToken, int hastaToken, int[] marcos) {
+        return traducirRango(proceso, desdeToken, hastaToken, marcos, null);
+    }
+
+    /**
+     * Igual que {@link #traducirRango(LLMProcess, int, int, int[])}, y además marca en un mapa de bits
+     * el resultado de la TLB para cada página del rango: el bit k (bit {@code k % 64} de la palabra
+     * {@code k / 64}) corresponde a la k-ésima página, contando desde la de desdeToken, y vale 1 si fue acierto.
+     *
+     * @param proceso proceso de LLM
+     * @param desdeToken primer token del rango
+     * @param hastaToken token siguiente al último del rango
+     * @param marcos destino, con al menos hastaToken - desdeToken posiciones
+     * @param aciertos mapa de bits de aciertos con una palabra por cada 64 páginas, o null para no registrarlo
+     * @return aciertos de TLB, contados por página
+     */
+    public int traducirRango(LLMProcess proceso, int desdeToken, int hastaToken, int[] marcos, long[] aciertos) {
+        if (hastaToken <= desdeToken) return 0;
+        int pid = proceso.getPid();
+        PageTable tabla = proceso.getPageTable();
+        int primeraPagina = desdeToken / pageSize;
+        int ultimaPagina = (hastaToken - 1) / pageSize;
+        if (aciertos != null) {
+            Arrays.fill(aciertos, 0, ((ultimaPagina - primeraPagina) >>> 6) + 1, 0L);
+        }
+
+        int totalAciertos = 0;
+        int token = desdeToken;
+        for (int pagina = primeraPagina; pagina <= ultimaPagina; pagina++) {
+            int marco = tlb.consultar(pid, pagina);
+            boolean tlbHit = (marco != TLB.SIN_MARCO);
+            if (tlbHit) {
+                totalAciertos++;
+                if (aciertos != null) {
+                    int k = pagina - primeraPagina;
+                    aciertos[k >>> 6] |= 1L << k;
+                }
+            } else {
+                marco = tabla.getMarco(pagina);
+                if (marco != PageTable.SIN_MARCO) {
+                    tlb.agregarEntrada(pid, pagina, marco);
+                }
+            }
+            // Una fila por consulta de página, con el primer token del rango que cae en ella
+            if (traza != null && marco != PageTable.SIN_MARCO) {
+                traza.registrar(cicloTraza, pid, pagina, marco, token, tlbHit);
+            }
+            int finPagina = Math.min(hastaToken, (pagina + 1) * pageSize);
+            Arrays.fill(marcos, token - desdeToken, finPagina - desdeToken, marco);
+            token = finPagina;
+        }
+        return totalAciertos;
+    }
+
+    /**
+     * Traduce en lote un conjunto de páginas virtuales de un proceso, como las que lee la atención
+     * en un paso de decodificación. Cada página consulta la TLB una sola vez y, si falla, la tabla
+     * de páginas; no se crean objetos.
+     *
+     * @param proceso proceso de LLM
+     * @param paginas páginas virtuales a traducir, en el orden en que se leen
+     * @param cantidad cantidad de posiciones válidas del arreglo
+     * @return aciertos de TLB del lote
+     */
+    public int traducirPaginas(LLMProcess proceso, int[] paginas, int cantidad) {
+        int pid = proceso.getPid();
+        PageTable tabla = proceso.getPageTable();
+        int aciertos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int paginaVirtual = paginas[i];
+            int marcoFisico = tlb.consultar(pid, paginaVirtual);
+            boolean tlbHit = (marcoFisico != TLB.SIN_MARCO);
+            if (tlbHit) {
+                aciertos++;
+            } else {
+                marcoFisico = tabla.getMarco(paginaVirtual);
+                if (marcoFisico != PageTable.SIN_MARCO) {
+                    tlb.agregarEntrada(pid, paginaVirtual, marcoFisico);
+                }
+            }
+            if (traza != null && marcoFisico != PageTable.SIN_MARCO) {
+                traza.registrar(cicloTraza, pid, paginaVirtual, marcoFisico, paginaVirtual * pageSize, tlbHit);
+            }
+        }
+        return aciertos;
+    }
+
+    /**
+     * Traduce una dirección virtual a física y anota el acceso en un registro circular.
+     * Si la página no está mapeada no se registra nada.
      *
      * @param proceso proceso de LLM
      * @param tokenIndex índice del token (dirección virtual)
-     * @return registro detallado del acceso a memoria, o null si no existe la traducción
+     * @param registro registro de accesos donde se anota la traducción
+     * @param ciclo ciclo de simulación del acceso
+     * @return número de marco físico, o {@link PageTable#SIN_MARCO} si no existe la traducción
      */
-    public MemoryAccessLog traducirDireccionConLog(LLMProcess proceso, int tokenIndex) {
+    public int traducirDireccion(LLMProcess proceso, int tokenIndex, RegistroAccesos registro, long ciclo) {
         int paginaVirtual = tokenIndex / pageSize;
-        int offsetEnPagina = tokenIndex % pageSize;
+        int marcoFisico = tlb.consultar(proceso.getPid(), paginaVirtual);
+        boolean tlbHit = (marcoFisico != TLB.SIN_MARCO);
 
-        Integer marcoFisico = tlb.buscar(proceso.getPid(), paginaVirtual);
-        boolean tlbHit = (marcoFisico != null);
+        if (!tlbHit) {
+            marcoFisico = proceso.getPageTable().getMarco(paginaVirtual);
 
-        if (marcoFisico == null) {
-            marcoFisico = proceso.getPageTable().getMarcoFisico(paginaVirtual);
-
-            if (marcoFisico != null) {
+            if (marcoFisico != PageTable.SIN_MARCO) {
                 tlb.agregarEntrada(proceso.getPid(), paginaVirtual, marcoFisico);
             } else {
-                return null;
+                return PageTable.SIN_MARCO;
             }
         }
 
-        int direccionFisica = marcoFisico * pageSize + offsetEnPagina;
+        if (traza != null) {
+            traza.registrar(ciclo, proceso.getPid(), paginaVirtual, marcoFisico, tokenIndex, tlbHit);
+        }
+        int direccionFisica = marcoFisico * pageSize + tokenIndex % pageSize;
+        registro.registrar(ciclo, proceso.getPid(), proceso.getNombre(), tokenIndex,
+                direccionFisica, paginaVirtual, marcoFisico, tlbHit);
+        return marcoFisico;
+    }
 
-        return new MemoryAccessLog(
-            tokenIndex,
-            direccionFisica,
-            paginaVirtual,
-            marcoFisico,
-            tlbHit,
-            proceso.getPid(),
-            proceso.getNombre()
-        );
+    /**
+     * Copia cada traducción de esta MMU (el token de cada paso, las páginas que lee la atención y los
+     * rangos que verifica la especulación) a una traza binaria persistente. La traza no admite varios
+     * escritores: solo se asigna a una MMU usada por un único hilo.
+     *
+     * @param traza traza de destino, o null para dejar de trazar
+     */
+    public void setTraza(TrazaAccesos traza) {
+        this.traza = traza;
+    }
+
+    /**
+     * Fija el ciclo con que se anotan en la traza las traducciones que no reciben el ciclo.
+     *
+     * @param ciclo ciclo de simulación en curso
+     */
+    public void setCicloTraza(long ciclo) {
+        this.cicloTraza = ciclo;
     }
 
     /**
      * Libera todos los marcos físicos ocupados por el proceso y limpia la TLB.
+     * Los marcos que comparte con otros procesos solo pierden una referencia.
      *
      * @param proceso proceso de LLM
+     * @return marcos que quedaron libres
      */
-    public void liberarMemoria(LLMProcess proceso) {
-        Map<Integer, Integer> mapa = proceso.getPageTable().getMapa();
-        for (Integer marcoId : mapa.values()) {
-            ram.getFrame(marcoId).liberar();
+    public int liberarMemoria(LLMProcess proceso) {
+        PageTable tabla = proceso.getPageTable();
+        if (tabla.getCantidadPaginas() > 0) {
+            fragmentacion.cambiar(proceso.getContadorTokens(), 0);
+        }
+        int liberados = 0;
+        for (int vpn = 0; vpn < tabla.getLimitePaginas(); vpn++) {
+            int marcoId = tabla.getMarco(vpn);
+            if (marcoId == PageTable.SIN_MARCO) continue;
+            if (ram.liberarMarco(marcoId)) {
+                liberados++;
+                if (asignador != null) {
+                    asignador.devolverMarco(marcoId);
+                }
+            }
         }
         tlb.invalidarPorProceso(proceso.getPid());
-        proceso.getPageTable().limpiar();
+        tabla.limpiar();
+        return liberados;
     }
 
     /**
-     * Busca un marco físico libre en la memoria RAM.
+     * Activa o desactiva los mensajes por consola de cada asignación.
+     * Las ejecuciones sin interfaz lo activan para no pagar el costo de E/S por token.
      *
-     * @return índice del marco libre o -1 si no hay disponibles
+     * @param silencioso true para no imprimir las asignaciones
      */
-    private int buscarMarcoLibre() {
-        for (int i = 0; i < ram.getSize(); i++) {
-            if (!ram.getFrame(i).isOcupado()) {
-                return i;
-            }
-        }
-        return -1;
+    public void setSilencioso(boolean silencioso) {
+        this.silencioso = silencioso;
+    }
+
+    /**
+     * Obtiene la cantidad de tokens que entran en cada marco.
+     *
+     * @return tamaño de página en tokens
+     */
+    public int getPageSize() {
+        return pageSize;
     }
 
     /**
@@ -166,6 +461,25 @@ public class MMUService {
         return tlb.getHits();
     }
 
+    /**
+     * Obtiene el contador de fragmentación interna de los procesos que administra esta MMU.
+     *
+     * @return huecos y llenado de las últimas páginas
+     */
+    public FragmentacionInterna getFragmentacion() {
+        return fragmentacion;
+    }
+
+    /**
+     * Obtiene cuántas entradas de la TLB se invalidaron al liberar páginas sueltas
+     * (reversiones de borradores), sin contar la invalidación completa al terminar un proceso.
+     *
+     * @return entradas invalidadas
+     */
+    public long getInvalidacionesTlb() {
+        return invalidacionesTlb;
+    }
+
     /**
      * Obtiene la cantidad de fallos en la TLB.
      *
@@ -0,0 +1,187 @@
+package sim.negocio;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.PageTable;
+import sim.modelo.PhysicalMemory;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MMU que pueden usar muchos hilos a la vez, uno por conversación.
+ * Los marcos se reservan sin bloqueos con {@link PhysicalMemory#reservarMarcoLibre(int, String)};
+ * la TLB compartida se protege con un cerrojo. Cada proceso es tocado solo por su propio hilo,
+ * por lo que su tabla de páginas no necesita sincronización.
+ *
+ * Mide la contención: cuántas veces un hilo encontró el cerrojo de la TLB tomado, cuánto esperó
+ * y cuántos CAS sobre el mapa de ocupación tuvieron que reintentarse.
+ */
+public class MMUServiceConcurrente extends MMUService {
+    private final PhysicalMemory ram;
+    private final ReentrantLock cerrojoTlb = new ReentrantLock();
+    private final LongAdder esperasCerrojo = new LongAdder();
+    private final LongAdder nanosEsperaCerrojo = new LongAdder();
+
+    /**
+     * Crea una MMU concurrente sobre la memoria indicada.
+     *
+     * @param ram memoria física compartida
+     * @param tlbSize tamaño de la TLB compartida
+     * @param pageSize cantidad de tokens por marco
+     */
+    public MMUServiceConcurrente(PhysicalMemory ram, int tlbSize, int pageSize) {
+        super(ram, tlbSize, pageSize);
+        this.ram = ram;
+        setSilencioso(true);
+    }
+
+    @Override
+    public void asignarMemoriaParaToken(LLMProcess proceso) throws Exception {
+        int totalTokens = proceso.getContadorTokens();
+        if (totalTokens % getPageSize() == 0) {
+            int marco = ram.reservarMarcoLibre(proceso.getPid(), proceso.getColorHex());
+            if (marco == -1) {
+                throw new Exception("MEMORIA LLENA: No se pueden asignar más tokens.");
+            }
+            proceso.getPageTable().agregarEntrada(totalTokens / getPageSize(), marco);
+        }
+        proceso.agregarToken();
+        getFragmentacion().cambiar(totalTokens, totalTokens + 1);
+    }
+
+    @Override
+    public int traducirDireccion(LLMProcess proceso, int tokenIndex) {
+        bloquearTlb();
+        try {
+            return super.traducirDireccion(proceso, tokenIndex);
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    @Override
+    public int traducirDireccion(LLMProcess proceso, int tokenIndex, RegistroAccesos registro, long ciclo) {
+        bloquearTlb();
+        try {
+            return super.traducirDireccion(proceso, tokenIndex, registro, ciclo);
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    @Override
+    public int traducirPaginas(LLMProcess proceso, int[] paginas, int cantidad) {
+        bloquearTlb();
+        try {
+            return super.traducirPaginas(proceso, paginas, cantidad);
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    @Override
+    public int traducirRango(LLMProcess proceso, int desdeToken, int hastaToken, int[] marcos, long[] aciertos) {
+        bloquearTlb();
+        try {
+            return super.traducirRango(proceso, desdeToken, hastaToken, marcos, aciertos);
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    @Override
+    protected int reservarMarco(LLMProcess proceso) {
+        return ram.reservarMarcoLibre(proceso.getPid(), proceso.getColorHex());
+    }
+
+    @Override
+    public int liberarMemoria(LLMProcess proceso) {
+        PageTable tabla = proceso.getPageTable();
+        if (tabla.getCantidadPaginas() > 0) {
+            getFragmentacion().cambiar(proceso.getContadorTokens(), 0);
+        }
+        int liberados = 0;
+        for (int vpn = 0; vpn < tabla.getLimitePaginas(); vpn++) {
+            int marcoId = tabla.getMarco(vpn);
+            if (marcoId != PageTable.SIN_MARCO && ram.liberarMarco(marcoId)) {
+                liberados++;
+            }
+        }
+        bloquearTlb();
+        try {
+            getTlb().invalidarPorProceso(proceso.getPid());
+        } finally {
+            cerrojoTlb.unlock();
+        }
+        proceso.getPageTable().limpiar();
+        return liberados;
+    }
+
+    @Override
+    protected boolean liberarPagina(LLMProcess proceso, int paginaVirtual) {
+        bloquearTlb();
+        try {
+            return super.liberarPagina(proceso, paginaVirtual);
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    /**
+     * Toma el cerrojo de la TLB. Si está ocupado, cuenta la espera y mide cuánto dura.
+     */
+    private void bloquearTlb() {
+        if (cerrojoTlb.tryLock()) return;
+        esperasCerrojo.increment();
+        long inicio = System.nanoTime();
+        cerrojoTlb.lock();
+        nanosEsperaCerrojo.add(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public int getTlbHits() {
+        bloquearTlb();
+        try {
+            return super.getTlbHits();
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    @Override
+    public int getTlbMisses() {
+        bloquearTlb();
+        try {
+            return super.getTlbMisses();
+        } finally {
+            cerrojoTlb.unlock();
+        }
+    }
+
+    /**
+     * Obtiene cuántas veces un hilo encontró el cerrojo de la TLB tomado por otro.
+     *
+     * @return esperas acumuladas
+     */
+    public long getEsperasCerrojo() {
+        return esperasCerrojo.sum();
+    }
+
+    /**
+     * Obtiene el tiempo total que los hilos esperaron el cerrojo de la TLB.
+     *
+     * @return nanosegundos de espera acumulados
+     */
+    public long getNanosEsperaCerrojo() {
+        return nanosEsperaCerrojo.sum();
+    }
+
+    /**
+     * Obtiene los reintentos de CAS sobre el mapa de ocupación de la memoria.
+     *
+     * @return reintentos acumulados
+     */
+    public long getReintentosCas() {
+        return ram.getReintentosCas();
+    }
+}
@@ -0,0 +1,431 @@
+package sim.negocio;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.PageTable;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.atencion.LectorAtencion;
+import sim.negocio.atencion.PatronAtencion;
+import sim.negocio.planificacion.Lote;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ejecuta en paralelo los pasos de un lote repartiendo los procesos en particiones fijas
+ * (por PID), una por hilo. Cada partición tiene su propia MMU, con su TLB, y toma los marcos
+ * de un {@link PoolMarcos} propio, por lo que los hilos no comparten estado mutable salvo
+ * el mapa de ocupación atómico de la memoria física.
+ *
+ * Un proceso que no consigue marcos en su pool queda pendiente y se resuelve después de la
+ * barrera, en el hilo de la simulación y en el orden del lote. En la barrera el rebalanceador
+ * redistribuye los marcos libres entre los pools. Como la partición de cada proceso, el contenido
+ * de cada pool y el orden de resolución no dependen de los hilos, el resultado es determinista
+ * para una semilla y una cantidad de particiones dadas.
+ */
+public class PasoParticionado implements AutoCloseable {
+    private final int particiones;
+    private final MMUService[] mmus;
+    private final PoolMarcos[] pools;
+    private final LectorAtencion[] lectores;
+    private final Especulador[] especuladores;
+    private final List<Callable<Void>> tareas = new ArrayList<>();
+    private final ExecutorService hilos;
+
+    private Lote lote;
+    private int[][] indices;
+    private final int[] cantidades;
+    private int[] pendientes = new int[16];
+    private int[] marcosAccedidos = new int[16];
+    private boolean[] aciertosTlb = new boolean[16];
+    private int[] aceptados = new int[16];
+
+    /**
+     * Reparte los marcos libres de la memoria en bloques contiguos, uno por partición,
+     * y crea una MMU y un hilo por partición.
+     *
+     * @param ram memoria física compartida
+     * @param tlbSize entradas de la TLB de cada partición
+     * @param pageSize tokens por marco
+     * @param particiones cantidad de particiones (y de hilos)
+     */
+    public PasoParticionado(PhysicalMemory ram, int tlbSize, int pageSize, int particiones) {
+        this.particiones = particiones;
+        this.mmus = new MMUService[particiones];
+        this.pools = new PoolMarcos[particiones];
+        this.lectores = new LectorAtencion[particiones];
+        this.especuladores = new Especulador[particiones];
+        this.indices = new int[particiones][16];
+        this.cantidades = new int[particiones];
+
+        int total = ram.getSize();
+        for (int p = 0; p < particiones; p++) {
+            int desde = (int) ((long) total * p / particiones);
+            int hasta = (int) ((long) total * (p + 1) / particiones);
+            pools[p] = new PoolMarcos(hasta - desde);
+            // Se apilan de mayor a menor para que cada pool entregue primero sus marcos más bajos
+            for (int marco = hasta - 1; marco >= desde; marco--) {
+                if (!ram.isOcupado(marco)) {
+                    pools[p].devolverMarco(marco);
+                }
+            }
+            mmus[p] = new MMUService(ram, tlbSize, pageSize, pools[p]);
+            mmus[p].setSilencioso(true);
+
+            int particion = p;
+            tareas.add(() -> {
+                avanzarParticion(particion);
+                return null;
+            });
+        }
+
+        this.hilos = Executors.newFixedThreadPool(particiones, tarea -> {
+            Thread hilo = new Thread(tarea, "paso-particionado");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Define el patrón de lectura de la caché KV de los pasos de decodificación.
+     * Cada partición usa su propio lector, que traduce a través de la TLB de la partición.
+     *
+     * @param patron patrón de atención
+     * @param aleatorios generadores de la simulación
+     */
+    public void setAtencion(PatronAtencion patron, FlujosAleatorios aleatorios) {
+        for (int p = 0; p < particiones; p++) {
+            lectores[p] = new LectorAtencion(patron, aleatorios);
+        }
+    }
+
+    /**
+     * Activa la decodificación especulativa en los pasos de decode. Cada partición usa su propio
+     * especulador, que reserva los borradores en el pool y la TLB de la partición.
+     *
+     * @param especulacion descripción interpretada por {@link Especulador#desdeTexto(String, FlujosAleatorios)}
+     * @param aleatorios generadores de la simulación
+     */
+    public void setEspeculacion(String especulacion, FlujosAleatorios aleatorios) {
+        for (int p = 0; p < particiones; p++) {
+            Especulador especulador = Especulador.desdeTexto(especulacion, aleatorios);
+            especuladores[p] = especulador.isActivo() ? especulador : null;
+        }
+    }
+
+    /**
+     * Ejecuta en paralelo el paso de cada entrada del lote: aloja sus tokens, registra el token
+     * de respuesta si es decode y traduce la dirección del último token, guardando el marco y el
+     * resultado de la TLB para que el hilo de la simulación los anote en su registro de accesos.
+     * Al volver, las entradas
+     * con {@link #getTokensPendientes(int)} mayor que cero no consiguieron toda su memoria
+     * y no avanzaron más allá de los tokens alojados.
+     *
+     * @param lote lote planificado para el ciclo
+     * @throws InterruptedException si se interrumpe la espera de las particiones
+     * @throws ExecutionException si falla alguna partición
+     */
+    public void avanzar(Lote lote) throws InterruptedException, ExecutionException {
+        this.lote = lote;
+        int tamano = lote.getTamano();
+        if (pendientes.length < tamano) {
+            pendientes = new int[Math.max(tamano, pendientes.length * 2)];
+            marcosAccedidos = new int[pendientes.length];
+            aciertosTlb = new boolean[pendientes.length];
+            aceptados = new int[pendientes.length];
+        }
+
+        Arrays.fill(cantidades, 0);
+        for (int i = 0; i < tamano; i++) {
+            int p = particionDe(lote.getProceso(i));
+            if (cantidades[p] == indices[p].length) {
+                indices[p] = Arrays.copyOf(indices[p], cantidades[p] * 2);
+            }
+            indices[p][cantidades[p]++] = i;
+        }
+
+        for (Future<Void> futuro : hilos.invokeAll(tareas)) {
+            futuro.get();
+        }
+        equilibrar();
+    }
+
+    /**
+     * Avanza, en el orden del lote, las entradas que pertenecen a una partición. Un proceso se
+     * detiene antes del token que necesitaría un marco nuevo si el pool de la partición está
+     * vacío; esa entrada queda pendiente y se resuelve después de la barrera.
+     *
+     * @param particion índice de la partición
+     * @throws Exception si falla la asignación por otro motivo que el pool agotado
+     */
+    private void avanzarParticion(int particion) throws Exception {
+        MMUService mmu = mmus[particion];
+        PoolMarcos pool = pools[particion];
+        int pageSize = mmu.getPageSize();
+        int[] propias = indices[particion];
+        for (int k = 0; k < cantidades[particion]; k++) {
+            int i = propias[k];
+            LLMProcess proceso = lote.getProceso(i);
+            int tokens = lote.getTokens(i);
+            int alojados = 0;
+            for (; alojados < tokens; alojados++) {
+                if (proceso.getContadorTokens() % pageSize == 0 && pool.getLibres() == 0) {
+                    break;
+                }
+                mmu.asignarMemoriaParaToken(proceso);
+            }
+            pendientes[i] = tokens - alojados;
+            marcosAccedidos[i] = PageTable.SIN_MARCO;
+            aceptados[i] = 0;
+            if (pendientes[i] == 0) {
+                completarPaso(particion, proceso, lote.isPrefill(i), i);
+            }
+        }
+    }
+
+    /**
+     * Registra el token de respuesta de un paso decode, traduce la dirección del último token
+     * y, en los pasos decode, las páginas que lee la atención y el borrador especulativo.
+     *
+     * @param particion partición del proceso
+     * @param proceso proceso que avanzó
+     * @param esPrefill true si el paso fue un fragmento de prompt
+     * @param i índice de la entrada en el lote
+     */
+    private void completarPaso(int particion, LLMProcess proceso, boolean esPrefill, int i) {
+        MMUService mmu = mmus[particion];
+        if (!esPrefill) {
+            proceso.registrarTokenSalida();
+        }
+        // La TLB de la partición solo la toca este hilo: si sus aciertos cambiaron, la traducción fue un hit
+        int hitsPrevios = mmu.getTlbHits();
+        marcosAccedidos[i] = mmu.traducirDireccion(proceso, proceso.getContadorTokens() - 1);
+        aciertosTlb[i] = mmu.getTlbHits() != hitsPrevios;
+        if (!esPrefill && lectores[particion] != null) {
+            lectores[particion].leer(mmu, proceso);
+        }
+        if (!esPrefill && especuladores[particion] != null) {
+            aceptados[i] = especuladores[particion].especular(mmu, proceso);
+            for (int t = 0; t < aceptados[i]; t++) {
+                proceso.registrarTokenSalida();
+            }
+        }
+    }
+
+    /**
+     * Rebalanceador global: mientras la diferencia entre el pool más provisto y el más vacío
+     * supere un octavo de la media, pasa la mitad de la diferencia del primero al segundo.
+     */
+    private void equilibrar() {
+        int total = 0;
+        for (PoolMarcos pool : pools) {
+            total += pool.getLibres();
+        }
+        int umbral = Math.max(1, total / particiones / 8);
+
+        for (int intento = 0; intento < particiones; intento++) {
+            int mayor = 0;
+            int menor = 0;
+            for (int p = 1; p < particiones; p++) {
+                if (pools[p].getLibres() > pools[mayor].getLibres()) mayor = p;
+                if (pools[p].getLibres() < pools[menor].getLibres()) menor = p;
+            }
+            int diferencia = pools[mayor].getLibres() - pools[menor].getLibres();
+            if (diferencia <= umbral) return;
+            pools[mayor].ceder(pools[menor], diferencia / 2);
+        }
+    }
+
+    /**
+     * Repone el pool de la partición de un proceso con la mitad de los marcos del pool más provisto.
+     * Se usa después de la barrera, cuando un proceso pendiente agotó su pool.
+     *
+     * @param proceso proceso que necesita marcos
+     * @return true si se transfirió al menos un marco
+     */
+    public boolean reponer(LLMProcess proceso) {
+        int destino = particionDe(proceso);
+        int mayor = 0;
+        for (int p = 1; p < particiones; p++) {
+            if (pools[p].getLibres() > pools[mayor].getLibres()) mayor = p;
+        }
+        if (mayor == destino || pools[mayor].getLibres() == 0) return false;
+        return pools[mayor].ceder(pools[destino], (pools[mayor].getLibres() + 1) / 2) > 0;
+    }
+
+    /**
+     * Termina, en el hilo de la simulación, el paso de una entrada que quedó pendiente
+     * una vez que se alojaron los tokens que le faltaban.
+     *
+     * @param i índice de la entrada en el lote
+     */
+    public void completarPendiente(int i) {
+        LLMProcess proceso = lote.getProceso(i);
+        pendientes[i] = 0;
+        completarPaso(particionDe(proceso), proceso, lote.isPrefill(i), i);
+    }
+
+    /**
+     * Obtiene la partición a la que pertenece un proceso durante toda su vida.
+     *
+     * @param proceso proceso a ubicar
+     * @return índice de la partición
+     */
+    public int particionDe(LLMProcess proceso) {
+        return Math.floorMod(proceso.getPid(), particiones);
+    }
+
+    /**
+     * Obtiene la MMU de la partición de un proceso; toda su memoria se aloja y libera a través de ella.
+     *
+     * @param proceso proceso a consultar
+     * @return MMU de su partición
+     */
+    public MMUService getMmu(LLMProcess proceso) {
+        return mmus[particionDe(proceso)];
+    }
+
+    /**
+     * Obtiene los tokens que una entrada del último lote no pudo alojar en su partición.
+     *
+     * @param i índice de la entrada en el lote
+     * @return tokens pendientes, 0 si el paso se completó
+     */
+    public int getTokensPendientes(int i) {
+        return pendientes[i];
+    }
+
+    /**
+     * Obtiene el marco al que tradujo el último token de una entrada del último lote.
+     *
+     * @param i índice de la entrada en el lote
+     * @return marco físico, o {@link PageTable#SIN_MARCO} si no hubo traducción
+     */
+    public int getMarcoAccedido(int i) {
+        return marcosAccedidos[i];
+    }
+
+    /**
+     * Indica si la traducción del último token de una entrada del último lote salió de la TLB.
+     *
+     * @param i índice de la entrada en el lote
+     * @return true si fue un hit
+     */
+    public boolean isAciertoTlb(int i) {
+        return aciertosTlb[i];
+    }
+
+    /**
+     * Obtiene los tokens de borrador aceptados en el paso de una entrada del último lote,
+     * ya registrados como tokens de respuesta del proceso.
+     *
+     * @param i índice de la entrada en el lote
+     * @return tokens especulativos aceptados
+     */
+    public int getTokensAceptados(int i) {
+        return aceptados[i];
+    }
+
+    /**
+     * Suma un contador de los especuladores de todas las particiones.
+     *
+     * @param contador contador a sumar, por ejemplo {@code Especulador::getTokensRechazados}
+     * @return total de las particiones, 0 sin especulación
+     */
+    public long sumarEspeculacion(ToLongFunction<Especulador> contador) {
+        long total = 0;
+        for (Especulador especulador : especuladores) {
+            if (especulador != null) {
+                total += contador.applyAsLong(especulador);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Suma los aciertos de TLB de todas las particiones.
+     *
+     * @return hits acumulados
+     */
+    public int getTlbHits() {
+        int hits = 0;
+        for (MMUService mmu : mmus) {
+            hits += mmu.getTlbHits();
+        }
+        return hits;
+    }
+
+    /**
+     * Suma los fallos de TLB de todas las particiones.
+     *
+     * @return misses acumulados
+     */
+    public int getTlbMisses() {
+        int misses = 0;
+        for (MMUService mmu : mmus) {
+            misses += mmu.getTlbMisses();
+        }
+        return misses;
+    }
+
+    /**
+     * Suma las páginas leídas por atención en todas las particiones.
+     *
+     * @return lecturas de páginas por atención
+     */
+    public long getPaginasLeidasAtencion() {
+        long total = 0;
+        for (LectorAtencion lector : lectores) {
+            if (lector != null) {
+                total += lector.getPaginasLeidas();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Suma los huecos de fragmentación interna de todas las particiones.
+     *
+     * @return tokens asignados y sin usar en las últimas páginas
+     */
+    public long getHuecosFragmentacion() {
+        long total = 0;
+        for (MMUService mmu : mmus) {
+            total += mmu.getFragmentacion().getHuecos();
+        }
+        return total;
+    }
+
+    /**
+     * Acumula el llenado de la última página de los procesos de todas las particiones, en cuartos de página.
+     *
+     * @param cuartos arreglo de 4 posiciones donde se acumulan los procesos
+     */
+    public void sumarCuartosUltimaPagina(long[] cuartos) {
+        for (MMUService mmu : mmus) {
+            mmu.getFragmentacion().sumarCuartos(cuartos);
+        }
+    }
+
+    public int getParticiones() {
+        return particiones;
+    }
+
+    public PoolMarcos getPool(int particion) {
+        return pools[particion];
+    }
+
+    /**
+     * Detiene los hilos de las particiones.
+     */
+    @Override
+    public void close() {
+        hilos.shutdown();
+    }
+}
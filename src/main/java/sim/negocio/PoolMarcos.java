@@ -0,0 +1,59 @@
+package sim.negocio;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de marcos libres reservados para una partición del paso paralelo.
+ * Es una pila de índices: tomar y devolver son O(1) y no requieren sincronización
+ * porque cada pool lo usa un único hilo por vez.
+ */
+public class PoolMarcos implements AsignadorMarcos {
+    private int[] libres;
+    private int cantidad;
+
+    /**
+     * Crea un pool vacío.
+     *
+     * @param capacidadInicial cantidad de marcos que se espera alojar
+     */
+    public PoolMarcos(int capacidadInicial) {
+        this.libres = new int[Math.max(1, capacidadInicial)];
+    }
+
+    @Override
+    public int tomarMarco() {
+        return (cantidad > 0) ? libres[--cantidad] : -1;
+    }
+
+    @Override
+    public void devolverMarco(int marco) {
+        if (cantidad == libres.length) {
+            libres = Arrays.copyOf(libres, cantidad * 2);
+        }
+        libres[cantidad++] = marco;
+    }
+
+    /**
+     * Pasa marcos libres de este pool a otro.
+     *
+     * @param destino pool que recibe los marcos
+     * @param marcos cantidad a transferir (se limita a los disponibles)
+     * @return cantidad transferida
+     */
+    public int ceder(PoolMarcos destino, int marcos) {
+        int transferidos = Math.min(marcos, cantidad);
+        for (int i = 0; i < transferidos; i++) {
+            destino.devolverMarco(libres[--cantidad]);
+        }
+        return transferidos;
+    }
+
+    /**
+     * Obtiene la cantidad de marcos libres del pool.
+     *
+     * @return marcos disponibles
+     */
+    public int getLibres() {
+        return cantidad;
+    }
+}
@@ -0,0 +1,220 @@
+package sim.negocio;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Registro circular de accesos a memoria de capacidad fija. Cada campo de los registros vive
+ * en su propio arreglo primitivo reservado de antemano, así que registrar un acceso no crea
+ * objetos: solo escribe una posición de cada columna y publica el número de secuencia.
+ *
+ * Hay un único escritor (el hilo de la simulación) y cualquier cantidad de lectores, cada uno
+ * con su propio {@link Cursor}. Los lectores no bloquean al escritor: si se atrasan más que la
+ * capacidad, el cursor salta los registros pisados y los cuenta como perdidos.
+ *
+ * El único lector actual es el log de accesos de la interfaz. La {@link sim.recorder.TrazaAccesos}
+ * se escribe aparte porque anota también el prefill y las lecturas de atención, que aquí no figuran, y no
+ * admite perder filas.
+ */
+public class RegistroAccesos {
+    private final int capacidad;
+    private final int mascara;
+    private final long[] ciclos;
+    private final int[] pids;
+    private final String[] nombres;
+    private final int[] direccionesVirtuales;
+    private final int[] direccionesFisicas;
+    private final int[] paginas;
+    private final int[] marcos;
+    private final boolean[] aciertos;
+    private volatile long publicados;
+
+    /**
+     * Crea el registro con todas sus columnas ya reservadas.
+     *
+     * @param capacidad registros que conserva; se redondea a la siguiente potencia de dos
+     */
+    public RegistroAccesos(int capacidad) {
+        if (capacidad < 2) {
+            throw new IllegalArgumentException("La capacidad del registro de accesos debe ser al menos 2: " + capacidad);
+        }
+        this.capacidad = Integer.highestOneBit(capacidad - 1) << 1;
+        this.mascara = this.capacidad - 1;
+        this.ciclos = new long[this.capacidad];
+        this.pids = new int[this.capacidad];
+        this.nombres = new String[this.capacidad];
+        this.direccionesVirtuales = new int[this.capacidad];
+        this.direccionesFisicas = new int[this.capacidad];
+        this.paginas = new int[this.capacidad];
+        this.marcos = new int[this.capacidad];
+        this.aciertos = new boolean[this.capacidad];
+    }
+
+    /**
+     * Agrega un acceso, pisando el más antiguo si el registro está lleno.
+     * Solo debe llamarlo un hilo a la vez.
+     *
+     * @param ciclo ciclo de simulación del acceso
+     * @param pid identificador del proceso
+     * @param nombreProceso nombre del proceso (se guarda la referencia, no una copia)
+     * @param direccionVirtual índice del token accedido
+     * @param direccionFisica dirección física calculada
+     * @param pagina número de página virtual
+     * @param marco número de marco físico
+     * @param tlbHit true si la traducción salió de la TLB
+     */
+    public void registrar(long ciclo, int pid, String nombreProceso, int direccionVirtual,
+                          int direccionFisica, int pagina, int marco, boolean tlbHit) {
+        long secuencia = publicados;
+        int i = (int) (secuencia & mascara);
+        ciclos[i] = ciclo;
+        pids[i] = pid;
+        nombres[i] = nombreProceso;
+        direccionesVirtuales[i] = direccionVirtual;
+        direccionesFisicas[i] = direccionFisica;
+        paginas[i] = pagina;
+        marcos[i] = marco;
+        aciertos[i] = tlbHit;
+        // La escritura volátil publica las columnas a los lectores
+        publicados = secuencia + 1;
+    }
+
+    /**
+     * Crea un cursor de lectura posicionado después del último registro publicado:
+     * solo verá los accesos que se registren a partir de ahora.
+     *
+     * @return cursor propio del lector
+     */
+    public Cursor nuevoCursor() {
+        return new Cursor(publicados);
+    }
+
+    /**
+     * Obtiene la cantidad total de accesos registrados desde la creación.
+     *
+     * @return número de secuencia del próximo registro
+     */
+    public long getPublicados() {
+        return publicados;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Posición de lectura de un consumidor. Funciona como flyweight: {@link #siguiente()} copia
+     * las columnas del registro a sus propios campos y los getters los devuelven, sin crear objetos.
+     * Un cursor no es seguro para varios hilos; cada lector usa el suyo.
+     */
+    public class Cursor {
+        private long posicion;
+        private long perdidos;
+
+        private long secuencia;
+        private long ciclo;
+        private int pid;
+        private String nombreProceso;
+        private int direccionVirtual;
+        private int direccionFisica;
+        private int pagina;
+        private int marco;
+        private boolean tlbHit;
+
+        private Cursor(long posicion) {
+            this.posicion = posicion;
+        }
+
+        /**
+         * Avanza al siguiente registro publicado y lo carga en el cursor.
+         *
+         * @return true si había un registro nuevo
+         */
+        public boolean siguiente() {
+            while (true) {
+                long limite = publicados;
+                if (posicion >= limite) {
+                    return false;
+                }
+                // El escritor puede estar pisando el registro limite - capacidad en este momento
+                if (limite - posicion >= capacidad) {
+                    long minimo = limite - capacidad + 1;
+                    perdidos += minimo - posicion;
+                    posicion = minimo;
+                }
+
+                int i = (int) (posicion & mascara);
+                ciclo = ciclos[i];
+                pid = pids[i];
+                nombreProceso = nombres[i];
+                direccionVirtual = direccionesVirtuales[i];
+                direccionFisica = direccionesFisicas[i];
+                pagina = paginas[i];
+                marco = marcos[i];
+                tlbHit = aciertos[i];
+
+                // Si mientras se copiaba el escritor alcanzó esta posición, la copia puede estar mezclada
+                VarHandle.acquireFence();
+                if (publicados - posicion >= capacidad) {
+                    continue;
+                }
+                secuencia = posicion++;
+                return true;
+            }
+        }
+
+        /**
+         * Retrocede o adelanta el cursor para que la próxima lectura empiece por los últimos registros.
+         *
+         * @param cantidad registros recientes a releer (como máximo la capacidad menos uno)
+         */
+        public void posicionarEnUltimos(int cantidad) {
+            long limite = publicados;
+            posicion = Math.max(0, limite - Math.min(cantidad, capacidad - 1));
+        }
+
+        /**
+         * Obtiene los registros que el escritor pisó antes de que este cursor los leyera.
+         *
+         * @return registros perdidos por este lector
+         */
+        public long getPerdidos() {
+            return perdidos;
+        }
+
+        public long getSecuencia() {
+            return secuencia;
+        }
+
+        public long getCiclo() {
+            return ciclo;
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public String getNombreProceso() {
+            return nombreProceso;
+        }
+
+        public int getDireccionVirtual() {
+            return direccionVirtual;
+        }
+
+        public int getDireccionFisica() {
+            return direccionFisica;
+        }
+
+        public int getPagina() {
+            return pagina;
+        }
+
+        public int getMarco() {
+            return marco;
+        }
+
+        public boolean isTlbHit() {
+            return tlbHit;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package sim.negocio;
+
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.recorder.Auditador;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Ejecuta N réplicas independientes (una semilla distinta cada una) de un mismo perfil
+ * y resume sus métricas por ciclo con bandas de confianza.
+ * Las réplicas se reparten entre los hilos; cada hilo acumula media y varianza por ciclo
+ * de forma incremental (Welford) y los parciales se combinan al final, sin guardar cada corrida.
+ */
+public class ReplicasMonteCarlo {
+    private final Perfil perfil;
+    private final int replicas;
+    private final int ciclos;
+
+    private SerieWelford ocupacion;
+    private SerieWelford tasaAciertosTLB;
+    private EstadisticaWelford cicloSaturacion;
+    private int replicasSaturadas;
+
+    /**
+     * Crea un nuevo experimento de réplicas.
+     * Las semillas de las réplicas se derivan de la semilla del perfil, por lo que el experimento
+     * completo también es reproducible.
+     *
+     * @param perfil perfil a simular
+     * @param replicas cantidad de réplicas
+     * @param ciclos ciclos a simular en cada réplica
+     */
+    public ReplicasMonteCarlo(Perfil perfil, int replicas, int ciclos) {
+        this.perfil = perfil;
+        this.replicas = replicas;
+        this.ciclos = ciclos;
+    }
+
+    /**
+     * Ejecuta todas las réplicas repartidas en la cantidad de hilos indicada.
+     *
+     * @param hilos cantidad de hilos del pool
+     * @throws InterruptedException si se interrumpe la espera
+     * @throws ExecutionException si alguna réplica falla
+     */
+    public void ejecutar(int hilos) throws InterruptedException, ExecutionException {
+        long[] semillas = new long[replicas];
+        SplittableRandom raiz = new SplittableRandom(perfil.getSemilla());
+        for (int i = 0; i < replicas; i++) {
+            semillas[i] = raiz.nextLong();
+        }
+
+        int bloques = Math.max(1, Math.min(hilos, replicas));
+        List<Callable<Parcial>> tareas = new ArrayList<>();
+        for (int b = 0; b < bloques; b++) {
+            final int bloque = b;
+            tareas.add(() -> {
+                Parcial parcial = new Parcial(ciclos);
+                for (int i = bloque; i < replicas; i += bloques) {
+                    simular(semillas[i], parcial);
+                }
+                return parcial;
+            });
+        }
+
+        ocupacion = new SerieWelford(ciclos);
+        tasaAciertosTLB = new SerieWelford(ciclos);
+        cicloSaturacion = new EstadisticaWelford();
+        replicasSaturadas = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(bloques);
+        try {
+            // Se combinan en orden de bloque para que el resultado no dependa de qué hilo termina primero
+            for (Future<Parcial> futuro : pool.invokeAll(tareas)) {
+                Parcial parcial = futuro.get();
+                ocupacion.combinar(parcial.ocupacion);
+                tasaAciertosTLB.combinar(parcial.tasaAciertosTLB);
+                cicloSaturacion.combinar(parcial.cicloSaturacion);
+                replicasSaturadas += parcial.replicasSaturadas;
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Simula una réplica y acumula sus métricas por ciclo en el parcial del hilo.
+     *
+     * @param semilla semilla de la réplica
+     * @param parcial acumuladores del hilo
+     */
+    private void simular(long semilla, Parcial parcial) {
+        Perfil copia = new Perfil(perfil);
+        copia.setSemilla(semilla);
+
+        PhysicalMemory ram = new PhysicalMemory(copia.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, copia.getTLBSize(), copia.getPageSize());
+        SimulationManager simulador = new SimulationManager(ram, mmu, Auditador.sinSalida(), copia);
+        simulador.setSilencioso(true);
+
+        int saturacion = -1;
+        for (int c = 0; c < ciclos; c++) {
+            simulador.ejecutarCiclo();
+
+            int marcos = ram.getMarcosOcupados();
+            int accesos = simulador.getTlbHits() + simulador.getTlbMisses();
+            parcial.ocupacionReplica[c] = (double) marcos / ram.getSize();
+            parcial.aciertosReplica[c] = (accesos > 0) ? (double) simulador.getTlbHits() / accesos : 0.0;
+
+            if (saturacion < 0 && (marcos == ram.getSize() || simulador.getProcesosEliminados() > 0)) {
+                saturacion = c;
+            }
+        }
+        simulador.cerrar();
+
+        parcial.ocupacion.agregar(parcial.ocupacionReplica);
+        parcial.tasaAciertosTLB.agregar(parcial.aciertosReplica);
+        if (saturacion >= 0) {
+            parcial.cicloSaturacion.agregar(saturacion);
+            parcial.replicasSaturadas++;
+        }
+    }
+
+    /**
+     * Escribe las bandas de confianza del 95% por ciclo en formato CSV.
+     *
+     * @param rutaArchivo ruta del CSV de salida
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void escribirBandas(String rutaArchivo) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(rutaArchivo), 1 << 16))) {
+            writer.println("Ciclo,Ocupacion_Media,Ocupacion_IC_Inf,Ocupacion_IC_Sup,TLB_HitRate_Media,TLB_HitRate_IC_Inf,TLB_HitRate_IC_Sup");
+            for (int c = 0; c < ciclos; c++) {
+                double oc = ocupacion.getMedia(c);
+                double ocIc = ocupacion.getSemiAnchoIC95(c);
+                double hr = tasaAciertosTLB.getMedia(c);
+                double hrIc = tasaAciertosTLB.getSemiAnchoIC95(c);
+                writer.println(String.format(Locale.ROOT, "%d,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f",
+                        c, oc, oc - ocIc, oc + ocIc, hr, hr - hrIc, hr + hrIc));
+            }
+        }
+    }
+
+    /**
+     * Obtiene la estadística del ciclo de saturación (memoria llena o primer proceso eliminado)
+     * sobre las réplicas que llegaron a saturarse.
+     *
+     * @return media, varianza e intervalo del ciclo de saturación
+     */
+    public EstadisticaWelford getCicloSaturacion() {
+        return cicloSaturacion;
+    }
+
+    public int getReplicasSaturadas() {
+        return replicasSaturadas;
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Media y varianza por ciclo de una métrica, sobre réplicas de igual duración.
+     * Como todas las réplicas aportan un valor por ciclo, basta un único contador n.
+     */
+    private static class SerieWelford {
+        private long n;
+        private final double[] media;
+        private final double[] m2;
+
+        SerieWelford(int ciclos) {
+            this.media = new double[ciclos];
+            this.m2 = new double[ciclos];
+        }
+
+        void agregar(double[] valores) {
+            n++;
+            for (int c = 0; c < media.length; c++) {
+                double delta = valores[c] - media[c];
+                media[c] += delta / n;
+                m2[c] += delta * (valores[c] - media[c]);
+            }
+        }
+
+        void combinar(SerieWelford otra) {
+            if (otra.n == 0) return;
+            long total = n + otra.n;
+            for (int c = 0; c < media.length; c++) {
+                double delta = otra.media[c] - media[c];
+                media[c] += delta * otra.n / total;
+                m2[c] += otra.m2[c] + delta * delta * ((double) n * otra.n / total);
+            }
+            n = total;
+        }
+
+        double getMedia(int ciclo) {
+            return media[ciclo];
+        }
+
+        double getSemiAnchoIC95(int ciclo) {
+            return (n > 1) ? EstadisticaWelford.semiAnchoIC95(n, m2[ciclo] / (n - 1)) : 0.0;
+        }
+    }
+
+    /**
+     * Acumuladores de un hilo, más los buffers reutilizados para la réplica en curso.
+     */
+    private static class Parcial {
+        final SerieWelford ocupacion;
+        final SerieWelford tasaAciertosTLB;
+        final EstadisticaWelford cicloSaturacion = new EstadisticaWelford();
+        final double[] ocupacionReplica;
+        final double[] aciertosReplica;
+        int replicasSaturadas;
+
+        Parcial(int ciclos) {
+            this.ocupacion = new SerieWelford(ciclos);
+            this.tasaAciertosTLB = new SerieWelford(ciclos);
+            this.ocupacionReplica = new double[ciclos];
+            this.aciertosReplica = new double[ciclos];
+        }
+    }
+}
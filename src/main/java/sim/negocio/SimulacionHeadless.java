@@ -0,0 +1,173 @@
+package sim.negocio;
+
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.modelo.ResultadoSimulacion;
+import sim.negocio.carga.FuenteCarga;
+import sim.negocio.eventos.MotorEventos;
+import sim.recorder.Auditador;
+import sim.recorder.PoliticaAuditoria;
+import sim.recorder.SegmentacionAuditoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * Ejecuta una simulación completa sin interfaz gráfica.
+ * Arma sus propios componentes de negocio a partir de un perfil y avanza la simulación
+ * en tiempo virtual: sin esperas entre ciclos, sin Platform.runLater y sin salida por consola.
+ */
+public class SimulacionHeadless {
+    private final Perfil perfil;
+
+    /**
+     * Crea un nuevo ejecutor sin interfaz para el perfil indicado.
+     *
+     * @param perfil perfil de configuración a simular
+     */
+    public SimulacionHeadless(Perfil perfil) {
+        this.perfil = perfil;
+    }
+
+    /**
+     * Ejecuta la cantidad de ciclos indicada y registra las métricas en un CSV persistente.
+     * Si el perfil indica un punto de control, la simulación arranca desde ese estado
+     * y el resumen cubre solo los ciclos ejecutados a partir de él.
+     *
+     * @param ciclos cantidad de ciclos a simular
+     * @param rutaSalida ruta del archivo CSV de auditoría, o null para no registrar métricas por ciclo
+     * @return resumen de la ejecución con su rendimiento
+     * @throws UncheckedIOException si no se puede restaurar el punto de control del perfil
+     */
+    public ResultadoSimulacion ejecutar(int ciclos, String rutaSalida) {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        Auditador auditador = crearAuditador(rutaSalida);
+        SimulationManager simulador = new SimulationManager(ram, mmu, auditador, perfil);
+        simulador.setSilencioso(true);
+        if (perfil.getPuntoControl() != null) {
+            restaurar(simulador);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+        }
+        long transcurrido = System.nanoTime() - inicio;
+
+        simulador.cerrar();
+        auditador.cerrar();
+
+        return new ResultadoSimulacion(perfil.getNombre(), perfil.getSemilla(), ciclos, simulador.getTokensGenerados(), transcurrido,
+                simulador.getTlbHits(), simulador.getTlbMisses(), simulador.getPicoMarcosOcupados(),
+                simulador.getProcesosEliminados(), simulador.getProcesosCompletados(), perfil.getSegundosPorCiclo(),
+                simulador.getLatencias().percentil(50), simulador.getLatencias().percentil(99),
+                simulador.getTiemposPrimerToken().percentil(99), simulador.getPicoProcesosActivos(),
+                simulador.getBytesPorMarco());
+    }
+
+    /**
+     * Simula la misma cantidad de tiempo virtual con el motor de eventos discretos.
+     * Solo se procesan los instantes en los que ocurre algo, por lo que las cargas
+     * dispersas se simulan mucho más rápido que ciclo a ciclo.
+     *
+     * @param ciclos tiempo virtual a simular, en ciclos
+     * @param rutaSalida ruta del archivo CSV de auditoría, o null para no registrar métricas por ciclo
+     * @return resumen de la ejecución con su rendimiento
+     */
+    public ResultadoSimulacion ejecutarPorEventos(int ciclos, String rutaSalida) {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        mmu.setSilencioso(true);
+        Auditador auditador = crearAuditador(rutaSalida);
+        FlujosAleatorios aleatorios = new FlujosAleatorios(perfil.getSemilla());
+        FuenteCarga fuente = FuenteCarga.desdePerfil(perfil, aleatorios);
+        MotorEventos motor = new MotorEventos(ram, mmu, auditador, aleatorios, fuente);
+
+        long inicio = System.nanoTime();
+        motor.ejecutarHasta(ciclos);
+        long transcurrido = System.nanoTime() - inicio;
+
+        fuente.close();
+        auditador.cerrar();
+
+        return new ResultadoSimulacion(perfil.getNombre(), perfil.getSemilla(), ciclos, motor.getTokensGenerados(), transcurrido,
+                mmu.getTlbHits(), mmu.getTlbMisses(), motor.getPicoMarcosOcupados(), motor.getSwaps(),
+                motor.getProcesosCompletados(), perfil.getSegundosPorCiclo(),
+                motor.getLatencias().percentil(50), motor.getLatencias().percentil(99),
+                motor.getTiemposPrimerToken().percentil(99), motor.getPicoProcesosActivos(),
+                perfil.getBytesPorMarco());
+    }
+
+    /**
+     * Guarda el estado de la simulación después de la cantidad de ciclos indicada, para arrancar
+     * desde él otras ejecuciones con la clave puntoControl del perfil.
+     *
+     * @param ciclos ciclos de calentamiento
+     * @param rutaPuntoControl archivo binario de destino
+     * @return resumen del calentamiento
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public ResultadoSimulacion guardarTras(int ciclos, String rutaPuntoControl) throws IOException {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        SimulationManager simulador = new SimulationManager(ram, mmu, Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        if (perfil.getPuntoControl() != null) {
+            restaurar(simulador);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+        }
+        long transcurrido = System.nanoTime() - inicio;
+
+        try {
+            simulador.guardarPuntoControl(Paths.get(rutaPuntoControl));
+        } finally {
+            simulador.cerrar();
+        }
+
+        return new ResultadoSimulacion(perfil.getNombre(), perfil.getSemilla(), ciclos, simulador.getTokensGenerados(), transcurrido,
+                simulador.getTlbHits(), simulador.getTlbMisses(), simulador.getPicoMarcosOcupados(),
+                simulador.getProcesosEliminados(), simulador.getProcesosCompletados(), perfil.getSegundosPorCiclo(),
+                simulador.getLatencias().percentil(50), simulador.getLatencias().percentil(99),
+                simulador.getTiemposPrimerToken().percentil(99), simulador.getPicoProcesosActivos(),
+                simulador.getBytesPorMarco());
+    }
+
+    /**
+     * Restaura el punto de control del perfil y descarta las métricas del tramo ya simulado.
+     *
+     * @param simulador simulación sin iniciar
+     * @throws UncheckedIOException si el archivo no se puede leer o no es compatible
+     */
+    private void restaurar(SimulationManager simulador) {
+        try {
+            simulador.restaurarPuntoControl(Paths.get(perfil.getPuntoControl()));
+        } catch (IOException e) {
+            simulador.cerrar();
+            throw new UncheckedIOException("No se pudo restaurar el punto de control " + perfil.getPuntoControl(), e);
+        }
+        simulador.reiniciarMetricas();
+    }
+
+    /**
+     * Crea el auditor de la ejecución.
+     *
+     * @param rutaSalida ruta del CSV, o null para descartar las métricas por ciclo
+     * @return auditor persistente, segmentado si el perfil lo pide, o sin salida
+     */
+    private Auditador crearAuditador(String rutaSalida) {
+        SegmentacionAuditoria segmentacion = (perfil.getSegmentosAuditoria() != null)
+                ? SegmentacionAuditoria.desdeTexto(perfil.getSegmentosAuditoria()) : null;
+        Auditador auditador = (rutaSalida != null) ? new Auditador(rutaSalida, segmentacion) : Auditador.sinSalida();
+        auditador.setBytesPorToken(perfil.getBytesPorToken(), perfil.getPageSize());
+        if (perfil.getAuditoria() != null) {
+            auditador.setPolitica(PoliticaAuditoria.desdeTexto(perfil.getAuditoria()));
+        }
+        return auditador;
+    }
+}
@@ -1,34 +1,105 @@
 package sim.negocio;
 
+import sim.modelo.Frame;
 import sim.modelo.LLMProcess;
-import sim.modelo.MemoryAccessLog;
+import sim.modelo.PageTable;
 import sim.modelo.Perfil;
 import sim.modelo.PhysicalMemory;
+import sim.negocio.atencion.LectorAtencion;
+import sim.negocio.atencion.PatronAtencion;
+import sim.negocio.carga.FuenteCarga;
+import sim.negocio.carga.GeneradorCarga;
+import sim.negocio.planificacion.Lote;
+import sim.negocio.planificacion.PlanificadorLotes;
+import sim.negocio.planificacion.PoliticaPlanificacion;
 import sim.recorder.Auditador;
+import sim.recorder.FilaAuditoria;
+import sim.recorder.PoliticaAuditoria;
+import sim.recorder.TrazaAccesos;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.function.Consumer;
+import java.util.concurrent.ExecutionException;
+import java.util.function.ToLongFunction;
 
 /**
  * Administra la simulación de procesos LLM y la gestión de memoria.
  * Controla el ciclo de vida de los procesos, la asignación de memoria y el registro de auditoría.
  */
 public class SimulationManager implements Runnable{
+    private static final int MAGIA_PUNTO_CONTROL = 0x4B564350; // "KVCP"
+    private static final int VERSION_PUNTO_CONTROL = 4;
+    private static final int TAMANO_BUFFER_PUNTO_CONTROL = 1 << 16;
+    private static final int CAPACIDAD_REGISTRO_ACCESOS = 1 << 12;
+    // Los hijos de una bifurcación se numeran aparte para no chocar con los pids de la carga
+    private static final int PID_PRIMER_HIJO = 1 << 30;
+
     private final PhysicalMemory ram;
     private final MMUService mmu;
     private final Auditador auditador;
     private final List<LLMProcess> procesosActivos;
+    private final Deque<LLMProcess> enEspera = new ArrayDeque<>();
+    private final Set<LLMProcess> descartadosEnCiclo = new HashSet<>();
+    private PlanificadorLotes planificador;
+    private PasoParticionado particionado;
+    private LectorAtencion lectorAtencion;
+    private Especulador especulador;
+    private Bifurcador bifurcador;
     private volatile boolean running = false;
     private volatile boolean paused = false;
     private final Object pauseLock = new Object();
-    private final Random random = new Random();
+    private FlujosAleatorios aleatorios;
+    private FuenteCarga fuente;
     private Runnable onUpdateCallback;
-    private Consumer<MemoryAccessLog> onMemoryAccessCallback;
+    private Runnable onPausaCallback;
+    private final RegistroAccesos registroAccesos = new RegistroAccesos(CAPACIDAD_REGISTRO_ACCESOS);
+    private TrazaAccesos trazaAccesos;
     private Thread simulationThread;
     private int ciclo = 0;
+    private long tokensGenerados = 0;
+    private long tokensPrefill = 0;
+    private int procesosCompletados = 0;
+    private HistogramaLatencias latencias = new HistogramaLatencias();
+    private HistogramaLatencias tiemposPrimerToken = new HistogramaLatencias();
+    private int picoMarcosOcupados = 0;
+    private int picoProcesosActivos = 0;
+    private int procesosEliminados = 0;
+    private long borradorPrevio = 0;
+    private long rechazadosPrevio = 0;
+    private long revertidosPrevio = 0;
+    private long invalidadasPrevio = 0;
+    private int siguientePidHijo = PID_PRIMER_HIJO;
+    private int procesosBifurcados = 0;
+    private int procesosPodados = 0;
+    private long marcosAhorradosBifurcacion = 0;
+    private long marcosLiberadosPoda = 0;
+    private boolean silencioso = false;
     private Perfil perfil;
+    private final TablaBloquesLote tablaBloques = new TablaBloquesLote(16, 8);
+    private final long[] cuartosUltimaPagina = new long[4];
+    private final FilaAuditoria filaAuditoria = new FilaAuditoria();
 
     /**
      * Crea un nuevo SimulationManager con los componentes principales.
@@ -38,11 +109,59 @@ public class SimulationManager implements Runnable{
      * @param auditar auditor para registrar eventos de la simulación
      */
     public SimulationManager(PhysicalMemory ram, MMUService mmu, Auditador auditar, Perfil perfil) {
+        this(ram, mmu, auditar, perfil, null);
+    }
+
+    /**
+     * Crea un SimulationManager que recibe los procesos de una fuente externa en lugar de la del perfil,
+     * por ejemplo un dispositivo de un nodo al que el nodo le asigna las conversaciones.
+     *
+     * @param ram memoria física a utilizar
+     * @param mmu servicio de gestión de memoria
+     * @param auditar auditor para registrar eventos de la simulación
+     * @param perfil perfil de configuración
+     * @param fuente fuente de procesos, o null para usar la que describe el perfil
+     * @throws IllegalArgumentException si el perfil pide la traza de accesos con más de una partición
+     */
+    public SimulationManager(PhysicalMemory ram, MMUService mmu, Auditador auditar, Perfil perfil, FuenteCarga fuente) {
         this.ram = ram;
         this.mmu = mmu;
         this.auditador = auditar;
         this.procesosActivos = new CopyOnWriteArrayList<>();
         this.perfil = perfil;
+        this.aleatorios = new FlujosAleatorios(perfil.getSemilla());
+        this.fuente = (fuente != null) ? fuente : FuenteCarga.desdePerfil(perfil, aleatorios);
+        this.planificador = PlanificadorLotes.desdePerfil(perfil);
+        this.lectorAtencion = new LectorAtencion(PatronAtencion.desdeTexto(perfil.getAtencion()), aleatorios);
+        this.especulador = Especulador.desdeTexto(perfil.getEspeculacion(), aleatorios);
+        this.bifurcador = Bifurcador.desdeTexto(perfil.getBifurcacion(), aleatorios);
+        if (perfil.getTrazaAccesos() != null && perfil.getParticiones() > 1) {
+            throw new IllegalArgumentException("La traza de accesos no se combina con el paso particionado");
+        }
+        this.particionado = crearParticionado();
+        this.auditador.setBytesPorToken(perfil.getBytesPorToken(), perfil.getPageSize());
+        if (perfil.getAuditoria() != null) {
+            this.auditador.setPolitica(PoliticaAuditoria.desdeTexto(perfil.getAuditoria()));
+        }
+        if (perfil.getTrazaAccesos() != null) {
+            this.trazaAccesos = new TrazaAccesos(perfil.getTrazaAccesos(), perfil.getPageSize(),
+                    (long) perfil.getSegmentoTrazaMB() << 20, perfil.getMuestreoTraza(),
+                    (perfil.getPidsTraza() != null) ? TrazaAccesos.pidsDesdeTexto(perfil.getPidsTraza()) : null);
+            mmu.setTraza(trazaAccesos);
+        }
+    }
+
+    /**
+     * Crea el paso particionado si el perfil pide más de una partición.
+     *
+     * @return paso particionado sobre la memoria actual, o null para avanzar los procesos en serie
+     */
+    private PasoParticionado crearParticionado() {
+        if (perfil.getParticiones() <= 1) return null;
+        PasoParticionado paso = new PasoParticionado(ram, perfil.getTLBSize(), perfil.getPageSize(), perfil.getParticiones());
+        paso.setAtencion(PatronAtencion.desdeTexto(perfil.getAtencion()), aleatorios);
+        paso.setEspeculacion(perfil.getEspeculacion(), aleatorios);
+        return paso;
     }
 
     /**
@@ -62,7 +181,7 @@ public class SimulationManager implements Runnable{
         paused = false;
         simulationThread = new Thread(this);
         simulationThread.start();
-        System.out.println("SIMULACIÓN: Iniciada.");
+        System.out.println("SIMULACIÓN: Iniciada (semilla " + aleatorios.getSemilla() + ").");
     }
 
     /**
@@ -126,13 +245,435 @@ public class SimulationManager implements Runnable{
 
         // Limpiar todos los recursos
         procesosActivos.clear();
+        enEspera.clear();
         mmu.getTlb().limpiar();
         ram.limpiar();
         ciclo = 0;
+        tokensGenerados = 0;
+        tokensPrefill = 0;
+        procesosCompletados = 0;
+        latencias = new HistogramaLatencias();
+        tiemposPrimerToken = new HistogramaLatencias();
+        picoMarcosOcupados = 0;
+        picoProcesosActivos = 0;
+        procesosEliminados = 0;
+        borradorPrevio = 0;
+        rechazadosPrevio = 0;
+        revertidosPrevio = 0;
+        invalidadasPrevio = 0;
+        siguientePidHijo = PID_PRIMER_HIJO;
+        procesosBifurcados = 0;
+        procesosPodados = 0;
+        marcosAhorradosBifurcacion = 0;
+        marcosLiberadosPoda = 0;
+        aleatorios = new FlujosAleatorios(perfil.getSemilla());
+        fuente.close();
+        fuente = FuenteCarga.desdePerfil(perfil, aleatorios);
+        planificador = PlanificadorLotes.desdePerfil(perfil);
+        lectorAtencion = new LectorAtencion(PatronAtencion.desdeTexto(perfil.getAtencion()), aleatorios);
+        especulador = Especulador.desdeTexto(perfil.getEspeculacion(), aleatorios);
+        bifurcador = Bifurcador.desdeTexto(perfil.getBifurcacion(), aleatorios);
+        if (particionado != null) {
+            particionado.close();
+        }
+        particionado = crearParticionado();
 
         System.out.println("SIMULACIÓN: Reiniciada completamente. Todos los recursos limpiados.");
     }
 
+    /**
+     * Activa o desactiva la salida por consola de la simulación y de su MMU.
+     * Pensado para ejecuciones sin interfaz donde se simulan millones de ciclos.
+     *
+     * @param silencioso true para suprimir los mensajes por ciclo
+     */
+    public void setSilencioso(boolean silencioso) {
+        this.silencioso = silencioso;
+        mmu.setSilencioso(silencioso);
+    }
+
+    /**
+     * Libera los recursos externos de la simulación: la fuente de carga (por ejemplo una traza abierta)
+     * y los hilos del paso particionado. Las ejecuciones sin interfaz lo invocan al terminar.
+     */
+    public void cerrar() {
+        fuente.close();
+        if (particionado != null) {
+            particionado.close();
+        }
+        if (trazaAccesos != null) {
+            trazaAccesos.cerrar();
+        }
+    }
+
+    /**
+     * Guarda el estado completo de la simulación en un archivo binario: ciclo, contadores (incluidos
+     * los de bifurcación, especulación y atención), histogramas, flujos aleatorios, posición del
+     * generador de carga, estado de la política, referencias de los marcos compartidos, procesos
+     * activos y en espera con sus tablas de páginas, y el contenido de la TLB en orden LRU.
+     * La ocupación de la memoria no se guarda aparte: se reconstruye a partir de las tablas de páginas;
+     * la sección de referencias indica qué marcos aparecen en más de una.
+     *
+     * Debe invocarse entre ciclos (desde el hilo de simulación o con la simulación pausada).
+     * Guardar no consume números de los flujos aleatorios, así que esta simulación sigue el mismo
+     * camino que una sin puntos de control y que la que se restaure desde el archivo.
+     *
+     * @param ruta archivo de destino (se reemplaza si existe)
+     * @throws IOException si falla la escritura
+     * @throws IllegalStateException si la simulación usa una traza o el paso particionado
+     */
+    public void guardarPuntoControl(Path ruta) throws IOException {
+        GeneradorCarga generador = generadorParaPuntoControl();
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream salida = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(canal), TAMANO_BUFFER_PUNTO_CONTROL))) {
+            salida.writeInt(MAGIA_PUNTO_CONTROL);
+            salida.writeInt(VERSION_PUNTO_CONTROL);
+            salida.writeInt(ram.getSize());
+            salida.writeInt(mmu.getPageSize());
+            salida.writeUTF(perfil.getLlegadas());
+
+            salida.writeInt(ciclo);
+            salida.writeLong(tokensGenerados);
+            salida.writeLong(tokensPrefill);
+            salida.writeInt(procesosCompletados);
+            salida.writeInt(procesosEliminados);
+            salida.writeInt(picoMarcosOcupados);
+            salida.writeInt(siguientePidHijo);
+            salida.writeInt(procesosBifurcados);
+            salida.writeInt(procesosPodados);
+            salida.writeLong(marcosAhorradosBifurcacion);
+            salida.writeLong(marcosLiberadosPoda);
+            especulador.guardarContadores(salida);
+            salida.writeLong(lectorAtencion.getPaginasLeidas());
+            latencias.guardarEstado(salida);
+            tiemposPrimerToken.guardarEstado(salida);
+
+            aleatorios.guardarEstado(salida);
+            generador.guardarEstado(salida);
+            guardarPolitica(salida);
+            guardarMarcosCompartidos(salida);
+
+            salida.writeInt(procesosActivos.size());
+            for (LLMProcess proceso : procesosActivos) {
+                guardarProceso(salida, proceso);
+            }
+            salida.writeInt(enEspera.size());
+            for (LLMProcess proceso : enEspera) {
+                guardarProceso(salida, proceso);
+            }
+            mmu.getTlb().guardarEstado(salida);
+        }
+    }
+
+    /**
+     * Continúa la simulación desde un archivo escrito por {@link #guardarPuntoControl(Path)}.
+     * El perfil debe tener la misma memoria, tamaño de página y proceso de llegadas; el resto
+     * (política, límites del lote, longitudes, tamaño de la TLB) puede cambiar, lo que permite
+     * comparar variantes a partir de un mismo estado precalentado. Si la política es otra,
+     * arranca sin el servicio acumulado por la original.
+     *
+     * Debe invocarse antes de ejecutar el primer ciclo. La lectura es secuencial y proporcional
+     * al tamaño del archivo; si falla, la simulación queda a medio restaurar y debe descartarse.
+     *
+     * @param ruta archivo a leer
+     * @throws IOException si el archivo no es un punto de control compatible o falla la lectura
+     * @throws IllegalStateException si la simulación ya avanzó, usa una traza o el paso particionado
+     */
+    public void restaurarPuntoControl(Path ruta) throws IOException {
+        if (ciclo > 0 || !procesosActivos.isEmpty() || !enEspera.isEmpty()) {
+            throw new IllegalStateException("El punto de control solo se restaura en una simulación sin iniciar");
+        }
+        GeneradorCarga generador = generadorParaPuntoControl();
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+             DataInputStream entrada = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(canal), TAMANO_BUFFER_PUNTO_CONTROL))) {
+            if (entrada.readInt() != MAGIA_PUNTO_CONTROL) {
+                throw new IOException(ruta + " no es un punto de control de la simulación");
+            }
+            int version = entrada.readInt();
+            if (version != VERSION_PUNTO_CONTROL) {
+                throw new IOException("Versión de punto de control no soportada: " + version);
+            }
+            int marcos = entrada.readInt();
+            int tamanoPagina = entrada.readInt();
+            if (marcos != ram.getSize() || tamanoPagina != mmu.getPageSize()) {
+                throw new IOException("El punto de control es de una memoria de " + marcos + " marcos de "
+                        + tamanoPagina + " tokens");
+            }
+            String llegadas = entrada.readUTF();
+            if (!llegadas.equals(perfil.getLlegadas())) {
+                throw new IOException("El punto de control usa otro proceso de llegadas: " + llegadas);
+            }
+
+            ciclo = entrada.readInt();
+            tokensGenerados = entrada.readLong();
+            tokensPrefill = entrada.readLong();
+            procesosCompletados = entrada.readInt();
+            procesosEliminados = entrada.readInt();
+            picoMarcosOcupados = entrada.readInt();
+            siguientePidHijo = entrada.readInt();
+            procesosBifurcados = entrada.readInt();
+            procesosPodados = entrada.readInt();
+            marcosAhorradosBifurcacion = entrada.readLong();
+            marcosLiberadosPoda = entrada.readLong();
+            especulador.restaurarContadores(entrada);
+            lectorAtencion.restaurarContador(entrada.readLong());
+            // Las columnas de especulación son diferencias por ciclo: parten de los totales restaurados
+            borradorPrevio = getTokensBorrador();
+            rechazadosPrevio = getTokensRechazados();
+            revertidosPrevio = getMarcosRevertidos();
+            invalidadasPrevio = getTlbInvalidadasEspeculacion();
+            latencias.restaurarEstado(entrada);
+            tiemposPrimerToken.restaurarEstado(entrada);
+
+            aleatorios.restaurarEstado(entrada);
+            generador.restaurarEstado(entrada);
+            restaurarPolitica(entrada);
+            Map<Integer, int[]> compartidos = leerMarcosCompartidos(entrada);
+
+            int activos = entrada.readInt();
+            for (int i = 0; i < activos; i++) {
+                procesosActivos.add(leerProceso(entrada, compartidos));
+            }
+            // El pico de sesiones no se guarda: arranca desde las que el estado tiene activas
+            picoProcesosActivos = activos;
+            int esperando = entrada.readInt();
+            for (int i = 0; i < esperando; i++) {
+                enEspera.addLast(leerProceso(entrada, compartidos));
+            }
+            for (Map.Entry<Integer, int[]> compartido : compartidos.entrySet()) {
+                int[] referencias = compartido.getValue();
+                if (referencias[1] != referencias[0]) {
+                    throw new IOException("El marco compartido " + compartido.getKey() + " aparece en "
+                            + referencias[1] + " tablas de páginas y se guardaron " + referencias[0] + " referencias");
+                }
+            }
+            mmu.getTlb().restaurarEstado(entrada);
+        }
+    }
+
+    /**
+     * Descarta las métricas acumuladas (tokens, completados, eliminados, pico de ocupación,
+     * histogramas y contadores de la TLB) sin tocar la memoria, los procesos ni el contenido de la TLB.
+     * Sirve para medir solo el tramo posterior a un calentamiento o a un punto de control.
+     */
+    public void reiniciarMetricas() {
+        tokensGenerados = 0;
+        tokensPrefill = 0;
+        procesosCompletados = 0;
+        procesosEliminados = 0;
+        picoMarcosOcupados = ram.getMarcosOcupados();
+        picoProcesosActivos = procesosActivos.size();
+        latencias = new HistogramaLatencias();
+        tiemposPrimerToken = new HistogramaLatencias();
+        mmu.getTlb().reiniciarContadores();
+        lectorAtencion.reiniciarContador();
+        especulador.reiniciarContadores();
+        borradorPrevio = 0;
+        rechazadosPrevio = 0;
+        revertidosPrevio = 0;
+        invalidadasPrevio = 0;
+        procesosBifurcados = 0;
+        procesosPodados = 0;
+        marcosAhorradosBifurcacion = 0;
+        marcosLiberadosPoda = 0;
+    }
+
+    /**
+     * Comprueba que el estado de la simulación se pueda guardar por completo.
+     *
+     * @return generador sintético de la simulación
+     * @throws IllegalStateException si la carga no es sintética o hay paso particionado
+     */
+    private GeneradorCarga generadorParaPuntoControl() {
+        if (particionado != null) {
+            throw new IllegalStateException("El punto de control no admite el paso particionado");
+        }
+        if (!(fuente instanceof GeneradorCarga)) {
+            throw new IllegalStateException("El punto de control solo admite la carga sintética del perfil");
+        }
+        return (GeneradorCarga) fuente;
+    }
+
+    /**
+     * Escribe el nombre de la política y su estado como bloque con longitud,
+     * para poder saltearlo si se restaura con otra política.
+     *
+     * @param salida destino binario
+     * @throws IOException si falla la escritura
+     */
+    private void guardarPolitica(DataOutputStream salida) throws IOException {
+        PoliticaPlanificacion politica = planificador.getPolitica();
+        ByteArrayOutputStream bloque = new ByteArrayOutputStream();
+        politica.guardarEstado(new DataOutputStream(bloque));
+        salida.writeUTF(politica.getNombre());
+        salida.writeInt(bloque.size());
+        bloque.writeTo(salida);
+    }
+
+    /**
+     * Lee el bloque de la política y lo aplica si la política actual es la misma.
+     *
+     * @param entrada origen binario
+     * @throws IOException si falla la lectura
+     */
+    private void restaurarPolitica(DataInput entrada) throws IOException {
+        String nombre = entrada.readUTF();
+        byte[] bloque = new byte[entrada.readInt()];
+        entrada.readFully(bloque);
+        PoliticaPlanificacion politica = planificador.getPolitica();
+        if (nombre.equals(politica.getNombre())) {
+            politica.restaurarEstado(new DataInputStream(new ByteArrayInputStream(bloque)));
+        }
+    }
+
+    /**
+     * Escribe los marcos que comparten varias tablas de páginas por bifurcaciones: para cada uno,
+     * el proceso y color con que figura en la memoria física y la cantidad de referencias.
+     *
+     * @param salida destino binario
+     * @throws IOException si falla la escritura
+     */
+    private void guardarMarcosCompartidos(DataOutput salida) throws IOException {
+        List<Integer> compartidos = new ArrayList<>();
+        for (int marco = 0; marco < ram.getSize(); marco++) {
+            if (ram.getReferencias(marco) > 1) {
+                compartidos.add(marco);
+            }
+        }
+        salida.writeInt(compartidos.size());
+        for (int marco : compartidos) {
+            Frame frame = ram.getFrame(marco);
+            salida.writeInt(marco);
+            salida.writeInt(frame.getProcessId());
+            salida.writeUTF(frame.getColorHex());
+            salida.writeInt(ram.getReferencias(marco));
+        }
+    }
+
+    /**
+     * Ocupa en la memoria física los marcos compartidos con el dueño guardado, para que las tablas
+     * de páginas que los repiten solo sumen referencias.
+     *
+     * @param entrada origen binario
+     * @return por marco compartido, las referencias guardadas y las vistas hasta ahora (cero)
+     * @throws IOException si falla la lectura o un marco no es válido
+     */
+    private Map<Integer, int[]> leerMarcosCompartidos(DataInput entrada) throws IOException {
+        int cantidad = entrada.readInt();
+        Map<Integer, int[]> compartidos = new HashMap<>();
+        for (int i = 0; i < cantidad; i++) {
+            int marco = entrada.readInt();
+            int pid = entrada.readInt();
+            String color = entrada.readUTF();
+            int referencias = entrada.readInt();
+            if (marco < 0 || marco >= ram.getSize() || ram.isOcupado(marco) || referencias < 2) {
+                throw new IOException("Marco compartido inválido en el punto de control: " + marco);
+            }
+            ram.asignarMarco(marco, pid, color);
+            compartidos.put(marco, new int[]{referencias, 0});
+        }
+        return compartidos;
+    }
+
+    /**
+     * Escribe los metadatos, el avance y la tabla de páginas de un proceso.
+     *
+     * @param salida destino binario
+     * @param proceso proceso a guardar
+     * @throws IOException si falla la escritura
+     */
+    private static void guardarProceso(DataOutput salida, LLMProcess proceso) throws IOException {
+        salida.writeInt(proceso.getPid());
+        salida.writeUTF(proceso.getNombre());
+        salida.writeUTF(proceso.getColorHex());
+        salida.writeDouble(proceso.getInstanteLlegada());
+        salida.writeInt(proceso.getTokensPrompt());
+        salida.writeInt(proceso.getTokensSalidaMax());
+        salida.writeInt(proceso.getContadorTokens());
+        salida.writeInt(proceso.getTokensSalida());
+        salida.writeDouble(proceso.getPeriodoDecode());
+        salida.writeInt(proceso.getIdPrefijo());
+        salida.writeInt(proceso.getPrioridad());
+        salida.writeInt(proceso.getPidPadre());
+
+        Map<Integer, Integer> mapa = proceso.getPageTable().getMapa();
+        salida.writeInt(mapa.size());
+        for (Map.Entry<Integer, Integer> entrada : mapa.entrySet()) {
+            salida.writeInt(entrada.getKey());
+            salida.writeInt(entrada.getValue());
+        }
+    }
+
+    /**
+     * Reconstruye un proceso y vuelve a ocupar en la memoria física los marcos de su tabla de páginas.
+     * Un marco compartido ya está ocupado: la primera tabla que lo nombra usa esa ocupación y las
+     * siguientes le suman una referencia.
+     *
+     * @param entrada origen binario
+     * @param compartidos marcos compartidos leídos antes de los procesos, con sus referencias vistas
+     * @return proceso restaurado
+     * @throws IOException si falla la lectura o un marco no es válido
+     */
+    private LLMProcess leerProceso(DataInput entrada, Map<Integer, int[]> compartidos) throws IOException {
+        LLMProcess proceso = new LLMProcess(entrada.readInt(), entrada.readUTF(), entrada.readUTF());
+        proceso.setInstanteLlegada(entrada.readDouble());
+        proceso.setTokensPrompt(entrada.readInt());
+        proceso.setTokensSalidaMax(entrada.readInt());
+        proceso.restaurarAvance(entrada.readInt(), entrada.readInt());
+        proceso.setPeriodoDecode(entrada.readDouble());
+        proceso.setIdPrefijo(entrada.readInt());
+        proceso.setPrioridad(entrada.readInt());
+        proceso.setPidPadre(entrada.readInt());
+
+        int paginas = entrada.readInt();
+        for (int i = 0; i < paginas; i++) {
+            int paginaVirtual = entrada.readInt();
+            int marco = entrada.readInt();
+            int[] referencias = compartidos.get(marco);
+            if (referencias != null) {
+                if (referencias[1] == referencias[0]) {
+                    throw new IOException("El marco compartido " + marco + " tiene más referencias que las guardadas");
+                }
+                if (referencias[1] > 0) {
+                    ram.compartirMarco(marco);
+                }
+                referencias[1]++;
+            } else if (marco < 0 || marco >= ram.getSize() || ram.isOcupado(marco)) {
+                throw new IOException("Marco inválido o repetido en el punto de control: " + marco);
+            } else {
+                ram.asignarMarco(marco, proceso.getPid(), proceso.getColorHex());
+            }
+            proceso.getPageTable().agregarEntrada(paginaVirtual, marco);
+        }
+        if (paginas > 0) {
+            mmu.getFragmentacion().cambiar(0, proceso.getContadorTokens());
+        }
+        return proceso;
+    }
+
+    /**
+     * Reemplaza la fuente de carga del perfil, por ejemplo por una traza abierta por el llamador.
+     * Debe invocarse antes de ejecutar el primer ciclo.
+     *
+     * @param fuente nueva fuente de procesos
+     */
+    public void setFuenteCarga(FuenteCarga fuente) {
+        this.fuente.close();
+        this.fuente = fuente;
+    }
+
+    /**
+     * Obtiene la fuente de carga en uso.
+     *
+     * @return fuente de procesos de la simulación
+     */
+    public FuenteCarga getFuenteCarga() {
+        return fuente;
+    }
+
     /**
      * Establece un callback que se ejecuta tras cada ciclo de simulación.
      *
@@ -143,12 +684,32 @@ public class SimulationManager implements Runnable{
     }
 
     /**
-     * Establece un callback que se ejecuta cada vez que se registra un acceso a memoria.
+     * Establece un callback que el hilo de simulación ejecuta al detenerse en una pausa,
+     * después del último ciclo, para que quien muestre el estado vea dónde quedó.
+     *
+     * @param callback función a ejecutar al pausarse
+     */
+    public void setOnPausa(Runnable callback) {
+        this.onPausaCallback = callback;
+    }
+
+    /**
+     * Obtiene la traza binaria de accesos que pide el perfil.
+     *
+     * @return traza en curso, o null si el perfil no la pide
+     */
+    public TrazaAccesos getTrazaAccesos() {
+        return trazaAccesos;
+    }
+
+    /**
+     * Obtiene el registro circular donde se anota la traducción del último token de cada paso.
+     * La interfaz, los grabadores y las estadísticas lo leen con su propio cursor.
      *
-     * @param callback función consumidora que recibe el log de acceso
+     * @return registro de accesos de la simulación
      */
-    public void setOnMemoryAccess(Consumer<MemoryAccessLog> callback) {
-        this.onMemoryAccessCallback = callback;
+    public RegistroAccesos getRegistroAccesos() {
+        return registroAccesos;
     }
 
     /**
@@ -159,6 +720,9 @@ public class SimulationManager implements Runnable{
     public void run() {
         while (running) {
             try {
+                if (paused && running && onPausaCallback != null) {
+                    onPausaCallback.run();
+                }
                 synchronized (pauseLock) {
                     while (paused && running) {
                         pauseLock.wait();
@@ -167,60 +731,272 @@ public class SimulationManager implements Runnable{
 
                 if (! running) break;
 
-                System.out.println("--- CICLO " + ciclo + " ---");
+                ejecutarCiclo();
+                Thread.sleep(perfil.getSimSpeed());
 
-                if (random.nextDouble() < 0.3) {
-                    crearNuevoProceso(ciclo);
-                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        auditador.cerrar();
+        // La traza se cierra desde su único escritor, el hilo de simulación
+        if (trazaAccesos != null) {
+            trazaAccesos.cerrar();
+        }
+    }
+
+    /**
+     * Ejecuta un único ciclo de simulación de forma sincrónica y sin esperas:
+     * llegada de procesos a la cola de espera, planificación del lote, un paso de cada proceso
+     * del lote (fragmento de prefill o un token de respuesta), auditoría y notificación.
+     * Permite avanzar la simulación en tiempo virtual desde cualquier hilo que no use {@link #iniciar()}.
+     */
+    public void ejecutarCiclo() {
+        if (!silencioso) {
+            System.out.println("--- CICLO " + ciclo + " ---");
+        }
+
+        while (fuente.proximaLlegada() < ciclo + 1) {
+            agregarProceso(fuente.siguiente());
+        }
+
+        Lote lote = planificador.planificar(procesosActivos, enEspera);
+
+        if (trazaAccesos != null) {
+            mmu.setCicloTraza(ciclo);
+        }
+        if (particionado != null) {
+            ejecutarLoteParticionado(lote);
+        } else {
+            ejecutarLote(lote);
+        }
+        descartadosEnCiclo.clear();
 
-                for (LLMProcess proceso : procesosActivos) {
-                    try {
-                        mmu.asignarMemoriaParaToken(proceso);
+        int procesosActivos = this.procesosActivos.size();
+        int marcosOcupados = ram.getMarcosOcupados();
+        picoMarcosOcupados = Math.max(picoMarcosOcupados, marcosOcupados);
+        picoProcesosActivos = Math.max(picoProcesosActivos, procesosActivos);
 
-                        MemoryAccessLog log = mmu.traducirDireccionConLog(proceso, proceso.getContadorTokens() - 1);
+        // La especulación se informa por ciclo: diferencias de los contadores acumulados
+        long borrador = getTokensBorrador();
+        long rechazados = getTokensRechazados();
+        long revertidos = getMarcosRevertidos();
+        long invalidadas = getTlbInvalidadasEspeculacion();
+        long tokensAsignados = getTokensAsignados();
+        auditador.registrar(filaAuditoria
+                .ciclo(ciclo)
+                .procesosActivos(procesosActivos)
+                .marcosOcupados(marcosOcupados)
+                .tlb(getTlbHits(), getTlbMisses())
+                .lote(lote.getTamano(), lote.getTokensPrefill(), lote.getTokensDecode())
+                .enEspera(enEspera.size())
+                .especulacion((int) (borrador - borradorPrevio), (int) (rechazados - rechazadosPrevio),
+                        (int) (revertidos - revertidosPrevio), (int) (invalidadas - invalidadasPrevio))
+                .marcosCompartidos(ram.getMarcosCompartidos())
+                .fragmentacion(tokensAsignados, tokensAsignados - getHuecosFragmentacion(),
+                        getCuartosUltimaPagina(cuartosUltimaPagina)));
+        borradorPrevio = borrador;
+        rechazadosPrevio = rechazados;
+        revertidosPrevio = revertidos;
+        invalidadasPrevio = invalidadas;
 
-                        if (log != null && onMemoryAccessCallback != null) {
-                            onMemoryAccessCallback.accept(log);
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error con proceso " + proceso.getPid() + ": " + e.getMessage());
-                        eliminarProceso(proceso);
+        if (onUpdateCallback != null) {
+            onUpdateCallback.run();
+        }
+
+        ciclo++;
+    }
+
+    /**
+     * Avanza en serie cada entrada del lote.
+     *
+     * @param lote lote planificado para el ciclo
+     */
+    private void ejecutarLote(Lote lote) {
+        for (int i = 0; i < lote.getTamano(); i++) {
+            LLMProcess proceso = lote.getProceso(i);
+            if (!descartadosEnCiclo.isEmpty() && descartadosEnCiclo.contains(proceso)) {
+                continue; // Fue la víctima de una falta de memoria anterior en este mismo paso
+            }
+
+            int tokens = lote.getTokens(i);
+            if (!asignarTokens(proceso, tokens)) {
+                continue;
+            }
+            if (lote.isPrefill(i)) {
+                tokensPrefill += tokens;
+                if (bifurcador.debeBifurcar(proceso)) {
+                    fork(proceso, bifurcador.getMuestras() - 1);
+                }
+            } else {
+                proceso.registrarTokenSalida();
+                tokensGenerados++;
+                if (proceso.getTokensSalida() == 1) {
+                    tiemposPrimerToken.registrar(ciclosDesdeLlegada(proceso));
+                }
+            }
+
+            mmu.traducirDireccion(proceso, proceso.getContadorTokens() - 1, registroAccesos, ciclo);
+            if (!lote.isPrefill(i)) {
+                lectorAtencion.leer(mmu, proceso);
+                if (especulador.isActivo()) {
+                    int aceptados = especulador.especular(mmu, proceso);
+                    for (int t = 0; t < aceptados; t++) {
+                        proceso.registrarTokenSalida();
                     }
+                    tokensGenerados += aceptados;
                 }
+            }
 
-                int procesosActivos = this.procesosActivos.size();
-                int marcosOcupados = ram.getMarcosOcupados();
-                int tlbHits = mmu.getTlbHits();
-                int tlbMisses = mmu.getTlbMisses();
+            if (proceso.isCompleto()) {
+                finalizarProceso(proceso);
+            } else if (!lote.isPrefill(i) && bifurcador.debePodar(proceso)) {
+                podar(proceso);
+            }
+        }
+    }
+
+    /**
+     * Avanza el lote con el paso particionado: las particiones alojan memoria, registran los tokens
+     * y traducen en paralelo; luego, en este hilo y en el orden del lote, se resuelven las entradas
+     * que agotaron su pool, se acumulan las métricas y se retiran los procesos completados.
+     *
+     * @param lote lote planificado para el ciclo
+     */
+    private void ejecutarLoteParticionado(Lote lote) {
+        try {
+            particionado.avanzar(lote);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una partición del paso paralelo", e.getCause());
+        }
+
+        for (int i = 0; i < lote.getTamano(); i++) {
+            LLMProcess proceso = lote.getProceso(i);
+            if (!descartadosEnCiclo.isEmpty() && descartadosEnCiclo.contains(proceso)) {
+                continue; // Fue la víctima de una falta de memoria anterior en este mismo paso
+            }
 
-                auditador.registrar(ciclo, procesosActivos, marcosOcupados, tlbHits, tlbMisses);
+            int pendientes = particionado.getTokensPendientes(i);
+            if (pendientes > 0) {
+                if (!asignarTokens(proceso, pendientes)) {
+                    continue;
+                }
+                particionado.completarPendiente(i);
+            }
 
-                if (onUpdateCallback != null) {
-                    onUpdateCallback.run();
+            if (lote.isPrefill(i)) {
+                tokensPrefill += lote.getTokens(i);
+                if (bifurcador.debeBifurcar(proceso)) {
+                    fork(proceso, bifurcador.getMuestras() - 1);
                 }
+            } else {
+                tokensGenerados += 1 + particionado.getTokensAceptados(i);
+                if (proceso.getTokensSalida() == 1 + particionado.getTokensAceptados(i)) {
+                    tiemposPrimerToken.registrar(ciclosDesdeLlegada(proceso));
+                }
+            }
 
-                ciclo++;
-                Thread.sleep(perfil.getSimSpeed());
+            registrarAcceso(proceso, particionado.getMarcoAccedido(i), particionado.isAciertoTlb(i));
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            if (proceso.isCompleto()) {
+                finalizarProceso(proceso);
+            } else if (!lote.isPrefill(i) && bifurcador.debePodar(proceso)) {
+                podar(proceso);
             }
         }
+    }
 
-        auditador.cerrar();
+    /**
+     * Anota en el registro de accesos la traducción del último token que hizo una partición.
+     *
+     * @param proceso proceso que avanzó
+     * @param marco marco al que tradujo, o {@link PageTable#SIN_MARCO} si no hubo traducción
+     * @param tlbHit true si la traducción salió de la TLB de la partición
+     */
+    private void registrarAcceso(LLMProcess proceso, int marco, boolean tlbHit) {
+        if (marco == PageTable.SIN_MARCO) return;
+        int ultimoToken = proceso.getContadorTokens() - 1;
+        int pageSize = perfil.getPageSize();
+        registroAccesos.registrar(ciclo, proceso.getPid(), proceso.getNombre(), ultimoToken,
+                marco * pageSize + ultimoToken % pageSize, ultimoToken / pageSize, marco, tlbHit);
     }
 
     /**
-     * Crea y agrega un nuevo proceso LLM a la simulación.
+     * Aloja los tokens de un paso. Si la memoria se agota, la política de planificación elige
+     * una víctima, que se elimina para liberar sus marcos, y se reintenta hasta que el proceso
+     * consiga la memoria o sea él mismo la víctima.
      *
-     * @param id identificador del proceso
+     * @param proceso proceso que avanza
+     * @param tokens tokens a alojar
+     * @return true si el proceso sigue activo
      */
-    private void crearNuevoProceso(int id) {
-        String color = String. format("#%06x", random. nextInt(0xffffff + 1));
-        LLMProcess nuevo = new LLMProcess(id, "User-" + id, color);
-        procesosActivos.add(nuevo);
-        System.out.println("NUEVO PROCESO: " + nuevo. getNombre() + " ha llegado.");
+    private boolean asignarTokens(LLMProcess proceso, int tokens) {
+        for (int t = 0; t < tokens; t++) {
+            while (true) {
+                try {
+                    mmuDe(proceso).asignarMemoriaParaToken(proceso);
+                    break;
+                } catch (Exception e) {
+                    if (particionado != null && particionado.reponer(proceso)) {
+                        continue; // Quedaban marcos libres en otra partición
+                    }
+                    LLMProcess victima = planificador.getPolitica().elegirVictima(procesosActivos);
+                    if (!silencioso) {
+                        System.err.println("Error con proceso " + proceso.getPid() + ": " + e.getMessage()
+                                + " Víctima: " + victima.getNombre());
+                    }
+                    eliminarProceso(victima);
+                    descartadosEnCiclo.add(victima);
+                    if (victima == proceso) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcula los ciclos transcurridos desde la llegada de un proceso hasta el cierre del ciclo actual.
+     *
+     * @param proceso proceso a medir
+     * @return ciclos de espera y servicio, redondeados hacia arriba
+     */
+    private int ciclosDesdeLlegada(LLMProcess proceso) {
+        return (int) Math.ceil(ciclo + 1 - proceso.getInstanteLlegada());
+    }
+
+    /**
+     * Encola un proceso recién llegado a la espera de que el planificador lo admita.
+     *
+     * @param nuevo proceso entregado por la fuente de carga
+     */
+    private void agregarProceso(LLMProcess nuevo) {
+        enEspera.addLast(nuevo);
+        if (!silencioso) {
+            System.out.println("NUEVO PROCESO: " + nuevo.getNombre() + " ha llegado.");
+        }
+    }
+
+    /**
+     * Retira un proceso que generó toda su respuesta y libera su memoria.
+     *
+     * @param proceso proceso completado
+     */
+    private void finalizarProceso(LLMProcess proceso) {
+        mmuDe(proceso).liberarMemoria(proceso);
+        procesosActivos.remove(proceso);
+        planificador.getPolitica().retirar(proceso);
+        procesosCompletados++;
+        latencias.registrar(ciclosDesdeLlegada(proceso));
+        if (!silencioso) {
+            System.out.println("PROCESO COMPLETADO: " + proceso.getNombre() + " (" + proceso.getTokensSalida() + " tokens, memoria liberada)");
+        }
     }
 
     /**
@@ -229,9 +1005,276 @@ public class SimulationManager implements Runnable{
      * @param proceso proceso a eliminar
      */
     private void eliminarProceso(LLMProcess proceso) {
-        mmu.liberarMemoria(proceso);
+        mmuDe(proceso).liberarMemoria(proceso);
+        procesosActivos.remove(proceso);
+        planificador.getPolitica().retirar(proceso);
+        procesosEliminados++;
+        if (!silencioso) {
+            System.out.println("PROCESO TERMINADO: " + proceso.getNombre() + " (Memoria liberada)");
+        }
+    }
+
+    /**
+     * Bifurca un proceso activo en {@code n} hijos que comparten las páginas completas de su contexto
+     * y copian solo la última página parcial. Los hijos pasan directo a la lista de activos, sin pasar
+     * por la admisión del planificador, porque continúan una conversación ya admitida.
+     * Si la memoria no alcanza para copiar la última página de un hijo, se crean menos hijos:
+     * bifurcar nunca desaloja otros procesos.
+     *
+     * @param padre proceso activo a bifurcar
+     * @param n cantidad de hijos a crear
+     * @return hijos creados
+     */
+    public List<LLMProcess> fork(LLMProcess padre, int n) {
+        List<LLMProcess> hijos = new ArrayList<>(n);
+        for (int k = 1; k <= n; k++) {
+            LLMProcess hijo = padre.crearHijo(siguientePidHijo, padre.getNombre() + "/" + k);
+            int compartidas;
+            try {
+                compartidas = bifurcarEnMemoria(padre, hijo);
+            } catch (Exception e) {
+                if (!silencioso) {
+                    System.err.println("⚠️ " + padre.getNombre() + " no se pudo bifurcar más: " + e.getMessage());
+                }
+                break;
+            }
+            siguientePidHijo++;
+            procesosActivos.add(hijo);
+            hijos.add(hijo);
+            procesosBifurcados++;
+            marcosAhorradosBifurcacion += compartidas;
+        }
+        if (!silencioso && !hijos.isEmpty()) {
+            System.out.println("BIFURCACIÓN: " + padre.getNombre() + " -> " + hijos.size() + " secuencias nuevas");
+        }
+        return hijos;
+    }
+
+    /**
+     * Reparte el contexto del padre al hijo en la MMU del hijo. En el paso particionado,
+     * si el pool de su partición se agotó, lo repone una vez antes de rendirse.
+     *
+     * @param padre proceso bifurcado
+     * @param hijo proceso nuevo
+     * @return páginas compartidas
+     * @throws Exception si no hay un marco libre para la última página
+     */
+    private int bifurcarEnMemoria(LLMProcess padre, LLMProcess hijo) throws Exception {
+        try {
+            return mmuDe(hijo).bifurcar(padre, hijo);
+        } catch (Exception e) {
+            if (particionado == null || !particionado.reponer(hijo)) throw e;
+            return mmuDe(hijo).bifurcar(padre, hijo);
+        }
+    }
+
+    /**
+     * Poda una secuencia del beam: la retira de la simulación y suelta sus páginas.
+     * Las páginas que comparte con el padre u otros hermanos siguen ocupadas por ellos;
+     * solo quedan libres las propias.
+     *
+     * @param proceso proceso a podar
+     * @return marcos que quedaron libres
+     */
+    public int podar(LLMProcess proceso) {
+        int liberados = mmuDe(proceso).liberarMemoria(proceso);
         procesosActivos.remove(proceso);
-        System.out.println("PROCESO TERMINADO: " + proceso.getNombre() + " (Memoria liberada)");
+        planificador.getPolitica().retirar(proceso);
+        procesosPodados++;
+        marcosLiberadosPoda += liberados;
+        if (!silencioso) {
+            System.out.println("PODA: " + proceso.getNombre() + " (" + liberados + " marcos propios liberados)");
+        }
+        return liberados;
+    }
+
+    /**
+     * Obtiene la MMU que administra la memoria de un proceso: la de su partición
+     * en el paso particionado, o la única MMU de la simulación.
+     *
+     * @param proceso proceso a consultar
+     * @return MMU del proceso
+     */
+    private MMUService mmuDe(LLMProcess proceso) {
+        return (particionado != null) ? particionado.getMmu(proceso) : mmu;
+    }
+
+    /**
+     * Obtiene el paso particionado en uso.
+     *
+     * @return paso particionado, o null si los procesos avanzan en serie
+     */
+    public PasoParticionado getPasoParticionado() {
+        return particionado;
+    }
+
+    /**
+     * Obtiene los aciertos de TLB acumulados, sumando los de todas las particiones si las hay.
+     *
+     * @return hits de TLB
+     */
+    public int getTlbHits() {
+        return (particionado != null) ? particionado.getTlbHits() : mmu.getTlbHits();
+    }
+
+    /**
+     * Obtiene los fallos de TLB acumulados, sumando los de todas las particiones si las hay.
+     *
+     * @return misses de TLB
+     */
+    public int getTlbMisses() {
+        return (particionado != null) ? particionado.getTlbMisses() : mmu.getTlbMisses();
+    }
+
+    /**
+     * Obtiene las páginas anteriores al token nuevo que leyó la atención en los pasos de decodificación,
+     * sumando las de todas las particiones si las hay. Es 0 con el patrón de atención original.
+     *
+     * @return lecturas de páginas por atención
+     */
+    public long getPaginasLeidasAtencion() {
+        return (particionado != null) ? particionado.getPaginasLeidasAtencion() : lectorAtencion.getPaginasLeidas();
+    }
+
+    /**
+     * Obtiene los tokens de borrador especulativo que se reservaron en memoria.
+     *
+     * @return tokens propuestos, 0 sin especulación
+     */
+    public long getTokensBorrador() {
+        return sumarEspeculacion(Especulador::getTokensPropuestos);
+    }
+
+    /**
+     * Obtiene los tokens de borrador que el verificador rechazó y se revirtieron.
+     *
+     * @return tokens rechazados
+     */
+    public long getTokensRechazados() {
+        return sumarEspeculacion(Especulador::getTokensRechazados);
+    }
+
+    /**
+     * Obtiene los marcos que se reservaron para tokens rechazados y se liberaron al revertir:
+     * la rotación de memoria que causa la especulación.
+     *
+     * @return marcos revertidos
+     */
+    public long getMarcosRevertidos() {
+        return sumarEspeculacion(Especulador::getMarcosRevertidos);
+    }
+
+    /**
+     * Obtiene las entradas de la TLB invalidadas al revertir borradores.
+     *
+     * @return invalidaciones por especulación
+     */
+    public long getTlbInvalidadasEspeculacion() {
+        return sumarEspeculacion(Especulador::getEntradasTlbInvalidadas);
+    }
+
+    /**
+     * Suma un contador del especulador, o de los de todas las particiones si las hay.
+     *
+     * @param contador contador a sumar
+     * @return total acumulado
+     */
+    private long sumarEspeculacion(ToLongFunction<Especulador> contador) {
+        return (particionado != null) ? particionado.sumarEspeculacion(contador) : contador.applyAsLong(especulador);
+    }
+
+    /**
+     * Obtiene los huecos de token reservados en marcos ocupados: cada marco aporta {@code tamPagina}.
+     *
+     * @return tokens asignados
+     */
+    public long getTokensAsignados() {
+        return (long) ram.getMarcosOcupados() * perfil.getPageSize();
+    }
+
+    /**
+     * Obtiene los huecos asignados y sin usar en la última página de cada proceso,
+     * sumando los de todas las particiones si las hay. Se mantiene en cada asignación y liberación.
+     *
+     * @return tokens desperdiciados por fragmentación interna
+     */
+    public long getHuecosFragmentacion() {
+        return (particionado != null) ? particionado.getHuecosFragmentacion() : mmu.getFragmentacion().getHuecos();
+    }
+
+    /**
+     * Obtiene los huecos de token que guardan tokens de algún proceso.
+     *
+     * @return tokens usados
+     */
+    public long getTokensUsados() {
+        return getTokensAsignados() - getHuecosFragmentacion();
+    }
+
+    /**
+     * Calcula la fracción de la memoria ocupada que se pierde por fragmentación interna.
+     * Crece con el tamaño de página, que a su vez amplía el alcance de la TLB.
+     *
+     * @return huecos sin usar sobre huecos asignados, 0 con la memoria vacía
+     */
+    public double getFragmentacionInterna() {
+        long asignados = getTokensAsignados();
+        return (asignados > 0) ? (double) getHuecosFragmentacion() / asignados : 0.0;
+    }
+
+    /**
+     * Obtiene la distribución del llenado de la última página de los procesos en cuartos de página:
+     * la posición 0 cuenta las que tienen hasta un cuarto ocupado y la 3 las que tienen más de tres cuartos.
+     * Los contadores son atómicos, así que la interfaz puede leerlos desde su hilo con su propio arreglo.
+     *
+     * @param cuartos arreglo de 4 posiciones a completar
+     * @return el mismo arreglo, con los procesos por cuarto de página
+     */
+    public long[] getCuartosUltimaPagina(long[] cuartos) {
+        Arrays.fill(cuartos, 0);
+        if (particionado != null) {
+            particionado.sumarCuartosUltimaPagina(cuartos);
+        } else {
+            mmu.getFragmentacion().sumarCuartos(cuartos);
+        }
+        return cuartos;
+    }
+
+    /**
+     * Obtiene los marcos que hoy se ahorran gracias a la bifurcación: los que haría falta agregar
+     * si cada secuencia tuviera su propia copia de las páginas que comparte.
+     *
+     * @return marcos ahorrados en este momento
+     */
+    public int getMarcosCompartidos() {
+        return ram.getMarcosCompartidos();
+    }
+
+    /**
+     * Obtiene el total de páginas que los hijos mapearon sin copiar al bifurcarse,
+     * frente a duplicar el contexto completo del padre en cada uno.
+     *
+     * @return marcos ahorrados acumulados
+     */
+    public long getMarcosAhorradosBifurcacion() {
+        return marcosAhorradosBifurcacion;
+    }
+
+    /**
+     * Obtiene los marcos propios que liberaron las secuencias podadas.
+     *
+     * @return marcos liberados por poda
+     */
+    public long getMarcosLiberadosPoda() {
+        return marcosLiberadosPoda;
+    }
+
+    public int getProcesosBifurcados() {
+        return procesosBifurcados;
+    }
+
+    public int getProcesosPodados() {
+        return procesosPodados;
     }
 
     /**
@@ -243,6 +1286,51 @@ public class SimulationManager implements Runnable{
         return procesosActivos;
     }
 
+    /**
+     * Obtiene la cantidad de procesos que llegaron y todavía no fueron admitidos por el planificador.
+     *
+     * @return longitud de la cola de espera
+     */
+    public int getProcesosEnEspera() {
+        return enEspera.size();
+    }
+
+    /**
+     * Exporta la tabla de bloques empaquetada de todos los procesos activos.
+     * La tabla se reutiliza entre llamadas y solo agrega las páginas nuevas de cada proceso.
+     * Debe invocarse desde el hilo de simulación (por ejemplo en el callback de actualización)
+     * o con la simulación pausada.
+     *
+     * @return tabla de bloques actualizada al ciclo actual
+     */
+    public TablaBloquesLote exportarTablaBloques() {
+        tablaBloques.actualizar(procesosActivos);
+        return tablaBloques;
+    }
+
+    /**
+     * Arma una instantánea inmutable del estado que muestra la interfaz.
+     * Debe invocarse desde el hilo de simulación (por ejemplo en el callback de actualización)
+     * o con la simulación pausada; la instantánea luego puede leerse desde cualquier hilo.
+     *
+     * @return estado al cierre del último ciclo
+     */
+    public InstantaneaSimulacion tomarInstantanea() {
+        int[] duenos = new int[ram.getSize()];
+        for (int i = 0; i < duenos.length; i++) {
+            Frame frame = ram.getFrame(i);
+            duenos[i] = frame.isOcupado() ? frame.getProcessId() : InstantaneaSimulacion.MARCO_LIBRE;
+        }
+        List<InstantaneaSimulacion.FilaProceso> procesos = new ArrayList<>(procesosActivos.size());
+        for (LLMProcess proceso : procesosActivos) {
+            procesos.add(new InstantaneaSimulacion.FilaProceso(proceso));
+        }
+        long tokensAsignados = getTokensAsignados();
+        return new InstantaneaSimulacion(ciclo, Collections.unmodifiableList(procesos), getTlbHits(), getTlbMisses(),
+                tokensAsignados, tokensAsignados - getHuecosFragmentacion(), getCuartosUltimaPagina(new long[4]),
+                Collections.unmodifiableMap(mmu.getTlb().getCache()), duenos);
+    }
+
     /**
      * Verifica si la simulación está en ejecución.
      *
@@ -269,4 +1357,113 @@ public class SimulationManager implements Runnable{
     public int getCicloActual() {
         return ciclo;
     }
+
+    /**
+     * Obtiene los generadores aleatorios de la simulación, derivados de la semilla del perfil.
+     *
+     * @return flujos aleatorios en uso
+     */
+    public FlujosAleatorios getAleatorios() {
+        return aleatorios;
+    }
+
+    /**
+     * Obtiene la cantidad total de tokens de respuesta generados desde el inicio de la simulación.
+     *
+     * @return tokens generados (sin contar el prefill)
+     */
+    public long getTokensGenerados() {
+        return tokensGenerados;
+    }
+
+    /**
+     * Obtiene la cantidad de tokens de prompt procesados en prefill.
+     *
+     * @return tokens de prefill
+     */
+    public long getTokensPrefill() {
+        return tokensPrefill;
+    }
+
+    /**
+     * Obtiene la cantidad de procesos que terminaron su respuesta.
+     *
+     * @return procesos completados
+     */
+    public int getProcesosCompletados() {
+        return procesosCompletados;
+    }
+
+    /**
+     * Obtiene el histograma de latencias de punta a punta (llegada a fin de la respuesta) de los procesos completados.
+     *
+     * @return latencias en ciclos
+     */
+    public HistogramaLatencias getLatencias() {
+        return latencias;
+    }
+
+    /**
+     * Obtiene el histograma de tiempos hasta el primer token de respuesta.
+     *
+     * @return tiempos en ciclos
+     */
+    public HistogramaLatencias getTiemposPrimerToken() {
+        return tiemposPrimerToken;
+    }
+
+    /**
+     * Obtiene la máxima cantidad de marcos ocupados observada al cierre de un ciclo.
+     *
+     * @return pico de ocupación en marcos
+     */
+    public int getPicoMarcosOcupados() {
+        return picoMarcosOcupados;
+    }
+
+    /**
+     * Obtiene la máxima cantidad de procesos activos a la vez observada al cierre de un ciclo:
+     * las sesiones concurrentes que sostuvo la memoria.
+     *
+     * @return pico de procesos activos
+     */
+    public int getPicoProcesosActivos() {
+        return picoProcesosActivos;
+    }
+
+    /**
+     * Obtiene los bytes de caché KV que representa un marco según el modelo del perfil.
+     *
+     * @return bytes por marco, o 0 si el perfil no indica modelo
+     */
+    public long getBytesPorMarco() {
+        return perfil.getBytesPorMarco();
+    }
+
+    /**
+     * Obtiene los bytes de caché KV ocupados en este momento.
+     *
+     * @return bytes ocupados, 0 si el perfil no indica modelo
+     */
+    public long getBytesOcupados() {
+        return ram.getMarcosOcupados() * getBytesPorMarco();
+    }
+
+    /**
+     * Obtiene el pico de ocupación expresado en bytes de caché KV.
+     *
+     * @return bytes en el pico, 0 si el perfil no indica modelo
+     */
+    public long getPicoBytesOcupados() {
+        return picoMarcosOcupados * getBytesPorMarco();
+    }
+
+    /**
+     * Obtiene la cantidad de procesos eliminados por falta de memoria (víctimas elegidas por la política).
+     *
+     * @return procesos eliminados
+     */
+    public int getProcesosEliminados() {
+        return procesosEliminados;
+    }
 }
\ No newline at end of file
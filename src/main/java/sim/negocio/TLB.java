@@ -1,5 +1,9 @@
 package sim.negocio;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -9,27 +13,49 @@ import java.util.Map;
  * Su función es guardar las últimas traducciones de página que se usaron
  * para evitar consultar la lenta Tabla de Páginas en RAM.
  * Utiliza una política de reemplazo LRU (Least Recently Used).
+ *
+ * Está hecha con arreglos primitivos: cada clave (PID, página virtual) se empaqueta en un long,
+ * un índice hash encadenado ubica la entrada y una lista doblemente enlazada por índices lleva
+ * el orden LRU. Consultar, agregar e invalidar no crean objetos.
  */
 public class TLB {
+    public static final int SIN_MARCO = -1;
+    private static final int NADA = -1;
+
     private final int capacidadMaxima;
-    private final Map<String, Integer> cache;
+    private final long[] claves;
+    private final int[] marcos;
+    private final int[] anterior;
+    private final int[] siguiente;
+    private final int[] encadenado;
+    private final int[] cubetas;
+    private final int mascara;
+    private final int[] libres;
+    private int cantidadLibres;
+    private int masAntigua = NADA;
+    private int masReciente = NADA;
+    private int tamano = 0;
     private int hits = 0;
     private int misses = 0;
 
     /**
      * Crea una nueva TLB con la capacidad especificada.
-     * Utiliza un LinkedHashMap con orden de acceso para implementar LRU.
      *
      * @param capacidad número máximo de traducciones que puede almacenar
      */
     public TLB(int capacidad) {
-        this.capacidadMaxima = capacidad;
-        this.cache = new LinkedHashMap<>(capacidad, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
-                return size() > capacidadMaxima;
-            }
-        };
+        this.capacidadMaxima = Math.max(0, capacidad);
+        this.claves = new long[capacidadMaxima];
+        this.marcos = new int[capacidadMaxima];
+        this.anterior = new int[capacidadMaxima];
+        this.siguiente = new int[capacidadMaxima];
+        this.encadenado = new int[capacidadMaxima];
+        this.libres = new int[capacidadMaxima];
+        // Dos cubetas por entrada como mínimo, en potencia de dos para ubicar con una máscara
+        int cantidadCubetas = Integer.highestOneBit(Math.max(1, capacidadMaxima * 2 - 1)) << 1;
+        this.cubetas = new int[cantidadCubetas];
+        this.mascara = cantidadCubetas - 1;
+        vaciar();
     }
 
     /**
@@ -51,12 +77,17 @@ public class TLB {
     }
 
     /**
-     * Obtiene el mapa interno de la cache.
+     * Arma una copia del contenido de la cache para mostrarla, de la entrada menos
+     * a la más recientemente usada. No se actualiza con los accesos posteriores.
      *
      * @return mapa con las traducciones almacenadas (clave: "PID:PaginaVirtual", valor: marco físico)
      */
     public Map<String, Integer> getCache() {
-        return cache;
+        Map<String, Integer> copia = new LinkedHashMap<>();
+        for (int e = masAntigua; e != NADA; e = siguiente[e]) {
+            copia.put(pidDe(claves[e]) + ":" + paginaDe(claves[e]), marcos[e]);
+        }
+        return copia;
     }
 
     /**
@@ -68,6 +99,15 @@ public class TLB {
         return capacidadMaxima;
     }
 
+    /**
+     * Obtiene la cantidad de traducciones guardadas.
+     *
+     * @return entradas ocupadas
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
     /**
      * Simula la consulta de hardware a la TLB para traducir una dirección virtual.
      * Incrementa el contador de hits si encuentra la traducción, o misses si no.
@@ -77,15 +117,27 @@ public class TLB {
      * @return número de marco físico si está en cache, null en caso contrario
      */
     public Integer buscar(int pid, int paginaVirtual) {
-        String key = generarClave(pid, paginaVirtual);
+        int marco = consultar(pid, paginaVirtual);
+        return (marco != SIN_MARCO) ? marco : null;
+    }
 
-        if (cache.containsKey(key)) {
-            hits++;
-            return cache.get(key);
+    /**
+     * Igual que {@link #buscar(int, int)} pero sin crear objetos: un acierto pasa la entrada
+     * al extremo más reciente de la lista LRU.
+     *
+     * @param pid identificador del proceso
+     * @param paginaVirtual número de página virtual a traducir
+     * @return número de marco físico, o {@link #SIN_MARCO} si no está en cache
+     */
+    public int consultar(int pid, int paginaVirtual) {
+        int e = ubicar(generarClave(pid, paginaVirtual));
+        if (e == NADA) {
+            misses++;
+            return SIN_MARCO;
         }
-
-        misses++;
-        return null;
+        hits++;
+        tocar(e);
+        return marcos[e];
     }
 
     /**
@@ -97,8 +149,40 @@ public class TLB {
      * @param marcoFisico número de marco físico asignado
      */
     public void agregarEntrada(int pid, int paginaVirtual, int marcoFisico) {
-        String key = generarClave(pid, paginaVirtual);
-        cache.put(key, marcoFisico);
+        if (capacidadMaxima == 0) return;
+        long clave = generarClave(pid, paginaVirtual);
+        int e = ubicar(clave);
+        if (e != NADA) {
+            marcos[e] = marcoFisico;
+            tocar(e);
+            return;
+        }
+        if (tamano == capacidadMaxima) {
+            quitar(masAntigua);
+        }
+
+        e = libres[--cantidadLibres];
+        claves[e] = clave;
+        marcos[e] = marcoFisico;
+        int cubeta = cubetaDe(clave);
+        encadenado[e] = cubetas[cubeta];
+        cubetas[cubeta] = e;
+        enlazarAlFinal(e);
+        tamano++;
+    }
+
+    /**
+     * Invalida la traducción de una página de un proceso, si está en la cache.
+     *
+     * @param pid identificador del proceso
+     * @param paginaVirtual número de página virtual
+     * @return true si había una entrada y se eliminó
+     */
+    public boolean invalidar(int pid, int paginaVirtual) {
+        int e = ubicar(generarClave(pid, paginaVirtual));
+        if (e == NADA) return false;
+        quitar(e);
+        return true;
     }
 
     /**
@@ -108,25 +192,168 @@ public class TLB {
      * @param pid identificador del proceso cuyas entradas se eliminarán
      */
     public void invalidarPorProceso(int pid) {
-        cache.entrySet().removeIf(entry -> entry.getKey().startsWith(pid + ":"));
+        int e = masAntigua;
+        while (e != NADA) {
+            int proxima = siguiente[e];
+            if (pidDe(claves[e]) == pid) {
+                quitar(e);
+            }
+            e = proxima;
+        }
+    }
+
+    /**
+     * Escribe las entradas de la TLB, de la menos a la más recientemente usada, y sus contadores.
+     *
+     * @param salida destino binario del punto de control
+     * @throws IOException si falla la escritura
+     */
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeInt(hits);
+        salida.writeInt(misses);
+        salida.writeInt(tamano);
+        for (int e = masAntigua; e != NADA; e = siguiente[e]) {
+            salida.writeInt(pidDe(claves[e]));
+            salida.writeInt(paginaDe(claves[e]));
+            salida.writeInt(marcos[e]);
+        }
+    }
+
+    /**
+     * Reemplaza el contenido de la TLB por el de un punto de control, respetando el orden LRU.
+     * Si la capacidad actual es menor que la original se conservan las entradas más recientes.
+     *
+     * @param entrada origen binario del punto de control
+     * @throws IOException si falla la lectura
+     */
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        vaciar();
+        hits = entrada.readInt();
+        misses = entrada.readInt();
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            int pid = entrada.readInt();
+            int paginaVirtual = entrada.readInt();
+            agregarEntrada(pid, paginaVirtual, entrada.readInt());
+        }
     }
 
     /**
-     * Genera una clave única para identificar una traducción en la cache.
+     * Empaqueta una clave única para identificar una traducción en la cache.
      *
      * @param pid identificador del proceso
      * @param paginaVirtual número de página virtual
-     * @return clave en formato "PID:PaginaVirtual"
+     * @return PID en los 32 bits altos y página virtual en los bajos
      */
-    private String generarClave(int pid, int paginaVirtual) {
-        return pid + ":" + paginaVirtual;
+    private static long generarClave(int pid, int paginaVirtual) {
+        return ((long) pid << 32) | (paginaVirtual & 0xFFFFFFFFL);
+    }
+
+    private static int pidDe(long clave) {
+        return (int) (clave >>> 32);
+    }
+
+    private static int paginaDe(long clave) {
+        return (int) clave;
+    }
+
+    private int cubetaDe(long clave) {
+        return Long.hashCode(clave * 0x9E3779B97F4A7C15L) & mascara;
+    }
+
+    /**
+     * Busca la entrada de una clave en su cubeta.
+     *
+     * @param clave clave empaquetada
+     * @return índice de la entrada, o NADA si no está
+     */
+    private int ubicar(long clave) {
+        if (capacidadMaxima == 0) return NADA;
+        for (int e = cubetas[cubetaDe(clave)]; e != NADA; e = encadenado[e]) {
+            if (claves[e] == clave) return e;
+        }
+        return NADA;
+    }
+
+    /**
+     * Marca una entrada como la más recientemente usada.
+     */
+    private void tocar(int e) {
+        if (e == masReciente) return;
+        desenlazar(e);
+        enlazarAlFinal(e);
+    }
+
+    /**
+     * Saca una entrada de la lista LRU y de su cubeta, y devuelve su posición a las libres.
+     */
+    private void quitar(int e) {
+        desenlazar(e);
+        int cubeta = cubetaDe(claves[e]);
+        if (cubetas[cubeta] == e) {
+            cubetas[cubeta] = encadenado[e];
+        } else {
+            int previa = cubetas[cubeta];
+            while (encadenado[previa] != e) {
+                previa = encadenado[previa];
+            }
+            encadenado[previa] = encadenado[e];
+        }
+        libres[cantidadLibres++] = e;
+        tamano--;
+    }
+
+    private void desenlazar(int e) {
+        if (anterior[e] != NADA) {
+            siguiente[anterior[e]] = siguiente[e];
+        } else {
+            masAntigua = siguiente[e];
+        }
+        if (siguiente[e] != NADA) {
+            anterior[siguiente[e]] = anterior[e];
+        } else {
+            masReciente = anterior[e];
+        }
+    }
+
+    private void enlazarAlFinal(int e) {
+        anterior[e] = masReciente;
+        siguiente[e] = NADA;
+        if (masReciente != NADA) {
+            siguiente[masReciente] = e;
+        } else {
+            masAntigua = e;
+        }
+        masReciente = e;
+    }
+
+    /**
+     * Deja la TLB sin entradas, con todas las posiciones libres.
+     */
+    private void vaciar() {
+        Arrays.fill(cubetas, NADA);
+        for (int i = 0; i < capacidadMaxima; i++) {
+            libres[i] = capacidadMaxima - 1 - i;
+        }
+        cantidadLibres = capacidadMaxima;
+        masAntigua = NADA;
+        masReciente = NADA;
+        tamano = 0;
+    }
+
+    /**
+     * Pone en cero los contadores de aciertos y fallos sin tocar las entradas.
+     */
+    public void reiniciarContadores() {
+        hits = 0;
+        misses = 0;
     }
 
     /**
      * Limpia completamente la TLB, borrando toda la cache y reseteando estadísticas.
      */
     public void limpiar() {
-        cache.clear();
+        vaciar();
         hits = 0;
         misses = 0;
         System.out.println("TLB limpiada completamente.");
@@ -0,0 +1,206 @@
+package sim.negocio;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.PageTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabla de bloques empaquetada para todos los procesos activos de un ciclo.
+ * Es el formato que consume un kernel de atención por lotes: una matriz de enteros
+ * en orden fila-mayor (filas = procesos, columnas = páginas virtuales) rellenada con
+ * {@link #RELLENO}, más los arreglos de longitudes de cada secuencia.
+ *
+ * La instancia se reutiliza entre ciclos: si un proceso conserva su fila,
+ * solo se agregan las páginas nuevas desde la última actualización.
+ */
+public class TablaBloquesLote {
+    public static final int RELLENO = -1;
+
+    private int[] tabla;
+    private int[] pids;
+    private int[] paginasPorFila;
+    private int[] tokensPorFila;
+    private int filas;
+    private int columnas;
+
+    /**
+     * Crea una tabla de bloques vacía con una capacidad inicial.
+     *
+     * @param filasIniciales cantidad de procesos que se espera alojar
+     * @param columnasIniciales cantidad de páginas por proceso que se espera alojar
+     */
+    public TablaBloquesLote(int filasIniciales, int columnasIniciales) {
+        int capFilas = Math.max(1, filasIniciales);
+        this.columnas = Math.max(1, columnasIniciales);
+        this.tabla = new int[capFilas * columnas];
+        this.pids = new int[capFilas];
+        this.paginasPorFila = new int[capFilas];
+        this.tokensPorFila = new int[capFilas];
+        Arrays.fill(tabla, RELLENO);
+        Arrays.fill(pids, -1);
+        this.filas = 0;
+    }
+
+    /**
+     * Actualiza la tabla en una sola pasada sobre la lista de procesos.
+     * Las filas cuyo PID coincide con el del ciclo anterior solo agregan las páginas nuevas;
+     * el resto se reescribe completa.
+     *
+     * @param procesos procesos activos, en el orden en que ocuparán las filas
+     */
+    public void actualizar(List<LLMProcess> procesos) {
+        int nuevasFilas = procesos.size();
+        asegurarFilas(nuevasFilas);
+
+        for (int fila = 0; fila < nuevasFilas; fila++) {
+            LLMProcess proceso = procesos.get(fila);
+            PageTable pageTable = proceso.getPageTable();
+            int paginas = pageTable.getCantidadPaginas();
+            asegurarColumnas(paginas);
+
+            int desde;
+            if (pids[fila] == proceso.getPid() && paginasPorFila[fila] <= paginas) {
+                desde = paginasPorFila[fila];
+            } else {
+                limpiarFila(fila);
+                pids[fila] = proceso.getPid();
+                desde = 0;
+            }
+
+            int base = fila * columnas;
+            for (int vpn = desde; vpn < paginas; vpn++) {
+                int marco = pageTable.getMarco(vpn);
+                tabla[base + vpn] = (marco != PageTable.SIN_MARCO) ? marco : RELLENO;
+            }
+            paginasPorFila[fila] = paginas;
+            tokensPorFila[fila] = proceso.getContadorTokens();
+        }
+
+        for (int fila = nuevasFilas; fila < filas; fila++) {
+            limpiarFila(fila);
+            pids[fila] = -1;
+            paginasPorFila[fila] = 0;
+            tokensPorFila[fila] = 0;
+        }
+        this.filas = nuevasFilas;
+    }
+
+    /**
+     * Rellena con {@link #RELLENO} las columnas usadas de una fila.
+     *
+     * @param fila índice de la fila a limpiar
+     */
+    private void limpiarFila(int fila) {
+        int base = fila * columnas;
+        Arrays.fill(tabla, base, base + paginasPorFila[fila], RELLENO);
+    }
+
+    /**
+     * Garantiza capacidad para la cantidad de filas indicada, duplicando los arreglos si hace falta.
+     *
+     * @param requeridas cantidad de filas necesarias
+     */
+    private void asegurarFilas(int requeridas) {
+        int capacidad = pids.length;
+        if (requeridas <= capacidad) return;
+
+        int nuevaCapacidad = Math.max(requeridas, capacidad * 2);
+        int[] nuevaTabla = Arrays.copyOf(tabla, nuevaCapacidad * columnas);
+        Arrays.fill(nuevaTabla, capacidad * columnas, nuevaTabla.length, RELLENO);
+        tabla = nuevaTabla;
+
+        pids = Arrays.copyOf(pids, nuevaCapacidad);
+        Arrays.fill(pids, capacidad, nuevaCapacidad, -1);
+        paginasPorFila = Arrays.copyOf(paginasPorFila, nuevaCapacidad);
+        tokensPorFila = Arrays.copyOf(tokensPorFila, nuevaCapacidad);
+    }
+
+    /**
+     * Garantiza que cada fila tenga al menos la cantidad de columnas indicada.
+     * Al crecer se reubican las filas existentes con el nuevo ancho.
+     *
+     * @param requeridas cantidad de páginas que debe admitir una fila
+     */
+    private void asegurarColumnas(int requeridas) {
+        if (requeridas <= columnas) return;
+
+        int nuevasColumnas = Math.max(requeridas, columnas * 2);
+        int capacidad = pids.length;
+        int[] nuevaTabla = new int[capacidad * nuevasColumnas];
+        Arrays.fill(nuevaTabla, RELLENO);
+        for (int fila = 0; fila < capacidad; fila++) {
+            System.arraycopy(tabla, fila * columnas, nuevaTabla, fila * nuevasColumnas, paginasPorFila[fila]);
+        }
+        tabla = nuevaTabla;
+        columnas = nuevasColumnas;
+    }
+
+    /**
+     * Obtiene el marco físico de una celda de la tabla.
+     *
+     * @param fila índice del proceso en el lote
+     * @param paginaVirtual número de página virtual
+     * @return marco físico, o {@link #RELLENO} si la celda no está mapeada
+     */
+    public int getMarco(int fila, int paginaVirtual) {
+        if (fila >= filas || paginaVirtual >= columnas) return RELLENO;
+        return tabla[fila * columnas + paginaVirtual];
+    }
+
+    /**
+     * Obtiene el arreglo empaquetado en orden fila-mayor.
+     * Se devuelve la referencia interna: su contenido cambia en la próxima actualización.
+     *
+     * @return tabla de bloques con ancho {@link #getColumnas()}
+     */
+    public int[] getTabla() {
+        return tabla;
+    }
+
+    /**
+     * Obtiene la cantidad de páginas mapeadas de cada fila.
+     *
+     * @return arreglo interno de longitudes en páginas (válido hasta {@link #getFilas()})
+     */
+    public int[] getPaginasPorFila() {
+        return paginasPorFila;
+    }
+
+    /**
+     * Obtiene la cantidad de tokens de contexto de cada fila.
+     *
+     * @return arreglo interno de longitudes en tokens (válido hasta {@link #getFilas()})
+     */
+    public int[] getTokensPorFila() {
+        return tokensPorFila;
+    }
+
+    /**
+     * Obtiene el PID del proceso que ocupa cada fila.
+     *
+     * @return arreglo interno de PIDs (válido hasta {@link #getFilas()})
+     */
+    public int[] getPids() {
+        return pids;
+    }
+
+    /**
+     * Obtiene la cantidad de filas válidas (procesos del último lote).
+     *
+     * @return número de filas
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Obtiene el ancho de fila de la tabla empaquetada.
+     *
+     * @return número de columnas (páginas) por fila, incluido el relleno
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+}
@@ -0,0 +1,18 @@
+package sim.negocio.atencion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Atención completa: cada paso recorre todas las páginas del contexto, de la primera a la última,
+ * como lo hace un kernel de atención sobre la caché KV paginada.
+ */
+public class AtencionCompleta implements PatronAtencion {
+
+    @Override
+    public int seleccionar(int paginaActual, SplittableRandom rnd, int[] destino) {
+        for (int pagina = 0; pagina < paginaActual; pagina++) {
+            destino[pagina] = pagina;
+        }
+        return paginaActual;
+    }
+}
@@ -0,0 +1,44 @@
+package sim.negocio.atencion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Atención muestreada: en lugar de todo el contexto se leen k páginas, una elegida al azar
+ * dentro de cada uno de k tramos de igual tamaño. Así las páginas son distintas, cubren todo
+ * el contexto y el costo por paso queda acotado aunque la secuencia sea muy larga.
+ * Con contextos de k páginas o menos equivale a la atención completa.
+ */
+public class AtencionMuestreada implements PatronAtencion {
+    private final int muestras;
+
+    /**
+     * @param muestras páginas leídas por paso, además de la actual (al menos 1)
+     */
+    public AtencionMuestreada(int muestras) {
+        if (muestras < 1) {
+            throw new IllegalArgumentException("Cantidad de muestras de atención inválida: " + muestras);
+        }
+        this.muestras = muestras;
+    }
+
+    @Override
+    public int seleccionar(int paginaActual, SplittableRandom rnd, int[] destino) {
+        if (paginaActual <= muestras) {
+            for (int pagina = 0; pagina < paginaActual; pagina++) {
+                destino[pagina] = pagina;
+            }
+            return paginaActual;
+        }
+        for (int j = 0; j < muestras; j++) {
+            int desde = (int) ((long) paginaActual * j / muestras);
+            int hasta = (int) ((long) paginaActual * (j + 1) / muestras);
+            destino[j] = desde + rnd.nextInt(hasta - desde);
+        }
+        return muestras;
+    }
+
+    @Override
+    public boolean isAleatorio() {
+        return true;
+    }
+}
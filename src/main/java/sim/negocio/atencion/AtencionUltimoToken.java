@@ -0,0 +1,14 @@
+package sim.negocio.atencion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Modelo original del simulador: cada paso traduce solo la dirección del token nuevo.
+ */
+public class AtencionUltimoToken implements PatronAtencion {
+
+    @Override
+    public int seleccionar(int paginaActual, SplittableRandom rnd, int[] destino) {
+        return 0;
+    }
+}
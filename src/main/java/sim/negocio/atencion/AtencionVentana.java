@@ -0,0 +1,29 @@
+package sim.negocio.atencion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Atención de ventana deslizante: cada paso lee solo las últimas páginas del contexto.
+ */
+public class AtencionVentana implements PatronAtencion {
+    private final int paginas;
+
+    /**
+     * @param paginas páginas de la ventana, incluida la del token nuevo (al menos 1)
+     */
+    public AtencionVentana(int paginas) {
+        if (paginas < 1) {
+            throw new IllegalArgumentException("Ventana de atención inválida: " + paginas);
+        }
+        this.paginas = paginas;
+    }
+
+    @Override
+    public int seleccionar(int paginaActual, SplittableRandom rnd, int[] destino) {
+        int desde = Math.max(0, paginaActual - paginas + 1);
+        for (int pagina = desde; pagina < paginaActual; pagina++) {
+            destino[pagina - desde] = pagina;
+        }
+        return paginaActual - desde;
+    }
+}
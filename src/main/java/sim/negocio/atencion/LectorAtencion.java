@@ -0,0 +1,80 @@
+package sim.negocio.atencion;
+
+import sim.modelo.LLMProcess;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.MMUService;
+
+import java.util.SplittableRandom;
+
+/**
+ * Emite las lecturas de atención de cada paso de decodificación: pide al patrón las páginas
+ * y las traduce en lote con {@link MMUService#traducirPaginas(LLMProcess, int[], int)}.
+ * Reutiliza su arreglo de páginas, por lo que cada hilo que avanza procesos usa su propio lector.
+ *
+ * El generador de los patrones aleatorios se deriva del proceso y de su longitud de contexto,
+ * así que las páginas elegidas no dependen del orden de los pasos ni del hilo que los ejecuta.
+ */
+public class LectorAtencion {
+    private final PatronAtencion patron;
+    private final FlujosAleatorios aleatorios;
+    private int[] paginas = new int[64];
+    private long paginasLeidas = 0;
+
+    /**
+     * @param patron patrón de lectura de la caché KV
+     * @param aleatorios generadores de la simulación
+     */
+    public LectorAtencion(PatronAtencion patron, FlujosAleatorios aleatorios) {
+        this.patron = patron;
+        this.aleatorios = aleatorios;
+    }
+
+    /**
+     * Traduce las páginas anteriores que lee el último token alojado de un proceso.
+     *
+     * @param mmu MMU del proceso
+     * @param proceso proceso que acaba de generar un token
+     * @return páginas traducidas
+     */
+    public int leer(MMUService mmu, LLMProcess proceso) {
+        int paginaActual = (proceso.getContadorTokens() - 1) / mmu.getPageSize();
+        if (paginaActual <= 0) return 0;
+        if (paginas.length < paginaActual) {
+            paginas = new int[Math.max(paginaActual, paginas.length * 2)];
+        }
+        SplittableRandom rnd = patron.isAleatorio()
+                ? aleatorios.paraProceso(proceso.getPid(), proceso.getContadorTokens())
+                : null;
+        int cantidad = patron.seleccionar(paginaActual, rnd, paginas);
+        if (cantidad > 0) {
+            mmu.traducirPaginas(proceso, paginas, cantidad);
+            paginasLeidas += cantidad;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Obtiene las páginas leídas por atención desde la creación del lector o su último reinicio.
+     *
+     * @return lecturas de páginas, sin contar la del token nuevo
+     */
+    public long getPaginasLeidas() {
+        return paginasLeidas;
+    }
+
+    /**
+     * Pone en cero el contador de páginas leídas.
+     */
+    public void reiniciarContador() {
+        paginasLeidas = 0;
+    }
+
+    /**
+     * Fija el contador de páginas leídas, por ejemplo al restaurar un punto de control.
+     *
+     * @param paginasLeidas lecturas acumuladas
+     */
+    public void restaurarContador(long paginasLeidas) {
+        this.paginasLeidas = paginasLeidas;
+    }
+}
@@ -0,0 +1,62 @@
+package sim.negocio.atencion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Patrón de lectura de la caché KV en cada paso de decodificación. La atención del token
+ * nuevo lee páginas anteriores del contexto además de la que recibe el token; el patrón decide
+ * cuáles, y cada una se traduce a través de la TLB como un acceso más.
+ */
+public interface PatronAtencion {
+
+    /**
+     * Escribe, en orden ascendente, las páginas anteriores a la actual que lee el paso.
+     * La página del token nuevo no se incluye: la simulación ya la traduce.
+     *
+     * @param paginaActual página virtual del token nuevo; las candidatas son 0..paginaActual-1
+     * @param rnd generador del paso, o null si el patrón no es aleatorio
+     * @param destino arreglo de al menos paginaActual posiciones
+     * @return cantidad de páginas escritas
+     */
+    int seleccionar(int paginaActual, SplittableRandom rnd, int[] destino);
+
+    /**
+     * Indica si el patrón sortea las páginas y necesita un generador en cada paso.
+     *
+     * @return true si usa el generador
+     */
+    default boolean isAleatorio() {
+        return false;
+    }
+
+    /**
+     * Crea un patrón a partir de su descripción textual:
+     * ultimo          solo el token nuevo (modelo original)
+     * completa        todas las páginas del contexto
+     * ventana:n       las últimas n páginas, incluida la actual (atención de ventana deslizante)
+     * muestreo:k      k páginas del contexto, una al azar en cada tramo de igual tamaño
+     *
+     * @param descripcion descripción del patrón
+     * @return patrón configurado
+     * @throws IllegalArgumentException si la descripción no es válida
+     */
+    static PatronAtencion desdeTexto(String descripcion) {
+        String[] p = descripcion.trim().split(":");
+        try {
+            switch (p[0].toLowerCase()) {
+                case "ultimo":
+                    return new AtencionUltimoToken();
+                case "completa":
+                    return new AtencionCompleta();
+                case "ventana":
+                    return new AtencionVentana(Integer.parseInt(p[1]));
+                case "muestreo":
+                    return new AtencionMuestreada(Integer.parseInt(p[1]));
+                default:
+                    throw new IllegalArgumentException("Patrón de atención desconocido: " + descripcion);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Faltan parámetros en el patrón de atención: " + descripcion);
+        }
+    }
+}
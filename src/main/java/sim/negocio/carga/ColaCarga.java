@@ -0,0 +1,44 @@
+package sim.negocio.carga;
+
+import sim.modelo.LLMProcess;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Fuente de carga alimentada desde afuera: entrega, en orden, los procesos que otro componente
+ * le fue encolando. La usa el nodo multidispositivo para repartir las llegadas entre sus dispositivos.
+ * No es segura para hilos: se encola y se consume en fases distintas del ciclo.
+ */
+public class ColaCarga implements FuenteCarga {
+    private final Deque<LLMProcess> pendientes = new ArrayDeque<>();
+
+    /**
+     * Encola un proceso para que la simulación lo reciba en su instante de llegada.
+     *
+     * @param proceso proceso a entregar
+     */
+    public void encolar(LLMProcess proceso) {
+        pendientes.addLast(proceso);
+    }
+
+    @Override
+    public double proximaLlegada() {
+        LLMProcess primero = pendientes.peekFirst();
+        return (primero != null) ? primero.getInstanteLlegada() : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public LLMProcess siguiente() {
+        return pendientes.pollFirst();
+    }
+
+    /**
+     * Obtiene la cantidad de procesos encolados que la simulación todavía no recibió.
+     *
+     * @return procesos pendientes
+     */
+    public int getPendientes() {
+        return pendientes.size();
+    }
+}
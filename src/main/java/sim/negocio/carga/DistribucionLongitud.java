@@ -0,0 +1,55 @@
+package sim.negocio.carga;
+
+import sim.modelo.LLMProcess;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de la longitud, en tokens, del prompt o de la respuesta de una conversación.
+ */
+public interface DistribucionLongitud {
+
+    /**
+     * Sortea una longitud.
+     *
+     * @param rnd generador de longitudes de la simulación
+     * @return cantidad de tokens, o {@link LLMProcess#SIN_LIMITE} para respuestas sin fin
+     */
+    int muestrear(RandomGenerator rnd);
+
+    /**
+     * Crea una distribución a partir de su descripción textual:
+     * fija:n                         siempre n tokens
+     * infinita                       sin límite (el proceso solo termina al quedarse sin memoria)
+     * lognormal:mu:sigma[:maximo]    exp(N(mu, sigma)) redondeado, acotado opcionalmente
+     * empirica:v1:p1;v2:p2;...       histograma de valores con sus pesos relativos
+     *
+     * @param descripcion descripción de la distribución
+     * @return distribución configurada
+     * @throws IllegalArgumentException si la descripción no es válida
+     */
+    static DistribucionLongitud desdeTexto(String descripcion) {
+        String texto = descripcion.trim();
+        int separador = texto.indexOf(':');
+        String tipo = (separador < 0 ? texto : texto.substring(0, separador)).toLowerCase();
+        String resto = separador < 0 ? "" : texto.substring(separador + 1);
+        String[] p = resto.split(":");
+        try {
+            switch (tipo) {
+                case "fija":
+                    return new LongitudFija(Integer.parseInt(p[0]));
+                case "infinita":
+                    return new LongitudFija(LLMProcess.SIN_LIMITE);
+                case "lognormal":
+                    int maximo = p.length > 2 ? Integer.parseInt(p[2]) : Integer.MAX_VALUE;
+                    return new LongitudLogNormal(Double.parseDouble(p[0]), Double.parseDouble(p[1]), maximo);
+                case "empirica":
+                    return LongitudEmpirica.desdeTexto(resto);
+                default:
+                    throw new IllegalArgumentException("Distribución de longitud desconocida: " + descripcion);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Faltan parámetros en la distribución: " + descripcion);
+        }
+    }
+}
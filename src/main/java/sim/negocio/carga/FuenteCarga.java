@@ -0,0 +1,60 @@
+package sim.negocio.carga;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.negocio.FlujosAleatorios;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * Origen de las conversaciones que llegan a la simulación.
+ * Las simulaciones la consultan bajo demanda: primero preguntan cuándo es la próxima llegada
+ * y, cuando el reloj la alcanza, piden el proceso correspondiente.
+ */
+public interface FuenteCarga extends AutoCloseable {
+
+    /**
+     * Obtiene el instante de la próxima llegada sin consumirla.
+     *
+     * @return instante en ciclos, o {@link Double#POSITIVE_INFINITY} si no hay más llegadas
+     */
+    double proximaLlegada();
+
+    /**
+     * Crea el proceso de la próxima llegada y avanza a la siguiente.
+     *
+     * @return proceso con su instante de llegada y longitudes ya definidos
+     */
+    LLMProcess siguiente();
+
+    /**
+     * Crea la fuente de carga que describe un perfil: la traza indicada, si la tiene,
+     * o el generador sintético de llegadas y longitudes.
+     *
+     * @param perfil perfil de configuración
+     * @param aleatorios generadores aleatorios de la simulación
+     * @return fuente de carga lista para usar
+     * @throws UncheckedIOException si no se puede abrir la traza
+     */
+    static FuenteCarga desdePerfil(Perfil perfil, FlujosAleatorios aleatorios) {
+        if (perfil.getTraza() == null) {
+            return GeneradorCarga.desdePerfil(perfil, aleatorios);
+        }
+        try {
+            return new ReproductorTraza(Paths.get(perfil.getTraza()), perfil.getSegundosPorCiclo(),
+                    perfil.getEscalaTraza(), aleatorios);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir la traza " + perfil.getTraza(), e);
+        }
+    }
+
+    /**
+     * Libera los recursos de la fuente (por ejemplo el archivo de una traza).
+     * Las fuentes sintéticas no tienen nada que liberar.
+     */
+    @Override
+    default void close() {
+    }
+}
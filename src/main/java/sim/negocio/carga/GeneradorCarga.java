@@ -0,0 +1,116 @@
+package sim.negocio.carga;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.negocio.FlujosAleatorios;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Generador sintético de conversaciones: combina un proceso de llegadas con las
+ * distribuciones de longitud del prompt y de la respuesta.
+ * Las llegadas consumen el flujo de llegadas y las longitudes el de longitudes,
+ * por lo que la carga generada depende solo de la semilla.
+ */
+public class GeneradorCarga implements FuenteCarga {
+    private final ProcesoLlegadas llegadas;
+    private final DistribucionLongitud prompt;
+    private final DistribucionLongitud salida;
+    private final FlujosAleatorios aleatorios;
+    private int nivelesPrioridad = 1;
+    private double proxima;
+    private int siguientePid = 0;
+
+    /**
+     * Crea un generador con los modelos indicados.
+     *
+     * @param llegadas proceso de llegadas
+     * @param prompt distribución de la longitud del prompt
+     * @param salida distribución de la longitud de la respuesta
+     * @param aleatorios generadores aleatorios de la simulación
+     */
+    public GeneradorCarga(ProcesoLlegadas llegadas, DistribucionLongitud prompt, DistribucionLongitud salida,
+                          FlujosAleatorios aleatorios) {
+        this.llegadas = llegadas;
+        this.prompt = prompt;
+        this.salida = salida;
+        this.aleatorios = aleatorios;
+        this.proxima = llegadas.siguienteLlegada(aleatorios.getLlegadas());
+    }
+
+    /**
+     * Crea el generador descrito por las claves de carga de un perfil.
+     *
+     * @param perfil perfil con las descripciones de llegadas y longitudes
+     * @param aleatorios generadores aleatorios de la simulación
+     * @return generador configurado
+     * @throws IllegalArgumentException si alguna descripción no es válida
+     */
+    public static GeneradorCarga desdePerfil(Perfil perfil, FlujosAleatorios aleatorios) {
+        GeneradorCarga generador = new GeneradorCarga(
+                ProcesoLlegadas.desdeTexto(perfil.getLlegadas()),
+                DistribucionLongitud.desdeTexto(perfil.getLongitudPrompt()),
+                DistribucionLongitud.desdeTexto(perfil.getLongitudSalida()),
+                aleatorios);
+        generador.setNivelesPrioridad(perfil.getNivelesPrioridad());
+        return generador;
+    }
+
+    /**
+     * Define cuántos niveles de prioridad se sortean, de manera uniforme, entre las conversaciones.
+     * Con un solo nivel no se consume el generador, así la carga no cambia respecto de no usarlos.
+     *
+     * @param nivelesPrioridad niveles de prioridad (al menos 1)
+     */
+    public void setNivelesPrioridad(int nivelesPrioridad) {
+        this.nivelesPrioridad = nivelesPrioridad;
+    }
+
+    @Override
+    public double proximaLlegada() {
+        return proxima;
+    }
+
+    @Override
+    public LLMProcess siguiente() {
+        int pid = siguientePid++;
+        LLMProcess nuevo = new LLMProcess(pid, "User-" + pid, aleatorios.siguienteColor());
+        nuevo.setInstanteLlegada(proxima);
+        nuevo.setTokensPrompt(Math.max(0, prompt.muestrear(aleatorios.getLongitudes())));
+        nuevo.setTokensSalidaMax(salida.muestrear(aleatorios.getLongitudes()));
+        if (nivelesPrioridad > 1) {
+            nuevo.setPrioridad(aleatorios.getLongitudes().nextInt(nivelesPrioridad));
+        }
+
+        proxima = llegadas.siguienteLlegada(aleatorios.getLlegadas());
+        return nuevo;
+    }
+
+    /**
+     * Escribe la posición del generador: el próximo PID, la llegada ya sorteada y el estado
+     * del proceso de llegadas. Los flujos aleatorios se guardan aparte, con los de la simulación.
+     *
+     * @param salida destino binario del punto de control
+     * @throws IOException si falla la escritura
+     */
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeInt(siguientePid);
+        salida.writeDouble(proxima);
+        llegadas.guardarEstado(salida);
+    }
+
+    /**
+     * Continúa la generación desde la posición escrita por {@link #guardarEstado(DataOutput)}.
+     * El proceso de llegadas debe ser el mismo; las distribuciones de longitud pueden cambiar.
+     *
+     * @param entrada origen binario del punto de control
+     * @throws IOException si falla la lectura
+     */
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        siguientePid = entrada.readInt();
+        proxima = entrada.readDouble();
+        llegadas.restaurarEstado(entrada);
+    }
+}
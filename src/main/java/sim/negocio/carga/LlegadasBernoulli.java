@@ -0,0 +1,45 @@
+package sim.negocio.carga;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Modelo de llegadas original del simulador: en cada ciclo llega como máximo
+ * una conversación, con probabilidad fija. Las llegadas caen en instantes enteros.
+ */
+public class LlegadasBernoulli implements ProcesoLlegadas {
+    private final double probabilidad;
+    private long proximoCiclo = 0;
+
+    /**
+     * @param probabilidad probabilidad de llegada en cada ciclo (entre 0 y 1)
+     */
+    public LlegadasBernoulli(double probabilidad) {
+        if (probabilidad <= 0 || probabilidad > 1) {
+            throw new IllegalArgumentException("Probabilidad de llegada inválida: " + probabilidad);
+        }
+        this.probabilidad = probabilidad;
+    }
+
+    @Override
+    public double siguienteLlegada(RandomGenerator rnd) {
+        long ciclo = proximoCiclo;
+        while (rnd.nextDouble() >= probabilidad) {
+            ciclo++;
+        }
+        proximoCiclo = ciclo + 1;
+        return ciclo;
+    }
+
+    @Override
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeLong(proximoCiclo);
+    }
+
+    @Override
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        proximoCiclo = entrada.readLong();
+    }
+}
@@ -0,0 +1,55 @@
+package sim.negocio.carga;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Llegadas de Poisson no homogéneas con tasa sinusoidal (ciclo diurno).
+ * La tasa es tasaMedia * (1 + amplitud * sen(2π t / periodo)) y se muestrea por
+ * adelgazamiento (thinning) contra la tasa máxima.
+ */
+public class LlegadasDiurnas implements ProcesoLlegadas {
+    private final double tasaMedia;
+    private final double amplitud;
+    private final double periodo;
+    private final double tasaMaxima;
+    private double ultimo = 0.0;
+
+    /**
+     * @param tasaMedia llegadas medias por ciclo a lo largo de un período
+     * @param amplitud variación relativa de la tasa (entre 0 y 1)
+     * @param periodo duración de un día simulado, en ciclos
+     */
+    public LlegadasDiurnas(double tasaMedia, double amplitud, double periodo) {
+        if (tasaMedia <= 0 || amplitud < 0 || amplitud > 1 || periodo <= 0) {
+            throw new IllegalArgumentException("Parámetros de llegadas diurnas inválidos");
+        }
+        this.tasaMedia = tasaMedia;
+        this.amplitud = amplitud;
+        this.periodo = periodo;
+        this.tasaMaxima = tasaMedia * (1 + amplitud);
+    }
+
+    @Override
+    public double siguienteLlegada(RandomGenerator rnd) {
+        while (true) {
+            ultimo += LlegadasPoisson.exponencial(rnd, tasaMaxima);
+            double tasa = tasaMedia * (1 + amplitud * Math.sin(2 * Math.PI * ultimo / periodo));
+            if (rnd.nextDouble() * tasaMaxima <= tasa) {
+                return ultimo;
+            }
+        }
+    }
+
+    @Override
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeDouble(ultimo);
+    }
+
+    @Override
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        ultimo = entrada.readDouble();
+    }
+}
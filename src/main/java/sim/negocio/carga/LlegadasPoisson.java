@@ -0,0 +1,51 @@
+package sim.negocio.carga;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Llegadas de Poisson homogéneas: tiempos entre llegadas exponenciales con tasa constante.
+ */
+public class LlegadasPoisson implements ProcesoLlegadas {
+    private final double tasa;
+    private double ultimo = 0.0;
+
+    /**
+     * @param tasa llegadas medias por ciclo
+     */
+    public LlegadasPoisson(double tasa) {
+        if (tasa <= 0) {
+            throw new IllegalArgumentException("Tasa de llegadas inválida: " + tasa);
+        }
+        this.tasa = tasa;
+    }
+
+    @Override
+    public double siguienteLlegada(RandomGenerator rnd) {
+        ultimo += exponencial(rnd, tasa);
+        return ultimo;
+    }
+
+    @Override
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeDouble(ultimo);
+    }
+
+    @Override
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        ultimo = entrada.readDouble();
+    }
+
+    /**
+     * Sortea un tiempo exponencial.
+     *
+     * @param rnd generador
+     * @param tasa tasa del proceso
+     * @return tiempo con media 1 / tasa
+     */
+    static double exponencial(RandomGenerator rnd, double tasa) {
+        return -Math.log(1.0 - rnd.nextDouble()) / tasa;
+    }
+}
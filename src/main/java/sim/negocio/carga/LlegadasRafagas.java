@@ -0,0 +1,74 @@
+package sim.negocio.carga;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Llegadas en ráfagas: proceso de Poisson modulado por una cadena de Markov de dos fases.
+ * En la fase baja llegan pedidos a la tasa base y en la alta a la tasa de ráfaga;
+ * la duración de cada fase es exponencial con la media indicada.
+ */
+public class LlegadasRafagas implements ProcesoLlegadas {
+    private final double tasaBaja;
+    private final double tasaAlta;
+    private final double duracionBaja;
+    private final double duracionAlta;
+
+    private double ultimo = 0.0;
+    private boolean enRafaga = false;
+    private double finFase = Double.NaN;
+
+    /**
+     * @param tasaBaja llegadas por ciclo fuera de ráfaga
+     * @param tasaAlta llegadas por ciclo durante una ráfaga
+     * @param duracionBaja duración media de la fase baja, en ciclos
+     * @param duracionAlta duración media de una ráfaga, en ciclos
+     */
+    public LlegadasRafagas(double tasaBaja, double tasaAlta, double duracionBaja, double duracionAlta) {
+        if (tasaBaja < 0 || tasaAlta <= 0 || duracionBaja <= 0 || duracionAlta <= 0) {
+            throw new IllegalArgumentException("Parámetros de ráfagas inválidos");
+        }
+        this.tasaBaja = tasaBaja;
+        this.tasaAlta = tasaAlta;
+        this.duracionBaja = duracionBaja;
+        this.duracionAlta = duracionAlta;
+    }
+
+    @Override
+    public double siguienteLlegada(RandomGenerator rnd) {
+        if (Double.isNaN(finFase)) {
+            finFase = LlegadasPoisson.exponencial(rnd, 1.0 / duracionBaja);
+        }
+
+        while (true) {
+            double tasa = enRafaga ? tasaAlta : tasaBaja;
+            double candidato = (tasa > 0) ? ultimo + LlegadasPoisson.exponencial(rnd, tasa) : Double.POSITIVE_INFINITY;
+
+            if (candidato <= finFase) {
+                ultimo = candidato;
+                return ultimo;
+            }
+
+            // Sin memoria: se puede descartar el candidato y seguir desde el cambio de fase
+            ultimo = finFase;
+            enRafaga = !enRafaga;
+            finFase = ultimo + LlegadasPoisson.exponencial(rnd, 1.0 / (enRafaga ? duracionAlta : duracionBaja));
+        }
+    }
+
+    @Override
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeDouble(ultimo);
+        salida.writeBoolean(enRafaga);
+        salida.writeDouble(finFase);
+    }
+
+    @Override
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        ultimo = entrada.readDouble();
+        enRafaga = entrada.readBoolean();
+        finFase = entrada.readDouble();
+    }
+}
@@ -0,0 +1,68 @@
+package sim.negocio.carga;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Longitud tomada de un histograma empírico: cada valor tiene un peso relativo
+ * y se sortea por búsqueda binaria sobre los pesos acumulados.
+ */
+public class LongitudEmpirica implements DistribucionLongitud {
+    private final int[] valores;
+    private final double[] acumulados;
+
+    /**
+     * @param valores longitudes posibles, en tokens
+     * @param pesos peso relativo de cada longitud (no hace falta que sumen 1)
+     */
+    public LongitudEmpirica(int[] valores, double[] pesos) {
+        if (valores.length == 0 || valores.length != pesos.length) {
+            throw new IllegalArgumentException("El histograma debe tener un peso por valor");
+        }
+        this.valores = valores.clone();
+        this.acumulados = new double[pesos.length];
+        double total = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            if (pesos[i] < 0 || valores[i] < 0) {
+                throw new IllegalArgumentException("Valores y pesos del histograma deben ser no negativos");
+            }
+            total += pesos[i];
+            acumulados[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("El histograma no tiene peso");
+        }
+        for (int i = 0; i < acumulados.length; i++) {
+            acumulados[i] /= total;
+        }
+    }
+
+    /**
+     * Interpreta un histograma con el formato "v1:p1;v2:p2;...".
+     * Se usa ";" para no chocar con las listas separadas por comas de los archivos de barrido.
+     *
+     * @param texto pares valor:peso separados por punto y coma
+     * @return distribución empírica
+     */
+    static LongitudEmpirica desdeTexto(String texto) {
+        String[] pares = texto.split(";");
+        int[] valores = new int[pares.length];
+        double[] pesos = new double[pares.length];
+        for (int i = 0; i < pares.length; i++) {
+            String[] par = pares[i].trim().split(":");
+            if (par.length != 2) {
+                throw new IllegalArgumentException("Entrada de histograma inválida: " + pares[i]);
+            }
+            valores[i] = Integer.parseInt(par[0].trim());
+            pesos[i] = Double.parseDouble(par[1].trim());
+        }
+        return new LongitudEmpirica(valores, pesos);
+    }
+
+    @Override
+    public int muestrear(RandomGenerator rnd) {
+        int i = Arrays.binarySearch(acumulados, rnd.nextDouble());
+        if (i < 0) i = -i - 1;
+        return valores[Math.min(i, valores.length - 1)];
+    }
+}
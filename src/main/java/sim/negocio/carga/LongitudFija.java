@@ -0,0 +1,28 @@
+package sim.negocio.carga;
+
+import sim.modelo.LLMProcess;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Longitud constante. Con {@link LLMProcess#SIN_LIMITE} reproduce el modelo original,
+ * donde las respuestas no terminan nunca.
+ */
+public class LongitudFija implements DistribucionLongitud {
+    private final int tokens;
+
+    /**
+     * @param tokens longitud en tokens (0 o más), o {@link LLMProcess#SIN_LIMITE}
+     */
+    public LongitudFija(int tokens) {
+        if (tokens < 0 && tokens != LLMProcess.SIN_LIMITE) {
+            throw new IllegalArgumentException("Longitud inválida: " + tokens);
+        }
+        this.tokens = tokens;
+    }
+
+    @Override
+    public int muestrear(RandomGenerator rnd) {
+        return tokens;
+    }
+}
@@ -0,0 +1,33 @@
+package sim.negocio.carga;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Longitud lognormal: exp(mu + sigma * Z) con Z normal estándar, redondeada y acotada a [1, maximo].
+ * Es la forma típica de las longitudes de prompt y respuesta en tráfico real (cola larga a derecha).
+ */
+public class LongitudLogNormal implements DistribucionLongitud {
+    private final double mu;
+    private final double sigma;
+    private final int maximo;
+
+    /**
+     * @param mu media del logaritmo (la mediana es exp(mu))
+     * @param sigma desvío del logaritmo
+     * @param maximo longitud máxima admitida
+     */
+    public LongitudLogNormal(double mu, double sigma, int maximo) {
+        if (sigma < 0 || maximo < 1) {
+            throw new IllegalArgumentException("Parámetros lognormales inválidos");
+        }
+        this.mu = mu;
+        this.sigma = sigma;
+        this.maximo = maximo;
+    }
+
+    @Override
+    public int muestrear(RandomGenerator rnd) {
+        double valor = Math.exp(mu + sigma * rnd.nextGaussian());
+        return (int) Math.max(1, Math.min(maximo, Math.round(valor)));
+    }
+}
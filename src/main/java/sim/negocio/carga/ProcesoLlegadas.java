@@ -0,0 +1,71 @@
+package sim.negocio.carga;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Proceso estocástico que genera los instantes de llegada de nuevas conversaciones.
+ * Cada instancia guarda su propio estado (último instante, fase actual), por lo que
+ * se usa una instancia por simulación.
+ */
+public interface ProcesoLlegadas {
+
+    /**
+     * Sortea el instante de la próxima llegada, posterior a la anterior.
+     *
+     * @param rnd generador de llegadas de la simulación
+     * @return instante de llegada en ciclos (tiempo virtual)
+     */
+    double siguienteLlegada(RandomGenerator rnd);
+
+    /**
+     * Escribe el estado del proceso (último instante, fase actual) para un punto de control.
+     *
+     * @param salida destino binario
+     * @throws IOException si falla la escritura
+     */
+    void guardarEstado(DataOutput salida) throws IOException;
+
+    /**
+     * Restaura el estado escrito por {@link #guardarEstado(DataOutput)} en un proceso con los mismos parámetros.
+     *
+     * @param entrada origen binario
+     * @throws IOException si falla la lectura
+     */
+    void restaurarEstado(DataInput entrada) throws IOException;
+
+    /**
+     * Crea un proceso de llegadas a partir de su descripción textual:
+     * bernoulli:p                        una llegada por ciclo con probabilidad p (modelo original)
+     * poisson:tasa                       llegadas de Poisson con la tasa media por ciclo
+     * rafagas:tasaBaja:tasaAlta:durBaja:durAlta   Poisson modulado por dos fases (duraciones medias en ciclos)
+     * diurna:tasaMedia:amplitud:periodo  Poisson con tasa sinusoidal de la amplitud relativa y el período indicados
+     *
+     * @param descripcion descripción del proceso
+     * @return proceso de llegadas configurado
+     * @throws IllegalArgumentException si la descripción no es válida
+     */
+    static ProcesoLlegadas desdeTexto(String descripcion) {
+        String[] p = descripcion.trim().split(":");
+        try {
+            switch (p[0].toLowerCase()) {
+                case "bernoulli":
+                    return new LlegadasBernoulli(Double.parseDouble(p[1]));
+                case "poisson":
+                    return new LlegadasPoisson(Double.parseDouble(p[1]));
+                case "rafagas":
+                    return new LlegadasRafagas(Double.parseDouble(p[1]), Double.parseDouble(p[2]),
+                            Double.parseDouble(p[3]), Double.parseDouble(p[4]));
+                case "diurna":
+                    return new LlegadasDiurnas(Double.parseDouble(p[1]), Double.parseDouble(p[2]),
+                            Double.parseDouble(p[3]));
+                default:
+                    throw new IllegalArgumentException("Proceso de llegadas desconocido: " + descripcion);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Faltan parámetros en el proceso de llegadas: " + descripcion);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package sim.negocio.carga;
+
+import sim.modelo.LLMProcess;
+import sim.negocio.FlujosAleatorios;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fuente de carga que reproduce un registro real de solicitudes.
+ * Cada línea del archivo describe una solicitud:
+ * instante,tokensPrompt,tokensSalida[,idPrefijo[,prioridad]]
+ * con el instante en segundos (no decreciente). Se ignoran las líneas vacías,
+ * las que empiezan con '#' y una cabecera opcional.
+ *
+ * El archivo se recorre con ventanas mapeadas en memoria de tamaño fijo y las líneas se
+ * interpretan directamente sobre los bytes, sin crear cadenas: el consumo de memoria
+ * no depende del largo de la traza.
+ *
+ * Los instantes se trasladan para que la primera solicitud llegue en el ciclo 0 y se
+ * convierten a ciclos con la duración de ciclo del perfil, divididos por el factor de escala
+ * (escala 2 reproduce la traza al doble de carga, escala 10 a diez veces).
+ */
+public class ReproductorTraza implements FuenteCarga {
+    public static final int TAMANO_VENTANA = 32 * 1024 * 1024;
+
+    private final FileChannel canal;
+    private final long tamanoArchivo;
+    private final int tamanoVentana;
+    private final double ciclosPorSegundo;
+    private final FlujosAleatorios aleatorios;
+
+    private MappedByteBuffer ventana;
+    private long inicioVentana = 0;
+    private double instanteInicial = Double.NaN;
+    private double ultimoInstante = Double.NEGATIVE_INFINITY;
+
+    private double proxima = Double.POSITIVE_INFINITY;
+    private int promptPendiente;
+    private int salidaPendiente;
+    private int prefijoPendiente;
+    private int prioridadPendiente;
+    private int siguientePid = 0;
+    private int cursor;
+    private long solicitudesLeidas = 0;
+    private long lineasInvalidas = 0;
+
+    /**
+     * Abre una traza para reproducirla.
+     *
+     * @param ruta archivo de la traza
+     * @param segundosPorCiclo tiempo simulado que representa un ciclo
+     * @param escala factor de aceleración de la traza (1 = tiempo real)
+     * @param aleatorios generadores aleatorios de la simulación (solo se usan para los colores)
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    public ReproductorTraza(Path ruta, double segundosPorCiclo, double escala, FlujosAleatorios aleatorios) throws IOException {
+        this(ruta, segundosPorCiclo, escala, aleatorios, TAMANO_VENTANA);
+    }
+
+    /**
+     * Abre una traza indicando el tamaño de las ventanas mapeadas.
+     *
+     * @param ruta archivo de la traza
+     * @param segundosPorCiclo tiempo simulado que representa un ciclo
+     * @param escala factor de aceleración de la traza (1 = tiempo real)
+     * @param aleatorios generadores aleatorios de la simulación (solo se usan para los colores)
+     * @param tamanoVentana bytes mapeados a la vez; debe superar la línea más larga
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    public ReproductorTraza(Path ruta, double segundosPorCiclo, double escala, FlujosAleatorios aleatorios,
+                            int tamanoVentana) throws IOException {
+        if (segundosPorCiclo <= 0 || escala <= 0) {
+            throw new IllegalArgumentException("La duración de ciclo y la escala deben ser positivas");
+        }
+        this.canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        this.tamanoArchivo = canal.size();
+        this.tamanoVentana = tamanoVentana;
+        this.ciclosPorSegundo = 1.0 / (segundosPorCiclo * escala);
+        this.aleatorios = aleatorios;
+        mapear(0);
+        leerSiguiente();
+    }
+
+    @Override
+    public double proximaLlegada() {
+        return proxima;
+    }
+
+    @Override
+    public LLMProcess siguiente() {
+        if (proxima == Double.POSITIVE_INFINITY) {
+            throw new IllegalStateException("La traza no tiene más solicitudes");
+        }
+        int pid = siguientePid++;
+        LLMProcess nuevo = new LLMProcess(pid, "User-" + pid, aleatorios.siguienteColor());
+        nuevo.setInstanteLlegada(proxima);
+        nuevo.setTokensPrompt(promptPendiente);
+        nuevo.setTokensSalidaMax(salidaPendiente);
+        nuevo.setIdPrefijo(prefijoPendiente);
+        nuevo.setPrioridad(prioridadPendiente);
+
+        try {
+            leerSiguiente();
+        } catch (IOException e) {
+            System.err.println("❌ Error al leer la traza: " + e.getMessage());
+            finalizar();
+        }
+        return nuevo;
+    }
+
+    /**
+     * Avanza hasta la próxima línea válida y deja sus valores pendientes de entrega.
+     * Al llegar al final del archivo cierra el canal y la próxima llegada pasa a ser infinita.
+     *
+     * @throws IOException si falla el mapeo del archivo
+     */
+    private void leerSiguiente() throws IOException {
+        while (true) {
+            if (ventana == null) {
+                finalizar();
+                return;
+            }
+
+            int desde = ventana.position();
+            int fin = buscarFinDeLinea(desde);
+            if (fin < 0) {
+                long absoluto = inicioVentana + desde;
+                if (absoluto >= tamanoArchivo) {
+                    finalizar();
+                    return;
+                }
+                if (inicioVentana + ventana.limit() < tamanoArchivo) {
+                    if (desde == 0) {
+                        throw new IOException("Hay una línea más larga que la ventana de lectura (" + tamanoVentana + " bytes)");
+                    }
+                    // La línea cruza el borde de la ventana: se vuelve a mapear desde su comienzo
+                    mapear(absoluto);
+                    continue;
+                }
+                fin = ventana.limit(); // última línea sin salto final
+            }
+
+            ventana.position(Math.min(fin + 1, ventana.limit()));
+            if (interpretarLinea(desde, fin)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Interpreta una línea de la ventana actual.
+     *
+     * @param desde posición del primer byte
+     * @param fin posición del salto de línea (exclusiva)
+     * @return true si la línea era una solicitud válida
+     */
+    private boolean interpretarLinea(int desde, int fin) {
+        while (fin > desde && esBlanco(ventana.get(fin - 1))) fin--;
+        while (desde < fin && esBlanco(ventana.get(desde))) desde++;
+        if (desde == fin || ventana.get(desde) == '#') return false;
+
+        byte primero = ventana.get(desde);
+        if (!esDigito(primero) && primero != '.' && primero != '-') {
+            // Una línea de texto antes de la primera solicitud es la cabecera; después es un error
+            if (solicitudesLeidas > 0) lineasInvalidas++;
+            return false;
+        }
+
+        cursor = desde;
+        double instante = leerDecimal(fin);
+        long prompt = leerEntero(fin);
+        long salida = leerEntero(fin);
+        long prefijo = (cursor < fin) ? leerEntero(fin) : LLMProcess.SIN_PREFIJO;
+        long prioridad = (cursor < fin) ? leerEntero(fin) : 0;
+
+        if (Double.isNaN(instante) || prompt < 0 || prompt > Integer.MAX_VALUE || salida <= 0 || salida > Integer.MAX_VALUE
+                || prefijo < LLMProcess.SIN_PREFIJO || prefijo > Integer.MAX_VALUE
+                || prioridad < 0 || prioridad > Integer.MAX_VALUE) {
+            lineasInvalidas++;
+            return false;
+        }
+
+        if (Double.isNaN(instanteInicial)) {
+            instanteInicial = instante;
+        }
+        // Un instante fuera de orden se adelanta al anterior para no viajar hacia atrás
+        ultimoInstante = Math.max(ultimoInstante, instante);
+
+        proxima = (ultimoInstante - instanteInicial) * ciclosPorSegundo;
+        promptPendiente = (int) prompt;
+        salidaPendiente = (int) salida;
+        prefijoPendiente = (int) prefijo;
+        prioridadPendiente = (int) prioridad;
+        solicitudesLeidas++;
+        return true;
+    }
+
+    /**
+     * Lee desde {@link #cursor} un número decimal (con signo, parte fraccionaria y exponente opcionales)
+     * y consume la coma siguiente.
+     *
+     * @param fin límite de la línea
+     * @return valor leído, o NaN si el campo no es numérico
+     */
+    private double leerDecimal(int fin) {
+        int i = cursor;
+        boolean negativo = i < fin && ventana.get(i) == '-';
+        if (negativo) i++;
+
+        long mantisa = 0;
+        int decimales = 0;
+        int digitos = 0;
+        boolean enFraccion = false;
+        while (i < fin) {
+            byte b = ventana.get(i);
+            if (esDigito(b)) {
+                if (mantisa < Long.MAX_VALUE / 10) {
+                    mantisa = mantisa * 10 + (b - '0');
+                    if (enFraccion) decimales++;
+                } else if (!enFraccion) {
+                    decimales--;
+                }
+                digitos++;
+            } else if (b == '.' && !enFraccion) {
+                enFraccion = true;
+            } else {
+                break;
+            }
+            i++;
+        }
+
+        int exponente = 0;
+        if (i < fin && (ventana.get(i) == 'e' || ventana.get(i) == 'E')) {
+            cursor = i + 1;
+            exponente = (int) leerEnteroSinComa(fin);
+            i = cursor;
+        }
+
+        boolean completo = finDeCampo(i, fin);
+        cursor = saltarSeparador(i, fin);
+        if (digitos == 0 || !completo) return Double.NaN;
+        double valor = mantisa * Math.pow(10, exponente - decimales);
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Lee desde {@link #cursor} un entero y consume la coma siguiente.
+     *
+     * @param fin límite de la línea
+     * @return valor leído, o Long.MIN_VALUE si el campo no es numérico
+     */
+    private long leerEntero(int fin) {
+        long valor = leerEnteroSinComa(fin);
+        boolean completo = finDeCampo(cursor, fin);
+        cursor = saltarSeparador(cursor, fin);
+        return completo ? valor : Long.MIN_VALUE;
+    }
+
+    private long leerEnteroSinComa(int fin) {
+        int i = cursor;
+        while (i < fin && esBlanco(ventana.get(i))) i++;
+        boolean negativo = i < fin && ventana.get(i) == '-';
+        if (negativo || (i < fin && ventana.get(i) == '+')) i++;
+
+        long valor = 0;
+        int inicio = i;
+        while (i < fin && esDigito(ventana.get(i))) {
+            valor = valor * 10 + (ventana.get(i) - '0');
+            i++;
+        }
+        cursor = i;
+        if (i == inicio) return Long.MIN_VALUE;
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Indica si en la posición dada termina un campo (solo quedan blancos antes de la coma o del fin de línea).
+     *
+     * @param i posición siguiente al último carácter leído
+     * @param fin límite de la línea
+     * @return true si el campo no tiene caracteres sobrantes
+     */
+    private boolean finDeCampo(int i, int fin) {
+        while (i < fin && esBlanco(ventana.get(i))) i++;
+        return i == fin || ventana.get(i) == ',';
+    }
+
+    /**
+     * Avanza hasta después de la próxima coma (o hasta el fin de la línea).
+     */
+    private int saltarSeparador(int i, int fin) {
+        while (i < fin && ventana.get(i) != ',') i++;
+        return Math.min(i + 1, fin);
+    }
+
+    /**
+     * Busca el próximo salto de línea dentro de la ventana.
+     *
+     * @param desde posición inicial
+     * @return posición del '\n', o -1 si la ventana termina antes
+     */
+    private int buscarFinDeLinea(int desde) {
+        int limite = ventana.limit();
+        for (int i = desde; i < limite; i++) {
+            if (ventana.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Mapea una ventana del archivo que comienza en la posición indicada.
+     * La ventana anterior deja de referenciarse y el sistema la libera al recolectarla.
+     *
+     * @param posicion desplazamiento en bytes dentro del archivo
+     * @throws IOException si falla el mapeo
+     */
+    private void mapear(long posicion) throws IOException {
+        long largo = Math.min(tamanoVentana, tamanoArchivo - posicion);
+        if (largo <= 0) {
+            ventana = null;
+            return;
+        }
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, posicion, largo);
+        inicioVentana = posicion;
+    }
+
+    /**
+     * Marca la traza como agotada y cierra el archivo.
+     */
+    private void finalizar() {
+        proxima = Double.POSITIVE_INFINITY;
+        ventana = null;
+        close();
+    }
+
+    private static boolean esDigito(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean esBlanco(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    @Override
+    public void close() {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("⚠️ No se pudo cerrar la traza: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de solicitudes leídas de la traza hasta el momento.
+     *
+     * @return solicitudes leídas
+     */
+    public long getSolicitudesLeidas() {
+        return solicitudesLeidas;
+    }
+
+    /**
+     * Obtiene la cantidad de líneas descartadas por tener un formato inválido.
+     *
+     * @return líneas inválidas
+     */
+    public long getLineasInvalidas() {
+        return lineasInvalidas;
+    }
+}
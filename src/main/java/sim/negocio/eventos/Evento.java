@@ -0,0 +1,52 @@
+package sim.negocio.eventos;
+
+import sim.modelo.LLMProcess;
+
+/**
+ * Representa un evento programado en la línea de tiempo virtual de la simulación.
+ * Los eventos se ordenan por instante y, ante empates, por orden de programación,
+ * de modo que la ejecución sea determinística.
+ */
+public class Evento implements Comparable<Evento> {
+    private final double tiempo;
+    private final long secuencia;
+    private final TipoEvento tipo;
+    private final LLMProcess proceso;
+
+    /**
+     * Crea un nuevo evento.
+     *
+     * @param tiempo instante virtual en el que ocurre el evento
+     * @param secuencia número de orden de programación (desempate)
+     * @param tipo tipo de evento
+     * @param proceso proceso afectado, o null para las llegadas
+     */
+    public Evento(double tiempo, long secuencia, TipoEvento tipo, LLMProcess proceso) {
+        this.tiempo = tiempo;
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.proceso = proceso;
+    }
+
+    public double getTiempo() {
+        return tiempo;
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public LLMProcess getProceso() {
+        return proceso;
+    }
+
+    @Override
+    public int compareTo(Evento otro) {
+        int porTiempo = Double.compare(tiempo, otro.tiempo);
+        return (porTiempo != 0) ? porTiempo : Long.compare(secuencia, otro.secuencia);
+    }
+}
@@ -0,0 +1,368 @@
+package sim.negocio.eventos;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.HistogramaLatencias;
+import sim.negocio.MMUService;
+import sim.negocio.carga.FuenteCarga;
+import sim.recorder.Auditador;
+import sim.recorder.FilaAuditoria;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Motor de simulación por eventos discretos.
+ * En lugar de avanzar en ciclos fijos donde todos los procesos generan un token,
+ * mantiene una cola de eventos ordenada por tiempo y salta directamente de un evento al siguiente.
+ * Cada proceso decodifica a su propio ritmo, por lo que los períodos ociosos no tienen costo.
+ * Cuando un proceso no obtiene memoria es desalojado (swap) y espera en una cola FIFO
+ * que se vuelve a atender cada vez que se libera memoria.
+ *
+ * La auditoría es compatible con {@link Auditador}: se registra una fila al cierre de cada ciclo
+ * (unidad entera de tiempo virtual) con eventos, como en la simulación por ciclos. Un tramo de
+ * ciclos sin eventos se registra con una sola fila, la de su primer ciclo: el estado no cambia
+ * hasta el ciclo de la fila siguiente, así que el costo de la auditoría sigue a los eventos y no
+ * a la duración. Para una serie por ciclo basta repetir cada fila hasta la siguiente.
+ */
+public class MotorEventos {
+    private final PhysicalMemory ram;
+    private final MMUService mmu;
+    private final Auditador auditador;
+    private final FlujosAleatorios aleatorios;
+    private final FuenteCarga fuente;
+    private final PriorityQueue<Evento> cola = new PriorityQueue<>();
+    private final List<LLMProcess> procesosActivos = new ArrayList<>();
+    private final Deque<LLMProcess> enEspera = new ArrayDeque<>();
+
+    private double periodoDecodeMin = 0.5;
+    private double periodoDecodeMax = 1.5;
+    private double duracionPrefillPorToken = 0.05;
+    private double demoraSwap = 10.0;
+
+    private boolean iniciado = false;
+    private long secuencia = 0;
+    private double tiempoActual = 0.0;
+    private int cicloAbierto = -1;
+    private int siguienteCicloRegistro = 0;
+    // El tramo ocioso en curso ya tiene su fila: al seguirlo en otra llamada no se repite
+    private boolean tramoOciosoRegistrado = false;
+
+    private long eventosProcesados = 0;
+    private long tokensGenerados = 0;
+    private int procesosCompletados = 0;
+    private int swaps = 0;
+    private int procesosRechazados = 0;
+    private int picoMarcosOcupados = 0;
+    private int picoProcesosActivos = 0;
+    private final HistogramaLatencias latencias = new HistogramaLatencias();
+    private final HistogramaLatencias tiemposPrimerToken = new HistogramaLatencias();
+    private final FilaAuditoria filaAuditoria = new FilaAuditoria();
+
+    /**
+     * Crea un nuevo motor de eventos sobre los componentes de negocio indicados.
+     *
+     * @param ram memoria física a utilizar
+     * @param mmu servicio de gestión de memoria
+     * @param auditador auditor donde se registran las métricas por ciclo
+     * @param aleatorios generadores aleatorios derivados de la semilla de la simulación
+     * @param fuente origen de las conversaciones que llegan
+     */
+    public MotorEventos(PhysicalMemory ram, MMUService mmu, Auditador auditador, FlujosAleatorios aleatorios,
+                        FuenteCarga fuente) {
+        this.ram = ram;
+        this.mmu = mmu;
+        this.auditador = auditador;
+        this.aleatorios = aleatorios;
+        this.fuente = fuente;
+    }
+
+    /**
+     * Procesa todos los eventos anteriores al instante indicado.
+     * Puede invocarse repetidas veces para avanzar la simulación por tramos.
+     *
+     * @param tiempoFin instante virtual (exclusivo) hasta el cual simular
+     */
+    public void ejecutarHasta(double tiempoFin) {
+        if (!iniciado) {
+            iniciado = true;
+            programarLlegada();
+        }
+
+        while (!cola.isEmpty() && cola.peek().getTiempo() < tiempoFin) {
+            Evento evento = cola.poll();
+            int cicloEvento = (int) Math.floor(evento.getTiempo());
+            if (cicloEvento != cicloAbierto) {
+                cerrarCiclo();
+                registrarOciosos(cicloEvento);
+                cicloAbierto = cicloEvento;
+            }
+
+            tiempoActual = evento.getTiempo();
+            procesar(evento);
+            eventosProcesados++;
+        }
+
+        if (cicloAbierto >= 0 && cicloAbierto < Math.floor(tiempoFin)) {
+            cerrarCiclo();
+        }
+        if (cicloAbierto < 0 && !Double.isInfinite(tiempoFin)) {
+            registrarOciosos((int) Math.floor(tiempoFin));
+        }
+        tiempoActual = Math.max(tiempoActual, tiempoFin);
+    }
+
+    /**
+     * Aplica el efecto de un evento sobre el estado de la simulación.
+     *
+     * @param evento evento a procesar
+     */
+    private void procesar(Evento evento) {
+        LLMProcess proceso = evento.getProceso();
+        double t = evento.getTiempo();
+
+        switch (evento.getTipo()) {
+            case LLEGADA -> {
+                LLMProcess nuevo = fuente.siguiente();
+                nuevo.setPeriodoDecode(periodoDecodeMin + aleatorios.getLongitudes().nextDouble() * (periodoDecodeMax - periodoDecodeMin));
+                programarLlegada();
+                enEspera.addLast(nuevo);
+                admitirEnEspera(t);
+            }
+            case FIN_PREFILL -> programar(t + proceso.getPeriodoDecode(), TipoEvento.PASO_DECODE, proceso);
+            case PASO_DECODE -> {
+                try {
+                    mmu.asignarMemoriaParaToken(proceso);
+                    mmu.traducirDireccion(proceso, proceso.getContadorTokens() - 1);
+                    proceso.registrarTokenSalida();
+                    tokensGenerados++;
+                    if (proceso.getTokensSalida() == 1) {
+                        tiemposPrimerToken.registrar((int) Math.ceil(t - proceso.getInstanteLlegada()));
+                    }
+
+                    if (proceso.isCompleto()) {
+                        programar(t, TipoEvento.FINALIZACION, proceso);
+                    } else {
+                        programar(t + proceso.getPeriodoDecode(), TipoEvento.PASO_DECODE, proceso);
+                    }
+                } catch (Exception e) {
+                    programar(t, TipoEvento.SWAP_SALIDA, proceso);
+                }
+            }
+            case FINALIZACION -> {
+                mmu.liberarMemoria(proceso);
+                procesosActivos.remove(proceso);
+                procesosCompletados++;
+                latencias.registrar((int) Math.ceil(t - proceso.getInstanteLlegada()));
+                admitirEnEspera(t);
+            }
+            case SWAP_SALIDA -> {
+                mmu.liberarMemoria(proceso);
+                proceso.reiniciarContexto();
+                procesosActivos.remove(proceso);
+                swaps++;
+                programar(t + demoraSwap, TipoEvento.SWAP_ENTRADA, proceso);
+                admitirEnEspera(t);
+            }
+            case SWAP_ENTRADA -> {
+                enEspera.addLast(proceso);
+                admitirEnEspera(t);
+            }
+        }
+    }
+
+    /**
+     * Carga en memoria, en orden de llegada, los procesos en espera cuyo contexto entra
+     * en los marcos libres. Se detiene en el primero que no entra para no adelantarlo.
+     *
+     * @param t instante actual
+     */
+    private void admitirEnEspera(double t) {
+        while (!enEspera.isEmpty()) {
+            LLMProcess proceso = enEspera.peekFirst();
+            int tokens = proceso.getTokensPrompt() + proceso.getTokensSalida();
+            int paginas = (tokens + mmu.getPageSize() - 1) / mmu.getPageSize();
+            if (paginas > ram.getSize()) {
+                // Su contexto no entra ni con la memoria vacía: se descarta para no bloquear la cola
+                enEspera.pollFirst();
+                procesosRechazados++;
+                continue;
+            }
+            if (paginas > ram.getMarcosLibres()) return;
+
+            enEspera.pollFirst();
+            cargarContexto(proceso, t, tokens);
+        }
+    }
+
+    /**
+     * Aloja en memoria el contexto completo de un proceso, deja el proceso activo
+     * y programa el fin de su prefill. Solo se invoca cuando hay marcos suficientes.
+     *
+     * @param proceso proceso a cargar
+     * @param t instante actual
+     * @param tokens cantidad de tokens de contexto a alojar
+     */
+    private void cargarContexto(LLMProcess proceso, double t, int tokens) {
+        try {
+            for (int i = 0; i < tokens; i++) {
+                mmu.asignarMemoriaParaToken(proceso);
+            }
+        } catch (Exception e) {
+            mmu.liberarMemoria(proceso);
+            proceso.reiniciarContexto();
+            enEspera.addFirst(proceso);
+            return;
+        }
+
+        procesosActivos.add(proceso);
+        programar(t + tokens * duracionPrefillPorToken, TipoEvento.FIN_PREFILL, proceso);
+    }
+
+    /**
+     * Programa la próxima llegada de la fuente de carga, si queda alguna.
+     */
+    private void programarLlegada() {
+        double proxima = fuente.proximaLlegada();
+        if (proxima != Double.POSITIVE_INFINITY) {
+            programar(proxima, TipoEvento.LLEGADA, null);
+        }
+    }
+
+    /**
+     * Agrega un evento a la cola.
+     *
+     * @param tiempo instante del evento
+     * @param tipo tipo de evento
+     * @param proceso proceso afectado
+     */
+    private void programar(double tiempo, TipoEvento tipo, LLMProcess proceso) {
+        cola.add(new Evento(tiempo, secuencia++, tipo, proceso));
+    }
+
+    /**
+     * Registra en la auditoría el estado al cierre del ciclo abierto, si lo hay.
+     */
+    private void cerrarCiclo() {
+        if (cicloAbierto < 0) return;
+        registrarFila(cicloAbierto);
+        siguienteCicloRegistro = cicloAbierto + 1;
+        tramoOciosoRegistrado = false;
+        cicloAbierto = -1;
+    }
+
+    /**
+     * Registra el tramo de ciclos sin eventos anterior al indicado con una fila en su primer ciclo.
+     * El estado no cambia entre eventos, así que esa fila vale para todo el tramo.
+     *
+     * @param hasta primer ciclo (exclusivo) del tramo
+     */
+    private void registrarOciosos(int hasta) {
+        if (siguienteCicloRegistro < hasta) {
+            if (!tramoOciosoRegistrado) {
+                registrarFila(siguienteCicloRegistro);
+                tramoOciosoRegistrado = true;
+            }
+            siguienteCicloRegistro = hasta;
+        }
+    }
+
+    /**
+     * Registra en la auditoría una fila con el estado actual.
+     *
+     * @param ciclo ciclo de la fila
+     */
+    private void registrarFila(int ciclo) {
+        int marcosOcupados = ram.getMarcosOcupados();
+        picoMarcosOcupados = Math.max(picoMarcosOcupados, marcosOcupados);
+        picoProcesosActivos = Math.max(picoProcesosActivos, procesosActivos.size());
+        auditador.registrar(filaAuditoria
+                .ciclo(ciclo)
+                .procesosActivos(procesosActivos.size())
+                .marcosOcupados(marcosOcupados)
+                .tlb(mmu.getTlbHits(), mmu.getTlbMisses())
+                .enEspera(enEspera.size()));
+    }
+
+    /**
+     * Define el rango del período de decodificación de cada proceso.
+     * Cada proceso sortea su período uniformemente dentro del rango.
+     *
+     * @param minimo período mínimo (tiempo virtual por token)
+     * @param maximo período máximo (tiempo virtual por token)
+     */
+    public void setRangoPeriodoDecode(double minimo, double maximo) {
+        this.periodoDecodeMin = minimo;
+        this.periodoDecodeMax = maximo;
+    }
+
+    /**
+     * Define el costo de procesar cada token del prompt.
+     *
+     * @param duracionPrefillPorToken tiempo virtual por token de prefill
+     */
+    public void setDuracionPrefillPorToken(double duracionPrefillPorToken) {
+        this.duracionPrefillPorToken = duracionPrefillPorToken;
+    }
+
+    /**
+     * Define la demora entre el desalojo de un proceso y su vuelta a la cola de espera.
+     *
+     * @param demoraSwap tiempo virtual que tarda el swap de salida
+     */
+    public void setDemoraSwap(double demoraSwap) {
+        this.demoraSwap = demoraSwap;
+    }
+
+    public double getTiempoActual() {
+        return tiempoActual;
+    }
+
+    public long getEventosProcesados() {
+        return eventosProcesados;
+    }
+
+    public long getTokensGenerados() {
+        return tokensGenerados;
+    }
+
+    public int getProcesosCompletados() {
+        return procesosCompletados;
+    }
+
+    public int getSwaps() {
+        return swaps;
+    }
+
+    public List<LLMProcess> getProcesosActivos() {
+        return procesosActivos;
+    }
+
+    public int getPicoMarcosOcupados() {
+        return picoMarcosOcupados;
+    }
+
+    public int getPicoProcesosActivos() {
+        return picoProcesosActivos;
+    }
+
+    public int getProcesosRechazados() {
+        return procesosRechazados;
+    }
+
+    public HistogramaLatencias getLatencias() {
+        return latencias;
+    }
+
+    public HistogramaLatencias getTiemposPrimerToken() {
+        return tiemposPrimerToken;
+    }
+
+    public int getProcesosEnEspera() {
+        return enEspera.size();
+    }
+}
@@ -0,0 +1,19 @@
+package sim.negocio.eventos;
+
+/**
+ * Tipos de evento que maneja el motor de simulación por eventos discretos.
+ */
+public enum TipoEvento {
+    /** Llega una nueva conversación y aloja su prompt. */
+    LLEGADA,
+    /** Termina el procesamiento del prompt; comienza la decodificación. */
+    FIN_PREFILL,
+    /** El proceso genera un token de respuesta. */
+    PASO_DECODE,
+    /** El proceso generó toda su respuesta y libera su memoria. */
+    FINALIZACION,
+    /** El proceso no obtuvo memoria y es desalojado de la RAM. */
+    SWAP_SALIDA,
+    /** Un proceso desalojado intenta volver a cargar su contexto. */
+    SWAP_ENTRADA
+}
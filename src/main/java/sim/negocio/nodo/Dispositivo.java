@@ -0,0 +1,85 @@
+package sim.negocio.nodo;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.negocio.carga.ColaCarga;
+import sim.recorder.Auditador;
+
+/**
+ * Un acelerador del nodo: memoria física, MMU con su propia TLB y simulación propia.
+ * No genera llegadas: recibe los procesos que el nodo le asigna.
+ */
+public class Dispositivo {
+    private final int id;
+    private final PhysicalMemory ram;
+    private final MMUService mmu;
+    private final ColaCarga cola = new ColaCarga();
+    private final SimulationManager simulador;
+
+    /**
+     * Crea un dispositivo con la memoria, TLB y planificación que describe el perfil.
+     *
+     * @param id índice del dispositivo en el nodo
+     * @param perfil perfil de configuración de cada dispositivo
+     */
+    public Dispositivo(int id, Perfil perfil) {
+        this.id = id;
+        this.ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        this.mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        this.simulador = new SimulationManager(ram, mmu, Auditador.sinSalida(), perfil, cola);
+        this.simulador.setSilencioso(true);
+    }
+
+    /**
+     * Asigna un proceso al dispositivo; entra en su próximo ciclo.
+     *
+     * @param proceso proceso ubicado en este dispositivo
+     */
+    public void recibir(LLMProcess proceso) {
+        cola.encolar(proceso);
+    }
+
+    /**
+     * Avanza un ciclo la simulación del dispositivo.
+     */
+    public void ejecutarCiclo() {
+        simulador.ejecutarCiclo();
+    }
+
+    /**
+     * Obtiene la fracción de marcos ocupados.
+     *
+     * @return ocupación entre 0 y 1
+     */
+    public double getOcupacion() {
+        return (double) ram.getMarcosOcupados() / ram.getSize();
+    }
+
+    /**
+     * Estima la carga del dispositivo como procesos en memoria, esperando admisión o recién asignados.
+     *
+     * @return cantidad de procesos a cargo del dispositivo
+     */
+    public int getProcesosAsignados() {
+        return simulador.getProcesosActivos().size() + simulador.getProcesosEnEspera() + cola.getPendientes();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public PhysicalMemory getRam() {
+        return ram;
+    }
+
+    public MMUService getMmu() {
+        return mmu;
+    }
+
+    public SimulationManager getSimulador() {
+        return simulador;
+    }
+}
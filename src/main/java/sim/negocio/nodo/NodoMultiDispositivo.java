@@ -0,0 +1,255 @@
+package sim.negocio.nodo;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.negocio.EstadisticaWelford;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.carga.FuenteCarga;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Nodo de inferencia con varios dispositivos, cada uno con su propia memoria y TLB.
+ * Una única fuente de carga genera las conversaciones; la política de ubicación decide
+ * en qué dispositivo se aloja cada una y, a partir de ahí, el dispositivo la atiende solo.
+ *
+ * En cada ciclo los dispositivos avanzan en paralelo, uno por hilo, y el nodo espera a que
+ * terminen todos antes de ubicar las llegadas del ciclo siguiente. Como la ubicación se decide
+ * en el hilo del nodo y cada dispositivo solo toca su propio estado, el resultado no depende
+ * del orden en que terminen los hilos.
+ */
+public class NodoMultiDispositivo implements AutoCloseable {
+    private final Perfil perfil;
+    private final List<Dispositivo> dispositivos = new ArrayList<>();
+    private final List<Callable<Void>> pasos = new ArrayList<>();
+    private final PoliticaUbicacion ubicacion;
+    private final FuenteCarga fuente;
+    private final ExecutorService pool;
+    private PrintWriter salida;
+
+    private int ciclo = 0;
+    private final double[] ocupaciones;
+    private final EstadisticaWelford desbalance = new EstadisticaWelford();
+    private double picoDesbalance = 0.0;
+
+    /**
+     * Crea un nodo con la cantidad de dispositivos y la política de ubicación del perfil.
+     *
+     * @param perfil perfil de cada dispositivo y de la carga del nodo
+     */
+    public NodoMultiDispositivo(Perfil perfil) {
+        this.perfil = perfil;
+        this.ubicacion = PoliticaUbicacion.desdeTexto(perfil.getUbicacion());
+        this.fuente = FuenteCarga.desdePerfil(perfil, new FlujosAleatorios(perfil.getSemilla()));
+
+        int cantidad = perfil.getDispositivos();
+        for (int i = 0; i < cantidad; i++) {
+            Dispositivo dispositivo = new Dispositivo(i, perfil);
+            dispositivos.add(dispositivo);
+            pasos.add(() -> {
+                dispositivo.ejecutarCiclo();
+                return null;
+            });
+        }
+        this.ocupaciones = new double[cantidad];
+        // Con un solo dispositivo no tiene sentido pagar el traspaso entre hilos
+        this.pool = (cantidad > 1) ? Executors.newFixedThreadPool(cantidad) : null;
+    }
+
+    /**
+     * Escribe una fila por ciclo con la ocupación de cada dispositivo y el desbalance del nodo.
+     *
+     * @param rutaArchivo ruta del CSV de salida
+     * @throws IOException si no se puede crear el archivo
+     */
+    public void registrarEn(String rutaArchivo) throws IOException {
+        salida = new PrintWriter(new BufferedWriter(new FileWriter(rutaArchivo)));
+        StringBuilder encabezado = new StringBuilder("Ciclo");
+        for (int i = 0; i < dispositivos.size(); i++) {
+            encabezado.append(",Ocupacion_D").append(i);
+        }
+        encabezado.append(",Desbalance,Procesos_Activos,En_Espera");
+        salida.println(encabezado);
+    }
+
+    /**
+     * Ejecuta un ciclo del nodo: ubica las llegadas, avanza todos los dispositivos en paralelo
+     * y registra las métricas de ocupación.
+     *
+     * @throws InterruptedException si se interrumpe la espera de los dispositivos
+     * @throws ExecutionException si falla el ciclo de algún dispositivo
+     */
+    public void ejecutarCiclo() throws InterruptedException, ExecutionException {
+        while (fuente.proximaLlegada() < ciclo + 1) {
+            LLMProcess proceso = fuente.siguiente();
+            dispositivos.get(ubicacion.elegir(proceso, dispositivos)).recibir(proceso);
+        }
+
+        if (pool == null) {
+            dispositivos.get(0).ejecutarCiclo();
+        } else {
+            for (Future<Void> futuro : pool.invokeAll(pasos)) {
+                futuro.get();
+            }
+        }
+
+        registrarCiclo();
+        ciclo++;
+    }
+
+    /**
+     * Ejecuta la cantidad de ciclos indicada.
+     *
+     * @param ciclos ciclos a simular
+     * @throws InterruptedException si se interrumpe la espera de los dispositivos
+     * @throws ExecutionException si falla el ciclo de algún dispositivo
+     */
+    public void ejecutar(int ciclos) throws InterruptedException, ExecutionException {
+        for (int i = 0; i < ciclos; i++) {
+            ejecutarCiclo();
+        }
+    }
+
+    /**
+     * Calcula la ocupación de cada dispositivo y el desbalance del ciclo (máximo sobre media, menos uno),
+     * y los acumula en las estadísticas del nodo.
+     */
+    private void registrarCiclo() {
+        double suma = 0.0;
+        double maximo = 0.0;
+        int activos = 0;
+        int enEspera = 0;
+        for (int i = 0; i < dispositivos.size(); i++) {
+            Dispositivo d = dispositivos.get(i);
+            ocupaciones[i] = d.getOcupacion();
+            suma += ocupaciones[i];
+            maximo = Math.max(maximo, ocupaciones[i]);
+            activos += d.getSimulador().getProcesosActivos().size();
+            enEspera += d.getSimulador().getProcesosEnEspera();
+        }
+        double media = suma / dispositivos.size();
+        double desbalanceCiclo = (media > 0) ? maximo / media - 1.0 : 0.0;
+        desbalance.agregar(desbalanceCiclo);
+        picoDesbalance = Math.max(picoDesbalance, desbalanceCiclo);
+
+        if (salida != null) {
+            StringBuilder fila = new StringBuilder().append(ciclo);
+            for (double ocupacion : ocupaciones) {
+                fila.append(',').append(String.format(Locale.ROOT, "%.4f", ocupacion));
+            }
+            fila.append(String.format(Locale.ROOT, ",%.4f,%d,%d", desbalanceCiclo, activos, enEspera));
+            salida.println(fila);
+        }
+    }
+
+    /**
+     * Detiene los hilos de los dispositivos y cierra la fuente de carga y el CSV, si lo hay.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        for (Dispositivo dispositivo : dispositivos) {
+            dispositivo.getSimulador().cerrar();
+        }
+        try {
+            fuente.close();
+        } catch (Exception e) {
+            System.err.println("⚠️ No se pudo cerrar la fuente de carga: " + e.getMessage());
+        }
+        if (salida != null) {
+            salida.close();
+        }
+    }
+
+    /**
+     * Obtiene los tokens de respuesta generados entre todos los dispositivos.
+     *
+     * @return total de tokens de decode
+     */
+    public long getTokensGenerados() {
+        long total = 0;
+        for (Dispositivo d : dispositivos) {
+            total += d.getSimulador().getTokensGenerados();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene las solicitudes completadas entre todos los dispositivos.
+     *
+     * @return total de procesos completados
+     */
+    public int getProcesosCompletados() {
+        int total = 0;
+        for (Dispositivo d : dispositivos) {
+            total += d.getSimulador().getProcesosCompletados();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene los procesos eliminados por falta de memoria entre todos los dispositivos.
+     *
+     * @return total de procesos eliminados
+     */
+    public int getProcesosEliminados() {
+        int total = 0;
+        for (Dispositivo d : dispositivos) {
+            total += d.getSimulador().getProcesosEliminados();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene las solicitudes completadas por segundo de tiempo simulado.
+     *
+     * @return throughput agregado del nodo
+     */
+    public double getSolicitudesPorSegundoSimulado() {
+        return (ciclo == 0) ? 0.0 : getProcesosCompletados() / (ciclo * perfil.getSegundosPorCiclo());
+    }
+
+    /**
+     * Obtiene los tokens de respuesta por segundo de tiempo simulado.
+     *
+     * @return tokens por segundo agregados del nodo
+     */
+    public double getTokensPorSegundoSimulado() {
+        return (ciclo == 0) ? 0.0 : getTokensGenerados() / (ciclo * perfil.getSegundosPorCiclo());
+    }
+
+    public List<Dispositivo> getDispositivos() {
+        return Collections.unmodifiableList(dispositivos);
+    }
+
+    public int getCicloActual() {
+        return ciclo;
+    }
+
+    /**
+     * Obtiene las estadísticas del desbalance de ocupación por ciclo.
+     *
+     * @return media y varianza del desbalance (0 = ocupación pareja)
+     */
+    public EstadisticaWelford getDesbalance() {
+        return desbalance;
+    }
+
+    public double getPicoDesbalance() {
+        return picoDesbalance;
+    }
+}
@@ -0,0 +1,40 @@
+package sim.negocio.nodo;
+
+import sim.modelo.LLMProcess;
+
+import java.util.List;
+
+/**
+ * Decide en qué dispositivo del nodo se ubica cada conversación nueva.
+ */
+public interface PoliticaUbicacion {
+
+    /**
+     * Elige el dispositivo para un proceso recién llegado.
+     *
+     * @param proceso proceso a ubicar
+     * @param dispositivos dispositivos del nodo
+     * @return índice del dispositivo elegido
+     */
+    int elegir(LLMProcess proceso, List<Dispositivo> dispositivos);
+
+    /**
+     * Crea una política a partir de su nombre: menosCargado, roundRobin o afinidad.
+     *
+     * @param nombre nombre de la política
+     * @return nueva instancia de la política
+     * @throws IllegalArgumentException si el nombre no corresponde a ninguna política
+     */
+    static PoliticaUbicacion desdeTexto(String nombre) {
+        switch (nombre.trim().toLowerCase()) {
+            case "menoscargado":
+                return new UbicacionMenosCargado();
+            case "roundrobin":
+                return new UbicacionRoundRobin();
+            case "afinidad":
+                return new UbicacionAfinidadPrefijo();
+            default:
+                throw new IllegalArgumentException("Política de ubicación desconocida: " + nombre);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package sim.negocio.nodo;
+
+import sim.modelo.LLMProcess;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Afinidad por prefijo: las conversaciones que comparten prefijo van al mismo dispositivo,
+ * donde ese prefijo ya está cargado. La primera conversación de cada prefijo, y las que no
+ * tienen prefijo, van al dispositivo menos cargado.
+ */
+public class UbicacionAfinidadPrefijo implements PoliticaUbicacion {
+    private final Map<Integer, Integer> dispositivoPorPrefijo = new HashMap<>();
+
+    @Override
+    public int elegir(LLMProcess proceso, List<Dispositivo> dispositivos) {
+        if (proceso.getIdPrefijo() == LLMProcess.SIN_PREFIJO) {
+            return UbicacionMenosCargado.menosCargado(dispositivos);
+        }
+        return dispositivoPorPrefijo.computeIfAbsent(proceso.getIdPrefijo(),
+                k -> UbicacionMenosCargado.menosCargado(dispositivos));
+    }
+}
@@ -0,0 +1,38 @@
+package sim.negocio.nodo;
+
+import sim.modelo.LLMProcess;
+
+import java.util.List;
+
+/**
+ * Ubica cada proceso en el dispositivo con menos procesos a cargo y, a igual cantidad,
+ * en el que tiene menos memoria ocupada. Los procesos a cargo incluyen los recibidos en el
+ * mismo ciclo, que todavía no ocupan marcos: así una ráfaga se reparte entre los dispositivos
+ * en lugar de caer entera en el que tenía la memoria más libre al empezar el ciclo.
+ */
+public class UbicacionMenosCargado implements PoliticaUbicacion {
+
+    @Override
+    public int elegir(LLMProcess proceso, List<Dispositivo> dispositivos) {
+        return menosCargado(dispositivos);
+    }
+
+    /**
+     * Busca el dispositivo menos cargado.
+     *
+     * @param dispositivos dispositivos del nodo
+     * @return índice del dispositivo con menos procesos a cargo y, entre ellos, menor ocupación
+     */
+    static int menosCargado(List<Dispositivo> dispositivos) {
+        int mejor = 0;
+        for (int i = 1; i < dispositivos.size(); i++) {
+            Dispositivo d = dispositivos.get(i);
+            Dispositivo m = dispositivos.get(mejor);
+            int comparacion = Integer.compare(d.getProcesosAsignados(), m.getProcesosAsignados());
+            if (comparacion < 0 || (comparacion == 0 && d.getOcupacion() < m.getOcupacion())) {
+                mejor = i;
+            }
+        }
+        return mejor;
+    }
+}
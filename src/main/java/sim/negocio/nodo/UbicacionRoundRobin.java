@@ -0,0 +1,19 @@
+package sim.negocio.nodo;
+
+import sim.modelo.LLMProcess;
+
+import java.util.List;
+
+/**
+ * Reparte los procesos entre los dispositivos por turnos, sin mirar su carga.
+ */
+public class UbicacionRoundRobin implements PoliticaUbicacion {
+    private int siguiente = 0;
+
+    @Override
+    public int elegir(LLMProcess proceso, List<Dispositivo> dispositivos) {
+        int elegido = siguiente;
+        siguiente = (siguiente + 1) % dispositivos.size();
+        return elegido;
+    }
+}
@@ -0,0 +1,92 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trabajo elegido por el planificador para un paso de la simulación.
+ * Cada entrada es un proceso y la cantidad de tokens que procesa en el paso:
+ * un fragmento de su prompt (prefill) o un token de respuesta (decode).
+ * La instancia se reutiliza entre ciclos para no generar basura por paso.
+ */
+public class Lote {
+    private final List<LLMProcess> procesos = new ArrayList<>();
+    private int[] tokens = new int[16];
+    private boolean[] prefill = new boolean[16];
+    private int tokensPrefill;
+    private int tokensDecode;
+
+    /**
+     * Vacía el lote para planificar un nuevo paso.
+     */
+    void limpiar() {
+        procesos.clear();
+        tokensPrefill = 0;
+        tokensDecode = 0;
+    }
+
+    /**
+     * Agrega una entrada al lote.
+     *
+     * @param proceso proceso que avanza en este paso
+     * @param cantidad tokens que procesa
+     * @param esPrefill true si los tokens son del prompt
+     */
+    void agregar(LLMProcess proceso, int cantidad, boolean esPrefill) {
+        int i = procesos.size();
+        if (i == tokens.length) {
+            tokens = Arrays.copyOf(tokens, i * 2);
+            prefill = Arrays.copyOf(prefill, i * 2);
+        }
+        procesos.add(proceso);
+        tokens[i] = cantidad;
+        prefill[i] = esPrefill;
+        if (esPrefill) {
+            tokensPrefill += cantidad;
+        } else {
+            tokensDecode += cantidad;
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de secuencias del lote.
+     *
+     * @return tamaño del lote
+     */
+    public int getTamano() {
+        return procesos.size();
+    }
+
+    public LLMProcess getProceso(int i) {
+        return procesos.get(i);
+    }
+
+    public int getTokens(int i) {
+        return tokens[i];
+    }
+
+    public boolean isPrefill(int i) {
+        return prefill[i];
+    }
+
+    /**
+     * Obtiene la cantidad de tokens de prompt del lote.
+     *
+     * @return tokens de prefill planificados
+     */
+    public int getTokensPrefill() {
+        return tokensPrefill;
+    }
+
+    /**
+     * Obtiene la cantidad de tokens de respuesta del lote.
+     *
+     * @return tokens de decode planificados
+     */
+    public int getTokensDecode() {
+        return tokensDecode;
+    }
+}
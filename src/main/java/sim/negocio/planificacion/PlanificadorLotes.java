@@ -0,0 +1,200 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Planificador de lotes continuo (continuous batching), como el de los motores de servicio de LLMs.
+ * En cada paso arma el lote respetando dos restricciones:
+ * - maxSecuencias: procesos admitidos a la vez (los que tienen contexto en memoria)
+ * - maxTokens: tokens procesados en el paso, sumando prefill y decode
+ *
+ * Primero entra un token de decode por cada proceso que ya terminó su prompt, luego los fragmentos
+ * de prefill pendientes (de a lo sumo tamanoChunk tokens) y por último se admiten procesos de la
+ * cola de espera mientras quede lugar. El resto sigue esperando. El orden dentro de cada etapa
+ * y el orden de admisión los decide la {@link PoliticaPlanificacion}.
+ *
+ * Con todos los límites en {@link #SIN_LIMITE} se reproduce el comportamiento original:
+ * todos los procesos avanzan en cada ciclo y el prompt se procesa en un solo paso.
+ */
+public class PlanificadorLotes {
+    public static final int SIN_LIMITE = 0;
+
+    private final int maxSecuencias;
+    private final int maxTokens;
+    private final int tamanoChunk;
+    private final PoliticaPlanificacion politica;
+    private final Comparator<LLMProcess> porClave;
+    private final Lote lote = new Lote();
+    private LLMProcess[] orden = new LLMProcess[16];
+
+    /**
+     * Crea un planificador con los límites indicados.
+     *
+     * @param maxSecuencias procesos admitidos a la vez, o {@link #SIN_LIMITE}
+     * @param maxTokens tokens por paso, o {@link #SIN_LIMITE}
+     * @param tamanoChunk tokens de prompt por proceso y paso, o {@link #SIN_LIMITE}
+     * @param politica política que ordena la admisión y los pasos
+     */
+    public PlanificadorLotes(int maxSecuencias, int maxTokens, int tamanoChunk, PoliticaPlanificacion politica) {
+        if (maxSecuencias < 0 || maxTokens < 0 || tamanoChunk < 0) {
+            throw new IllegalArgumentException("Los límites del lote no pueden ser negativos");
+        }
+        this.maxSecuencias = (maxSecuencias == SIN_LIMITE) ? Integer.MAX_VALUE : maxSecuencias;
+        this.maxTokens = (maxTokens == SIN_LIMITE) ? Integer.MAX_VALUE : maxTokens;
+        this.tamanoChunk = (tamanoChunk == SIN_LIMITE) ? Integer.MAX_VALUE : tamanoChunk;
+        this.politica = politica;
+        this.porClave = Comparator.comparingDouble(politica::clave);
+    }
+
+    /**
+     * Crea el planificador con los límites de un perfil.
+     *
+     * @param perfil perfil de configuración
+     * @return planificador configurado
+     */
+    public static PlanificadorLotes desdePerfil(Perfil perfil) {
+        return new PlanificadorLotes(perfil.getMaxLoteSecuencias(), perfil.getMaxLoteTokens(), perfil.getChunkPrefill(),
+                PoliticaPlanificacion.desdeTexto(perfil.getPolitica()));
+    }
+
+    /**
+     * Elige el trabajo del próximo paso. Los procesos admitidos pasan de la cola de espera
+     * a la lista de activos.
+     *
+     * @param activos procesos admitidos, con contexto en memoria
+     * @param enEspera procesos que llegaron y todavía no fueron admitidos
+     * @return lote del paso (la instancia se reutiliza en la próxima llamada)
+     */
+    public Lote planificar(List<LLMProcess> activos, Deque<LLMProcess> enEspera) {
+        lote.limpiar();
+        int presupuesto = maxTokens;
+        int n = ordenar(activos);
+
+        for (int i = 0; i < n && presupuesto > 0; i++) {
+            if (!enPrefill(orden[i])) {
+                agregar(orden[i], 1, false);
+                presupuesto--;
+            }
+        }
+
+        for (int i = 0; i < n && presupuesto > 0; i++) {
+            if (enPrefill(orden[i])) {
+                presupuesto -= agregarPrefill(orden[i], presupuesto);
+            }
+        }
+        Arrays.fill(orden, 0, n, null);
+
+        while (!enEspera.isEmpty() && presupuesto > 0 && activos.size() < maxSecuencias) {
+            LLMProcess proceso = siguienteEnEspera(enEspera);
+            activos.add(proceso);
+            if (enPrefill(proceso)) {
+                presupuesto -= agregarPrefill(proceso, presupuesto);
+            } else {
+                agregar(proceso, 1, false);
+                presupuesto--;
+            }
+        }
+
+        return lote;
+    }
+
+    /**
+     * Copia los procesos activos al arreglo de orden, ordenados por la clave de la política.
+     * Con orden de llegada no hace falta ordenar: los activos ya se admitieron en ese orden.
+     *
+     * @param activos procesos admitidos
+     * @return cantidad de procesos copiados
+     */
+    private int ordenar(List<LLMProcess> activos) {
+        int n = activos.size();
+        if (orden.length < n) {
+            orden = new LLMProcess[Math.max(n, orden.length * 2)];
+        }
+        for (int i = 0; i < n; i++) {
+            orden[i] = activos.get(i);
+        }
+        if (!politica.isOrdenLlegada()) {
+            Arrays.sort(orden, 0, n, porClave);
+        }
+        return n;
+    }
+
+    /**
+     * Retira de la cola de espera el próximo proceso a admitir según la política.
+     *
+     * @param enEspera cola de espera, no vacía
+     * @return proceso con la menor clave (el primero de la cola con orden de llegada)
+     */
+    private LLMProcess siguienteEnEspera(Deque<LLMProcess> enEspera) {
+        if (politica.isOrdenLlegada()) {
+            return enEspera.pollFirst();
+        }
+        Iterator<LLMProcess> it = enEspera.iterator();
+        LLMProcess mejor = it.next();
+        double claveMejor = politica.clave(mejor);
+        while (it.hasNext()) {
+            LLMProcess candidato = it.next();
+            double c = politica.clave(candidato);
+            if (c < claveMejor) {
+                mejor = candidato;
+                claveMejor = c;
+            }
+        }
+        enEspera.removeFirstOccurrence(mejor);
+        return mejor;
+    }
+
+    /**
+     * Agrega al lote el próximo fragmento del prompt de un proceso.
+     *
+     * @param proceso proceso en prefill
+     * @param presupuesto tokens que quedan en el paso
+     * @return tokens asignados
+     */
+    private int agregarPrefill(LLMProcess proceso, int presupuesto) {
+        int pendientes = proceso.getTokensPrompt() - proceso.getContadorTokens();
+        int fragmento = Math.min(pendientes, Math.min(tamanoChunk, presupuesto));
+        agregar(proceso, fragmento, true);
+        return fragmento;
+    }
+
+    /**
+     * Agrega una entrada al lote e informa el servicio a la política, para que las
+     * decisiones siguientes del mismo paso ya lo tengan en cuenta.
+     *
+     * @param proceso proceso que avanza
+     * @param tokens tokens que procesa
+     * @param esPrefill true si los tokens son del prompt
+     */
+    private void agregar(LLMProcess proceso, int tokens, boolean esPrefill) {
+        lote.agregar(proceso, tokens, esPrefill);
+        politica.registrarServicio(proceso, tokens);
+    }
+
+    private static boolean enPrefill(LLMProcess proceso) {
+        return proceso.getContadorTokens() < proceso.getTokensPrompt();
+    }
+
+    public PoliticaPlanificacion getPolitica() {
+        return politica;
+    }
+
+    public int getMaxSecuencias() {
+        return maxSecuencias;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getTamanoChunk() {
+        return tamanoChunk;
+    }
+}
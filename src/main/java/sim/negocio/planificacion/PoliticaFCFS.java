@@ -0,0 +1,25 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+
+/**
+ * Primero en llegar, primero en ser atendido. Ante falta de memoria se descarta
+ * el proceso que llegó último, que es el que menos trabajo pierde.
+ */
+public class PoliticaFCFS implements PoliticaPlanificacion {
+
+    @Override
+    public double clave(LLMProcess proceso) {
+        return proceso.getInstanteLlegada();
+    }
+
+    @Override
+    public boolean isOrdenLlegada() {
+        return true;
+    }
+
+    @Override
+    public String getNombre() {
+        return "fcfs";
+    }
+}
@@ -0,0 +1,144 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reparto justo del servicio (fair-share): atiende primero al cliente que menos tokens recibió.
+ * Los procesos que comparten prefijo se consideran un mismo cliente y reparten su cuota,
+ * de modo que una aplicación con muchas conversaciones no acapara el lote; cada proceso
+ * sin prefijo es un cliente por sí solo. Ambos se comparan con la misma medida.
+ *
+ * El servicio de cada cliente decae a la mitad cada {@link #MEDIA_VIDA_TOKENS} tokens servidos
+ * en total, así que cuenta el uso reciente y no todo el historial. Un cliente se olvida cuando
+ * se retiran todos sus procesos.
+ */
+public class PoliticaJusta implements PoliticaPlanificacion {
+    public static final long MEDIA_VIDA_TOKENS = 1 << 14;
+
+    /**
+     * Servicio recibido por un cliente, con decaimiento perezoso: se guarda el valor en el momento
+     * de la última actualización y se descuenta al leerlo.
+     */
+    private static final class Cliente {
+        private final int prefijo;
+        private double servicio;
+        private long marca;
+        private int procesos;
+
+        Cliente(int prefijo) {
+            this.prefijo = prefijo;
+        }
+
+        double valor(long servidos) {
+            long transcurrido = servidos - marca;
+            return (transcurrido == 0) ? servicio : servicio * Math.pow(0.5, (double) transcurrido / MEDIA_VIDA_TOKENS);
+        }
+
+        void sumar(int tokens, long servidos) {
+            servicio = valor(servidos) + tokens;
+            marca = servidos;
+        }
+    }
+
+    private final Map<Integer, Cliente> grupos = new HashMap<>();
+    private final Map<Integer, Cliente> clientesPorPid = new HashMap<>();
+    private long servidos = 0;
+
+    @Override
+    public double clave(LLMProcess proceso) {
+        Cliente cliente = clientesPorPid.get(proceso.getPid());
+        if (cliente == null && proceso.getIdPrefijo() != LLMProcess.SIN_PREFIJO) {
+            // Un proceso todavía no atendido hereda el uso de su grupo
+            cliente = grupos.get(proceso.getIdPrefijo());
+        }
+        return (cliente != null) ? cliente.valor(servidos) : 0;
+    }
+
+    @Override
+    public void registrarServicio(LLMProcess proceso, int tokens) {
+        Cliente cliente = clientesPorPid.get(proceso.getPid());
+        if (cliente == null) {
+            cliente = (proceso.getIdPrefijo() != LLMProcess.SIN_PREFIJO)
+                    ? grupos.computeIfAbsent(proceso.getIdPrefijo(), Cliente::new)
+                    : new Cliente(LLMProcess.SIN_PREFIJO);
+            cliente.procesos++;
+            clientesPorPid.put(proceso.getPid(), cliente);
+        }
+        cliente.sumar(tokens, servidos);
+        servidos += tokens;
+    }
+
+    @Override
+    public void retirar(LLMProcess proceso) {
+        Cliente cliente = clientesPorPid.remove(proceso.getPid());
+        if (cliente != null && --cliente.procesos == 0 && cliente.prefijo != LLMProcess.SIN_PREFIJO) {
+            grupos.remove(cliente.prefijo);
+        }
+    }
+
+    @Override
+    public void guardarEstado(DataOutput salida) throws IOException {
+        salida.writeLong(servidos);
+        salida.writeInt(grupos.size());
+        for (Map.Entry<Integer, Cliente> entrada : grupos.entrySet()) {
+            salida.writeInt(entrada.getKey());
+            salida.writeDouble(entrada.getValue().servicio);
+            salida.writeLong(entrada.getValue().marca);
+        }
+        // Cada proceso con su grupo, o con su propio servicio si no tiene prefijo
+        salida.writeInt(clientesPorPid.size());
+        for (Map.Entry<Integer, Cliente> entrada : clientesPorPid.entrySet()) {
+            salida.writeInt(entrada.getKey());
+            int grupo = entrada.getValue().prefijo;
+            salida.writeInt(grupo);
+            if (grupo == LLMProcess.SIN_PREFIJO) {
+                salida.writeDouble(entrada.getValue().servicio);
+                salida.writeLong(entrada.getValue().marca);
+            }
+        }
+    }
+
+    @Override
+    public void restaurarEstado(DataInput entrada) throws IOException {
+        grupos.clear();
+        clientesPorPid.clear();
+        servidos = entrada.readLong();
+        int cantidadGrupos = entrada.readInt();
+        for (int i = 0; i < cantidadGrupos; i++) {
+            int prefijo = entrada.readInt();
+            Cliente grupo = new Cliente(prefijo);
+            grupo.servicio = entrada.readDouble();
+            grupo.marca = entrada.readLong();
+            grupos.put(prefijo, grupo);
+        }
+        int cantidadProcesos = entrada.readInt();
+        for (int i = 0; i < cantidadProcesos; i++) {
+            int pid = entrada.readInt();
+            int prefijo = entrada.readInt();
+            Cliente cliente;
+            if (prefijo == LLMProcess.SIN_PREFIJO) {
+                cliente = new Cliente(LLMProcess.SIN_PREFIJO);
+                cliente.servicio = entrada.readDouble();
+                cliente.marca = entrada.readLong();
+            } else {
+                cliente = grupos.get(prefijo);
+                if (cliente == null) {
+                    throw new IOException("Estado de la política justa inconsistente: grupo " + prefijo + " ausente");
+                }
+            }
+            cliente.procesos++;
+            clientesPorPid.put(pid, cliente);
+        }
+    }
+
+    @Override
+    public String getNombre() {
+        return "justa";
+    }
+}
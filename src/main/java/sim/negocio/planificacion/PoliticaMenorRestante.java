@@ -0,0 +1,25 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+
+/**
+ * Menor trabajo restante primero (SRF): adelanta a los procesos a los que les quedan menos
+ * tokens por procesar, entre prompt pendiente y respuesta. Minimiza la latencia media a costa
+ * de la cola de las solicitudes largas. Las respuestas sin límite quedan al final.
+ */
+public class PoliticaMenorRestante implements PoliticaPlanificacion {
+
+    @Override
+    public double clave(LLMProcess proceso) {
+        if (proceso.getTokensSalidaMax() == LLMProcess.SIN_LIMITE) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int promptPendiente = Math.max(0, proceso.getTokensPrompt() - proceso.getContadorTokens());
+        return promptPendiente + proceso.getTokensSalidaMax() - proceso.getTokensSalida();
+    }
+
+    @Override
+    public String getNombre() {
+        return "srf";
+    }
+}
@@ -0,0 +1,122 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Política de planificación: decide el orden de admisión de la cola de espera, el orden en que
+ * avanzan los procesos dentro del lote y qué proceso se descarta cuando se agota la memoria.
+ *
+ * Las tres decisiones salen de una misma clave: el proceso con menor clave es el más urgente
+ * (se admite y avanza primero) y el de mayor clave es la víctima.
+ */
+public interface PoliticaPlanificacion {
+
+    /**
+     * Calcula la clave de planificación de un proceso.
+     *
+     * @param proceso proceso a evaluar
+     * @return clave; menor significa más urgente
+     */
+    double clave(LLMProcess proceso);
+
+    /**
+     * Obtiene el nombre con que se selecciona la política en los perfiles.
+     *
+     * @return nombre de la política
+     */
+    String getNombre();
+
+    /**
+     * Indica si la clave respeta el orden de llegada. En ese caso el planificador
+     * puede admitir desde el frente de la cola y no reordenar el lote.
+     *
+     * @return true si la política equivale al orden de llegada
+     */
+    default boolean isOrdenLlegada() {
+        return false;
+    }
+
+    /**
+     * Informa que un proceso recibió servicio en el paso actual.
+     * Las políticas que reparten el servicio lo usan para llevar la cuenta.
+     *
+     * @param proceso proceso atendido
+     * @param tokens tokens procesados
+     */
+    default void registrarServicio(LLMProcess proceso, int tokens) {
+    }
+
+    /**
+     * Informa que un proceso dejó la simulación (completado, eliminado o podado),
+     * para que las políticas que llevan cuentas por proceso las descarten.
+     *
+     * @param proceso proceso retirado
+     */
+    default void retirar(LLMProcess proceso) {
+    }
+
+    /**
+     * Escribe el estado acumulado de la política para un punto de control.
+     * Las políticas sin estado no escriben nada.
+     *
+     * @param salida destino binario
+     * @throws IOException si falla la escritura
+     */
+    default void guardarEstado(DataOutput salida) throws IOException {
+    }
+
+    /**
+     * Restaura el estado escrito por {@link #guardarEstado(DataOutput)}.
+     *
+     * @param entrada origen binario
+     * @throws IOException si falla la lectura
+     */
+    default void restaurarEstado(DataInput entrada) throws IOException {
+    }
+
+    /**
+     * Elige el proceso a descartar cuando no hay memoria para continuar.
+     *
+     * @param activos procesos con contexto en memoria
+     * @return proceso con la mayor clave, o null si no hay activos
+     */
+    default LLMProcess elegirVictima(List<LLMProcess> activos) {
+        LLMProcess victima = null;
+        double peor = Double.NEGATIVE_INFINITY;
+        for (LLMProcess proceso : activos) {
+            double c = clave(proceso);
+            if (victima == null || c > peor) {
+                victima = proceso;
+                peor = c;
+            }
+        }
+        return victima;
+    }
+
+    /**
+     * Crea una política a partir de su nombre: fcfs, srf, prioridad o justa.
+     *
+     * @param nombre nombre de la política
+     * @return nueva instancia de la política
+     * @throws IllegalArgumentException si el nombre no corresponde a ninguna política
+     */
+    static PoliticaPlanificacion desdeTexto(String nombre) {
+        switch (nombre.trim().toLowerCase()) {
+            case "fcfs":
+                return new PoliticaFCFS();
+            case "srf":
+                return new PoliticaMenorRestante();
+            case "prioridad":
+                return new PoliticaPrioridad();
+            case "justa":
+                return new PoliticaJusta();
+            default:
+                throw new IllegalArgumentException("Política de planificación desconocida: " + nombre);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package sim.negocio.planificacion;
+
+import sim.modelo.LLMProcess;
+
+/**
+ * Prioridad estática: atiende primero el nivel de prioridad más bajo (0 es el más importante)
+ * y, dentro de un mismo nivel, por orden de llegada.
+ */
+public class PoliticaPrioridad implements PoliticaPlanificacion {
+
+    /** Separación entre niveles; mayor que cualquier instante de llegada esperable. */
+    private static final double PESO_NIVEL = 1e12;
+
+    @Override
+    public double clave(LLMProcess proceso) {
+        return proceso.getPrioridad() * PESO_NIVEL + proceso.getInstanteLlegada();
+    }
+
+    @Override
+    public String getNombre() {
+        return "prioridad";
+    }
+}
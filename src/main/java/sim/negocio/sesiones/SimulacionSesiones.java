@@ -0,0 +1,318 @@
+package sim.negocio.sesiones;
+
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.HistogramaLatencias;
+import sim.negocio.MMUServiceConcurrente;
+import sim.negocio.carga.FuenteCarga;
+
+import java.lang.reflect.Method;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Modo de ejecución con un hilo por conversación. En lugar del bucle único de
+ * {@link sim.negocio.SimulationManager}, cada proceso vive en su propio hilo: llega, hace el prefill,
+ * genera un token por ciclo, conserva su contexto durante el tiempo de lectura del usuario
+ * y al terminar libera la memoria. Todos comparten una {@link MMUServiceConcurrente},
+ * por lo que el subsistema de memoria se ejercita con contención real.
+ *
+ * El tiempo avanza en tiempo real: cada ciclo dura {@code nanosPorCiclo}. Si la JVM ofrece
+ * hilos virtuales (Java 21 o posterior) se usa uno por conversación; si no, las conversaciones
+ * comparten un pool de hilos de plataforma y las que no encuentran hilo esperan a que se libere uno.
+ * El tiempo de lectura del usuario no ocupa hilo: el cierre de la conversación se agenda en un
+ * planificador aparte, así que el pool solo limita las conversaciones que están generando.
+ * Como compiten hilos reales, el resultado no es reproducible.
+ */
+public class SimulacionSesiones {
+    private final Perfil perfil;
+    private final PhysicalMemory ram;
+    private final MMUServiceConcurrente mmu;
+    private final FlujosAleatorios aleatorios;
+
+    private long nanosPorCiclo = 1_000_000L;
+    private double pensamientoMedio = 20.0;
+    private int reintentosMemoria = 50;
+    private int hilosPlataforma = 256;
+    private boolean hilosVirtuales;
+    private ScheduledExecutorService lecturas;
+
+    private volatile long inicioNanos;
+    private volatile long finNanos;
+    private final AtomicInteger sesionesActivas = new AtomicInteger();
+    private final AtomicInteger picoSesiones = new AtomicInteger();
+    private final LongAdder tokensGenerados = new LongAdder();
+    private final LongAdder sesionesCompletadas = new LongAdder();
+    private final LongAdder sesionesAbandonadas = new LongAdder();
+    private final LongAdder sesionesIniciadas = new LongAdder();
+    private final HistogramaLatencias latencias = new HistogramaLatencias();
+    private final HistogramaLatencias tiemposPrimerToken = new HistogramaLatencias();
+
+    /**
+     * Crea el modo por sesiones con la memoria, la TLB y la carga del perfil.
+     *
+     * @param perfil perfil de configuración
+     */
+    public SimulacionSesiones(Perfil perfil) {
+        this.perfil = perfil;
+        this.ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        this.mmu = new MMUServiceConcurrente(ram, perfil.getTLBSize(), perfil.getPageSize());
+        this.aleatorios = new FlujosAleatorios(perfil.getSemilla());
+    }
+
+    /**
+     * Lanza las conversaciones que llegan durante los ciclos indicados y espera a que terminen
+     * o alcancen el final del intervalo; las que siguen activas al final liberan su memoria y no
+     * cuentan como completadas.
+     *
+     * @param ciclos duración de la ejecución en ciclos
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public void ejecutar(int ciclos) throws InterruptedException {
+        ExecutorService ejecutor = crearEjecutor();
+        lecturas = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "lecturas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long inicio = System.nanoTime();
+        inicioNanos = inicio;
+        finNanos = inicio + ciclos * nanosPorCiclo;
+
+        try (FuenteCarga fuente = FuenteCarga.desdePerfil(perfil, aleatorios)) {
+            while (fuente.proximaLlegada() < ciclos) {
+                LLMProcess proceso = fuente.siguiente();
+                esperarHasta(inicio + (long) (proceso.getInstanteLlegada() * nanosPorCiclo));
+                ejecutor.execute(() -> atender(proceso));
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+        ejecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        // Los cierres agendados vencen a más tardar al final del intervalo y se ejecutan igual tras el shutdown
+        lecturas.shutdown();
+        lecturas.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Ciclo de vida de una conversación en su propio hilo. Al terminar de generar agenda su cierre
+     * para después de la lectura del usuario y devuelve el hilo.
+     *
+     * @param proceso conversación a atender
+     */
+    private void atender(LLMProcess proceso) {
+        sesionesIniciadas.increment();
+        int activas = sesionesActivas.incrementAndGet();
+        picoSesiones.accumulateAndGet(activas, Math::max);
+        SplittableRandom rnd = aleatorios.paraProceso(proceso.getPid(), 0);
+        // Las latencias se miden desde la llegada, incluida la espera por un hilo libre
+        long llegada = inicioNanos + (long) (proceso.getInstanteLlegada() * nanosPorCiclo);
+
+        boolean generada = false;
+        try {
+            for (int i = 0; i < proceso.getTokensPrompt(); i++) {
+                if (!alojarToken(proceso)) return;
+            }
+
+            while (!proceso.isCompleto()) {
+                LockSupport.parkNanos(nanosPorCiclo);
+                if (System.nanoTime() >= finNanos) return;
+                if (!alojarToken(proceso)) return;
+                mmu.traducirDireccion(proceso, proceso.getContadorTokens() - 1);
+                proceso.registrarTokenSalida();
+                tokensGenerados.increment();
+                if (proceso.getTokensSalida() == 1) {
+                    registrar(tiemposPrimerToken, llegada);
+                }
+            }
+            registrar(latencias, llegada);
+            generada = true;
+        } finally {
+            if (!generada) {
+                cerrar(proceso, false);
+            }
+        }
+
+        // El usuario lee la respuesta: el contexto queda en memoria hasta que la conversación cierra
+        double pensamiento = -Math.log(1.0 - rnd.nextDouble()) * pensamientoMedio;
+        long espera = Math.min((long) (pensamiento * nanosPorCiclo), finNanos - System.nanoTime());
+        lecturas.schedule(() -> cerrar(proceso, true), Math.max(0, espera), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Cierra una conversación y libera su memoria.
+     *
+     * @param proceso conversación a cerrar
+     * @param completada si llegó a generar toda la respuesta
+     */
+    private void cerrar(LLMProcess proceso, boolean completada) {
+        if (completada) {
+            sesionesCompletadas.increment();
+        }
+        mmu.liberarMemoria(proceso);
+        sesionesActivas.decrementAndGet();
+    }
+
+    /**
+     * Aloja un token. Si la memoria está llena, la conversación espera un ciclo y reintenta;
+     * después de {@link #reintentosMemoria} intentos fallidos el cliente abandona.
+     *
+     * @param proceso conversación que necesita memoria
+     * @return true si se alojó el token
+     */
+    private boolean alojarToken(LLMProcess proceso) {
+        for (int intento = 0; ; intento++) {
+            try {
+                mmu.asignarMemoriaParaToken(proceso);
+                return true;
+            } catch (Exception e) {
+                if (intento >= reintentosMemoria || System.nanoTime() >= finNanos) {
+                    sesionesAbandonadas.increment();
+                    return false;
+                }
+                LockSupport.parkNanos(nanosPorCiclo);
+            }
+        }
+    }
+
+    /**
+     * Registra en un histograma el tiempo transcurrido desde un instante, en ciclos.
+     *
+     * @param histograma histograma compartido
+     * @param desde instante inicial en nanosegundos
+     */
+    private void registrar(HistogramaLatencias histograma, long desde) {
+        int ciclos = (int) Math.ceil((double) (System.nanoTime() - desde) / nanosPorCiclo);
+        synchronized (histograma) {
+            histograma.registrar(ciclos);
+        }
+    }
+
+    /**
+     * Duerme el hilo despachador hasta el instante indicado.
+     *
+     * @param instante tiempo de System.nanoTime() a esperar
+     */
+    private static void esperarHasta(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    /**
+     * Crea el ejecutor de conversaciones: hilos virtuales si la JVM los ofrece,
+     * o un pool fijo de hilos de plataforma en caso contrario.
+     *
+     * @return ejecutor a usar
+     */
+    private ExecutorService crearEjecutor() {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtuales = (ExecutorService) fabrica.invoke(null);
+            hilosVirtuales = true;
+            return virtuales;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 17-20 (o preview deshabilitado): no hay hilos virtuales
+            hilosVirtuales = false;
+            return Executors.newFixedThreadPool(hilosPlataforma, tarea -> {
+                Thread hilo = new Thread(tarea, "sesion");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+
+    /**
+     * Define cuánto dura un ciclo en tiempo real.
+     *
+     * @param nanosPorCiclo nanosegundos por ciclo (por defecto 1 ms)
+     */
+    public void setNanosPorCiclo(long nanosPorCiclo) {
+        this.nanosPorCiclo = nanosPorCiclo;
+    }
+
+    /**
+     * Define el tiempo medio que el usuario tarda en leer la respuesta antes de cerrar la conversación.
+     *
+     * @param pensamientoMedio media de la exponencial, en ciclos
+     */
+    public void setPensamientoMedio(double pensamientoMedio) {
+        this.pensamientoMedio = pensamientoMedio;
+    }
+
+    /**
+     * Define cuántas veces reintenta una conversación que no consigue memoria antes de abandonar.
+     *
+     * @param reintentosMemoria reintentos, uno por ciclo
+     */
+    public void setReintentosMemoria(int reintentosMemoria) {
+        this.reintentosMemoria = reintentosMemoria;
+    }
+
+    /**
+     * Define el tamaño del pool de hilos de plataforma que se usa cuando no hay hilos virtuales.
+     *
+     * @param hilosPlataforma hilos del pool
+     */
+    public void setHilosPlataforma(int hilosPlataforma) {
+        this.hilosPlataforma = hilosPlataforma;
+    }
+
+    public int getHilosPlataforma() {
+        return hilosPlataforma;
+    }
+
+    public boolean isHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    public PhysicalMemory getRam() {
+        return ram;
+    }
+
+    public MMUServiceConcurrente getMmu() {
+        return mmu;
+    }
+
+    public long getTokensGenerados() {
+        return tokensGenerados.sum();
+    }
+
+    public long getSesionesIniciadas() {
+        return sesionesIniciadas.sum();
+    }
+
+    public long getSesionesCompletadas() {
+        return sesionesCompletadas.sum();
+    }
+
+    public long getSesionesAbandonadas() {
+        return sesionesAbandonadas.sum();
+    }
+
+    /**
+     * Obtiene la máxima cantidad de conversaciones abiertas a la vez, generando o en lectura.
+     *
+     * @return pico de sesiones concurrentes
+     */
+    public int getPicoSesiones() {
+        return picoSesiones.get();
+    }
+
+    public HistogramaLatencias getLatencias() {
+        return latencias;
+    }
+
+    public HistogramaLatencias getTiemposPrimerToken() {
+        return tiemposPrimerToken;
+    }
+}
@@ -1,29 +1,104 @@
 package sim.recorder;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Clase responsable de auditar y registrar los datos de la simulación en un archivo CSV temporal.
  * Cada instancia crea un archivo único que se elimina automáticamente al finalizar el programa.
+ * Los temporales van a la carpeta de la propiedad de sistema {@code sim.datos}, o a
+ * {@code simulador-llm/datos} dentro de la carpeta temporal del sistema.
+ * Las ejecuciones sin interfaz pueden usar un archivo persistente en una ruta elegida, opcionalmente
+ * dividido en segmentos comprimidos según una {@link SegmentacionAuditoria}.
+ *
+ * El hilo de simulación no formatea ni escribe: copia los valores del ciclo a un buffer circular
+ * preasignado y sigue. Un hilo escritor en segundo plano vacía el buffer en lotes, arma las líneas
+ * en un buffer de bytes grande y lo escribe al canal del archivo según la {@link PoliticaAuditoria}.
+ * Se admite un único hilo productor por auditor, que es el hilo que avanza la simulación.
  */
 public class Auditador {
-    private PrintWriter writer;
-    private String nombreArchivo;
-    private static final String CARPETA_DATOS = "src/main/resources/datos";
+    private static final String CABECERA = "Ciclo,Procesos_Activos,Marcos_Ocupados,TLB_Hits,TLB_Misses,Tam_Lote,Tokens_Prefill,Tokens_Decode,En_Espera,"
+            + "Tokens_Borrador,Tokens_Rechazados,Marcos_Revertidos,TLB_Invalidadas,Marcos_Compartidos,"
+            + "Bytes_Ocupados,Bytes_Revertidos,Bytes_Compartidos,"
+            + "Tokens_Asignados,Tokens_Usados,Fragmentacion_Interna,"
+            + "Bytes_Asignados,Bytes_Usados,Bytes_Fragmentacion,"
+            + "Ultima_Pagina_Q1,Ultima_Pagina_Q2,Ultima_Pagina_Q3,Ultima_Pagina_Q4\n";
+    // Valores guardados por registro en el buffer circular; las columnas en bytes se derivan al formatear
+    private static final int CAMPOS = 20;
+    private static final int TAMANO_SALIDA = 1 << 20;
+    // Ninguna línea formateada ocupa más que esto: se escribe la salida antes de quedar sin lugar
+    private static final int MAXIMO_LINEA = 27 * 21;
+    private static final long ESPERA_ESCRITOR_NS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long ESPERA_PRODUCTOR_NS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int TAMANO_BLOQUE_GZIP = 1 << 16;
+    private static final long INTERVALO_INDICE_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final String CARPETA_DATOS = System.getProperty("sim.datos",
+            Paths.get(System.getProperty("java.io.tmpdir"), "simulador-llm", "datos").toString());
+    // Solo los archivos temporales que nombra obtenerNombreArchivo(): data.csv, data(1).csv, ...
+    private static final Pattern ARCHIVO_TEMPORAL = Pattern.compile("data(\\(\\d+\\))?\\.csv");
     private static final List<Auditador> instanciasActivas = new ArrayList<>();
 
+    private FileChannel canal;
+    private String nombreArchivo;
+    private final boolean temporal;
+    private long bytesPorToken = 0;
+    private long bytesPorMarco = 0;
+    private PoliticaAuditoria politica;
+    private final SegmentacionAuditoria segmentacion;
+
+    // Segmento abierto, solo con segmentación; lo rota el hilo escritor
+    private String rutaBase;
+    private int numeroSegmento = -1;
+    private OutputStream comprimido;
+    private long bytesSegmento;
+    private long filasSegmento;
+    private long cicloInicialSegmento;
+    private long cicloFinalSegmento;
+    private final StringBuilder indiceCerrados = new StringBuilder(IndiceAuditoria.CABECERA);
+    private long ultimoIndice;
+    private long filasIndice;
+
+    // Buffer circular: el productor avanza publicados y el escritor consumidos
+    private long[] registros;
+    private int capacidad;
+    private long despertarEn;
+    private volatile long publicados = 0;
+    private volatile long consumidos = 0;
+    private Thread escritor;
+    private volatile boolean cerrando = false;
+
+    // Estado del escritor
+    private ByteBuffer salida;
+    private final byte[] digitos = new byte[20];
+    private long enSalida = 0;
+
+    private volatile long registrosEscritos = 0;
+    private volatile long registrosDescartados = 0;
+    private volatile long esperasDesborde = 0;
+
     /**
      * Crea un nuevo auditor y prepara el archivo de registro temporal.
      */
     public Auditador() {
+        this.temporal = true;
+        this.politica = PoliticaAuditoria.INTERACTIVA;
+        this.segmentacion = null;
         this.nombreArchivo = obtenerNombreArchivo();
         inicializarArchivo();
         synchronized (instanciasActivas) {
@@ -31,6 +106,73 @@ public class Auditador {
         }
     }
 
+    /**
+     * Crea un auditor persistente que escribe en la ruta indicada.
+     * El archivo se sobrescribe, no se elimina al cerrar y por defecto las líneas se vuelcan
+     * en bloques grandes en lugar de escribir en cada ciclo.
+     *
+     * @param rutaArchivo ruta del archivo CSV de salida
+     */
+    public Auditador(String rutaArchivo) {
+        this(rutaArchivo, null);
+    }
+
+    /**
+     * Crea un auditor persistente que, con segmentación, escribe segmentos {@code base-00000.csv.gz,
+     * base-00001.csv.gz, ...} y un índice {@code base.indice.csv} con el rango de ciclos de cada uno,
+     * donde {@code base} es la ruta sin la extensión {@code .csv}. No se escribe el archivo de la ruta.
+     * El segmento abierto también figura en el índice, como no cerrado, con las filas ya volcadas:
+     * se actualiza al rotar y, si hay filas nuevas, una vez por segundo, volcándolas antes.
+     *
+     * @param rutaArchivo ruta del archivo CSV de salida
+     * @param segmentacion cómo dividir y comprimir la salida, o null para un único CSV
+     */
+    public Auditador(String rutaArchivo, SegmentacionAuditoria segmentacion) {
+        this.temporal = false;
+        this.politica = PoliticaAuditoria.PERSISTENTE;
+        this.nombreArchivo = rutaArchivo;
+        this.segmentacion = segmentacion;
+        if (segmentacion == null) {
+            inicializarArchivo();
+            return;
+        }
+        this.rutaBase = SegmentacionAuditoria.rutaBase(rutaArchivo);
+        try {
+            Path indice = SegmentacionAuditoria.rutaIndice(rutaBase);
+            if (indice.getParent() != null) {
+                Files.createDirectories(indice.getParent());
+            }
+            abrirSegmento();
+            escribirIndice(true);
+        } catch (IOException e) {
+            System.err.println("Error al crear el archivo: " + e.getMessage());
+            canal = null;
+        }
+    }
+
+    /**
+     * Constructor interno para auditores que no escriben ningún archivo.
+     *
+     * @param temporal marca de archivo temporal (sin efecto al no haber archivo)
+     * @param nombreArchivo nombre informativo del destino
+     */
+    private Auditador(boolean temporal, String nombreArchivo) {
+        this.temporal = temporal;
+        this.politica = PoliticaAuditoria.PERSISTENTE;
+        this.segmentacion = null;
+        this.nombreArchivo = nombreArchivo;
+    }
+
+    /**
+     * Crea un auditor que descarta todos los registros.
+     * Lo usan las ejecuciones que solo necesitan el resumen final, como los barridos de parámetros.
+     *
+     * @return auditor sin archivo de salida
+     */
+    public static Auditador sinSalida() {
+        return new Auditador(false, null);
+    }
+
     /**
      * Genera un nombre de archivo único para el registro de datos.
      *
@@ -59,49 +201,467 @@ public class Auditador {
     private void inicializarArchivo() {
         try {
             File archivo = new File(nombreArchivo);
-            archivo.deleteOnExit();
+            if (archivo.getParentFile() != null) {
+                archivo.getParentFile().mkdirs();
+            }
+            if (temporal) {
+                archivo.deleteOnExit();
+            }
 
-            writer = new PrintWriter(new FileWriter(archivo, true));
-            writer.println("Ciclo,Procesos_Activos,Marcos_Ocupados,TLB_Hits,TLB_Misses");
-            writer.flush();
+            canal = temporal
+                    ? FileChannel.open(archivo.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                    : FileChannel.open(archivo.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer cabecera = ByteBuffer.wrap(CABECERA.getBytes(StandardCharsets.US_ASCII));
+            while (cabecera.hasRemaining()) {
+                canal.write(cabecera);
+            }
         } catch (IOException e) {
             System.err.println("Error al crear el archivo: " + e.getMessage());
+            canal = null;
+        }
+    }
+
+    /**
+     * Abre el siguiente segmento y escribe su cabecera, para que cada uno se pueda leer por separado.
+     *
+     * @throws IOException si no se puede crear el archivo
+     */
+    private void abrirSegmento() throws IOException {
+        numeroSegmento++;
+        Path ruta = segmentacion.rutaSegmento(rutaBase, numeroSegmento);
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        byte[] cabecera = CABECERA.getBytes(StandardCharsets.US_ASCII);
+        if (segmentacion.getCompresion() == SegmentacionAuditoria.Compresion.GZIP) {
+            // Cada volcado termina un bloque deflate, así que lo escrito se puede leer sin el cierre del gzip
+            comprimido = new GZIPOutputStream(Channels.newOutputStream(canal), TAMANO_BLOQUE_GZIP, true);
+            comprimido.write(cabecera);
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(cabecera);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+        bytesSegmento = cabecera.length;
+        filasSegmento = 0;
+        cicloInicialSegmento = Long.MAX_VALUE;
+        cicloFinalSegmento = Long.MIN_VALUE;
+    }
+
+    /**
+     * Cierra el segmento abierto, terminando el flujo comprimido, y guarda su fila para el índice.
+     *
+     * @throws IOException si falla el cierre
+     */
+    private void cerrarSegmento() throws IOException {
+        if (comprimido != null) {
+            comprimido.close();
+            comprimido = null;
+        } else {
+            canal.close();
+        }
+        indiceCerrados.append(filaIndice(true));
+    }
+
+    /**
+     * Arma la fila del índice del segmento actual.
+     *
+     * @param cerrado si el segmento ya se cerró
+     * @return línea CSV del índice
+     * @throws IOException si no se puede leer el tamaño del archivo
+     */
+    private String filaIndice(boolean cerrado) throws IOException {
+        Path ruta = segmentacion.rutaSegmento(rutaBase, numeroSegmento);
+        boolean vacio = filasSegmento == 0;
+        return numeroSegmento + "," + ruta.getFileName() + ","
+                + (vacio ? -1 : cicloInicialSegmento) + "," + (vacio ? -1 : cicloFinalSegmento) + ","
+                + filasSegmento + "," + bytesSegmento + "," + Files.size(ruta) + "," + (cerrado ? 1 : 0) + "\n";
+    }
+
+    /**
+     * Reescribe el índice con los segmentos cerrados y, si se pide, el abierto. Se escribe a un archivo
+     * auxiliar que después reemplaza al índice, así que un lector nunca ve un índice a medias.
+     *
+     * @param conAbierto si se agrega la fila provisional del segmento abierto
+     * @throws IOException si falla la escritura
+     */
+    private void escribirIndice(boolean conAbierto) throws IOException {
+        Path indice = SegmentacionAuditoria.rutaIndice(rutaBase);
+        Path auxiliar = indice.resolveSibling(indice.getFileName() + ".tmp");
+        String contenido = conAbierto ? indiceCerrados + filaIndice(false) : indiceCerrados.toString();
+        Files.writeString(auxiliar, contenido, StandardCharsets.US_ASCII);
+        Files.move(auxiliar, indice, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ultimoIndice = System.nanoTime();
+        filasIndice = filasSegmento;
+    }
+
+    /**
+     * Anota un registro en el segmento abierto y, si llegó a su límite de bytes o de ciclos,
+     * antes cierra ese segmento y abre el siguiente.
+     *
+     * @param ciclo ciclo del registro que se va a formatear
+     * @throws IOException si falla la rotación
+     */
+    private void prepararSegmento(long ciclo) throws IOException {
+        if (filasSegmento > 0
+                && segmentacion.debeRotar(bytesSegmento + salida.position(), ciclo - cicloInicialSegmento)) {
+            volcarSalida();
+            cerrarSegmento();
+            abrirSegmento();
+            escribirIndice(true);
+        }
+        cicloInicialSegmento = Math.min(cicloInicialSegmento, ciclo);
+        cicloFinalSegmento = Math.max(cicloFinalSegmento, ciclo);
+        filasSegmento++;
+    }
+
+    /**
+     * Cambia la política de volcado y desborde. Debe llamarse antes del primer registro,
+     * porque el buffer circular y el escritor se crean con el primer ciclo registrado.
+     *
+     * @param politica política a usar
+     * @throws IllegalStateException si el escritor ya está en marcha
+     */
+    public void setPolitica(PoliticaAuditoria politica) {
+        if (escritor != null) {
+            throw new IllegalStateException("La política de auditoría se fija antes del primer registro");
+        }
+        this.politica = politica;
+    }
+
+    public PoliticaAuditoria getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Registra una línea de datos en el archivo CSV. Copia los valores de la fila, así que el
+     * llamador puede reutilizarla para el ciclo siguiente apenas vuelve este método.
+     *
+     * @param fila valores del ciclo
+     */
+    public void registrar(FilaAuditoria fila) {
+        if (canal == null || cerrando) {
+            // Una fila que llega durante o después del cierre no se escribe, pero se cuenta
+            if (cerrando) {
+                registrosDescartados++;
+            }
+            return;
+        }
+        if (escritor == null && !iniciarEscritor()) {
+            registrosDescartados++;
+            return;
+        }
+
+        long n = publicados;
+        if (n - consumidos >= capacidad && !esperarLugar(n)) {
+            registrosDescartados++;
+            return;
+        }
+        long[] r = registros;
+        int i = (int) (n % capacidad) * CAMPOS;
+        r[i] = fila.ciclo;
+        r[i + 1] = fila.procesosActivos;
+        r[i + 2] = fila.marcosOcupados;
+        r[i + 3] = fila.tlbHits;
+        r[i + 4] = fila.tlbMisses;
+        r[i + 5] = fila.tamanoLote;
+        r[i + 6] = fila.tokensPrefill;
+        r[i + 7] = fila.tokensDecode;
+        r[i + 8] = fila.enEspera;
+        r[i + 9] = fila.tokensBorrador;
+        r[i + 10] = fila.tokensRechazados;
+        r[i + 11] = fila.marcosRevertidos;
+        r[i + 12] = fila.tlbInvalidadas;
+        r[i + 13] = fila.marcosCompartidos;
+        r[i + 14] = fila.tokensAsignados;
+        r[i + 15] = fila.tokensUsados;
+        r[i + 16] = fila.cuartosUltimaPagina[0];
+        r[i + 17] = fila.cuartosUltimaPagina[1];
+        r[i + 18] = fila.cuartosUltimaPagina[2];
+        r[i + 19] = fila.cuartosUltimaPagina[3];
+        publicados = n + 1;
+        if (cerrando) {
+            descartarSiNoSeEscribio(n);
+            return;
+        }
+
+        // Se despierta al escritor solo al cruzar el umbral, no en cada registro
+        if (n + 1 - consumidos == despertarEn) {
+            LockSupport.unpark(escritor);
+        }
+    }
+
+    /**
+     * Resuelve una fila publicada mientras otro hilo cerraba el auditor: el escritor pudo hacer su
+     * última pasada antes de verla. Se espera a que termine y, si no la consumió, se cuenta como
+     * descartada.
+     *
+     * @param n posición de la fila en el buffer circular
+     */
+    private void descartarSiNoSeEscribio(long n) {
+        LockSupport.unpark(escritor);
+        while (escritor.isAlive()) {
+            LockSupport.parkNanos(ESPERA_PRODUCTOR_NS);
+        }
+        if (consumidos <= n) {
+            registrosDescartados++;
         }
     }
 
     /**
-     * Registra una línea de datos en el archivo CSV.
+     * Aplica la política de desborde con el buffer circular lleno.
      *
-     * @param ciclo número de ciclo de la simulación
-     * @param procesosActivos cantidad de procesos activos
-     * @param marcosOcupados cantidad de marcos ocupados
-     * @param tlbHits cantidad de aciertos en la TLB
-     * @param tlbMisses cantidad de fallos en la TLB
+     * @param n registros publicados hasta ahora
+     * @return true si se liberó lugar, false si el registro debe descartarse
      */
-    public void registrar(int ciclo, int procesosActivos, int marcosOcupados, int tlbHits, int tlbMisses) {
-        if (writer != null) {
-            writer.println(ciclo + "," + procesosActivos + "," + marcosOcupados + "," + tlbHits + "," + tlbMisses);
-            writer.flush();
+    private boolean esperarLugar(long n) {
+        if (politica.getDesborde() == PoliticaAuditoria.Desborde.DESCARTAR) {
+            return false;
+        }
+        esperasDesborde++;
+        while (n - consumidos >= capacidad) {
+            if (cerrando || !escritor.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(escritor);
+            LockSupport.parkNanos(ESPERA_PRODUCTOR_NS);
+        }
+        return true;
+    }
+
+    /**
+     * Reserva el buffer circular según la política y arranca el hilo escritor. Comparte el
+     * monitor con el cierre: si el auditor ya empezó a cerrarse no arranca nada.
+     *
+     * @return true si el escritor quedó corriendo
+     */
+    private synchronized boolean iniciarEscritor() {
+        if (cerrando) return false;
+        capacidad = politica.getCapacidad();
+        registros = new long[capacidad * CAMPOS];
+        despertarEn = (politica.getVolcado() == PoliticaAuditoria.Volcado.REGISTROS)
+                ? Math.min(politica.getUmbral(), capacidad / 2) : capacidad / 2;
+        // El flujo comprimido recibe arreglos de bytes: con gzip la salida vive en el heap
+        salida = (comprimido != null) ? ByteBuffer.allocate(TAMANO_SALIDA) : ByteBuffer.allocateDirect(TAMANO_SALIDA);
+        escritor = new Thread(this::escribirEnSegundoPlano, "auditor-" + new File(nombreArchivo).getName());
+        escritor.setDaemon(true);
+        escritor.start();
+        return true;
+    }
+
+    /**
+     * Bucle del hilo escritor: vacía el buffer circular, formatea cada registro en la salida
+     * y la escribe al canal cuando lo pide la política. Al cerrar vacía todo lo pendiente.
+     */
+    private void escribirEnSegundoPlano() {
+        long ultimoVolcado = System.nanoTime();
+        long periodo = (politica.getVolcado() == PoliticaAuditoria.Volcado.TIEMPO)
+                ? TimeUnit.MILLISECONDS.toNanos(politica.getUmbral()) : ESPERA_ESCRITOR_NS;
+        try {
+            while (true) {
+                boolean fin = cerrando;
+                long hasta = publicados;
+                for (long n = consumidos; n < hasta; n++) {
+                    int i = (int) (n % capacidad) * CAMPOS;
+                    if (segmentacion != null) {
+                        prepararSegmento(registros[i]);
+                    }
+                    formatear(i);
+                    consumidos = n + 1;
+                    if (salida.remaining() < MAXIMO_LINEA) {
+                        volcarSalida();
+                    }
+                }
+
+                long ahora = System.nanoTime();
+                boolean volcar = switch (politica.getVolcado()) {
+                    case TIEMPO -> ahora - ultimoVolcado >= periodo;
+                    case REGISTROS -> enSalida >= politica.getUmbral();
+                    case CIERRE -> false;
+                };
+                if (volcar && enSalida > 0) {
+                    volcarSalida();
+                    ultimoVolcado = ahora;
+                }
+                // El índice anota solo filas volcadas: si está atrasado, se vuelca antes de actualizarlo
+                if (segmentacion != null && filasSegmento != filasIndice && ahora - ultimoIndice >= INTERVALO_INDICE_NS) {
+                    volcarSalida();
+                    escribirIndice(true);
+                }
+
+                if (fin && consumidos == publicados) break;
+                LockSupport.parkNanos(periodo);
+            }
+            volcarSalida();
+        } catch (IOException e) {
+            System.err.println("❌ Error al escribir la auditoría en " + nombreArchivo + ": " + e.getMessage());
         }
     }
 
     /**
-     * Cierra el archivo de registro.
+     * Escribe al canal las líneas acumuladas en la salida.
+     *
+     * @throws IOException si falla la escritura
+     */
+    private void volcarSalida() throws IOException {
+        bytesSegmento += salida.position();
+        if (comprimido != null) {
+            comprimido.write(salida.array(), salida.arrayOffset(), salida.position());
+            comprimido.flush();
+        } else {
+            salida.flip();
+            while (salida.hasRemaining()) {
+                canal.write(salida);
+            }
+        }
+        salida.clear();
+        registrosEscritos += enSalida;
+        enSalida = 0;
+    }
+
+    /**
+     * Agrega a la salida la línea CSV de un registro del buffer circular.
+     *
+     * @param i posición del registro en el buffer circular
+     */
+    private void formatear(int i) {
+        long[] r = registros;
+        for (int c = 0; c < 14; c++) {
+            escribirNumero(r[i + c]);
+            salida.put((byte) ',');
+        }
+        escribirNumero(r[i + 2] * bytesPorMarco);
+        salida.put((byte) ',');
+        escribirNumero(r[i + 11] * bytesPorMarco);
+        salida.put((byte) ',');
+        escribirNumero(r[i + 13] * bytesPorMarco);
+        salida.put((byte) ',');
+        long asignados = r[i + 14];
+        long usados = r[i + 15];
+        escribirNumero(asignados);
+        salida.put((byte) ',');
+        escribirNumero(usados);
+        salida.put((byte) ',');
+        // Fragmentación con cuatro decimales, sin pasar por String.format
+        long diezMilesimos = (asignados > 0) ? Math.round((double) (asignados - usados) * 10_000 / asignados) : 0;
+        escribirNumero(diezMilesimos / 10_000);
+        salida.put((byte) '.');
+        for (long divisor = 1_000; divisor > 0; divisor /= 10) {
+            salida.put((byte) ('0' + (diezMilesimos / divisor) % 10));
+        }
+        salida.put((byte) ',');
+        escribirNumero(asignados * bytesPorToken);
+        salida.put((byte) ',');
+        escribirNumero(usados * bytesPorToken);
+        salida.put((byte) ',');
+        escribirNumero((asignados - usados) * bytesPorToken);
+        for (int c = 16; c < 20; c++) {
+            salida.put((byte) ',');
+            escribirNumero(r[i + c]);
+        }
+        salida.put((byte) '\n');
+        enSalida++;
+    }
+
+    /**
+     * Escribe un entero en decimal en la salida, sin crear objetos.
+     *
+     * @param valor número a escribir
+     */
+    private void escribirNumero(long valor) {
+        if (valor == 0) {
+            salida.put((byte) '0');
+            return;
+        }
+        if (valor < 0) {
+            salida.put((byte) '-');
+            if (valor == Long.MIN_VALUE) {
+                // No tiene opuesto positivo: se escribe el último dígito aparte
+                escribirNumero(-(valor / 10));
+                salida.put((byte) ('0' + -(valor % 10)));
+                return;
+            }
+            valor = -valor;
+        }
+        int cantidad = 0;
+        while (valor > 0) {
+            digitos[cantidad++] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        }
+        while (cantidad > 0) {
+            salida.put(digitos[--cantidad]);
+        }
+    }
+
+    /**
+     * Fija cuántos bytes de caché KV representa un token, para informar en bytes las columnas
+     * que cuentan marcos o huecos de token. Con 0 (perfil sin modelo) esas columnas quedan en 0.
+     *
+     * @param bytesPorToken bytes por token según el modelo del perfil
+     * @param tamPagina tokens por marco
+     */
+    public void setBytesPorToken(long bytesPorToken, int tamPagina) {
+        this.bytesPorToken = bytesPorToken;
+        this.bytesPorMarco = bytesPorToken * tamPagina;
+    }
+
+    /**
+     * Cierra el archivo de registro. Espera a que el escritor vuelque todos los registros pendientes.
      */
     public void cerrar() {
-        if (writer != null) {
-            writer.close();
-            writer = null;
+        if (cerrarArchivo()) {
             synchronized (instanciasActivas) {
                 instanciasActivas.remove(this);
             }
-            File archivo = new File(nombreArchivo);
-            if (archivo.exists()) {
-                archivo.delete();
+            if (temporal) {
+                File archivo = new File(nombreArchivo);
+                if (archivo.exists()) {
+                    archivo.delete();
+                }
             }
         }
     }
 
+    /**
+     * Detiene el escritor después de vaciar el buffer circular y cierra el canal.
+     *
+     * @return true si el archivo estaba abierto
+     */
+    private synchronized boolean cerrarArchivo() {
+        if (canal == null) return false;
+        cerrando = true;
+        if (escritor != null) {
+            LockSupport.unpark(escritor);
+            // El hilo que cierra suele ser el de simulación recién interrumpido: la espera no se corta
+            boolean interrumpido = false;
+            while (escritor.isAlive()) {
+                try {
+                    escritor.join();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (segmentacion != null) {
+                cerrarSegmento();
+                escribirIndice(false);
+            } else {
+                canal.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el archivo: " + e.getMessage());
+        }
+        canal = null;
+        if (registrosDescartados > 0) {
+            System.err.println("⚠️ Auditoría de " + nombreArchivo + ": " + registrosDescartados
+                    + " registros descartados por buffer lleno o escritor detenido");
+        }
+        return true;
+    }
+
     /**
      * Cierra todos los auditadores activos antes de limpiar archivos.
      */
@@ -109,9 +669,7 @@ public class Auditador {
         synchronized (instanciasActivas) {
             List<Auditador> copia = new ArrayList<>(instanciasActivas);
             for (Auditador auditador : copia) {
-                if (auditador.writer != null) {
-                    auditador.writer.close();
-                    auditador.writer = null;
+                if (auditador.cerrarArchivo()) {
                     System.out.println("Auditador cerrado: " + auditador.nombreArchivo);
                 }
             }
@@ -120,7 +678,9 @@ public class Auditador {
     }
 
     /**
-     * Limpia todos los archivos CSV temporales de la carpeta de datos.
+     * Limpia los archivos CSV temporales de la carpeta de datos ({@link #getCarpetaDatos()}).
+     * Solo se borran los que nombra este auditor ({@code data.csv}, {@code data(N).csv}); cualquier otro
+     * archivo de la carpeta, como una auditoría persistente o su índice, se conserva.
      * IMPORTANTE: Llama a cerrarTodosLosAuditadores() primero para cerrar archivos abiertos.
      */
     public static void limpiarArchivosTemporales() {
@@ -138,7 +698,7 @@ public class Auditador {
         File carpetaDatos = new File(CARPETA_DATOS);
 
         if (carpetaDatos.exists() && carpetaDatos.isDirectory()) {
-            File[] archivos = carpetaDatos.listFiles((dir, name) -> name.endsWith(".csv"));
+            File[] archivos = carpetaDatos.listFiles((dir, name) -> ARCHIVO_TEMPORAL.matcher(name).matches());
             if (archivos != null) {
                 for (File archivo : archivos) {
                     if (archivo.isFile()) {
@@ -154,6 +714,15 @@ public class Auditador {
         }
     }
 
+    /**
+     * Obtiene la carpeta donde se crean los CSV temporales.
+     *
+     * @return ruta de la carpeta de datos
+     */
+    public static String getCarpetaDatos() {
+        return CARPETA_DATOS;
+    }
+
     /**
      * Obtiene el nombre del archivo de registro utilizado.
      *
@@ -162,4 +731,42 @@ public class Auditador {
     public String getNombreArchivo() {
         return nombreArchivo;
     }
+
+    /**
+     * Obtiene los registros ya escritos al archivo.
+     *
+     * @return registros escritos
+     */
+    public long getRegistrosEscritos() {
+        return registrosEscritos;
+    }
+
+    /**
+     * Obtiene los registros descartados porque el buffer circular estaba lleno
+     * (política {@code descartar}), porque el escritor ya no aceptaba registros o porque
+     * llegaron durante o después del cierre.
+     *
+     * @return registros descartados
+     */
+    public long getRegistrosDescartados() {
+        return registrosDescartados;
+    }
+
+    /**
+     * Obtiene cuántas veces la simulación tuvo que esperar al escritor con el buffer circular lleno.
+     *
+     * @return esperas por desborde
+     */
+    public long getEsperasDesborde() {
+        return esperasDesborde;
+    }
+
+    /**
+     * Obtiene los segmentos abiertos hasta ahora.
+     *
+     * @return segmentos escritos, 1 sin segmentación
+     */
+    public int getSegmentos() {
+        return (segmentacion != null) ? numeroSegmento + 1 : 1;
+    }
 }
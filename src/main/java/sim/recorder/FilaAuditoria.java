@@ -0,0 +1,129 @@
+package sim.recorder;
+
+/**
+ * Valores de una fila de la auditoría, con un método por columna para no depender del orden
+ * de los argumentos. El productor reutiliza una única instancia: la completa en cada ciclo y la
+ * pasa a {@link Auditador#registrar(FilaAuditoria)}, que copia los valores al buffer circular.
+ * Las columnas que nunca se fijan quedan en cero; las columnas en bytes las deriva el auditor.
+ */
+public class FilaAuditoria {
+    int ciclo;
+    int procesosActivos;
+    int marcosOcupados;
+    int tlbHits;
+    int tlbMisses;
+    int tamanoLote;
+    int tokensPrefill;
+    int tokensDecode;
+    int enEspera;
+    int tokensBorrador;
+    int tokensRechazados;
+    int marcosRevertidos;
+    int tlbInvalidadas;
+    int marcosCompartidos;
+    long tokensAsignados;
+    long tokensUsados;
+    final long[] cuartosUltimaPagina = new long[4];
+
+    /**
+     * @param ciclo número de ciclo de la simulación
+     * @return esta fila
+     */
+    public FilaAuditoria ciclo(int ciclo) {
+        this.ciclo = ciclo;
+        return this;
+    }
+
+    /**
+     * @param procesosActivos cantidad de procesos activos
+     * @return esta fila
+     */
+    public FilaAuditoria procesosActivos(int procesosActivos) {
+        this.procesosActivos = procesosActivos;
+        return this;
+    }
+
+    /**
+     * @param marcosOcupados cantidad de marcos ocupados
+     * @return esta fila
+     */
+    public FilaAuditoria marcosOcupados(int marcosOcupados) {
+        this.marcosOcupados = marcosOcupados;
+        return this;
+    }
+
+    /**
+     * @param tlbHits aciertos acumulados en la TLB
+     * @param tlbMisses fallos acumulados en la TLB
+     * @return esta fila
+     */
+    public FilaAuditoria tlb(int tlbHits, int tlbMisses) {
+        this.tlbHits = tlbHits;
+        this.tlbMisses = tlbMisses;
+        return this;
+    }
+
+    /**
+     * @param tamanoLote secuencias que avanzaron en el ciclo
+     * @param tokensPrefill tokens de prompt procesados en el ciclo
+     * @param tokensDecode tokens de respuesta generados en el ciclo
+     * @return esta fila
+     */
+    public FilaAuditoria lote(int tamanoLote, int tokensPrefill, int tokensDecode) {
+        this.tamanoLote = tamanoLote;
+        this.tokensPrefill = tokensPrefill;
+        this.tokensDecode = tokensDecode;
+        return this;
+    }
+
+    /**
+     * @param enEspera procesos que esperan ser admitidos
+     * @return esta fila
+     */
+    public FilaAuditoria enEspera(int enEspera) {
+        this.enEspera = enEspera;
+        return this;
+    }
+
+    /**
+     * Fija el costo de la decodificación especulativa en el ciclo.
+     *
+     * @param tokensBorrador tokens especulativos reservados en el ciclo
+     * @param tokensRechazados tokens especulativos revertidos en el ciclo
+     * @param marcosRevertidos marcos liberados al revertir borradores en el ciclo
+     * @param tlbInvalidadas entradas de TLB invalidadas por esas reversiones
+     * @return esta fila
+     */
+    public FilaAuditoria especulacion(int tokensBorrador, int tokensRechazados, int marcosRevertidos,
+                                      int tlbInvalidadas) {
+        this.tokensBorrador = tokensBorrador;
+        this.tokensRechazados = tokensRechazados;
+        this.marcosRevertidos = marcosRevertidos;
+        this.tlbInvalidadas = tlbInvalidadas;
+        return this;
+    }
+
+    /**
+     * @param marcosCompartidos referencias extra a marcos compartidos (marcos que no hubo que duplicar)
+     * @return esta fila
+     */
+    public FilaAuditoria marcosCompartidos(int marcosCompartidos) {
+        this.marcosCompartidos = marcosCompartidos;
+        return this;
+    }
+
+    /**
+     * Fija la fragmentación interna de las últimas páginas al cierre del ciclo.
+     *
+     * @param tokensAsignados huecos de token de los marcos ocupados
+     * @param tokensUsados huecos de token que guardan un token
+     * @param cuartosUltimaPagina procesos según el llenado de su última página, en cuartos de página
+     * @return esta fila
+     */
+    public FilaAuditoria fragmentacion(long tokensAsignados, long tokensUsados, long[] cuartosUltimaPagina) {
+        this.tokensAsignados = tokensAsignados;
+        this.tokensUsados = tokensUsados;
+        System.arraycopy(cuartosUltimaPagina, 0, this.cuartosUltimaPagina, 0, 4);
+        return this;
+    }
+}
@@ -0,0 +1,247 @@
+package sim.recorder;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lee el índice que escribe un {@link Auditador} segmentado y da acceso a un rango de ciclos
+ * descomprimiendo solo los segmentos que lo cubren. Cada fila del índice describe un segmento:
+ * <pre>
+ *   Segmento,Archivo,Ciclo_Inicial,Ciclo_Final,Filas,Bytes_Sin_Comprimir,Bytes_Archivo,Cerrado
+ * </pre>
+ * Los nombres de archivo son relativos a la carpeta del índice. Durante la ejecución la última fila
+ * es el segmento abierto ({@code Cerrado} en 0), con las filas volcadas hasta la última actualización,
+ * así que se puede consultar un rango mientras la simulación sigue.
+ *
+ * Si el proceso termina sin cerrar el auditor, el índice queda con esa fila provisional: el segmento
+ * no tiene el cierre del gzip, pero sus primeras {@code Filas} líneas están completas. Esta clase las
+ * lee igual; desde la consola, {@code zcat} las muestra y termina avisando que el archivo está truncado
+ * ({@code zcat base-00003.csv.gz 2>/dev/null | head -n $((Filas + 1))} recupera el segmento con su cabecera).
+ * Lo volcado después de la última actualización del índice puede estar incompleto y se ignora.
+ */
+public class IndiceAuditoria {
+    public static final String CABECERA =
+            "Segmento,Archivo,Ciclo_Inicial,Ciclo_Final,Filas,Bytes_Sin_Comprimir,Bytes_Archivo,Cerrado\n";
+
+    /**
+     * Un segmento del índice.
+     */
+    public static class Segmento {
+        private final int numero;
+        private final Path archivo;
+        private final long cicloInicial;
+        private final long cicloFinal;
+        private final long filas;
+        private final long bytesSinComprimir;
+        private final long bytesArchivo;
+        private final boolean cerrado;
+
+        Segmento(int numero, Path archivo, long cicloInicial, long cicloFinal, long filas,
+                 long bytesSinComprimir, long bytesArchivo, boolean cerrado) {
+            this.numero = numero;
+            this.archivo = archivo;
+            this.cicloInicial = cicloInicial;
+            this.cicloFinal = cicloFinal;
+            this.filas = filas;
+            this.bytesSinComprimir = bytesSinComprimir;
+            this.bytesArchivo = bytesArchivo;
+            this.cerrado = cerrado;
+        }
+
+        /**
+         * Indica si el segmento tiene filas dentro del rango de ciclos.
+         *
+         * @param desde primer ciclo del rango
+         * @param hasta último ciclo del rango, incluido
+         * @return true si los rangos se superponen
+         */
+        public boolean cubre(long desde, long hasta) {
+            return filas > 0 && cicloInicial <= hasta && cicloFinal >= desde;
+        }
+
+        public int getNumero() {
+            return numero;
+        }
+
+        public Path getArchivo() {
+            return archivo;
+        }
+
+        public long getCicloInicial() {
+            return cicloInicial;
+        }
+
+        public long getCicloFinal() {
+            return cicloFinal;
+        }
+
+        public long getFilas() {
+            return filas;
+        }
+
+        public long getBytesSinComprimir() {
+            return bytesSinComprimir;
+        }
+
+        public long getBytesArchivo() {
+            return bytesArchivo;
+        }
+
+        /**
+         * @return false si es el segmento abierto, o el que quedó truncado si el auditor no se cerró
+         */
+        public boolean isCerrado() {
+            return cerrado;
+        }
+    }
+
+    /**
+     * Trata el final inesperado de un gzip sin cerrar como fin del archivo, para no perder
+     * las líneas ya descomprimidas.
+     */
+    private static final class FinTruncado extends FilterInputStream {
+        FinTruncado(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+    }
+
+    private final List<Segmento> segmentos;
+
+    private IndiceAuditoria(List<Segmento> segmentos) {
+        this.segmentos = Collections.unmodifiableList(segmentos);
+    }
+
+    /**
+     * Lee el índice de una auditoría segmentada.
+     *
+     * @param rutaArchivo la misma ruta CSV que recibió el auditor
+     * @return índice con los segmentos anotados hasta ahora
+     * @throws IOException si el índice no existe o no tiene el formato esperado
+     */
+    public static IndiceAuditoria abrir(String rutaArchivo) throws IOException {
+        Path indice = SegmentacionAuditoria.rutaIndice(SegmentacionAuditoria.rutaBase(rutaArchivo));
+        List<String> lineas = Files.readAllLines(indice, StandardCharsets.US_ASCII);
+        if (lineas.isEmpty() || !CABECERA.strip().equals(lineas.get(0))) {
+            throw new IOException("El archivo " + indice + " no es un índice de auditoría");
+        }
+        Path carpeta = indice.toAbsolutePath().getParent();
+        List<Segmento> segmentos = new ArrayList<>();
+        for (int i = 1; i < lineas.size(); i++) {
+            String[] campos = lineas.get(i).split(",");
+            if (campos.length != 8) {
+                throw new IOException("Línea " + (i + 1) + " inválida en " + indice + ": " + lineas.get(i));
+            }
+            try {
+                segmentos.add(new Segmento(Integer.parseInt(campos[0]), carpeta.resolve(campos[1]),
+                        Long.parseLong(campos[2]), Long.parseLong(campos[3]), Long.parseLong(campos[4]),
+                        Long.parseLong(campos[5]), Long.parseLong(campos[6]), "1".equals(campos[7])));
+            } catch (NumberFormatException e) {
+                throw new IOException("Línea " + (i + 1) + " inválida en " + indice + ": " + lineas.get(i), e);
+            }
+        }
+        return new IndiceAuditoria(segmentos);
+    }
+
+    /**
+     * @return todos los segmentos, en orden
+     */
+    public List<Segmento> getSegmentos() {
+        return segmentos;
+    }
+
+    /**
+     * Busca los segmentos con filas dentro de un rango de ciclos.
+     *
+     * @param desde primer ciclo del rango
+     * @param hasta último ciclo del rango, incluido
+     * @return segmentos a leer, en orden
+     */
+    public List<Segmento> segmentosEntre(long desde, long hasta) {
+        List<Segmento> resultado = new ArrayList<>();
+        for (Segmento segmento : segmentos) {
+            if (segmento.cubre(desde, hasta)) {
+                resultado.add(segmento);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Recorre las líneas CSV de un rango de ciclos, sin la cabecera. Solo se abren los segmentos
+     * que lo cubren y se descomprimen de a bloques, sin cargarlos enteros en memoria. De cada segmento
+     * se leen solo las filas anotadas en el índice.
+     *
+     * @param desde primer ciclo del rango
+     * @param hasta último ciclo del rango, incluido
+     * @param consumidor recibe cada línea del rango, en el orden del archivo
+     * @return líneas entregadas
+     * @throws IOException si no se puede leer algún segmento
+     */
+    public long leerRango(long desde, long hasta, Consumer<String> consumidor) throws IOException {
+        long entregadas = 0;
+        for (Segmento segmento : segmentosEntre(desde, hasta)) {
+            try (BufferedReader lector = abrirSegmento(segmento)) {
+                lector.readLine();
+                String linea;
+                for (long leidas = 0; leidas < segmento.getFilas() && (linea = lector.readLine()) != null; leidas++) {
+                    int coma = linea.indexOf(',');
+                    long ciclo = Long.parseLong((coma < 0) ? linea : linea.substring(0, coma));
+                    if (ciclo >= desde && ciclo <= hasta) {
+                        consumidor.accept(linea);
+                        entregadas++;
+                    }
+                }
+            }
+        }
+        return entregadas;
+    }
+
+    /**
+     * Abre un segmento como texto, descomprimiéndolo si tiene extensión {@code .gz}. Un segmento no
+     * cerrado se lee hasta donde llegue el archivo, sin fallar por la falta del cierre del gzip.
+     *
+     * @param segmento segmento a abrir
+     * @return lector posicionado en la cabecera CSV
+     * @throws IOException si no se puede abrir
+     */
+    public static BufferedReader abrirSegmento(Segmento segmento) throws IOException {
+        InputStream entrada = Files.newInputStream(segmento.getArchivo());
+        if (segmento.getArchivo().getFileName().toString().endsWith(".gz")) {
+            entrada = new GZIPInputStream(entrada, 1 << 16);
+            if (!segmento.isCerrado()) {
+                entrada = new FinTruncado(entrada);
+            }
+        }
+        return new BufferedReader(new InputStreamReader(entrada, StandardCharsets.US_ASCII), 1 << 16);
+    }
+}
@@ -0,0 +1,217 @@
+package sim.recorder;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee una traza escrita por {@link TrazaAccesos} sin copiar filas: cada segmento se proyecta en memoria
+ * de solo lectura y los getters leen la columna directamente del archivo proyectado. Funciona como
+ * flyweight, igual que el cursor de {@link sim.negocio.RegistroAccesos}: {@link #siguiente()} avanza
+ * una posición y los getters devuelven los campos de esa fila, sin crear objetos.
+ *
+ * Las filas de cada segmento se toman de su cabecera al abrir la traza. Un lector no es seguro
+ * para varios hilos; cada uno abre el suyo.
+ */
+public class LectorTraza {
+    private final MappedByteBuffer[] segmentos;
+    private final long[] filasSegmento;
+    private final int[][] inicioColumna;
+    private final int tamPagina;
+    private final int muestreo;
+    private final long filas;
+
+    private int segmento = 0;
+    private int fila = -1;
+    private MappedByteBuffer actual;
+    private int[] columnas;
+
+    private LectorTraza(List<MappedByteBuffer> segmentos, int tamPagina, int muestreo) {
+        this.segmentos = segmentos.toArray(new MappedByteBuffer[0]);
+        this.filasSegmento = new long[this.segmentos.length];
+        this.inicioColumna = new int[this.segmentos.length][];
+        this.tamPagina = tamPagina;
+        this.muestreo = muestreo;
+        long total = 0;
+        for (int i = 0; i < this.segmentos.length; i++) {
+            MappedByteBuffer s = this.segmentos[i];
+            filasSegmento[i] = s.getLong(TrazaAccesos.OFFSET_FILAS);
+            int capacidad = s.getInt(12);
+            int[] inicio = new int[TrazaAccesos.ANCHOS.length];
+            int posicion = TrazaAccesos.TAMANO_CABECERA;
+            for (int c = 0; c < inicio.length; c++) {
+                inicio[c] = posicion;
+                posicion += capacidad * TrazaAccesos.ANCHOS[c];
+            }
+            inicioColumna[i] = inicio;
+            total += filasSegmento[i];
+        }
+        this.filas = total;
+        if (this.segmentos.length > 0) {
+            actual = this.segmentos[0];
+            columnas = inicioColumna[0];
+        }
+    }
+
+    /**
+     * Abre todos los segmentos consecutivos de una traza, desde el 0 hasta el primero que falte.
+     *
+     * @param rutaBase ruta de los segmentos sin número ni extensión, la misma que usó la traza
+     * @return lector posicionado antes de la primera fila
+     * @throws IOException si no hay segmentos, no se pueden leer o no tienen el formato esperado
+     */
+    public static LectorTraza abrir(String rutaBase) throws IOException {
+        List<MappedByteBuffer> segmentos = new ArrayList<>();
+        int tamPagina = 0;
+        int muestreo = 1;
+        for (int n = 0; ; n++) {
+            Path ruta = TrazaAccesos.rutaSegmento(rutaBase, n);
+            if (!Files.exists(ruta)) break;
+            MappedByteBuffer segmento;
+            try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+                segmento = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            }
+            segmento.order(ByteOrder.LITTLE_ENDIAN);
+            validar(segmento, ruta);
+            tamPagina = segmento.getInt(8);
+            muestreo = segmento.getInt(28);
+            segmentos.add(segmento);
+        }
+        if (segmentos.isEmpty()) {
+            throw new IOException("No hay segmentos de traza en " + TrazaAccesos.rutaSegmento(rutaBase, 0));
+        }
+        return new LectorTraza(segmentos, tamPagina, muestreo);
+    }
+
+    /**
+     * Verifica la cabecera y el esquema de un segmento.
+     *
+     * @param segmento segmento proyectado
+     * @param ruta ruta del segmento, para los mensajes de error
+     * @throws IOException si el formato no coincide
+     */
+    private static void validar(MappedByteBuffer segmento, Path ruta) throws IOException {
+        if (segmento.capacity() < TrazaAccesos.TAMANO_CABECERA || segmento.getInt(0) != TrazaAccesos.MAGIA) {
+            throw new IOException("El archivo " + ruta + " no es un segmento de traza de accesos");
+        }
+        if (segmento.getShort(4) != TrazaAccesos.VERSION) {
+            throw new IOException("Versión de traza no soportada en " + ruta + ": " + segmento.getShort(4));
+        }
+        if (segmento.getShort(6) != TrazaAccesos.COLUMNAS.length) {
+            throw new IOException("Esquema inesperado en " + ruta + ": " + segmento.getShort(6) + " columnas");
+        }
+        for (int c = 0; c < TrazaAccesos.COLUMNAS.length; c++) {
+            int base = TrazaAccesos.OFFSET_ESQUEMA + c * TrazaAccesos.TAMANO_COLUMNA_ESQUEMA;
+            byte[] nombre = TrazaAccesos.COLUMNAS[c].getBytes(StandardCharsets.US_ASCII);
+            boolean coincide = segmento.get(base) == TrazaAccesos.ANCHOS[c];
+            for (int i = 0; i < nombre.length && coincide; i++) {
+                coincide = segmento.get(base + 1 + i) == nombre[i];
+            }
+            if (!coincide) {
+                throw new IOException("Esquema inesperado en " + ruta + ": columna " + c);
+            }
+        }
+        long capacidad = segmento.getInt(12);
+        long filas = segmento.getLong(TrazaAccesos.OFFSET_FILAS);
+        if (filas < 0 || filas > capacidad
+                || segmento.capacity() < TrazaAccesos.TAMANO_CABECERA + capacidad * TrazaAccesos.ANCHO_FILA) {
+            throw new IOException("Segmento truncado o dañado: " + ruta);
+        }
+    }
+
+    /**
+     * Avanza a la siguiente fila de la traza, pasando de un segmento al siguiente cuando hace falta.
+     *
+     * @return true si había otra fila
+     */
+    public boolean siguiente() {
+        while (segmento < segmentos.length) {
+            if (fila + 1 < filasSegmento[segmento]) {
+                fila++;
+                return true;
+            }
+            segmento++;
+            fila = -1;
+            if (segmento < segmentos.length) {
+                actual = segmentos[segmento];
+                columnas = inicioColumna[segmento];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vuelve a posicionar el lector antes de la primera fila.
+     */
+    public void reiniciar() {
+        segmento = 0;
+        fila = -1;
+        if (segmentos.length > 0) {
+            actual = segmentos[0];
+            columnas = inicioColumna[0];
+        }
+    }
+
+    public long getCiclo() {
+        return actual.getLong(columnas[0] + fila * 8);
+    }
+
+    public int getPid() {
+        return actual.getInt(columnas[1] + fila * 4);
+    }
+
+    public int getPagina() {
+        return actual.getInt(columnas[2] + fila * 4);
+    }
+
+    public int getMarco() {
+        return actual.getInt(columnas[3] + fila * 4);
+    }
+
+    /**
+     * @return posición del token dentro de su página
+     */
+    public int getDesplazamiento() {
+        return actual.getInt(columnas[4] + fila * 4);
+    }
+
+    /**
+     * @return dirección física: marco por tamaño de página más desplazamiento
+     */
+    public long getDireccionFisica() {
+        return (long) getMarco() * tamPagina + getDesplazamiento();
+    }
+
+    public boolean isTlbHit() {
+        return actual.get(columnas[5] + fila) != 0;
+    }
+
+    /**
+     * @return filas de todos los segmentos
+     */
+    public long getFilas() {
+        return filas;
+    }
+
+    public int getSegmentos() {
+        return segmentos.length;
+    }
+
+    public int getTamPagina() {
+        return tamPagina;
+    }
+
+    /**
+     * @return 1 de cada cuántos accesos se guardó al escribir la traza
+     */
+    public int getMuestreo() {
+        return muestreo;
+    }
+}
@@ -0,0 +1,126 @@
+package sim.recorder;
+
+import java.util.Locale;
+
+/**
+ * Describe cómo el {@link Auditador} vuelca al archivo los registros por ciclo y qué hace cuando
+ * el escritor en segundo plano no da abasto. Los registros pasan por un buffer circular de
+ * {@code capacidad} registros; el escritor los formatea en un buffer grande y lo escribe al canal:
+ * <ul>
+ *   <li>{@code tiempo:ms}: a lo sumo una escritura cada {@code ms} milisegundos</li>
+ *   <li>{@code registros:n}: una escritura cada {@code n} registros</li>
+ *   <li>{@code cierre}: solo cuando se llena el buffer del escritor y al cerrar</li>
+ * </ul>
+ * Con el buffer circular lleno, {@code bloquear} hace esperar a la simulación hasta que haya lugar
+ * (no se pierde ningún registro) y {@code descartar} tira el registro nuevo y lo cuenta.
+ */
+public class PoliticaAuditoria {
+    /** Capacidad del buffer circular si la descripción no la indica. */
+    public static final int CAPACIDAD_POR_DEFECTO = 1 << 12;
+
+    /** Política de los CSV temporales de la interfaz: el reporte ve datos de hace un cuarto de segundo como mucho. */
+    public static final PoliticaAuditoria INTERACTIVA = new PoliticaAuditoria(Volcado.TIEMPO, 250, Desborde.BLOQUEAR, CAPACIDAD_POR_DEFECTO);
+
+    /** Política de los archivos persistentes de las ejecuciones sin interfaz: se escribe en bloques grandes. */
+    public static final PoliticaAuditoria PERSISTENTE = new PoliticaAuditoria(Volcado.CIERRE, 0, Desborde.BLOQUEAR, CAPACIDAD_POR_DEFECTO);
+
+    /**
+     * Momento en que el escritor vuelca lo acumulado al archivo.
+     */
+    public enum Volcado {
+        TIEMPO, REGISTROS, CIERRE
+    }
+
+    /**
+     * Comportamiento con el buffer circular lleno.
+     */
+    public enum Desborde {
+        BLOQUEAR, DESCARTAR
+    }
+
+    private final Volcado volcado;
+    private final long umbral;
+    private final Desborde desborde;
+    private final int capacidad;
+
+    /**
+     * @param volcado momento del volcado
+     * @param umbral milisegundos entre volcados o registros por volcado (sin uso con {@link Volcado#CIERRE})
+     * @param desborde comportamiento con el buffer circular lleno
+     * @param capacidad registros del buffer circular
+     */
+    public PoliticaAuditoria(Volcado volcado, long umbral, Desborde desborde, int capacidad) {
+        if (volcado != Volcado.CIERRE && umbral <= 0) {
+            throw new IllegalArgumentException("El umbral de volcado debe ser positivo");
+        }
+        if (capacidad < 2) {
+            throw new IllegalArgumentException("El buffer circular necesita al menos 2 registros");
+        }
+        this.volcado = volcado;
+        this.umbral = umbral;
+        this.desborde = desborde;
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Crea una política a partir de su descripción textual.
+     * Formatos aceptados: {@code tiempo:ms:desborde}, {@code registros:n:desborde} o {@code cierre:desborde},
+     * con {@code desborde} {@code bloquear} o {@code descartar} y opcionalmente la capacidad del buffer
+     * circular al final, por ejemplo {@code tiempo:250:bloquear} o {@code registros:512:descartar:1024}.
+     *
+     * @param texto descripción de la política
+     * @return política configurada
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static PoliticaAuditoria desdeTexto(String texto) {
+        String[] partes = texto.trim().toLowerCase(Locale.ROOT).split(":");
+        Volcado volcado;
+        try {
+            volcado = Volcado.valueOf(partes[0].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Volcado inválido en '" + texto + "'. Use tiempo, registros o cierre", e);
+        }
+
+        int siguiente = (volcado == Volcado.CIERRE) ? 1 : 2;
+        if (partes.length < siguiente + 1 || partes.length > siguiente + 2) {
+            throw new IllegalArgumentException("Auditoría inválida: '" + texto
+                    + "'. Use tiempo:ms:desborde, registros:n:desborde o cierre:desborde");
+        }
+        Desborde desborde;
+        try {
+            desborde = Desborde.valueOf(partes[siguiente].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Desborde inválido en '" + texto + "'. Use bloquear o descartar", e);
+        }
+        try {
+            long umbral = (volcado == Volcado.CIERRE) ? 0 : Long.parseLong(partes[1].trim());
+            int capacidad = (partes.length > siguiente + 1)
+                    ? Integer.parseInt(partes[siguiente + 1].trim()) : CAPACIDAD_POR_DEFECTO;
+            return new PoliticaAuditoria(volcado, umbral, desborde, capacidad);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parámetro numérico inválido en '" + texto + "'", e);
+        }
+    }
+
+    public Volcado getVolcado() {
+        return volcado;
+    }
+
+    public long getUmbral() {
+        return umbral;
+    }
+
+    public Desborde getDesborde() {
+        return desborde;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    @Override
+    public String toString() {
+        String base = volcado.name().toLowerCase(Locale.ROOT) + ((volcado == Volcado.CIERRE) ? "" : ":" + umbral);
+        return base + ":" + desborde.name().toLowerCase(Locale.ROOT) + ":" + capacidad;
+    }
+}
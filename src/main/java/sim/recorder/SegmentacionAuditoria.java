@@ -0,0 +1,135 @@
+package sim.recorder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Describe cómo se divide en segmentos el CSV persistente del {@link Auditador}. Cada segmento es
+ * un CSV completo, con su cabecera, comprimido o no, y se cierra al llegar a un tamaño sin comprimir
+ * o a una cantidad de ciclos. Un índice anota el rango de ciclos de cada segmento, así que las
+ * herramientas de análisis solo descomprimen los segmentos que cubren el rango que les interesa
+ * (ver {@link IndiceAuditoria}).
+ */
+public class SegmentacionAuditoria {
+
+    /**
+     * Compresión de cada segmento.
+     */
+    public enum Compresion {
+        NO(".csv"), GZIP(".csv.gz");
+
+        private final String extension;
+
+        Compresion(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final Compresion compresion;
+    private final long bytesPorSegmento;
+    private final long ciclosPorSegmento;
+
+    /**
+     * @param compresion compresión de cada segmento
+     * @param bytesPorSegmento bytes sin comprimir a partir de los cuales se rota, o 0 sin límite
+     * @param ciclosPorSegmento ciclos que cubre cada segmento, o 0 sin límite
+     */
+    public SegmentacionAuditoria(Compresion compresion, long bytesPorSegmento, long ciclosPorSegmento) {
+        if (bytesPorSegmento < 0 || ciclosPorSegmento < 0) {
+            throw new IllegalArgumentException("Los límites de segmento no pueden ser negativos");
+        }
+        this.compresion = compresion;
+        this.bytesPorSegmento = bytesPorSegmento;
+        this.ciclosPorSegmento = ciclosPorSegmento;
+    }
+
+    /**
+     * Crea una segmentación a partir de su descripción textual.
+     * Formato: {@code compresion:mb:ciclos}, con {@code compresion} {@code gzip} o {@code no},
+     * {@code mb} los MB sin comprimir por segmento y {@code ciclos} los ciclos por segmento
+     * (0 en cualquiera de los dos para no limitar por ese criterio), por ejemplo {@code gzip:64:100000}.
+     *
+     * @param texto descripción de la segmentación
+     * @return segmentación configurada
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static SegmentacionAuditoria desdeTexto(String texto) {
+        String[] partes = texto.trim().toLowerCase(Locale.ROOT).split(":");
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Segmentación inválida: '" + texto + "'. Use compresion:mb:ciclos");
+        }
+        Compresion compresion;
+        try {
+            compresion = Compresion.valueOf(partes[0].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Compresión inválida en '" + texto + "'. Use gzip o no", e);
+        }
+        try {
+            long mb = Long.parseLong(partes[1].trim());
+            long ciclos = Long.parseLong(partes[2].trim());
+            return new SegmentacionAuditoria(compresion, mb << 20, ciclos);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parámetro numérico inválido en '" + texto + "'", e);
+        }
+    }
+
+    /**
+     * Indica si el próximo registro debe abrir un segmento nuevo.
+     *
+     * @param bytesEscritos bytes sin comprimir del segmento actual
+     * @param ciclosCubiertos ciclos entre el primer registro del segmento y el próximo
+     * @return true si se alcanzó alguno de los límites
+     */
+    public boolean debeRotar(long bytesEscritos, long ciclosCubiertos) {
+        return (bytesPorSegmento > 0 && bytesEscritos >= bytesPorSegmento)
+                || (ciclosPorSegmento > 0 && ciclosCubiertos >= ciclosPorSegmento);
+    }
+
+    /**
+     * Quita la extensión {@code .csv} de la ruta pedida al auditor; segmentos e índice se nombran a partir de ella.
+     *
+     * @param rutaArchivo ruta del CSV de auditoría
+     * @return ruta base sin extensión
+     */
+    public static String rutaBase(String rutaArchivo) {
+        return rutaArchivo.endsWith(".csv") ? rutaArchivo.substring(0, rutaArchivo.length() - 4) : rutaArchivo;
+    }
+
+    /**
+     * Calcula la ruta del índice de segmentos.
+     *
+     * @param rutaBase ruta base de los segmentos
+     * @return ruta {@code base.indice.csv}
+     */
+    public static Path rutaIndice(String rutaBase) {
+        return Paths.get(rutaBase + ".indice.csv");
+    }
+
+    /**
+     * Calcula la ruta de un segmento.
+     *
+     * @param rutaBase ruta base de los segmentos
+     * @param numero número de segmento
+     * @return ruta {@code base-00000.csv.gz} o {@code base-00000.csv} según la compresión
+     */
+    public Path rutaSegmento(String rutaBase, int numero) {
+        return Paths.get(rutaBase + "-" + String.format("%05d", numero) + compresion.getExtension());
+    }
+
+    public Compresion getCompresion() {
+        return compresion;
+    }
+
+    public long getBytesPorSegmento() {
+        return bytesPorSegmento;
+    }
+
+    public long getCiclosPorSegmento() {
+        return ciclosPorSegmento;
+    }
+}
@@ -0,0 +1,255 @@
+package sim.recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Traza binaria de cada traducción de dirección (ciclo, pid, página virtual, marco, desplazamiento
+ * y acierto de TLB) para análisis fuera de línea. Escribir una fila no hace llamadas al sistema ni
+ * crea objetos: el archivo se proyecta en memoria con {@link MappedByteBuffer} y cada columna se
+ * escribe con un put absoluto. Al llenarse un segmento se abre el siguiente.
+ *
+ * Cada segmento {@code base-00000.trz, base-00001.trz, ...} tiene una cabecera de {@link #TAMANO_CABECERA}
+ * bytes con el esquema y luego las columnas una detrás de otra, cada una de ancho fijo y con lugar para
+ * {@code capacidad} filas. Todo en little endian:
+ * <pre>
+ *   0  int   magia "KVTR"          16 long  filas escritas
+ *   4  short versión               24 int   número de segmento
+ *   6  short columnas              28 int   muestreo (1 de cada n)
+ *   8  int   tamaño de página      32 ...   esquema: por columna 1 byte de ancho y 15 de nombre ASCII
+ *  12  int   capacidad en filas
+ * </pre>
+ * Las filas escritas se actualizan con cada fila, así que un segmento se puede leer aunque la
+ * simulación no haya cerrado la traza. El último segmento conserva su tamaño completo; el espacio
+ * sin filas no se escribe y en la mayoría de los sistemas de archivos no ocupa disco.
+ *
+ * La lee {@link LectorTraza}. Solo debe escribirla un hilo, el de la simulación.
+ */
+public class TrazaAccesos {
+    public static final int MAGIA = 0x5254564B; // "KVTR" en little endian
+    public static final short VERSION = 1;
+    public static final int TAMANO_CABECERA = 128;
+    public static final String EXTENSION = ".trz";
+
+    // Esquema: nombre y ancho en bytes de cada columna, en el orden en que se guardan
+    static final String[] COLUMNAS = {"ciclo", "pid", "pagina", "marco", "desplazamiento", "acierto"};
+    static final int[] ANCHOS = {8, 4, 4, 4, 4, 1};
+    static final int ANCHO_FILA = 25;
+    static final int OFFSET_FILAS = 16;
+    static final int OFFSET_ESQUEMA = 32;
+    static final int TAMANO_COLUMNA_ESQUEMA = 16;
+
+    // Un MappedByteBuffer se indexa con int
+    private static final long MAXIMO_SEGMENTO = Integer.MAX_VALUE;
+
+    private final String rutaBase;
+    private final int tamPagina;
+    private final int capacidad;
+    private final int muestreo;
+    private final int[] pids;
+    private final int[] inicioColumna = new int[ANCHOS.length];
+
+    private MappedByteBuffer segmento;
+    private int numeroSegmento = -1;
+    private int fila;
+    private long accesosVistos = 0;
+    private long filasEscritas = 0;
+    private boolean cerrada = false;
+
+    /**
+     * Crea la traza y su primer segmento.
+     *
+     * @param rutaBase ruta de los segmentos sin número ni extensión
+     * @param tamPagina tokens por marco, para calcular el desplazamiento dentro de la página
+     * @param bytesPorSegmento tamaño de cada segmento, cabecera incluida
+     * @param muestreo se guarda 1 de cada {@code muestreo} accesos que pasan el filtro de pids
+     * @param pids procesos a trazar, o null para todos
+     * @throws UncheckedIOException si no se puede crear el primer segmento
+     */
+    public TrazaAccesos(String rutaBase, int tamPagina, long bytesPorSegmento, int muestreo, int[] pids) {
+        if (bytesPorSegmento > MAXIMO_SEGMENTO || bytesPorSegmento < TAMANO_CABECERA + ANCHO_FILA) {
+            throw new IllegalArgumentException("Tamaño de segmento fuera de rango: " + bytesPorSegmento + " bytes");
+        }
+        if (muestreo < 1) {
+            throw new IllegalArgumentException("El muestreo debe ser al menos 1: " + muestreo);
+        }
+        this.rutaBase = rutaBase;
+        this.tamPagina = tamPagina;
+        this.capacidad = (int) ((bytesPorSegmento - TAMANO_CABECERA) / ANCHO_FILA);
+        this.muestreo = muestreo;
+        this.pids = (pids != null) ? pids.clone() : null;
+        if (this.pids != null) {
+            Arrays.sort(this.pids);
+        }
+        int inicio = TAMANO_CABECERA;
+        for (int c = 0; c < ANCHOS.length; c++) {
+            inicioColumna[c] = inicio;
+            inicio += capacidad * ANCHOS[c];
+        }
+        try {
+            borrarSegmentosPrevios();
+            abrirSegmento();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear la traza de accesos " + rutaSegmento(rutaBase, 0), e);
+        }
+    }
+
+    /**
+     * Interpreta la lista de procesos a trazar.
+     *
+     * @param texto pids separados por comas, por ejemplo {@code 3,7,12}
+     * @return pids indicados
+     * @throws IllegalArgumentException si algún pid no es un número
+     */
+    public static int[] pidsDesdeTexto(String texto) {
+        String[] partes = texto.split(",");
+        int[] pids = new int[partes.length];
+        try {
+            for (int i = 0; i < partes.length; i++) {
+                pids[i] = Integer.parseInt(partes[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Lista de pids inválida: '" + texto + "'", e);
+        }
+        return pids;
+    }
+
+    /**
+     * Calcula la ruta de un segmento.
+     *
+     * @param rutaBase ruta de los segmentos sin número ni extensión
+     * @param numero número de segmento
+     * @return ruta del segmento
+     */
+    public static Path rutaSegmento(String rutaBase, int numero) {
+        return Paths.get(rutaBase + "-" + String.format("%05d", numero) + EXTENSION);
+    }
+
+    /**
+     * Borra los segmentos de una traza anterior con la misma ruta base. Los que esta traza vuelva a
+     * usar se truncarían igual, pero los de número mayor quedarían y el lector los tomaría como propios.
+     *
+     * @throws IOException si no se puede borrar alguno
+     */
+    private void borrarSegmentosPrevios() throws IOException {
+        for (int n = 0; Files.deleteIfExists(rutaSegmento(rutaBase, n)); n++) {
+            // Se sigue hasta el primer número que falte, igual que LectorTraza
+        }
+    }
+
+    /**
+     * Proyecta en memoria el siguiente segmento y escribe su cabecera.
+     *
+     * @throws IOException si no se puede crear o proyectar el archivo
+     */
+    private void abrirSegmento() throws IOException {
+        numeroSegmento++;
+        Path ruta = rutaSegmento(rutaBase, numeroSegmento);
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        long tamano = TAMANO_CABECERA + (long) capacidad * ANCHO_FILA;
+        // La proyección sigue vigente después de cerrar el canal
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+        }
+        segmento.order(ByteOrder.LITTLE_ENDIAN);
+        segmento.putInt(0, MAGIA);
+        segmento.putShort(4, VERSION);
+        segmento.putShort(6, (short) COLUMNAS.length);
+        segmento.putInt(8, tamPagina);
+        segmento.putInt(12, capacidad);
+        segmento.putLong(OFFSET_FILAS, 0);
+        segmento.putInt(24, numeroSegmento);
+        segmento.putInt(28, muestreo);
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            int base = OFFSET_ESQUEMA + c * TAMANO_COLUMNA_ESQUEMA;
+            segmento.put(base, (byte) ANCHOS[c]);
+            byte[] nombre = COLUMNAS[c].getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < TAMANO_COLUMNA_ESQUEMA - 1; i++) {
+                segmento.put(base + 1 + i, (i < nombre.length) ? nombre[i] : 0);
+            }
+        }
+        fila = 0;
+    }
+
+    /**
+     * Agrega un acceso a la traza si pasa el filtro de pids y el muestreo.
+     *
+     * @param ciclo ciclo de simulación del acceso
+     * @param pid identificador del proceso
+     * @param pagina número de página virtual
+     * @param marco número de marco físico
+     * @param direccionVirtual índice del token accedido
+     * @param tlbHit true si la traducción salió de la TLB
+     */
+    public void registrar(long ciclo, int pid, int pagina, int marco, int direccionVirtual, boolean tlbHit) {
+        if (cerrada) return;
+        if (pids != null && Arrays.binarySearch(pids, pid) < 0) return;
+        if (accesosVistos++ % muestreo != 0) return;
+
+        if (fila == capacidad) {
+            try {
+                abrirSegmento();
+            } catch (IOException e) {
+                System.err.println("❌ No se pudo abrir el segmento " + numeroSegmento + " de la traza de accesos: "
+                        + e.getMessage());
+                cerrada = true;
+                return;
+            }
+        }
+        MappedByteBuffer s = segmento;
+        int f = fila;
+        s.putLong(inicioColumna[0] + f * 8, ciclo);
+        s.putInt(inicioColumna[1] + f * 4, pid);
+        s.putInt(inicioColumna[2] + f * 4, pagina);
+        s.putInt(inicioColumna[3] + f * 4, marco);
+        s.putInt(inicioColumna[4] + f * 4, direccionVirtual % tamPagina);
+        s.put(inicioColumna[5] + f, (byte) (tlbHit ? 1 : 0));
+        fila = f + 1;
+        s.putLong(OFFSET_FILAS, fila);
+        filasEscritas++;
+    }
+
+    /**
+     * Deja de trazar. Las filas ya están en la proyección, que el sistema operativo escribe al archivo.
+     */
+    public void cerrar() {
+        cerrada = true;
+    }
+
+    /**
+     * @return accesos que pasaron el filtro de pids, guardados o no por el muestreo
+     */
+    public long getAccesosVistos() {
+        return accesosVistos;
+    }
+
+    public long getFilasEscritas() {
+        return filasEscritas;
+    }
+
+    /**
+     * @return segmentos creados hasta ahora
+     */
+    public int getSegmentos() {
+        return numeroSegmento + 1;
+    }
+
+    /**
+     * @return filas que entran en cada segmento
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+}
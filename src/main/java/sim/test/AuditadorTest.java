@@ -0,0 +1,127 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.recorder.Auditador;
+import sim.recorder.FilaAuditoria;
+import sim.recorder.PoliticaAuditoria;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditadorTest {
+
+    @TempDir
+    Path carpeta;
+
+    private static void registrar(Auditador auditador, int ciclo) {
+        auditador.registrar(new FilaAuditoria()
+                .ciclo(ciclo)
+                .procesosActivos(3)
+                .marcosOcupados(10)
+                .tlb(100 + ciclo, 7)
+                .lote(2, 16, 1)
+                .enEspera(4)
+                .especulacion(0, 0, 1, 2)
+                .marcosCompartidos(5)
+                .fragmentacion(160, 120, new long[]{0, 1, 1, 1}));
+    }
+
+    @Test
+    void testLineasCompletasYEnOrden() throws IOException {
+        Path archivo = carpeta.resolve("auditoria.csv");
+        Auditador auditador = new Auditador(archivo.toString());
+        auditador.setPolitica(PoliticaAuditoria.desdeTexto("registros:8:bloquear:16"));
+        auditador.setBytesPorToken(250, 4);
+        for (int ciclo = 0; ciclo < 5000; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+        auditador.cerrar();
+
+        List<String> lineas = Files.readAllLines(archivo);
+        assertEquals(5001, lineas.size());
+        assertTrue(lineas.get(0).startsWith("Ciclo,Procesos_Activos"));
+        assertEquals("42,3,10,142,7,2,16,1,4,0,0,1,2,5,10000,1000,5000,160,120,0.2500,40000,30000,10000,0,1,1,1", lineas.get(43));
+        for (int ciclo = 0; ciclo < 5000; ciclo++) {
+            assertTrue(lineas.get(ciclo + 1).startsWith(ciclo + ","));
+        }
+        assertEquals(5000, auditador.getRegistrosEscritos());
+        assertEquals(0, auditador.getRegistrosDescartados());
+    }
+
+    @Test
+    void testDescartarCuentaLoQueNoEntra() throws IOException {
+        Path archivo = carpeta.resolve("descarte.csv");
+        Auditador auditador = new Auditador(archivo.toString());
+        auditador.setPolitica(PoliticaAuditoria.desdeTexto("cierre:descartar:2"));
+        int total = 50_000;
+        for (int ciclo = 0; ciclo < total; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+        auditador.cerrar();
+
+        long escritos = auditador.getRegistrosEscritos();
+        assertEquals(total, escritos + auditador.getRegistrosDescartados());
+        assertEquals(escritos + 1, Files.readAllLines(archivo).size());
+    }
+
+    @Test
+    void testBloquearNoPierdeRegistros() throws IOException {
+        Path archivo = carpeta.resolve("bloqueo.csv");
+        Auditador auditador = new Auditador(archivo.toString());
+        auditador.setPolitica(PoliticaAuditoria.desdeTexto("tiempo:5:bloquear:2"));
+        int total = 20_000;
+        for (int ciclo = 0; ciclo < total; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+        auditador.cerrar();
+
+        assertEquals(total, auditador.getRegistrosEscritos());
+        assertEquals(0, auditador.getRegistrosDescartados());
+        assertEquals(total + 1, Files.readAllLines(archivo).size());
+        assertThrows(IllegalStateException.class, () -> auditador.setPolitica(PoliticaAuditoria.PERSISTENTE));
+    }
+
+    @Test
+    void testCerrarMientrasSeRegistraCuentaCadaFila() throws Exception {
+        for (int intento = 0; intento < 20; intento++) {
+            Path archivo = carpeta.resolve("cierre" + intento + ".csv");
+            Auditador auditador = new Auditador(archivo.toString());
+            auditador.setPolitica(PoliticaAuditoria.desdeTexto("registros:64:bloquear:256"));
+            int total = 200_000;
+            Thread productor = new Thread(() -> {
+                for (int ciclo = 0; ciclo < total; ciclo++) {
+                    registrar(auditador, ciclo);
+                }
+            });
+            productor.start();
+            Thread.sleep(intento % 5);
+            auditador.cerrar();
+            productor.join();
+
+            long escritos = auditador.getRegistrosEscritos();
+            assertEquals(total, escritos + auditador.getRegistrosDescartados());
+            assertEquals(escritos + 1, Files.readAllLines(archivo).size());
+        }
+    }
+
+    @Test
+    void testFormatosDePolitica() {
+        PoliticaAuditoria politica = PoliticaAuditoria.desdeTexto("tiempo:250:bloquear");
+        assertEquals(PoliticaAuditoria.Volcado.TIEMPO, politica.getVolcado());
+        assertEquals(250, politica.getUmbral());
+        assertEquals(PoliticaAuditoria.CAPACIDAD_POR_DEFECTO, politica.getCapacidad());
+        assertEquals(PoliticaAuditoria.Desborde.DESCARTAR, PoliticaAuditoria.desdeTexto("cierre:descartar").getDesborde());
+        assertEquals(64, PoliticaAuditoria.desdeTexto("registros:8:bloquear:64").getCapacidad());
+
+        assertThrows(IllegalArgumentException.class, () -> PoliticaAuditoria.desdeTexto("siempre:bloquear"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaAuditoria.desdeTexto("tiempo:bloquear"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaAuditoria.desdeTexto("registros:0:bloquear"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaAuditoria.desdeTexto("cierre:esperar"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaAuditoria.desdeTexto("cierre:bloquear:1"));
+    }
+}
@@ -0,0 +1,167 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.recorder.Auditador;
+import sim.recorder.FilaAuditoria;
+import sim.recorder.IndiceAuditoria;
+import sim.recorder.PoliticaAuditoria;
+import sim.recorder.SegmentacionAuditoria;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditoriaSegmentadaTest {
+
+    @TempDir
+    Path carpeta;
+
+    private static void registrar(Auditador auditador, int ciclo) {
+        auditador.registrar(new FilaAuditoria()
+                .ciclo(ciclo)
+                .procesosActivos(3)
+                .marcosOcupados(10)
+                .tlb(100 + ciclo, 7)
+                .lote(2, 16, 1)
+                .enEspera(4)
+                .especulacion(0, 0, 1, 2)
+                .marcosCompartidos(5)
+                .fragmentacion(160, 120, new long[]{0, 1, 1, 1}));
+    }
+
+    @Test
+    void testRotacionPorCiclosConIndice() throws IOException {
+        Path archivo = carpeta.resolve("salida.csv");
+        Auditador auditador = new Auditador(archivo.toString(), SegmentacionAuditoria.desdeTexto("gzip:0:1000"));
+        auditador.setPolitica(PoliticaAuditoria.desdeTexto("registros:64:bloquear:256"));
+        for (int ciclo = 0; ciclo < 4500; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+        auditador.cerrar();
+
+        assertFalse(Files.exists(archivo), "Con segmentación no se escribe el CSV único");
+        assertEquals(5, auditador.getSegmentos());
+        IndiceAuditoria indice = IndiceAuditoria.abrir(archivo.toString());
+        List<IndiceAuditoria.Segmento> segmentos = indice.getSegmentos();
+        assertEquals(5, segmentos.size());
+        assertEquals(carpeta.resolve("salida-00002.csv.gz").toAbsolutePath(), segmentos.get(2).getArchivo());
+        assertEquals(2000, segmentos.get(2).getCicloInicial());
+        assertEquals(2999, segmentos.get(2).getCicloFinal());
+        assertEquals(500, segmentos.get(4).getFilas());
+        for (IndiceAuditoria.Segmento segmento : segmentos) {
+            assertTrue(segmento.isCerrado());
+            assertEquals(Files.size(segmento.getArchivo()), segmento.getBytesArchivo());
+            assertTrue(segmento.getBytesArchivo() < segmento.getBytesSinComprimir());
+        }
+
+        // Cada segmento es un CSV completo por sí mismo
+        try (BufferedReader lector = IndiceAuditoria.abrirSegmento(segmentos.get(3))) {
+            assertTrue(lector.readLine().startsWith("Ciclo,Procesos_Activos"));
+            assertTrue(lector.readLine().startsWith("3000,3,10,3100,"));
+        }
+    }
+
+    @Test
+    void testLeerRangoAbreSoloLosSegmentosNecesarios() throws IOException {
+        Path archivo = carpeta.resolve("rango.csv");
+        Auditador auditador = new Auditador(archivo.toString(), SegmentacionAuditoria.desdeTexto("gzip:0:500"));
+        for (int ciclo = 0; ciclo < 3000; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+        auditador.cerrar();
+
+        IndiceAuditoria indice = IndiceAuditoria.abrir(archivo.toString());
+        assertEquals(2, indice.segmentosEntre(1400, 1600).size());
+        // Un segmento borrado fuera del rango no impide leerlo
+        Files.delete(indice.getSegmentos().get(0).getArchivo());
+        List<String> lineas = new ArrayList<>();
+        assertEquals(201, indice.leerRango(1400, 1600, lineas::add));
+        assertTrue(lineas.get(0).startsWith("1400,"));
+        assertTrue(lineas.get(200).startsWith("1600,"));
+        assertEquals(0, indice.leerRango(5000, 6000, lineas::add));
+    }
+
+    @Test
+    void testIndiceListaElSegmentoAbiertoDuranteLaEjecucion() throws Exception {
+        Path archivo = carpeta.resolve("vivo.csv");
+        Auditador auditador = new Auditador(archivo.toString(), SegmentacionAuditoria.desdeTexto("gzip:0:1000"));
+        auditador.setPolitica(PoliticaAuditoria.desdeTexto("tiempo:10:bloquear:4096"));
+        for (int ciclo = 0; ciclo < 2500; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+
+        // Sin cerrar el auditor, el índice termina alcanzando todas las filas volcadas
+        IndiceAuditoria indice = IndiceAuditoria.abrir(archivo.toString());
+        long limite = System.currentTimeMillis() + 10_000;
+        while (indice.getSegmentos().stream().mapToLong(IndiceAuditoria.Segmento::getFilas).sum() < 2500
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+            indice = IndiceAuditoria.abrir(archivo.toString());
+        }
+        List<IndiceAuditoria.Segmento> segmentos = indice.getSegmentos();
+        assertEquals(3, segmentos.size());
+        assertTrue(segmentos.get(1).isCerrado());
+        IndiceAuditoria.Segmento abierto = segmentos.get(2);
+        assertFalse(abierto.isCerrado());
+        assertEquals(2000, abierto.getCicloInicial());
+        assertEquals(2499, abierto.getCicloFinal());
+
+        // El gzip abierto todavía no tiene cierre, pero sus filas anotadas se leen
+        List<String> lineas = new ArrayList<>();
+        assertEquals(201, indice.leerRango(2200, 2400, lineas::add));
+        assertTrue(lineas.get(200).startsWith("2400,"));
+
+        auditador.cerrar();
+        assertTrue(IndiceAuditoria.abrir(archivo.toString()).getSegmentos().get(2).isCerrado());
+    }
+
+    @Test
+    void testRotacionPorTamanoSinCompresion() throws IOException {
+        Path archivo = carpeta.resolve("plano.csv");
+        Auditador auditador = new Auditador(archivo.toString(),
+                new SegmentacionAuditoria(SegmentacionAuditoria.Compresion.NO, 64 * 1024, 0));
+        for (int ciclo = 0; ciclo < 20_000; ciclo++) {
+            registrar(auditador, ciclo);
+        }
+        auditador.cerrar();
+
+        IndiceAuditoria indice = IndiceAuditoria.abrir(archivo.toString());
+        assertTrue(indice.getSegmentos().size() > 1);
+        long filas = 0;
+        long cicloEsperado = 0;
+        for (IndiceAuditoria.Segmento segmento : indice.getSegmentos()) {
+            assertTrue(segmento.getArchivo().toString().endsWith(".csv"));
+            assertEquals(Files.size(segmento.getArchivo()), segmento.getBytesSinComprimir());
+            // Solo puede pasarse del límite por el último bloque volcado antes de rotar
+            assertTrue(segmento.getBytesSinComprimir() < 64 * 1024 + (1 << 20));
+            assertEquals(cicloEsperado, segmento.getCicloInicial());
+            cicloEsperado = segmento.getCicloFinal() + 1;
+            filas += segmento.getFilas();
+            assertEquals(segmento.getFilas() + 1, Files.readAllLines(segmento.getArchivo()).size());
+        }
+        assertEquals(20_000, filas);
+        assertEquals(20_000, auditador.getRegistrosEscritos());
+    }
+
+    @Test
+    void testFormatosDeSegmentacion() {
+        SegmentacionAuditoria segmentacion = SegmentacionAuditoria.desdeTexto("gzip:64:100000");
+        assertEquals(SegmentacionAuditoria.Compresion.GZIP, segmentacion.getCompresion());
+        assertEquals(64L << 20, segmentacion.getBytesPorSegmento());
+        assertEquals(100_000, segmentacion.getCiclosPorSegmento());
+        assertTrue(segmentacion.debeRotar(0, 100_000));
+        assertFalse(SegmentacionAuditoria.desdeTexto("no:0:0").debeRotar(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals("ruta/salida", SegmentacionAuditoria.rutaBase("ruta/salida.csv"));
+
+        assertThrows(IllegalArgumentException.class, () -> SegmentacionAuditoria.desdeTexto("zip:64:0"));
+        assertThrows(IllegalArgumentException.class, () -> SegmentacionAuditoria.desdeTexto("gzip:64"));
+        assertThrows(IllegalArgumentException.class, () -> SegmentacionAuditoria.desdeTexto("gzip:x:0"));
+        assertThrows(IllegalArgumentException.class, () -> SegmentacionAuditoria.desdeTexto("gzip:-1:0"));
+    }
+}
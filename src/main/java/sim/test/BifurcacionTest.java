@@ -0,0 +1,187 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BifurcacionTest {
+
+    private static void alojar(MMUService mmu, LLMProcess proceso, int tokens) throws Exception {
+        for (int i = 0; i < tokens; i++) {
+            mmu.asignarMemoriaParaToken(proceso);
+        }
+    }
+
+    @Test
+    void testHijoCompartePaginasCompletasYCopiaLaParcial() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(10);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess padre = new LLMProcess(1, "User-1", "#000000");
+        padre.setTokensPrompt(10);
+        alojar(mmu, padre, 10);
+
+        LLMProcess hijo = padre.crearHijo(2, "User-1/1");
+        assertEquals(1, hijo.getPidPadre());
+        assertEquals(10, hijo.getTokensPrompt());
+        assertEquals(2, mmu.bifurcar(padre, hijo));
+        assertEquals(10, hijo.getContadorTokens());
+
+        for (int vpn = 0; vpn < 2; vpn++) {
+            int marco = padre.getPageTable().getMarco(vpn);
+            assertEquals(marco, hijo.getPageTable().getMarco(vpn));
+            assertEquals(2, ram.getReferencias(marco));
+        }
+        assertNotEquals(padre.getPageTable().getMarco(2), hijo.getPageTable().getMarco(2),
+                "La última página, a medio llenar, se copia");
+        assertEquals(4, ram.getMarcosOcupados());
+        assertEquals(2, ram.getMarcosCompartidos());
+
+        // Cada uno escribe en su propia última página y después pide marcos distintos
+        alojar(mmu, padre, 3);
+        alojar(mmu, hijo, 3);
+        assertNotEquals(padre.getPageTable().getMarco(3), hijo.getPageTable().getMarco(3));
+        assertEquals(6, ram.getMarcosOcupados());
+    }
+
+    @Test
+    void testPodarLiberaSoloPaginasPropias() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(10);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess padre = new LLMProcess(1, "User-1", "#000000");
+        alojar(mmu, padre, 8);
+        LLMProcess hijo = padre.crearHijo(2, "User-1/1");
+        assertEquals(2, mmu.bifurcar(padre, hijo));
+        assertEquals(2, ram.getMarcosOcupados(), "En borde de página no hay nada que copiar");
+        alojar(mmu, hijo, 5);
+        assertEquals(4, ram.getMarcosOcupados());
+
+        assertEquals(2, mmu.liberarMemoria(hijo), "Solo quedan libres las dos páginas propias del hijo");
+        assertEquals(2, ram.getMarcosOcupados());
+        assertEquals(0, ram.getMarcosCompartidos());
+        int compartido = padre.getPageTable().getMarco(0);
+        assertEquals(1, ram.getReferencias(compartido));
+
+        assertEquals(2, mmu.liberarMemoria(padre), "La última referencia libera los marcos");
+        assertEquals(0, ram.getMarcosOcupados());
+        assertFalse(ram.isOcupado(compartido));
+    }
+
+    @Test
+    void testPadreTerminaAntesQueElHijo() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(4);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess padre = new LLMProcess(1, "User-1", "#000000");
+        alojar(mmu, padre, 6);
+        LLMProcess hijo = padre.crearHijo(2, "User-1/1");
+        mmu.bifurcar(padre, hijo);
+
+        assertEquals(1, mmu.liberarMemoria(padre));
+        int compartido = hijo.getPageTable().getMarco(0);
+        assertTrue(ram.isOcupado(compartido), "El hijo sigue mapeando el prompt");
+        assertEquals(1, ram.getReferencias(compartido));
+        assertEquals(2, mmu.liberarMemoria(hijo));
+        assertEquals(4, ram.getMarcosLibres());
+    }
+
+    @Test
+    void testBifurcarSinMemoriaParaLaCopia() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(2);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess padre = new LLMProcess(1, "User-1", "#000000");
+        alojar(mmu, padre, 6);
+        LLMProcess hijo = padre.crearHijo(2, "User-1/1");
+
+        assertThrows(Exception.class, () -> mmu.bifurcar(padre, hijo));
+        assertEquals(0, hijo.getPageTable().getCantidadPaginas());
+        assertEquals(0, ram.getMarcosCompartidos(), "Un fallo no deja referencias colgadas");
+    }
+
+    private Perfil perfil(String bifurcacion, int particiones) {
+        Perfil perfil = new Perfil("Beam", 20, 20, 8, 0, 64);
+        perfil.setSemilla(23L);
+        perfil.setLlegadas("poisson:0.1");
+        perfil.setLongitudPrompt("lognormal:3.5:0.5:120");
+        perfil.setLongitudSalida("lognormal:3.0:0.5:80");
+        perfil.setBifurcacion(bifurcacion);
+        perfil.setParticiones(particiones);
+        return perfil;
+    }
+
+    private SimulationManager ejecutar(Perfil perfil, int ciclos) {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+            // Cada marco ocupado lo mapea al menos un proceso activo y las referencias cuadran
+            Set<Integer> mapeados = new HashSet<>();
+            int referencias = 0;
+            for (LLMProcess p : simulador.getProcesosActivos()) {
+                for (int vpn = 0; vpn < p.getPageTable().getLimitePaginas(); vpn++) {
+                    int marco = p.getPageTable().getMarco(vpn);
+                    if (marco < 0) continue;
+                    mapeados.add(marco);
+                    referencias++;
+                }
+            }
+            assertEquals(mapeados.size(), ram.getMarcosOcupados(), "Sin marcos huérfanos");
+            assertEquals(referencias - mapeados.size(), simulador.getMarcosCompartidos());
+        }
+        return simulador;
+    }
+
+    @Test
+    void testSimulacionConBeamReportaAhorro() {
+        SimulationManager simulador = ejecutar(perfil("4:0.05", 1), 800);
+
+        assertTrue(simulador.getProcesosBifurcados() > 0);
+        assertTrue(simulador.getProcesosPodados() > 0);
+        assertTrue(simulador.getMarcosAhorradosBifurcacion() > 0);
+        assertTrue(simulador.getMarcosLiberadosPoda() > 0);
+    }
+
+    @Test
+    void testForkManualYPoda() {
+        SimulationManager simulador = ejecutar(perfil("no", 1), 60);
+        LLMProcess padre = simulador.getProcesosActivos().get(0);
+
+        List<LLMProcess> hijos = simulador.fork(padre, 2);
+        assertEquals(2, hijos.size());
+        assertTrue(simulador.getProcesosActivos().containsAll(hijos));
+        int completas = padre.getContadorTokens() / 8;
+        assertEquals(2L * completas, simulador.getMarcosAhorradosBifurcacion());
+        assertEquals(2 * completas, simulador.getMarcosCompartidos());
+
+        int parcial = (padre.getContadorTokens() % 8 == 0) ? 0 : 1;
+        assertEquals(parcial, simulador.podar(hijos.get(0)));
+        assertFalse(simulador.getProcesosActivos().contains(hijos.get(0)));
+        assertEquals(completas, simulador.getMarcosCompartidos());
+    }
+
+    @Test
+    void testParticionadoDeterminista() {
+        SimulationManager a = ejecutar(perfil("3:0.05", 4), 500);
+        SimulationManager b = ejecutar(perfil("3:0.05", 4), 500);
+
+        assertTrue(a.getProcesosBifurcados() > 0);
+        assertEquals(a.getProcesosBifurcados(), b.getProcesosBifurcados());
+        assertEquals(a.getProcesosPodados(), b.getProcesosPodados());
+        assertEquals(a.getMarcosAhorradosBifurcacion(), b.getMarcosAhorradosBifurcacion());
+        assertEquals(a.getTokensGenerados(), b.getTokensGenerados());
+    }
+}
@@ -0,0 +1,53 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.datos.CargarPerfiles;
+import sim.modelo.Perfil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CargarBarridoTest {
+
+    @TempDir
+    Path carpeta;
+
+    private List<Perfil> cargar(String contenido) throws IOException {
+        Path archivo = carpeta.resolve("barrido.txt");
+        Files.writeString(archivo, contenido);
+        return CargarPerfiles.cargarBarrido(archivo.toString());
+    }
+
+    @Test
+    void testListaDePidsNoEsUnEjeDelBarrido() throws IOException {
+        List<Perfil> perfiles = cargar("[Traza]\nmarcos=64\ntamPagina=16\ntamTlb=8\n"
+                + "trazaAccesos=" + carpeta.resolve("accesos") + "\npidsTraza=3,7,12\n");
+
+        assertEquals(1, perfiles.size());
+        assertEquals("3,7,12", perfiles.get(0).getPidsTraza());
+    }
+
+    @Test
+    void testTrazaNoSeCombinaConParticiones() throws IOException {
+        List<Perfil> perfiles = cargar("[Traza]\nmarcos=64\ntamPagina=16\ntamTlb=8\nparticiones=1,4\n"
+                + "trazaAccesos=" + carpeta.resolve("accesos") + "\n");
+
+        assertEquals(1, perfiles.size(), "Solo se acepta la variante en serie");
+        assertEquals(1, perfiles.get(0).getParticiones());
+    }
+
+    @Test
+    void testExpandeListasYRangos() throws IOException {
+        List<Perfil> perfiles = cargar("[Grilla]\nmarcos=64\ntamPagina=16,32\ntamTlb=8..32*2\n");
+
+        assertEquals(6, perfiles.size());
+        assertEquals(16, perfiles.get(0).getPageSize());
+        assertEquals(32, perfiles.get(5).getTLBSize());
+        assertEquals("Grilla [tamPagina=16, tamTlb=8]", perfiles.get(0).getNombre());
+    }
+}
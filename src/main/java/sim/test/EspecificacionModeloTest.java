@@ -0,0 +1,104 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.datos.CargarPerfiles;
+import sim.modelo.EspecificacionModelo;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EspecificacionModeloTest {
+
+    @Test
+    void testBytesPorTokenYModosCuantizados() {
+        EspecificacionModelo fp16 = EspecificacionModelo.desdeTexto("80:8:128:fp16");
+        // 2 (clave y valor) x 80 capas x 8 cabezas x 128 x 2 bytes
+        assertEquals(327_680, fp16.getBytesPorToken());
+        assertEquals(327_680L * 16, fp16.getBytesPorMarco(16));
+
+        EspecificacionModelo fp8 = EspecificacionModelo.desdeTexto("llama3-70b:FP8");
+        EspecificacionModelo int4 = EspecificacionModelo.desdeTexto("llama3-70b:int4");
+        assertEquals(80, fp8.getCapas());
+        assertEquals(EspecificacionModelo.TipoDato.FP8, fp8.getTipo());
+        assertEquals(fp16.getBytesPorToken() / 2, fp8.getBytesPorToken());
+        assertEquals(fp16.getBytesPorToken() / 4, int4.getBytesPorToken());
+
+        // La misma memoria rinde el doble de marcos en FP8 y el cuádruple en INT4
+        int marcosFp16 = fp16.marcosEnMemoria(80, 256);
+        assertEquals(1024, marcosFp16);
+        assertEquals(2 * marcosFp16, fp8.marcosEnMemoria(80, 256));
+        assertEquals(4 * marcosFp16, int4.marcosEnMemoria(80, 256));
+    }
+
+    @Test
+    void testFormatosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> EspecificacionModelo.desdeTexto("80:8:128"));
+        assertThrows(IllegalArgumentException.class, () -> EspecificacionModelo.desdeTexto("80:8:128:bf8"));
+        assertThrows(IllegalArgumentException.class, () -> EspecificacionModelo.desdeTexto("gpt-9:fp8"));
+        assertThrows(IllegalArgumentException.class, () -> EspecificacionModelo.desdeTexto("0:8:128:fp16"));
+        assertThrows(IllegalArgumentException.class,
+                () -> EspecificacionModelo.desdeTexto("80:8:128:fp16").marcosEnMemoria(0.001, 256));
+    }
+
+    @Test
+    void testPerfilDefinidoEnGB() {
+        Perfil perfil = CargarPerfiles.cargar().get("H100 80GB Llama3-70B FP8");
+        assertNotNull(perfil);
+        assertEquals(2048, perfil.getTotalMarcosRam());
+        assertEquals(64, perfil.getColGrilla());
+        assertEquals(80.0, perfil.getMemoriaGB());
+        assertEquals(40L << 20, perfil.getBytesPorMarco());
+    }
+
+    @Test
+    void testMemoriaGBNoSeCombinaConFilasNiMarcos() throws IOException {
+        Path archivo = Files.createTempFile("perfiles", ".txt");
+        Files.writeString(archivo, "[GB]\nmodelo=llama3-8b:fp16\nmemoriaGB=1\ncolumnas=16\ntamPagina=16\ntamTlb=8\n"
+                + "[GB con filas]\nmodelo=llama3-8b:fp16\nmemoriaGB=1\ncolumnas=16\nfilas=4\ntamPagina=16\ntamTlb=8\n"
+                + "[GB con marcos]\nmodelo=llama3-8b:fp16\nmemoriaGB=1\nmarcos=64\ntamPagina=16\ntamTlb=8\n");
+        List<Perfil> perfiles = CargarPerfiles.cargarBarrido(archivo.toString());
+        Files.delete(archivo);
+
+        assertEquals(1, perfiles.size(), "Solo se acepta el perfil sin filas ni marcos");
+        Perfil perfil = perfiles.get(0);
+        EspecificacionModelo modelo = EspecificacionModelo.desdeTexto("llama3-8b:fp16");
+        assertEquals(modelo, perfil.getModelo());
+        assertEquals(modelo.marcosEnMemoria(1, 16), perfil.getTotalMarcosRam());
+        assertEquals(16, perfil.getColGrilla());
+    }
+
+    @Test
+    void testMetricasEnBytes() {
+        Perfil perfil = new Perfil("Bytes", 10, 10, 16, 0, 16);
+        perfil.setSemilla(3L);
+        perfil.setLlegadas("poisson:0.3");
+        perfil.setLongitudPrompt("lognormal:3.5:0.5:100");
+        perfil.setLongitudSalida("lognormal:3.0:0.5:60");
+        perfil.setModelo(EspecificacionModelo.desdeTexto("32:8:128:fp16"));
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < 200; i++) {
+            simulador.ejecutarCiclo();
+        }
+
+        long bytesPorMarco = 2L * 32 * 8 * 128 * 2 * 16;
+        assertEquals(bytesPorMarco, simulador.getBytesPorMarco());
+        assertEquals(ram.getMarcosOcupados() * bytesPorMarco, simulador.getBytesOcupados());
+        assertEquals(simulador.getPicoMarcosOcupados() * bytesPorMarco, simulador.getPicoBytesOcupados());
+        assertTrue(simulador.getPicoProcesosActivos() > 0);
+
+        perfil.setModelo(null);
+        assertEquals(0, perfil.getBytesPorMarco(), "Sin modelo no hay equivalencia en bytes");
+    }
+}
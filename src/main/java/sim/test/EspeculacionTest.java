@@ -0,0 +1,139 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.PageTable;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EspeculacionTest {
+
+    private static void alojar(MMUService mmu, LLMProcess proceso, int tokens) throws Exception {
+        for (int i = 0; i < tokens; i++) {
+            mmu.asignarMemoriaParaToken(proceso);
+        }
+    }
+
+    @Test
+    void testConfirmarRevierteSoloPaginasRechazadas() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(10);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess proceso = new LLMProcess(1, "User-1", "#000000");
+        alojar(mmu, proceso, 6);
+
+        assertEquals(5, mmu.reservarBorrador(proceso, 5));
+        assertEquals(11, proceso.getContadorTokens());
+        assertEquals(5, proceso.getTokensBorrador());
+        assertEquals(3, proceso.getPageTable().getCantidadPaginas());
+        int marcoRechazado = proceso.getPageTable().getMarco(2);
+        mmu.traducirRango(proceso, 6, 11, new int[5]);
+        assertEquals(marcoRechazado, mmu.getTlb().buscar(1, 2));
+
+        // Se acepta un token: el contexto queda en 7 y la página 1 (tokens 4..7) se conserva
+        assertEquals(1, mmu.confirmarBorrador(proceso, 1));
+        assertEquals(7, proceso.getContadorTokens());
+        assertEquals(0, proceso.getTokensBorrador());
+        assertEquals(LLMProcess.SIN_BORRADOR, proceso.getInicioBorrador());
+        assertEquals(2, proceso.getPageTable().getCantidadPaginas());
+        assertEquals(2, proceso.getPageTable().getLimitePaginas());
+        assertEquals(PageTable.SIN_MARCO, proceso.getPageTable().getMarco(2));
+        assertFalse(ram.isOcupado(marcoRechazado));
+        assertNull(mmu.getTlb().buscar(1, 2), "La página revertida no debe quedar en la TLB");
+        assertEquals(1, mmu.getInvalidacionesTlb());
+        assertEquals(2, ram.getMarcosOcupados());
+
+        // El siguiente token vuelve a ocupar la página 1 y el que le sigue pide un marco nuevo
+        alojar(mmu, proceso, 2);
+        assertEquals(3, proceso.getPageTable().getCantidadPaginas());
+        assertThrows(IllegalStateException.class, () -> mmu.confirmarBorrador(proceso, 0));
+    }
+
+    @Test
+    void testDescartarEnBordeDePaginaYMemoriaLlena() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(3);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess proceso = new LLMProcess(1, "User-1", "#000000");
+        alojar(mmu, proceso, 8);
+
+        // Solo queda un marco libre: el borrador se acorta en lugar de fallar
+        assertEquals(4, mmu.reservarBorrador(proceso, 10));
+        assertEquals(0, ram.getMarcosLibres());
+        assertEquals(1, mmu.descartarBorrador(proceso));
+        assertEquals(8, proceso.getContadorTokens());
+        assertEquals(1, ram.getMarcosLibres());
+        assertEquals(2, proceso.getPageTable().getCantidadPaginas());
+    }
+
+    private Perfil perfil(String especulacion, int particiones) {
+        Perfil perfil = new Perfil("Especulativo", 20, 20, 8, 0, 64);
+        perfil.setSemilla(17L);
+        perfil.setLlegadas("poisson:0.3");
+        perfil.setLongitudPrompt("lognormal:3.0:0.5:100");
+        perfil.setLongitudSalida("lognormal:3.5:0.5:150");
+        perfil.setEspeculacion(especulacion);
+        perfil.setParticiones(particiones);
+        return perfil;
+    }
+
+    private SimulationManager ejecutar(Perfil perfil, int ciclos) {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+            int paginas = 0;
+            for (LLMProcess p : simulador.getProcesosActivos()) {
+                int esperadas = (p.getContadorTokens() + perfil.getPageSize() - 1) / perfil.getPageSize();
+                assertEquals(esperadas, p.getPageTable().getCantidadPaginas(), "Sin páginas de borrador huérfanas");
+                paginas += esperadas;
+            }
+            assertEquals(paginas, ram.getMarcosOcupados());
+        }
+        return simulador;
+    }
+
+    @Test
+    void testRechazoTotalNoCambiaLaSalida() {
+        SimulationManager base = ejecutar(perfil("no", 1), 600);
+        SimulationManager rechazos = ejecutar(perfil("4:0.0", 1), 600);
+
+        assertEquals(0, base.getTokensBorrador());
+        assertTrue(rechazos.getTokensBorrador() > 0);
+        assertEquals(rechazos.getTokensBorrador(), rechazos.getTokensRechazados());
+        assertTrue(rechazos.getMarcosRevertidos() > 0);
+        assertTrue(rechazos.getTlbInvalidadasEspeculacion() > 0);
+        assertEquals(base.getTokensGenerados(), rechazos.getTokensGenerados());
+        assertEquals(base.getProcesosCompletados(), rechazos.getProcesosCompletados());
+    }
+
+    @Test
+    void testAceptacionAdelantaLaRespuesta() {
+        SimulationManager base = ejecutar(perfil("no", 1), 600);
+        SimulationManager especulativa = ejecutar(perfil("4:0.8", 1), 600);
+
+        assertTrue(especulativa.getTokensRechazados() > 0);
+        assertTrue(especulativa.getTokensRechazados() < especulativa.getTokensBorrador());
+        assertTrue(especulativa.getLatencias().percentil(50) < base.getLatencias().percentil(50),
+                "Con tokens aceptados las respuestas terminan en menos ciclos");
+    }
+
+    @Test
+    void testParticionadoDeterminista() {
+        SimulationManager a = ejecutar(perfil("3:0.6", 4), 400);
+        SimulationManager b = ejecutar(perfil("3:0.6", 4), 400);
+
+        assertTrue(a.getTokensBorrador() > 0);
+        assertEquals(a.getTokensGenerados(), b.getTokensGenerados());
+        assertEquals(a.getTokensRechazados(), b.getTokensRechazados());
+        assertEquals(a.getMarcosRevertidos(), b.getMarcosRevertidos());
+        assertEquals(a.getProcesosCompletados(), b.getProcesosCompletados());
+    }
+}
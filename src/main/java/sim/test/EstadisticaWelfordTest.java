@@ -0,0 +1,30 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.negocio.EstadisticaWelford;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EstadisticaWelfordTest {
+
+    @Test
+    void testCuantilTConPocosGradosDeLibertad() {
+        assertEquals(12.706, EstadisticaWelford.cuantilT975(1), 1e-3);
+        assertEquals(4.303, EstadisticaWelford.cuantilT975(2), 1e-3);
+        assertEquals(3.182, EstadisticaWelford.cuantilT975(3), 1e-3);
+        assertEquals(2.228, EstadisticaWelford.cuantilT975(10), 1e-3);
+        // Por encima de la tabla, la aproximación sigue de cerca a los valores exactos
+        assertEquals(2.040, EstadisticaWelford.cuantilT975(31), 1e-3);
+        assertEquals(1.984, EstadisticaWelford.cuantilT975(100), 1e-3);
+    }
+
+    @Test
+    void testIntervaloConDosReplicas() {
+        EstadisticaWelford estadistica = new EstadisticaWelford();
+        estadistica.agregar(1.0);
+        estadistica.agregar(3.0);
+        // s = sqrt(2), n = 2: 12.706 * sqrt(2) / sqrt(2)
+        assertEquals(12.706, estadistica.getSemiAnchoIC95(), 1e-3);
+        assertEquals(0.0, EstadisticaWelford.semiAnchoIC95(1, 4.0));
+    }
+}
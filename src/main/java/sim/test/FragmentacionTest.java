@@ -0,0 +1,124 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.FragmentacionInterna;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FragmentacionTest {
+
+    private static void alojar(MMUService mmu, LLMProcess proceso, int tokens) throws Exception {
+        for (int i = 0; i < tokens; i++) {
+            mmu.asignarMemoriaParaToken(proceso);
+        }
+    }
+
+    @Test
+    void testHistogramaYHuecos() {
+        FragmentacionInterna fragmentacion = new FragmentacionInterna(8);
+        fragmentacion.cambiar(0, 3);
+        fragmentacion.cambiar(0, 16);
+        fragmentacion.cambiar(0, 9);
+        assertEquals(5 + 0 + 7, fragmentacion.getHuecos());
+        assertEquals(1, fragmentacion.getProcesosConLlenado(3));
+        assertEquals(1, fragmentacion.getProcesosConLlenado(8));
+
+        long[] cuartos = new long[4];
+        fragmentacion.sumarCuartos(cuartos);
+        assertArrayEquals(new long[]{1, 1, 0, 1}, cuartos);
+
+        fragmentacion.cambiar(9, 0);
+        fragmentacion.cambiar(16, 17);
+        assertEquals(5 + 7, fragmentacion.getHuecos());
+        assertEquals(0, fragmentacion.getProcesosConLlenado(8));
+        assertEquals(2, fragmentacion.getProcesosConLlenado(1) + fragmentacion.getProcesosConLlenado(3));
+    }
+
+    @Test
+    void testMmuMantieneLosHuecos() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(16);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess a = new LLMProcess(1, "User-1", "#000000");
+        LLMProcess b = new LLMProcess(2, "User-2", "#000000");
+        alojar(mmu, a, 5);
+        alojar(mmu, b, 8);
+        assertEquals(3, mmu.getFragmentacion().getHuecos());
+
+        // Un borrador revertido devuelve los huecos al valor previo
+        mmu.reservarBorrador(a, 6);
+        assertEquals(1, mmu.getFragmentacion().getHuecos());
+        mmu.confirmarBorrador(a, 1);
+        assertEquals(2, mmu.getFragmentacion().getHuecos());
+
+        // El hijo copia la última página parcial: dos páginas con los mismos huecos
+        LLMProcess hijo = a.crearHijo(3, "User-1/1");
+        mmu.bifurcar(a, hijo);
+        assertEquals(4, mmu.getFragmentacion().getHuecos());
+
+        mmu.liberarMemoria(a);
+        mmu.liberarMemoria(a);
+        assertEquals(2, mmu.getFragmentacion().getHuecos(), "Liberar dos veces no descuenta dos veces");
+        // El hijo conserva la página que compartía, así que los huecos siguen cuadrando con los marcos
+        assertEquals(ram.getMarcosOcupados() * 4L - hijo.getContadorTokens() - b.getContadorTokens(),
+                mmu.getFragmentacion().getHuecos());
+    }
+
+    private Perfil perfil(int tamPagina, int particiones) {
+        Perfil perfil = new Perfil("Fragmentacion", 30, 30, tamPagina, 0, 64);
+        perfil.setSemilla(31L);
+        perfil.setLlegadas("poisson:0.3");
+        perfil.setLongitudPrompt("lognormal:3.5:0.6:150");
+        perfil.setLongitudSalida("lognormal:3.2:0.5:100");
+        perfil.setEspeculacion("3:0.6");
+        perfil.setBifurcacion("3:0.05");
+        perfil.setParticiones(particiones);
+        return perfil;
+    }
+
+    private SimulationManager ejecutar(Perfil perfil, int ciclos) {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        long[] cuartos = new long[4];
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+
+            // Recuento completo para comparar con los contadores incrementales
+            long huecos = 0;
+            int conPaginas = 0;
+            for (LLMProcess p : simulador.getProcesosActivos()) {
+                int tokens = p.getContadorTokens();
+                if (tokens == 0) continue;
+                huecos += (perfil.getPageSize() - tokens % perfil.getPageSize()) % perfil.getPageSize();
+                conPaginas++;
+            }
+            assertEquals(huecos, simulador.getHuecosFragmentacion());
+            assertEquals(simulador.getTokensAsignados() - huecos, simulador.getTokensUsados());
+            simulador.getCuartosUltimaPagina(cuartos);
+            assertEquals(conPaginas, cuartos[0] + cuartos[1] + cuartos[2] + cuartos[3]);
+        }
+        return simulador;
+    }
+
+    @Test
+    void testContadoresCoincidenConRecuento() {
+        SimulationManager serie = ejecutar(perfil(16, 1), 500);
+        assertTrue(serie.getFragmentacionInterna() > 0.0);
+        ejecutar(perfil(16, 4), 300);
+    }
+
+    @Test
+    void testPaginasGrandesDesperdicianMas() {
+        double chicas = ejecutar(perfil(4, 1), 300).getFragmentacionInterna();
+        double grandes = ejecutar(perfil(64, 1), 300).getFragmentacionInterna();
+        assertTrue(grandes > chicas, "La fragmentación crece con el tamaño de página");
+    }
+}
@@ -3,8 +3,15 @@ package sim.test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import sim.modelo.LLMProcess;
+import sim.modelo.PageTable;
 import sim.modelo.PhysicalMemory;
 import sim.negocio.MMUService;
+import sim.negocio.TLB;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,4 +63,59 @@ public class MMUServiceTest {
         mmu.traducirDireccion(proceso, 0); // Token 0 (Pagina 0)
         assertEquals(1, mmu.getTlb().getHits(), "El segundo acceso debe ser Hit (Localidad Temporal)");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTraducirRango() throws Exception {
+        for (int t = 0; t < 7; t++) {
+            mmu.asignarMemoriaParaToken(proceso); // Tokens 0..6 -> páginas 0..3
+        }
+        mmu.traducirDireccion(proceso, 2); // Página 1 queda en la TLB
+
+        int[] marcos = new int[6];
+        long[] aciertos = {-1L};
+        int hits = mmu.traducirRango(proceso, 1, 7, marcos, aciertos);
+
+        assertEquals(1, hits, "Solo la página 1 estaba en la TLB");
+        assertEquals(0b0010L, aciertos[0], "El bit de la segunda página del rango marca el acierto");
+        assertEquals(1 + 4, mmu.getTlb().getMisses() + mmu.getTlb().getHits(), "Una consulta por página, no por token");
+        for (int t = 1; t < 7; t++) {
+            assertEquals(mmu.traducirDireccion(proceso, t), marcos[t - 1]);
+        }
+
+        int[] fuera = new int[2];
+        mmu.traducirRango(proceso, 8, 10, fuera);
+        assertArrayEquals(new int[] {PageTable.SIN_MARCO, PageTable.SIN_MARCO}, fuera);
+    }
+
+    @Test
+    void testTlbRespetaElOrdenLru() {
+        // Se compara contra un LinkedHashMap con orden de acceso, la implementación de referencia
+        int capacidad = 16;
+        TLB tlb = new TLB(capacidad);
+        Map<String, Integer> referencia = new LinkedHashMap<>(capacidad, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > capacidad;
+            }
+        };
+        SplittableRandom rnd = new SplittableRandom(9);
+        for (int i = 0; i < 20_000; i++) {
+            int pid = rnd.nextInt(4);
+            int pagina = rnd.nextInt(12);
+            String clave = pid + ":" + pagina;
+            int operacion = rnd.nextInt(10);
+            if (operacion < 5) {
+                Integer esperado = referencia.get(clave);
+                assertEquals(esperado, tlb.buscar(pid, pagina));
+            } else if (operacion < 9) {
+                referencia.put(clave, i);
+                tlb.agregarEntrada(pid, pagina, i);
+            } else {
+                referencia.keySet().removeIf(k -> k.startsWith(pid + ":"));
+                tlb.invalidarPorProceso(pid);
+            }
+        }
+        assertEquals(referencia, tlb.getCache());
+        assertEquals(Arrays.asList(referencia.keySet().toArray()), Arrays.asList(tlb.getCache().keySet().toArray()));
+    }
+}
@@ -0,0 +1,89 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.negocio.carga.DistribucionLongitud;
+import sim.negocio.carga.ProcesoLlegadas;
+import sim.recorder.Auditador;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModeloCargaTest {
+
+    private double tasaObservada(String descripcion, int llegadas) {
+        ProcesoLlegadas proceso = ProcesoLlegadas.desdeTexto(descripcion);
+        SplittableRandom rnd = new SplittableRandom(1);
+        double t = 0;
+        for (int i = 0; i < llegadas; i++) {
+            double siguiente = proceso.siguienteLlegada(rnd);
+            assertTrue(siguiente >= t, "Las llegadas deben ser no decrecientes");
+            t = siguiente;
+        }
+        return llegadas / t;
+    }
+
+    @Test
+    void testTasasMediasDeLlegada() {
+        assertEquals(0.3, tasaObservada("poisson:0.3", 50_000), 0.01);
+        assertEquals(0.3, tasaObservada("bernoulli:0.3", 50_000), 0.01);
+        assertEquals(0.3, tasaObservada("diurna:0.3:0.8:1000", 50_000), 0.01);
+        // Fases de igual duración media: la tasa media es el promedio de ambas
+        assertEquals(1.0, tasaObservada("rafagas:0.5:1.5:100:100", 100_000), 0.1);
+    }
+
+    @Test
+    void testDistribucionesDeLongitud() {
+        SplittableRandom rnd = new SplittableRandom(3);
+        DistribucionLongitud empirica = DistribucionLongitud.desdeTexto("empirica:128:3;512:1");
+        int cortos = 0;
+        for (int i = 0; i < 40_000; i++) {
+            int v = empirica.muestrear(rnd);
+            assertTrue(v == 128 || v == 512);
+            if (v == 128) cortos++;
+        }
+        assertEquals(0.75, cortos / 40_000.0, 0.01);
+
+        DistribucionLongitud lognormal = DistribucionLongitud.desdeTexto("lognormal:5:1:1000");
+        int bajoLaMediana = 0;
+        for (int i = 0; i < 40_000; i++) {
+            int v = lognormal.muestrear(rnd);
+            assertTrue(v >= 1 && v <= 1000);
+            if (v < Math.exp(5)) bajoLaMediana++;
+        }
+        assertEquals(0.5, bajoLaMediana / 40_000.0, 0.02);
+
+        assertThrows(IllegalArgumentException.class, () -> DistribucionLongitud.desdeTexto("normal:3"));
+    }
+
+    @Test
+    void testProcesosCompletanYLiberanMemoria() {
+        Perfil perfil = new Perfil("Carga", 32, 32, 16, 0, 8);
+        perfil.setSemilla(11);
+        perfil.setLlegadas("poisson:0.5");
+        perfil.setLongitudPrompt("fija:40");
+        perfil.setLongitudSalida("fija:20");
+
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        SimulationManager simulador = new SimulationManager(ram, mmu, Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < 2000; i++) {
+            simulador.ejecutarCiclo();
+        }
+
+        assertTrue(simulador.getProcesosCompletados() > 900, "Con memoria de sobra casi todas las llegadas deben completarse");
+        assertEquals(0, simulador.getProcesosEliminados());
+        assertEquals(20L * simulador.getProcesosCompletados(),
+                simulador.getTokensGenerados() - simulador.getProcesosActivos().stream().mapToLong(p -> p.getTokensSalida()).sum());
+
+        // Cada proceso activo ocupa exactamente las páginas de su contexto: no quedan marcos huérfanos
+        int paginasActivas = simulador.getProcesosActivos().stream()
+                .mapToInt(p -> p.getPageTable().getCantidadPaginas()).sum();
+        assertEquals(paginasActivas, ram.getMarcosOcupados());
+    }
+}
@@ -0,0 +1,112 @@
+package sim.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.MMUService;
+import sim.negocio.carga.GeneradorCarga;
+import sim.negocio.carga.LlegadasPoisson;
+import sim.negocio.carga.LongitudFija;
+import sim.negocio.eventos.MotorEventos;
+import sim.recorder.Auditador;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MotorEventosTest {
+    private Path salida;
+    private Auditador auditador;
+
+    @BeforeEach
+    void crearSalida() throws IOException {
+        salida = Files.createTempFile("eventos", ".csv");
+        auditador = new Auditador(salida.toString());
+    }
+
+    @AfterEach
+    void borrarSalida() throws IOException {
+        auditador.cerrar();
+        Files.deleteIfExists(salida);
+    }
+
+    private MotorEventos motor(int marcos, double tasaLlegadas, int prompt, int respuesta) {
+        PhysicalMemory ram = new PhysicalMemory(marcos);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        FlujosAleatorios aleatorios = new FlujosAleatorios(3);
+        GeneradorCarga carga = new GeneradorCarga(new LlegadasPoisson(tasaLlegadas), new LongitudFija(prompt),
+                new LongitudFija(respuesta), aleatorios);
+        return new MotorEventos(ram, mmu, auditador, aleatorios, carga);
+    }
+
+    private List<String> filas() throws IOException {
+        auditador.cerrar();
+        return Files.readAllLines(salida);
+    }
+
+    @Test
+    void testCadaProcesoTardaSuPrefillYSusPasos() {
+        MotorEventos motor = motor(256, 0.01, 4, 4);
+        motor.setRangoPeriodoDecode(1.0, 1.0);
+        motor.setDuracionPrefillPorToken(0.25);
+        motor.ejecutarHasta(20_000);
+
+        // Prefill de 4 tokens en 1 ciclo y 4 pasos de decode de 1 ciclo: cada proceso tarda 5
+        assertTrue(motor.getProcesosCompletados() > 100);
+        assertEquals(0, motor.getSwaps(), "Con memoria de sobra nadie se desaloja");
+        assertTrue(motor.getLatencias().percentil(50) >= 5 && motor.getLatencias().percentil(99) <= 6);
+        assertEquals(4L * motor.getProcesosCompletados(),
+                motor.getTokensGenerados() - motor.getProcesosActivos().stream().mapToLong(p -> p.getTokensSalida()).sum());
+    }
+
+    @Test
+    void testMemoriaChicaDesalojaYReadmite() {
+        // Tres marcos de 4 tokens: cada contexto de 4 + 8 tokens llena la memoria
+        MotorEventos motor = motor(3, 0.5, 4, 8);
+        motor.ejecutarHasta(5_000);
+
+        assertTrue(motor.getSwaps() > 0, "Los procesos que no consiguen marco se desalojan");
+        assertTrue(motor.getProcesosCompletados() > 0, "Los desalojados vuelven a la cola y terminan");
+        assertTrue(motor.getPicoMarcosOcupados() <= 3);
+    }
+
+    @Test
+    void testTramoOciosoEsUnaFila() throws IOException {
+        // Llegadas muy espaciadas: casi todos los ciclos son ociosos
+        MotorEventos motor = motor(256, 0.0005, 4, 4);
+        motor.ejecutarHasta(100_000);
+        long eventos = motor.getEventosProcesados();
+        List<String> lineas = filas();
+
+        assertTrue(lineas.size() - 1 <= 2 * eventos + 1, "Las filas siguen a los eventos, no a los ciclos");
+        assertTrue(lineas.size() - 1 < 10_000);
+        assertTrue(lineas.get(1).startsWith("0,"), "El tramo inicial sin eventos se registra en el ciclo 0");
+        int anterior = -1;
+        for (String linea : lineas.subList(1, lineas.size())) {
+            int ciclo = Integer.parseInt(linea.substring(0, linea.indexOf(',')));
+            assertTrue(ciclo > anterior && ciclo < 100_000, "Ciclos crecientes y dentro del tramo simulado");
+            anterior = ciclo;
+        }
+    }
+
+    @Test
+    void testAvanzarPorTramosNoCambiaLasFilas() throws IOException {
+        MotorEventos porTramos = motor(256, 0.002, 4, 4);
+        porTramos.ejecutarHasta(400.5);
+        porTramos.ejecutarHasta(3_000);
+        porTramos.ejecutarHasta(10_000);
+        List<String> filasPorTramos = filas();
+
+        borrarSalida();
+        crearSalida();
+        MotorEventos deUnaVez = motor(256, 0.002, 4, 4);
+        deUnaVez.ejecutarHasta(10_000);
+        assertEquals(filas(), filasPorTramos);
+    }
+}
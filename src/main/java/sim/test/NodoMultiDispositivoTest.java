@@ -0,0 +1,113 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.negocio.nodo.Dispositivo;
+import sim.negocio.nodo.NodoMultiDispositivo;
+import sim.negocio.nodo.PoliticaUbicacion;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodoMultiDispositivoTest {
+
+    private Perfil perfil(int dispositivos, String ubicacion) {
+        Perfil perfil = new Perfil("Nodo", 8, 8, 16, 0, 4);
+        perfil.setSemilla(7L);
+        perfil.setLlegadas("poisson:0.8");
+        perfil.setLongitudPrompt("fija:40");
+        perfil.setLongitudSalida("fija:60");
+        perfil.setDispositivos(dispositivos);
+        perfil.setUbicacion(ubicacion);
+        return perfil;
+    }
+
+    private LLMProcess proceso(int pid, int prefijo) {
+        LLMProcess p = new LLMProcess(pid, "P" + pid, "#000000");
+        p.setIdPrefijo(prefijo);
+        return p;
+    }
+
+    @Test
+    void testPoliticasDeUbicacion() throws Exception {
+        try (NodoMultiDispositivo nodo = new NodoMultiDispositivo(perfil(3, "roundRobin"))) {
+            List<Dispositivo> dispositivos = nodo.getDispositivos();
+
+            PoliticaUbicacion turnos = PoliticaUbicacion.desdeTexto("roundRobin");
+            assertEquals(0, turnos.elegir(proceso(1, LLMProcess.SIN_PREFIJO), dispositivos));
+            assertEquals(1, turnos.elegir(proceso(2, LLMProcess.SIN_PREFIJO), dispositivos));
+            assertEquals(2, turnos.elegir(proceso(3, LLMProcess.SIN_PREFIJO), dispositivos));
+            assertEquals(0, turnos.elegir(proceso(4, LLMProcess.SIN_PREFIJO), dispositivos));
+
+            // Se carga el dispositivo 0: el menos cargado pasa a ser otro y el prefijo 5 queda fijado ahí
+            dispositivos.get(0).recibir(proceso(10, LLMProcess.SIN_PREFIJO));
+            PoliticaUbicacion afinidad = PoliticaUbicacion.desdeTexto("afinidad");
+            int destino = afinidad.elegir(proceso(11, 5), dispositivos);
+            assertNotEquals(0, destino);
+            dispositivos.get(destino).recibir(proceso(11, 5));
+            assertEquals(destino, afinidad.elegir(proceso(12, 5), dispositivos),
+                    "Las conversaciones con el mismo prefijo deben ir al mismo dispositivo");
+        }
+        assertThrows(IllegalArgumentException.class, () -> PoliticaUbicacion.desdeTexto("azar"));
+    }
+
+    @Test
+    void testRafagaSeRepartePorTrabajoPendiente() throws Exception {
+        try (NodoMultiDispositivo nodo = new NodoMultiDispositivo(perfil(4, "menosCargado"))) {
+            List<Dispositivo> dispositivos = nodo.getDispositivos();
+            // Los dispositivos 1 a 3 ya atienden un proceso; el 0 tiene la memoria vacía
+            for (int i = 1; i < dispositivos.size(); i++) {
+                dispositivos.get(i).recibir(proceso(100 + i, LLMProcess.SIN_PREFIJO));
+                dispositivos.get(i).ejecutarCiclo();
+            }
+            PoliticaUbicacion menosCargado = PoliticaUbicacion.desdeTexto("menosCargado");
+            // Nueve llegadas en el mismo ciclo: todavía no ocupan marcos, pero cuentan como trabajo pendiente
+            int[] recibidos = new int[dispositivos.size()];
+            for (int pid = 1; pid <= 9; pid++) {
+                int destino = menosCargado.elegir(proceso(pid, LLMProcess.SIN_PREFIJO), dispositivos);
+                dispositivos.get(destino).recibir(proceso(pid, LLMProcess.SIN_PREFIJO));
+                recibidos[destino]++;
+            }
+            assertEquals(3, recibidos[0], "La memoria vacía no debe llevarse toda la ráfaga");
+            for (Dispositivo d : dispositivos) {
+                assertEquals(3, d.getProcesosAsignados(), "El dispositivo " + d.getId() + " debe quedar con su parte");
+            }
+        }
+    }
+
+    @Test
+    void testNodoParaleloReproducibleYBalanceado() throws Exception {
+        long[] tokens = new long[2];
+        int[] completados = new int[2];
+        for (int corrida = 0; corrida < 2; corrida++) {
+            try (NodoMultiDispositivo nodo = new NodoMultiDispositivo(perfil(4, "menosCargado"))) {
+                nodo.ejecutar(500);
+                tokens[corrida] = nodo.getTokensGenerados();
+                completados[corrida] = nodo.getProcesosCompletados();
+                for (Dispositivo d : nodo.getDispositivos()) {
+                    assertTrue(d.getSimulador().getProcesosCompletados() > 0, "Todos los dispositivos deben recibir trabajo");
+                }
+                assertTrue(nodo.getDesbalance().getMedia() < 1.0);
+            }
+        }
+        assertTrue(completados[0] > 0);
+        assertEquals(tokens[0], tokens[1], "Los hilos no deben alterar el resultado");
+        assertEquals(completados[0], completados[1]);
+    }
+
+    @Test
+    void testMasDispositivosNoReducenThroughput() throws Exception {
+        double throughputUno;
+        try (NodoMultiDispositivo nodo = new NodoMultiDispositivo(perfil(1, "menosCargado"))) {
+            nodo.ejecutar(500);
+            throughputUno = nodo.getSolicitudesPorSegundoSimulado();
+        }
+        try (NodoMultiDispositivo nodo = new NodoMultiDispositivo(perfil(4, "menosCargado"))) {
+            nodo.ejecutar(500);
+            assertTrue(nodo.getSolicitudesPorSegundoSimulado() > throughputUno,
+                    "Con la memoria de un dispositivo saturada, repartir la carga debe completar más solicitudes");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.PasoParticionado;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasoParticionadoTest {
+
+    private Perfil perfil(int particiones) {
+        // Memoria chica para forzar faltas de marcos, rebalanceo y víctimas
+        Perfil perfil = new Perfil("Particionado", 10, 10, 8, 0, 8);
+        perfil.setSemilla(11L);
+        perfil.setLlegadas("poisson:0.6");
+        perfil.setLongitudPrompt("lognormal:3.5:0.5:200");
+        perfil.setLongitudSalida("lognormal:3.5:0.5:200");
+        perfil.setParticiones(particiones);
+        return perfil;
+    }
+
+    private SimulationManager ejecutar(Perfil perfil, PhysicalMemory ram, int ciclos) {
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+        }
+        return simulador;
+    }
+
+    @Test
+    void testDeterministaYSinMarcosPerdidos() {
+        PhysicalMemory ramA = new PhysicalMemory(100);
+        PhysicalMemory ramB = new PhysicalMemory(100);
+        SimulationManager a = ejecutar(perfil(4), ramA, 2000);
+        SimulationManager b = ejecutar(perfil(4), ramB, 2000);
+
+        assertTrue(a.getProcesosEliminados() > 0, "La carga debe agotar la memoria");
+        assertTrue(a.getProcesosCompletados() > 0);
+        assertEquals(a.getTokensGenerados(), b.getTokensGenerados());
+        assertEquals(a.getProcesosCompletados(), b.getProcesosCompletados());
+        assertEquals(a.getProcesosEliminados(), b.getProcesosEliminados());
+        assertEquals(a.getTlbHits(), b.getTlbHits());
+        assertEquals(ramA.getMarcosOcupados(), ramB.getMarcosOcupados());
+
+        // Cada marco ocupado pertenece a un único proceso y los libres están en algún pool
+        Set<Integer> mapeados = new HashSet<>();
+        for (LLMProcess p : a.getProcesosActivos()) {
+            for (int marco : p.getPageTable().getMapa().values()) {
+                assertTrue(mapeados.add(marco), "Marco " + marco + " asignado dos veces");
+                assertTrue(ramA.isOcupado(marco));
+            }
+        }
+        assertEquals(ramA.getMarcosOcupados(), mapeados.size());
+        PasoParticionado paso = a.getPasoParticionado();
+        int libresEnPools = 0;
+        for (int p = 0; p < paso.getParticiones(); p++) {
+            libresEnPools += paso.getPool(p).getLibres();
+        }
+        assertEquals(ramA.getMarcosLibres(), libresEnPools);
+    }
+
+    @Test
+    void testUnaParticionEsElPasoEnSerie() {
+        SimulationManager serie = ejecutar(perfil(1), new PhysicalMemory(100), 500);
+        assertNull(serie.getPasoParticionado());
+        assertTrue(serie.getProcesosCompletados() > 0);
+    }
+}
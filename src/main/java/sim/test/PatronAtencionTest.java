@@ -0,0 +1,108 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.negocio.atencion.PatronAtencion;
+import sim.recorder.Auditador;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatronAtencionTest {
+
+    @Test
+    void testPaginasDeCadaPatron() {
+        int[] destino = new int[100];
+
+        assertEquals(0, PatronAtencion.desdeTexto("ultimo").seleccionar(10, null, destino));
+
+        assertEquals(10, PatronAtencion.desdeTexto("completa").seleccionar(10, null, destino));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, destino[i]);
+        }
+
+        assertEquals(3, PatronAtencion.desdeTexto("ventana:4").seleccionar(10, null, destino));
+        assertArrayEquals(new int[] {7, 8, 9}, Arrays.copyOf(destino, 3));
+        assertEquals(2, PatronAtencion.desdeTexto("ventana:4").seleccionar(2, null, destino));
+
+        PatronAtencion muestreo = PatronAtencion.desdeTexto("muestreo:5");
+        assertTrue(muestreo.isAleatorio());
+        assertEquals(5, muestreo.seleccionar(100, new SplittableRandom(3), destino));
+        for (int j = 0; j < 5; j++) {
+            assertTrue(destino[j] >= j * 20 && destino[j] < (j + 1) * 20, "Una página por tramo");
+        }
+        assertEquals(3, muestreo.seleccionar(3, new SplittableRandom(3), destino));
+
+        assertThrows(IllegalArgumentException.class, () -> PatronAtencion.desdeTexto("ventana:0"));
+        assertThrows(IllegalArgumentException.class, () -> PatronAtencion.desdeTexto("muestreo"));
+        assertThrows(IllegalArgumentException.class, () -> PatronAtencion.desdeTexto("densa"));
+    }
+
+    @Test
+    void testTraducirPaginasUsaLaTlb() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(32);
+        MMUService mmu = new MMUService(ram, 8, 4);
+        mmu.setSilencioso(true);
+        LLMProcess proceso = new LLMProcess(1, "P1", "#000000");
+        for (int t = 0; t < 20; t++) {
+            mmu.asignarMemoriaParaToken(proceso);
+        }
+
+        int[] paginas = {0, 1, 2, 3, 4};
+        assertEquals(0, mmu.traducirPaginas(proceso, paginas, 5), "La primera lectura falla en la TLB");
+        assertEquals(5, mmu.traducirPaginas(proceso, paginas, 5), "La segunda encuentra todas las páginas");
+        assertEquals(5, mmu.getTlbHits());
+        assertEquals(5, mmu.getTlbMisses());
+    }
+
+    private SimulationManager simular(String atencion, int particiones) {
+        Perfil perfil = new Perfil("Test", 16, 16, 4, 0, 16);
+        perfil.setSemilla(5);
+        perfil.setLlegadas("poisson:0.5");
+        perfil.setLongitudPrompt("fija:40");
+        perfil.setLongitudSalida("fija:60");
+        perfil.setAtencion(atencion);
+        perfil.setParticiones(particiones);
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        SimulationManager simulador = new SimulationManager(ram, mmu, Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < 300; i++) {
+            simulador.ejecutarCiclo();
+        }
+        simulador.cerrar();
+        return simulador;
+    }
+
+    @Test
+    void testLaAtencionCompletaBajaElHitRate() {
+        SimulationManager ultimo = simular("ultimo", 1);
+        SimulationManager completa = simular("completa", 1);
+
+        assertEquals(0, ultimo.getPaginasLeidasAtencion());
+        assertTrue(completa.getPaginasLeidasAtencion() > 0);
+        // La carga y la memoria no dependen del patrón: solo cambian los accesos a la TLB
+        assertEquals(ultimo.getTokensGenerados(), completa.getTokensGenerados());
+        assertEquals(ultimo.getTlbHits() + ultimo.getTlbMisses() + completa.getPaginasLeidasAtencion(),
+                completa.getTlbHits() + completa.getTlbMisses());
+
+        double hitUltimo = (double) ultimo.getTlbHits() / (ultimo.getTlbHits() + ultimo.getTlbMisses());
+        double hitCompleta = (double) completa.getTlbHits() / (completa.getTlbHits() + completa.getTlbMisses());
+        assertTrue(hitCompleta < hitUltimo, "Recorrer todo el contexto con una TLB chica debe fallar más");
+    }
+
+    @Test
+    void testMuestreoDeterministaConParticiones() {
+        SimulationManager a = simular("muestreo:4", 4);
+        SimulationManager b = simular("muestreo:4", 4);
+        assertTrue(a.getPaginasLeidasAtencion() > 0);
+        assertEquals(a.getPaginasLeidasAtencion(), b.getPaginasLeidasAtencion());
+        assertEquals(a.getTlbHits(), b.getTlbHits());
+    }
+}
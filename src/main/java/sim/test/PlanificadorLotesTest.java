@@ -0,0 +1,163 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.negocio.planificacion.Lote;
+import sim.negocio.planificacion.PlanificadorLotes;
+import sim.negocio.HistogramaLatencias;
+import sim.negocio.planificacion.PoliticaFCFS;
+import sim.negocio.planificacion.PoliticaJusta;
+import sim.negocio.planificacion.PoliticaPlanificacion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanificadorLotesTest {
+
+    private LLMProcess proceso(int pid, int prompt) {
+        LLMProcess p = new LLMProcess(pid, "P" + pid, "#000000");
+        p.setTokensPrompt(prompt);
+        return p;
+    }
+
+    /**
+     * Simula el efecto de ejecutar el lote: avanza el contexto de cada proceso.
+     */
+    private void ejecutar(Lote lote) {
+        for (int i = 0; i < lote.getTamano(); i++) {
+            for (int t = 0; t < lote.getTokens(i); t++) {
+                lote.getProceso(i).agregarToken();
+            }
+        }
+    }
+
+    @Test
+    void testPrefillFragmentadoYPresupuesto() {
+        PlanificadorLotes planificador = new PlanificadorLotes(2, 100, 64, new PoliticaFCFS());
+        List<LLMProcess> activos = new ArrayList<>();
+        Deque<LLMProcess> espera = new ArrayDeque<>(List.of(proceso(1, 150), proceso(2, 10), proceso(3, 0)));
+
+        Lote lote = planificador.planificar(activos, espera);
+        assertEquals(2, lote.getTamano(), "Solo se admiten dos secuencias");
+        assertEquals(64, lote.getTokens(0), "El prompt largo se parte en fragmentos");
+        assertEquals(10, lote.getTokens(1));
+        assertEquals(74, lote.getTokensPrefill());
+        assertEquals(1, espera.size(), "El tercero queda esperando");
+        ejecutar(lote);
+
+        // P2 ya decodifica (1 token) y P1 sigue con su prompt: 64 tokens más
+        lote = planificador.planificar(activos, espera);
+        assertEquals(1, lote.getTokensDecode());
+        assertEquals(64, lote.getTokensPrefill());
+        assertFalse(lote.isPrefill(0), "Los pasos de decode van primero");
+        ejecutar(lote);
+
+        // Quedan 22 tokens de prompt de P1
+        lote = planificador.planificar(activos, espera);
+        assertEquals(22, lote.getTokensPrefill());
+    }
+
+    @Test
+    void testSinLimitesAvanzanTodos() {
+        PlanificadorLotes planificador = new PlanificadorLotes(0, 0, 0, new PoliticaFCFS());
+        List<LLMProcess> activos = new ArrayList<>(List.of(proceso(1, 0), proceso(2, 0)));
+        Deque<LLMProcess> espera = new ArrayDeque<>(List.of(proceso(3, 5000)));
+
+        Lote lote = planificador.planificar(activos, espera);
+        assertEquals(3, lote.getTamano());
+        assertEquals(5000, lote.getTokensPrefill(), "Sin límite el prompt entra completo");
+        assertTrue(espera.isEmpty());
+    }
+
+    @Test
+    void testPresupuestoChicoDejaEnEspera() {
+        PlanificadorLotes planificador = new PlanificadorLotes(0, 3, 0, new PoliticaFCFS());
+        List<LLMProcess> activos = new ArrayList<>(List.of(proceso(1, 0), proceso(2, 0), proceso(3, 0)));
+        Deque<LLMProcess> espera = new ArrayDeque<>(List.of(proceso(4, 0)));
+
+        Lote lote = planificador.planificar(activos, espera);
+        assertEquals(3, lote.getTokensDecode());
+        assertEquals(1, espera.size(), "Sin presupuesto no se admite a nadie más");
+    }
+
+    @Test
+    void testPoliticasOrdenanAdmisionYVictima() {
+        LLMProcess largo = proceso(1, 0);
+        largo.setTokensSalidaMax(500);
+        largo.setPrioridad(0);
+        LLMProcess corto = proceso(2, 0);
+        corto.setTokensSalidaMax(5);
+        corto.setPrioridad(2);
+        corto.setInstanteLlegada(1);
+
+        PlanificadorLotes srf = new PlanificadorLotes(1, 0, 0, PoliticaPlanificacion.desdeTexto("srf"));
+        List<LLMProcess> activos = new ArrayList<>();
+        srf.planificar(activos, new ArrayDeque<>(List.of(largo, corto)));
+        assertSame(corto, activos.get(0), "SRF admite primero al de menos trabajo restante");
+
+        List<LLMProcess> ambos = List.of(largo, corto);
+        assertSame(corto, PoliticaPlanificacion.desdeTexto("fcfs").elegirVictima(ambos), "FCFS descarta al último en llegar");
+        assertSame(largo, PoliticaPlanificacion.desdeTexto("srf").elegirVictima(ambos));
+        assertSame(corto, PoliticaPlanificacion.desdeTexto("prioridad").elegirVictima(ambos));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanificacion.desdeTexto("lifo"));
+    }
+
+    @Test
+    void testPoliticaJustaRepartePorPrefijo() {
+        PlanificadorLotes justo = new PlanificadorLotes(2, 0, 0, PoliticaPlanificacion.desdeTexto("justa"));
+        List<LLMProcess> activos = new ArrayList<>();
+        Deque<LLMProcess> espera = new ArrayDeque<>();
+        for (int pid = 0; pid < 3; pid++) {
+            LLMProcess p = proceso(pid, 0);
+            p.setIdPrefijo(7); // tres conversaciones de la misma aplicación
+            espera.add(p);
+        }
+        LLMProcess otro = proceso(10, 0);
+        otro.setIdPrefijo(8);
+        espera.add(otro);
+
+        ejecutar(justo.planificar(activos, espera));
+        // La primera admisión agota el empate; la segunda debe ir al cliente que todavía no recibió servicio
+        assertTrue(activos.contains(otro), "El otro cliente no debe esperar detrás de toda la aplicación 7");
+    }
+
+    @Test
+    void testPoliticaJustaComparaClientesConLaMismaMedida() {
+        PoliticaJusta justa = new PoliticaJusta();
+        LLMProcess grupo = proceso(1, 0);
+        grupo.setIdPrefijo(3);
+        LLMProcess solo = proceso(2, 0);
+        justa.registrarServicio(grupo, 10_000);
+        justa.registrarServicio(solo, 50);
+        assertSame(grupo, justa.elegirVictima(List.of(grupo, solo)));
+
+        // El uso decae con el servicio que reciben los demás
+        double antes = justa.clave(grupo);
+        justa.registrarServicio(solo, (int) PoliticaJusta.MEDIA_VIDA_TOKENS);
+        assertEquals(antes / 2, justa.clave(grupo), 1e-6);
+        assertSame(solo, justa.elegirVictima(List.of(grupo, solo)));
+
+        // Al retirarse su último proceso el grupo se olvida
+        justa.retirar(grupo);
+        LLMProcess nuevo = proceso(3, 0);
+        nuevo.setIdPrefijo(3);
+        assertEquals(0, justa.clave(nuevo));
+    }
+
+    @Test
+    void testPercentilesDelHistograma() {
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        for (int i = 1; i <= 100; i++) {
+            histograma.registrar(i);
+        }
+        histograma.registrar(10_000);
+        assertEquals(51, histograma.percentil(50));
+        assertEquals(100, histograma.percentil(99));
+        assertEquals(10_000, histograma.percentil(100));
+        assertEquals(101, histograma.getTotal());
+    }
+}
@@ -0,0 +1,122 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.controlador.PublicadorEstado;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.InstantaneaSimulacion;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicadorEstadoTest {
+
+    @Test
+    void testSoloQuedaElUltimoEstado() {
+        PublicadorEstado<Integer> publicador = new PublicadorEstado<>();
+        assertNull(publicador.retirar());
+
+        for (int i = 1; i <= 5; i++) {
+            publicador.publicar(i);
+        }
+        assertEquals(5, publicador.retirar());
+        assertNull(publicador.retirar(), "Un estado se retira una sola vez");
+        assertEquals(5, publicador.getPublicados());
+        assertEquals(4, publicador.getDescartados());
+    }
+
+    @Test
+    void testPublicarSiPedidoArmaUnEstadoPorRetiro() {
+        PublicadorEstado<Integer> publicador = new PublicadorEstado<>();
+        int[] armados = {0};
+        for (int i = 1; i <= 10; i++) {
+            int valor = i;
+            publicador.publicarSiPedido(() -> {
+                armados[0]++;
+                return valor;
+            });
+        }
+        assertEquals(1, armados[0], "Sin retiros solo se arma el primero");
+        assertEquals(1, publicador.retirar());
+
+        assertTrue(publicador.publicarSiPedido(() -> 11));
+        assertFalse(publicador.publicarSiPedido(() -> 12));
+        assertEquals(11, publicador.retirar());
+        // Una publicación forzada, como la de la pausa, reemplaza a la pendiente
+        publicador.publicar(13);
+        assertEquals(13, publicador.retirar());
+        assertEquals(0, publicador.getDescartados());
+    }
+
+    @Test
+    void testProductorRapidoNoAcumulaEstados() throws InterruptedException {
+        PublicadorEstado<Integer> publicador = new PublicadorEstado<>();
+        int total = 200_000;
+        Thread productor = new Thread(() -> {
+            for (int i = 1; i <= total; i++) {
+                publicador.publicar(i);
+            }
+        });
+        productor.start();
+
+        long retirados = 0;
+        int ultimo = 0;
+        while (productor.isAlive() || ultimo < total) {
+            Integer estado = publicador.retirar();
+            if (estado == null) continue;
+            assertTrue(estado > ultimo, "Los estados retirados avanzan siempre");
+            ultimo = estado;
+            retirados++;
+        }
+        productor.join();
+
+        assertEquals(total, ultimo, "El último estado publicado siempre llega");
+        assertEquals(total, retirados + publicador.getDescartados());
+    }
+
+    @Test
+    void testInstantaneaNoCambiaConLaSimulacion() {
+        Perfil perfil = new Perfil("Instantanea", 10, 10, 8, 0, 16);
+        perfil.setSemilla(5L);
+        perfil.setLlegadas("poisson:0.3");
+        perfil.setLongitudPrompt("lognormal:3.0:0.5:60");
+        perfil.setLongitudSalida("lognormal:3.0:0.5:60");
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < 40; i++) {
+            simulador.ejecutarCiclo();
+        }
+
+        InstantaneaSimulacion instantanea = simulador.tomarInstantanea();
+        int procesos = instantanea.getProcesos().size();
+        int ocupados = 0;
+        for (int i = 0; i < instantanea.getCantidadMarcos(); i++) {
+            if (instantanea.getDuenoMarco(i) != InstantaneaSimulacion.MARCO_LIBRE) ocupados++;
+        }
+        assertEquals(ram.getMarcosOcupados(), ocupados);
+        assertEquals(simulador.getTlbHits(), instantanea.getTlbHits());
+        long tlbHits = instantanea.getTlbHits();
+        InstantaneaSimulacion.FilaProceso fila = instantanea.getProcesos().get(0);
+        LLMProcess vivo = simulador.getProcesosActivos().get(0);
+        assertEquals(vivo.getPid(), fila.getPid());
+        assertEquals(vivo.getContadorTokens(), fila.getTokens());
+        assertEquals(vivo.getPageTable().getMapa(), fila.getTablaPaginas());
+        int tokens = fila.getTokens();
+
+        for (int i = 0; i < 40; i++) {
+            simulador.ejecutarCiclo();
+        }
+        assertEquals(procesos, instantanea.getProcesos().size());
+        assertEquals(tlbHits, instantanea.getTlbHits());
+        assertEquals(tokens, fila.getTokens(), "La fila no sigue al proceso vivo");
+        assertNotEquals(vivo.getContadorTokens(), fila.getTokens(), "El proceso vivo siguió avanzando");
+        assertThrows(UnsupportedOperationException.class, () -> fila.getTablaPaginas().clear());
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.getProcesos().clear());
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.getContenidoTlb().clear());
+    }
+}
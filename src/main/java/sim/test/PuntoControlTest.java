@@ -0,0 +1,176 @@
+package sim.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PuntoControlTest {
+    private Path estado;
+    private Path csvContinua;
+    private Path csvRestaurada;
+
+    @BeforeEach
+    void crearArchivos() throws IOException {
+        estado = Files.createTempFile("estado", ".bin");
+        csvContinua = Files.createTempFile("continua", ".csv");
+        csvRestaurada = Files.createTempFile("restaurada", ".csv");
+    }
+
+    @AfterEach
+    void borrarArchivos() throws IOException {
+        Files.deleteIfExists(estado);
+        Files.deleteIfExists(csvContinua);
+        Files.deleteIfExists(csvRestaurada);
+    }
+
+    private Perfil perfil(int marcosLado, String politica) {
+        // Memoria chica para que haya víctimas y la TLB quede llena de entradas de varios procesos
+        Perfil perfil = new Perfil("Test", marcosLado, marcosLado, 4, 0, 16);
+        perfil.setSemilla(11);
+        perfil.setLlegadas("rafagas:0.2:1.5:40:10");
+        perfil.setLongitudPrompt("lognormal:3.0:0.5:60");
+        perfil.setLongitudSalida("lognormal:3.5:0.6:200");
+        perfil.setMaxLoteTokens(64);
+        perfil.setChunkPrefill(16);
+        perfil.setPolitica(politica);
+        return perfil;
+    }
+
+    private SimulationManager crear(Perfil perfil, Auditador auditador) {
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        SimulationManager simulador = new SimulationManager(ram, mmu, auditador, perfil);
+        simulador.setSilencioso(true);
+        return simulador;
+    }
+
+    private static void avanzar(SimulationManager simulador, int ciclos) {
+        for (int i = 0; i < ciclos; i++) {
+            simulador.ejecutarCiclo();
+        }
+    }
+
+    @Test
+    void testRestaurarContinuaIgualQueSinInterrumpir() throws IOException {
+        Auditador auditorContinua = new Auditador(csvContinua.toString());
+        SimulationManager continua = crear(perfil(10, "justa"), auditorContinua);
+        avanzar(continua, 400);
+        continua.guardarPuntoControl(estado);
+        int marcosAlGuardar = continua.getProcesosActivos().stream()
+                .mapToInt(p -> p.getPageTable().getCantidadPaginas()).sum();
+        avanzar(continua, 400);
+        auditorContinua.cerrar();
+
+        Auditador auditorRestaurada = new Auditador(csvRestaurada.toString());
+        SimulationManager restaurada = crear(perfil(10, "justa"), auditorRestaurada);
+        restaurada.restaurarPuntoControl(estado);
+        assertEquals(400, restaurada.getCicloActual());
+        assertEquals(marcosAlGuardar, restaurada.getProcesosActivos().stream()
+                .mapToInt(p -> p.getPageTable().getCantidadPaginas()).sum());
+        avanzar(restaurada, 400);
+        auditorRestaurada.cerrar();
+
+        List<String> filasContinua = Files.readAllLines(csvContinua);
+        List<String> filasRestaurada = Files.readAllLines(csvRestaurada);
+        assertEquals(filasContinua.subList(filasContinua.size() - 400, filasContinua.size()),
+                filasRestaurada.subList(1, filasRestaurada.size()),
+                "Los ciclos posteriores al punto de control deben coincidir fila por fila");
+
+        assertEquals(continua.getTokensGenerados(), restaurada.getTokensGenerados());
+        assertEquals(continua.getProcesosCompletados(), restaurada.getProcesosCompletados());
+        assertEquals(continua.getProcesosEliminados(), restaurada.getProcesosEliminados());
+        assertEquals(continua.getLatencias().percentil(99), restaurada.getLatencias().percentil(99));
+        assertTrue(continua.getProcesosEliminados() > 0, "La carga debe saturar la memoria");
+    }
+
+    @Test
+    void testRestaurarConOtraPolitica() throws IOException {
+        SimulationManager original = crear(perfil(10, "justa"), Auditador.sinSalida());
+        avanzar(original, 300);
+        original.guardarPuntoControl(estado);
+
+        SimulationManager variante = crear(perfil(10, "srf"), Auditador.sinSalida());
+        variante.restaurarPuntoControl(estado);
+        assertEquals(original.getProcesosActivos().size(), variante.getProcesosActivos().size());
+        assertEquals(original.getProcesosEnEspera(), variante.getProcesosEnEspera());
+        avanzar(variante, 300);
+        assertEquals(600, variante.getCicloActual());
+    }
+
+    @Test
+    void testMemoriaIncompatible() throws IOException {
+        SimulationManager original = crear(perfil(10, "fcfs"), Auditador.sinSalida());
+        avanzar(original, 100);
+        original.guardarPuntoControl(estado);
+
+        SimulationManager otraMemoria = crear(perfil(12, "fcfs"), Auditador.sinSalida());
+        assertThrows(IOException.class, () -> otraMemoria.restaurarPuntoControl(estado));
+
+        SimulationManager iniciada = crear(perfil(10, "fcfs"), Auditador.sinSalida());
+        iniciada.ejecutarCiclo();
+        assertThrows(IllegalStateException.class, () -> iniciada.restaurarPuntoControl(estado));
+    }
+
+    @Test
+    void testConservaBifurcacionesConMarcosCompartidos() throws IOException {
+        Perfil perfil = perfil(10, "fcfs");
+        perfil.setEspeculacion("2:0.6");
+        Auditador auditorContinua = new Auditador(csvContinua.toString());
+        SimulationManager continua = crear(perfil, auditorContinua);
+        avanzar(continua, 60);
+        LLMProcess padre = continua.getProcesosActivos().stream()
+                .max(Comparator.comparingInt(p -> p.getPageTable().getCantidadPaginas())).orElseThrow();
+        List<LLMProcess> hijos = continua.fork(padre, 2);
+        assertEquals(2, hijos.size());
+        assertTrue(continua.getMarcosCompartidos() > 0, "Los hijos deben compartir páginas completas del padre");
+        continua.guardarPuntoControl(estado);
+
+        Auditador auditorRestaurada = new Auditador(csvRestaurada.toString());
+        SimulationManager restaurada = crear(perfil, auditorRestaurada);
+        restaurada.restaurarPuntoControl(estado);
+        assertEquals(continua.getMarcosCompartidos(), restaurada.getMarcosCompartidos());
+        assertEquals(continua.getTokensAsignados(), restaurada.getTokensAsignados());
+        assertEquals(continua.getProcesosBifurcados(), restaurada.getProcesosBifurcados());
+        assertEquals(continua.getMarcosAhorradosBifurcacion(), restaurada.getMarcosAhorradosBifurcacion());
+        assertEquals(continua.getTokensBorrador(), restaurada.getTokensBorrador());
+        assertEquals(continua.getMarcosRevertidos(), restaurada.getMarcosRevertidos());
+        assertEquals(continua.getPaginasLeidasAtencion(), restaurada.getPaginasLeidasAtencion());
+        LLMProcess hijoRestaurado = restaurada.getProcesosActivos().stream()
+                .filter(p -> p.getPid() == hijos.get(0).getPid()).findFirst().orElseThrow();
+        assertEquals(padre.getPid(), hijoRestaurado.getPidPadre());
+
+        // Al terminar los procesos, los marcos compartidos deben liberarse igual en ambas
+        avanzar(continua, 300);
+        avanzar(restaurada, 300);
+        auditorContinua.cerrar();
+        auditorRestaurada.cerrar();
+        List<String> filasContinua = Files.readAllLines(csvContinua);
+        List<String> filasRestaurada = Files.readAllLines(csvRestaurada);
+        assertEquals(filasContinua.subList(filasContinua.size() - 300, filasContinua.size()),
+                filasRestaurada.subList(1, filasRestaurada.size()));
+        assertEquals(continua.getTokensBorrador(), restaurada.getTokensBorrador());
+        assertEquals(continua.getMarcosCompartidos(), restaurada.getMarcosCompartidos());
+
+        LLMProcess nieto = restaurada.fork(hijoRestaurado, 1).get(0);
+        assertEquals(siguientePid(continua), nieto.getPid(), "Los pids de hijos siguen la secuencia guardada");
+    }
+
+    private static int siguientePid(SimulationManager simulador) {
+        LLMProcess proceso = simulador.getProcesosActivos().get(0);
+        return simulador.fork(proceso, 1).get(0).getPid();
+    }
+}
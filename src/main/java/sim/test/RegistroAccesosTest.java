@@ -0,0 +1,128 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.RegistroAccesos;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistroAccesosTest {
+
+    private static void registrar(RegistroAccesos registro, int n) {
+        // Todas las columnas se derivan de n para poder detectar copias mezcladas
+        registro.registrar(n, n, "User-" + (n % 4), n, n * 2, n / 8, n * 3, n % 2 == 0);
+    }
+
+    @Test
+    void testCursoresIndependientesYPerdidos() {
+        RegistroAccesos registro = new RegistroAccesos(6);
+        assertEquals(8, registro.getCapacidad(), "La capacidad se redondea a potencia de dos");
+
+        RegistroAccesos.Cursor rapido = registro.nuevoCursor();
+        RegistroAccesos.Cursor lento = registro.nuevoCursor();
+        for (int n = 0; n < 5; n++) {
+            registrar(registro, n);
+        }
+        for (int n = 0; n < 5; n++) {
+            assertTrue(rapido.siguiente());
+            assertEquals(n, rapido.getSecuencia());
+            assertEquals(n * 3, rapido.getMarco());
+            assertEquals(n % 2 == 0, rapido.isTlbHit());
+        }
+        assertFalse(rapido.siguiente());
+
+        for (int n = 5; n < 20; n++) {
+            registrar(registro, n);
+        }
+        // El lento se atrasó más que la capacidad: salta a lo que sigue vigente
+        assertTrue(lento.siguiente());
+        assertEquals(13, lento.getSecuencia());
+        assertEquals(13, lento.getPerdidos());
+        int leidos = 1;
+        while (lento.siguiente()) {
+            leidos++;
+        }
+        assertEquals(7, leidos);
+        assertEquals(19, lento.getDireccionVirtual());
+
+        lento.posicionarEnUltimos(3);
+        assertTrue(lento.siguiente());
+        assertEquals(17, lento.getSecuencia(), "Relee los últimos tres registros");
+    }
+
+    @Test
+    void testLectorConcurrenteNoVeRegistrosMezclados() throws InterruptedException {
+        RegistroAccesos registro = new RegistroAccesos(64);
+        int total = 2_000_000;
+        AtomicBoolean terminado = new AtomicBoolean();
+        Thread escritor = new Thread(() -> {
+            for (int n = 0; n < total; n++) {
+                registrar(registro, n);
+            }
+            terminado.set(true);
+        });
+
+        RegistroAccesos.Cursor cursor = registro.nuevoCursor();
+        escritor.start();
+        long leidos = 0;
+        long anterior = -1;
+        boolean fin;
+        do {
+            // Tras ver al escritor terminado queda una última pasada para vaciar lo publicado
+            fin = terminado.get();
+            while (cursor.siguiente()) {
+                int n = (int) cursor.getCiclo();
+                assertEquals(cursor.getSecuencia(), n);
+                assertEquals(n, cursor.getPid());
+                assertEquals(n * 2, cursor.getDireccionFisica());
+                assertEquals(n / 8, cursor.getPagina());
+                assertEquals(n * 3, cursor.getMarco());
+                assertEquals(n % 2 == 0, cursor.isTlbHit());
+                assertTrue(n > anterior, "Los registros se leen en orden");
+                anterior = n;
+                leidos++;
+            }
+        } while (!fin);
+        escritor.join();
+        assertEquals(total, leidos + cursor.getPerdidos());
+    }
+
+    @Test
+    void testSimulacionRegistraCadaPaso() {
+        Perfil perfil = new Perfil("Registro", 10, 10, 8, 0, 8);
+        perfil.setSemilla(5L);
+        perfil.setLlegadas("poisson:0.3");
+        perfil.setLongitudPrompt("lognormal:3.0:0.5:80");
+        perfil.setLongitudSalida("lognormal:3.0:0.5:80");
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+
+        RegistroAccesos.Cursor cursor = simulador.getRegistroAccesos().nuevoCursor();
+        long registros = 0;
+        long cicloAnterior = 0;
+        for (int c = 0; c < 300; c++) {
+            simulador.ejecutarCiclo();
+            while (cursor.siguiente()) {
+                int pageSize = perfil.getPageSize();
+                assertEquals(cursor.getDireccionVirtual() / pageSize, cursor.getPagina());
+                assertEquals(cursor.getMarco() * pageSize + cursor.getDireccionVirtual() % pageSize,
+                        cursor.getDireccionFisica());
+                assertEquals("User-" + cursor.getPid(), cursor.getNombreProceso());
+                assertTrue(cursor.getCiclo() >= cicloAnterior && cursor.getCiclo() == c);
+                cicloAnterior = cursor.getCiclo();
+                registros++;
+            }
+        }
+        assertEquals(0, cursor.getPerdidos());
+        assertTrue(registros >= simulador.getTokensGenerados(), "Cada paso completado deja un registro");
+        assertTrue(simulador.getTokensGenerados() > 0);
+    }
+}
@@ -0,0 +1,83 @@
+package sim.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.carga.ReproductorTraza;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReproductorTrazaTest {
+
+    private Path traza;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        traza = Files.createTempFile("traza", ".csv");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(traza);
+    }
+
+    private List<LLMProcess> leerTodo(ReproductorTraza reproductor) {
+        List<LLMProcess> procesos = new ArrayList<>();
+        while (reproductor.proximaLlegada() != Double.POSITIVE_INFINITY) {
+            procesos.add(reproductor.siguiente());
+        }
+        return procesos;
+    }
+
+    @Test
+    void testLecturaConCabeceraYEscala() throws IOException {
+        Files.writeString(traza, "instante,prompt,salida,prefijo\n"
+                + "100.0,512,64,7\n"
+                + "# comentario\n"
+                + "\n"
+                + "100.5,128,32\r\n"
+                + "basura\n"
+                + "101.25,1e3,10,3");
+
+        // 0.05 s por ciclo y escala 2: medio segundo de traza son 5 ciclos
+        ReproductorTraza reproductor = new ReproductorTraza(traza, 0.05, 2.0, new FlujosAleatorios(1));
+        assertEquals(0.0, reproductor.proximaLlegada(), 1e-9);
+        List<LLMProcess> procesos = leerTodo(reproductor);
+
+        assertEquals(2, procesos.size(), "La línea con exponente en un campo entero se descarta");
+        assertEquals(512, procesos.get(0).getTokensPrompt());
+        assertEquals(64, procesos.get(0).getTokensSalidaMax());
+        assertEquals(7, procesos.get(0).getIdPrefijo());
+        assertEquals(5.0, procesos.get(1).getInstanteLlegada(), 1e-9);
+        assertEquals(LLMProcess.SIN_PREFIJO, procesos.get(1).getIdPrefijo());
+        assertEquals(2, reproductor.getLineasInvalidas());
+    }
+
+    @Test
+    void testLineasQueCruzanVentanas() throws IOException {
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            contenido.append(i * 0.01).append(',').append(i % 900 + 1).append(',').append(i % 50 + 1).append('\n');
+        }
+        Files.writeString(traza, contenido);
+
+        // Ventanas de 100 bytes: casi todas las lecturas obligan a volver a mapear
+        ReproductorTraza reproductor = new ReproductorTraza(traza, 0.01, 1.0, new FlujosAleatorios(1), 100);
+        List<LLMProcess> procesos = leerTodo(reproductor);
+
+        assertEquals(5000, procesos.size());
+        for (int i = 0; i < procesos.size(); i++) {
+            assertEquals(i % 900 + 1, procesos.get(i).getTokensPrompt());
+            assertEquals(i, procesos.get(i).getInstanteLlegada(), 1e-6);
+        }
+        assertEquals(0, reproductor.getLineasInvalidas());
+    }
+}
@@ -0,0 +1,97 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUServiceConcurrente;
+import sim.negocio.sesiones.SimulacionSesiones;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SesionesConcurrentesTest {
+
+    @Test
+    void testMarcosUnicosBajoContencion() throws Exception {
+        PhysicalMemory ram = new PhysicalMemory(500);
+        MMUServiceConcurrente mmu = new MMUServiceConcurrente(ram, 8, 4);
+        List<LLMProcess> procesos = new ArrayList<>();
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 8; h++) {
+            LLMProcess proceso = new LLMProcess(h, "P" + h, "#000000");
+            procesos.add(proceso);
+            hilos.add(new Thread(() -> {
+                // Cada hilo aloja y traduce hasta que la memoria se llena
+                try {
+                    while (true) {
+                        mmu.asignarMemoriaParaToken(proceso);
+                        mmu.traducirDireccion(proceso, proceso.getContadorTokens() - 1);
+                    }
+                } catch (Exception e) {
+                    // Memoria llena
+                }
+            }));
+        }
+        hilos.forEach(Thread::start);
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        Set<Integer> marcos = new HashSet<>();
+        for (LLMProcess p : procesos) {
+            for (int marco : p.getPageTable().getMapa().values()) {
+                assertTrue(marcos.add(marco), "Marco " + marco + " asignado a dos procesos");
+            }
+        }
+        assertEquals(500, marcos.size());
+        assertEquals(500, ram.getMarcosOcupados());
+
+        for (LLMProcess p : procesos) {
+            mmu.liberarMemoria(p);
+        }
+        assertEquals(0, ram.getMarcosOcupados());
+        assertEquals(0, ram.buscarMarcoLibre());
+    }
+
+    @Test
+    void testSesionesLiberanTodaLaMemoria() throws Exception {
+        Perfil perfil = new Perfil("Sesiones", 10, 10, 16, 0, 8);
+        perfil.setSemilla(5L);
+        perfil.setLlegadas("poisson:0.5");
+        perfil.setLongitudPrompt("fija:20");
+        perfil.setLongitudSalida("fija:10");
+
+        SimulacionSesiones simulacion = new SimulacionSesiones(perfil);
+        simulacion.setNanosPorCiclo(200_000L);
+        simulacion.setPensamientoMedio(2.0);
+        simulacion.ejecutar(500);
+
+        assertTrue(simulacion.getSesionesCompletadas() > 0);
+        assertTrue(simulacion.getTokensGenerados() >= 10 * simulacion.getSesionesCompletadas());
+        assertEquals(0, simulacion.getRam().getMarcosOcupados(), "Toda conversación libera su memoria al terminar");
+    }
+
+    @Test
+    void testLecturaNoOcupaHilo() throws Exception {
+        Perfil perfil = new Perfil("Lectura", 10, 10, 16, 0, 8);
+        perfil.setSemilla(9L);
+        perfil.setLlegadas("poisson:0.5");
+        perfil.setLongitudPrompt("fija:4");
+        perfil.setLongitudSalida("fija:2");
+
+        SimulacionSesiones simulacion = new SimulacionSesiones(perfil);
+        simulacion.setNanosPorCiclo(200_000L);
+        simulacion.setPensamientoMedio(200.0);
+        simulacion.setHilosPlataforma(2);
+        simulacion.ejecutar(400);
+
+        // Con dos hilos, las conversaciones en lectura siguen abiertas sin retener ninguno
+        assertTrue(simulacion.getPicoSesiones() > 2, "Pico de " + simulacion.getPicoSesiones() + " sesiones");
+        assertEquals(0, simulacion.getRam().getMarcosOcupados(), "Toda conversación libera su memoria al terminar");
+    }
+}
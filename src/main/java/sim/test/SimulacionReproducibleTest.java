@@ -0,0 +1,103 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.FlujosAleatorios;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.negocio.carga.GeneradorCarga;
+import sim.negocio.carga.LlegadasPoisson;
+import sim.negocio.carga.LongitudFija;
+import sim.negocio.eventos.MotorEventos;
+import sim.recorder.Auditador;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulacionReproducibleTest {
+
+    private Perfil perfilConSemilla(long semilla) {
+        // Memoria chica (8x8 marcos, páginas de 4 tokens) para llegar a saturación rápido
+        Perfil perfil = new Perfil("Test", 8, 8, 4, 0, 8);
+        perfil.setSemilla(semilla);
+        return perfil;
+    }
+
+    private List<String> simularPorCiclos(Perfil perfil, int ciclos) throws IOException {
+        return simularPorCiclos(perfil, ciclos, -1);
+    }
+
+    private List<String> simularPorCiclos(Perfil perfil, int ciclos, int cicloPuntoControl) throws IOException {
+        Path salida = Files.createTempFile("ciclos", ".csv");
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        Auditador auditador = new Auditador(salida.toString());
+        SimulationManager simulador = new SimulationManager(ram, mmu, auditador, perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < ciclos; i++) {
+            if (i == cicloPuntoControl) {
+                Path puntoControl = Files.createTempFile("punto", ".bin");
+                simulador.guardarPuntoControl(puntoControl);
+                Files.delete(puntoControl);
+            }
+            simulador.ejecutarCiclo();
+        }
+        auditador.cerrar();
+        List<String> lineas = Files.readAllLines(salida);
+        Files.delete(salida);
+        return lineas;
+    }
+
+    private List<String> simularPorEventos(Perfil perfil, int tiempo) throws IOException {
+        Path salida = Files.createTempFile("eventos", ".csv");
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        MMUService mmu = new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize());
+        mmu.setSilencioso(true);
+        Auditador auditador = new Auditador(salida.toString());
+        FlujosAleatorios aleatorios = new FlujosAleatorios(perfil.getSemilla());
+        GeneradorCarga carga = new GeneradorCarga(new LlegadasPoisson(0.3), new LongitudFija(10), new LongitudFija(30), aleatorios);
+        MotorEventos motor = new MotorEventos(ram, mmu, auditador, aleatorios, carga);
+        motor.ejecutarHasta(tiempo);
+        auditador.cerrar();
+        List<String> lineas = Files.readAllLines(salida);
+        Files.delete(salida);
+        return lineas;
+    }
+
+    @Test
+    void testMismaSemillaMismoResultado() throws IOException {
+        List<String> a = simularPorCiclos(perfilConSemilla(42), 500);
+        List<String> b = simularPorCiclos(perfilConSemilla(42), 500);
+        assertEquals(a, b, "Dos ejecuciones con la misma semilla deben ser idénticas");
+
+        List<String> c = simularPorCiclos(perfilConSemilla(7), 500);
+        assertNotEquals(a, c, "Otra semilla debe producir otra ejecución");
+    }
+
+    @Test
+    void testGuardarPuntoControlNoAlteraLaEjecucion() throws IOException {
+        assertEquals(simularPorCiclos(perfilConSemilla(42), 500),
+                simularPorCiclos(perfilConSemilla(42), 500, 250),
+                "Guardar un punto de control no debe cambiar los números que siguen");
+    }
+
+    @Test
+    void testMotorEventosReproducible() throws IOException {
+        assertEquals(simularPorEventos(perfilConSemilla(42), 2000), simularPorEventos(perfilConSemilla(42), 2000));
+    }
+
+    @Test
+    void testFlujoPorProcesoNoDependeDelOrden() {
+        FlujosAleatorios flujos = new FlujosAleatorios(1234);
+        long antes = flujos.paraProceso(5, 100).nextLong();
+        flujos.getLlegadas().nextDouble();
+        flujos.paraProceso(6, 100).nextLong();
+        assertEquals(antes, flujos.paraProceso(5, 100).nextLong());
+        assertNotEquals(antes, flujos.paraProceso(5, 101).nextLong());
+    }
+}
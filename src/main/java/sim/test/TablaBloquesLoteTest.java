@@ -0,0 +1,68 @@
+package sim.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sim.modelo.LLMProcess;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.TablaBloquesLote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablaBloquesLoteTest {
+
+    private MMUService mmu;
+    private LLMProcess a;
+    private LLMProcess b;
+    private List<LLMProcess> procesos;
+
+    @BeforeEach
+    void setUp() {
+        // RAM de 20 marcos, páginas de 2 tokens
+        mmu = new MMUService(new PhysicalMemory(20), 4, 2);
+        a = new LLMProcess(1, "A", "#FFFFFF");
+        b = new LLMProcess(2, "B", "#000000");
+        procesos = new ArrayList<>(List.of(a, b));
+    }
+
+    @Test
+    void testTablaEmpaquetadaConRelleno() throws Exception {
+        for (int i = 0; i < 5; i++) mmu.asignarMemoriaParaToken(a); // 3 páginas
+        mmu.asignarMemoriaParaToken(b);                             // 1 página
+
+        TablaBloquesLote tabla = new TablaBloquesLote(1, 1);
+        tabla.actualizar(procesos);
+
+        assertEquals(2, tabla.getFilas());
+        assertEquals(3, tabla.getPaginasPorFila()[0]);
+        assertEquals(1, tabla.getPaginasPorFila()[1]);
+        assertEquals(5, tabla.getTokensPorFila()[0]);
+        assertEquals((int) a.getPageTable().getMarcoFisico(2), tabla.getMarco(0, 2));
+        assertEquals(TablaBloquesLote.RELLENO, tabla.getMarco(1, 1), "Las columnas sin página van rellenas");
+    }
+
+    @Test
+    void testActualizacionIncrementalYFilasDesplazadas() throws Exception {
+        TablaBloquesLote tabla = new TablaBloquesLote(2, 2);
+        mmu.asignarMemoriaParaToken(a);
+        mmu.asignarMemoriaParaToken(b);
+        tabla.actualizar(procesos);
+
+        // A crece más allá del ancho inicial: la tabla debe ensancharse y conservar lo previo
+        for (int i = 0; i < 6; i++) mmu.asignarMemoriaParaToken(a);
+        tabla.actualizar(procesos);
+        assertEquals(4, tabla.getPaginasPorFila()[0]);
+        assertEquals((int) a.getPageTable().getMarcoFisico(0), tabla.getMarco(0, 0));
+        assertEquals((int) b.getPageTable().getMarcoFisico(0), tabla.getMarco(1, 0));
+
+        // Sale A: B pasa a la fila 0 y la fila 1 queda fuera del lote
+        procesos.remove(a);
+        tabla.actualizar(procesos);
+        assertEquals(1, tabla.getFilas());
+        assertEquals(2, tabla.getPids()[0]);
+        assertEquals(TablaBloquesLote.RELLENO, tabla.getMarco(0, 1));
+    }
+}
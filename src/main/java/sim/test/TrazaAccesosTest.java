@@ -0,0 +1,148 @@
+package sim.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.modelo.Perfil;
+import sim.modelo.PhysicalMemory;
+import sim.negocio.MMUService;
+import sim.negocio.SimulationManager;
+import sim.recorder.Auditador;
+import sim.recorder.LectorTraza;
+import sim.recorder.TrazaAccesos;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrazaAccesosTest {
+
+    @TempDir
+    Path carpeta;
+
+    // Cabecera más lugar para 100 filas por segmento
+    private static final long SEGMENTO_CHICO = TrazaAccesos.TAMANO_CABECERA + 25 * 100;
+
+    @Test
+    void testSegmentosYLecturaEnOrden() throws IOException {
+        String base = carpeta.resolve("accesos").toString();
+        TrazaAccesos traza = new TrazaAccesos(base, 16, SEGMENTO_CHICO, 1, null);
+        assertEquals(100, traza.getCapacidad());
+        for (int i = 0; i < 350; i++) {
+            traza.registrar(i / 4, i % 7, i / 16, 1000 + i, i, i % 3 == 0);
+        }
+        traza.cerrar();
+        assertEquals(4, traza.getSegmentos());
+        assertTrue(Files.exists(TrazaAccesos.rutaSegmento(base, 3)));
+
+        LectorTraza lector = LectorTraza.abrir(base);
+        assertEquals(350, lector.getFilas());
+        assertEquals(4, lector.getSegmentos());
+        assertEquals(16, lector.getTamPagina());
+        int i = 0;
+        while (lector.siguiente()) {
+            assertEquals(i / 4, lector.getCiclo());
+            assertEquals(i % 7, lector.getPid());
+            assertEquals(i / 16, lector.getPagina());
+            assertEquals(1000 + i, lector.getMarco());
+            assertEquals(i % 16, lector.getDesplazamiento());
+            assertEquals(i % 3 == 0, lector.isTlbHit());
+            i++;
+        }
+        assertEquals(350, i);
+
+        lector.reiniciar();
+        assertTrue(lector.siguiente());
+        assertEquals(1000, lector.getMarco());
+    }
+
+    @Test
+    void testTrazaNuevaBorraSegmentosDeUnaAnterior() throws IOException {
+        String base = carpeta.resolve("repetida").toString();
+        TrazaAccesos larga = new TrazaAccesos(base, 16, SEGMENTO_CHICO, 1, null);
+        for (int i = 0; i < 350; i++) {
+            larga.registrar(i, 1, 0, 0, i, false);
+        }
+        larga.cerrar();
+
+        TrazaAccesos corta = new TrazaAccesos(base, 16, SEGMENTO_CHICO, 1, null);
+        for (int i = 0; i < 30; i++) {
+            corta.registrar(i, 2, 0, 0, i, true);
+        }
+        corta.cerrar();
+        assertFalse(Files.exists(TrazaAccesos.rutaSegmento(base, 1)));
+        LectorTraza lector = LectorTraza.abrir(base);
+        assertEquals(30, lector.getFilas());
+        assertEquals(1, lector.getSegmentos());
+    }
+
+    @Test
+    void testMuestreoYFiltroDePids() throws IOException {
+        String base = carpeta.resolve("filtrada").toString();
+        TrazaAccesos traza = new TrazaAccesos(base, 8, SEGMENTO_CHICO, 3, new int[]{7, 2});
+        for (int i = 0; i < 300; i++) {
+            traza.registrar(i, i % 4, 0, 0, i, true);
+        }
+        traza.cerrar();
+        traza.registrar(300, 2, 0, 0, 0, true);
+
+        // 75 accesos del pid 2 (el 7 no aparece); se guarda 1 de cada 3
+        assertEquals(75, traza.getAccesosVistos());
+        assertEquals(25, traza.getFilasEscritas());
+        LectorTraza lector = LectorTraza.abrir(base);
+        assertEquals(25, lector.getFilas());
+        assertEquals(3, lector.getMuestreo());
+        while (lector.siguiente()) {
+            assertEquals(2, lector.getPid());
+        }
+    }
+
+    @Test
+    void testSimulacionTrazaLasTraduccionesDeLaMmu() throws IOException {
+        Perfil perfil = new Perfil("Traza", 20, 20, 8, 0, 16);
+        perfil.setSemilla(13L);
+        perfil.setLlegadas("poisson:0.3");
+        perfil.setLongitudPrompt("lognormal:3.0:0.5:60");
+        perfil.setLongitudSalida("lognormal:3.0:0.5:60");
+        perfil.setAtencion("completa");
+        perfil.setTrazaAccesos(carpeta.resolve("sim/accesos").toString());
+        perfil.setSegmentoTrazaMB(1);
+        PhysicalMemory ram = new PhysicalMemory(perfil.getTotalMarcosRam());
+        SimulationManager simulador = new SimulationManager(ram,
+                new MMUService(ram, perfil.getTLBSize(), perfil.getPageSize()), Auditador.sinSalida(), perfil);
+        simulador.setSilencioso(true);
+        for (int i = 0; i < 300; i++) {
+            simulador.ejecutarCiclo();
+        }
+        simulador.cerrar();
+
+        // Además del token de cada paso, la traza tiene las páginas que lee la atención
+        long registrados = simulador.getRegistroAccesos().getPublicados();
+        long filas = simulador.getTrazaAccesos().getFilasEscritas();
+        assertTrue(registrados > 0);
+        assertEquals(registrados + simulador.getPaginasLeidasAtencion(), filas);
+
+        LectorTraza lector = LectorTraza.abrir(perfil.getTrazaAccesos());
+        assertEquals(filas, lector.getFilas());
+        long cicloPrevio = 0;
+        long aciertos = 0;
+        while (lector.siguiente()) {
+            assertTrue(lector.getCiclo() >= cicloPrevio, "Las filas quedan en orden de ciclo");
+            cicloPrevio = lector.getCiclo();
+            assertTrue(lector.getDesplazamiento() < 8);
+            assertTrue(lector.getMarco() < ram.getSize());
+            if (lector.isTlbHit()) aciertos++;
+        }
+        assertTrue(aciertos > 0);
+    }
+
+    @Test
+    void testArchivoAjenoNoSeLee() throws IOException {
+        String base = carpeta.resolve("ajeno").toString();
+        Files.write(TrazaAccesos.rutaSegmento(base, 0), new byte[TrazaAccesos.TAMANO_CABECERA]);
+        assertThrows(IOException.class, () -> LectorTraza.abrir(base));
+        assertThrows(IOException.class, () -> LectorTraza.abrir(carpeta.resolve("inexistente").toString()));
+        assertThrows(IllegalArgumentException.class, () -> TrazaAccesos.pidsDesdeTexto("3,x"));
+    }
+}